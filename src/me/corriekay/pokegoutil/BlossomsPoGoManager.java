@@ -9,6 +9,7 @@ import me.corriekay.pokegoutil.data.managers.GlobalSettingsController;
 import me.corriekay.pokegoutil.gui.controller.ChooseGuiWindowController;
 import me.corriekay.pokegoutil.utils.ConfigKey;
 import me.corriekay.pokegoutil.utils.ConfigNew;
+import me.corriekay.pokegoutil.utils.bootstrap.Bootstrap;
 import me.corriekay.pokegoutil.utils.helpers.UIHelper;
 
 public class BlossomsPoGoManager extends Application {
@@ -22,7 +23,9 @@ public class BlossomsPoGoManager extends Application {
      * @param args arguments
      */
     public static void main(final String[] args) {
+        // The console comes first, so the output of the startup stages ends up in it
         GlobalSettingsController.setup();
+        Bootstrap.start();
         launch(args);
     }
 
@@ -49,6 +52,7 @@ public class BlossomsPoGoManager extends Application {
 
     @Override
     public void start(final Stage primaryStage) {
+        Bootstrap.mark(Bootstrap.MILESTONE_UI_STARTED);
 
         if (ConfigNew.getConfig().getBool(ConfigKey.DEVELOPFLAG)) {
             new ChooseGuiWindowController();
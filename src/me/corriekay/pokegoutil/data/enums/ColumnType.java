@@ -24,7 +24,7 @@ public enum ColumnType {
     ),
     DATE(
         String.class,
-        Comparators.DATE_STRING
+        Comparators.LONG
     ),
     INT(
         Integer.class,
@@ -43,7 +43,7 @@ public enum ColumnType {
     ),
     NULLABLE_INT(
         String.class,
-        Comparators.NULLABLE_INT,
+        Comparators.INT,
         CellRenderers.NUMBER
     ),
     PERCENTAGE(
@@ -61,7 +61,11 @@ public enum ColumnType {
         CellRenderers.FUTURE
     );
 
+    /** Sort key of a nullable int without a value, sorts before all values. */
+    public static final int NO_VALUE_SORT_KEY = -1;
+
     public final Class clazz;
+    /** Compares the sort keys of this type, see {@link #toSortKey(Object)}. */
     public final Comparator comparator;
     public final TableCellRenderer tableCellRenderer;
 
@@ -70,22 +74,49 @@ public enum ColumnType {
      */
     private static final class Comparators {
         // The comparators.
-        public static final Comparator<String> DATE_STRING = (date1, date2) -> DateHelper.fromString(date1)
-            .compareTo(DateHelper.fromString(date2));
         public static final Comparator<Double> DOUBLE = Double::compareTo;
         public static final Comparator<Integer> INT = Integer::compareTo;
         public static final Comparator<Long> LONG = Long::compareTo;
         public static final Comparator<String> STRING = String::compareTo;
-        public static final Comparator<CompletableFuture<String>> FUTURE_STRING = (left, right) -> left.getNow("").compareTo(right.getNow(""));
-        public static final Comparator<String> NULLABLE_INT = (left, right) -> {
-            if (StringLiterals.NO_VALUE_SIGN.equals(left)) {
-                left = String.valueOf(0);
-            }
-            if (StringLiterals.NO_VALUE_SIGN.equals(right)) {
-                right = String.valueOf(0);
+        public static final Comparator<FutureSortKey> FUTURE_STRING = FutureSortKey::compareTo;
+    }
+
+    /**
+     * Sort key of a value that is looked up in the background. Once the value is there it is kept, so sorting
+     * doesn't have to ask the future again.
+     */
+    public static final class FutureSortKey implements Comparable<FutureSortKey> {
+        private final CompletableFuture<?> future;
+        private String resolved;
+
+        /**
+         * Creates the sort key of a future.
+         *
+         * @param future The future.
+         */
+        public FutureSortKey(final CompletableFuture<?> future) {
+            this.future = future;
+        }
+
+        /**
+         * Returns the value of the future, or an empty string while it is not there yet.
+         *
+         * @return The value.
+         */
+        public String get() {
+            if (resolved == null) {
+                final Object value = future.getNow(null);
+                if (value != null) {
+                    resolved = value.toString();
+                }
             }
-            return Integer.compare(Integer.parseInt(left), Integer.parseInt(right));
-        };
+            return resolved != null ? resolved : "";
+        }
+
+        @Override
+        public int compareTo(final FutureSortKey other) {
+            return get().compareTo(other.get());
+        }
     }
 
     /**
@@ -121,4 +152,49 @@ public enum ColumnType {
         this.comparator = comparator;
         this.tableCellRenderer = tableCellRenderer;
     }
+
+    /**
+     * Formats a value into the text that is shown in the table, so the renderer doesn't have to do it on every paint.
+     *
+     * @param value The value.
+     * @return The text, or null if the renderer can only know it when the cell is painted.
+     */
+    public String toCellText(final Object value) {
+        if (tableCellRenderer instanceof DefaultCellRenderer) {
+            return ((DefaultCellRenderer) tableCellRenderer).toCellText(value);
+        }
+        return null;
+    }
+
+    /**
+     * Checks if the values of this type are sorted by a sort key that differs from the value.
+     *
+     * @return If the type has own sort keys.
+     */
+    public boolean hasSortKey() {
+        return this == DATE || this == NULLABLE_INT || this == FUTURE_STRING;
+    }
+
+    /**
+     * Converts a value into the key it is sorted by, so the comparator doesn't have to parse it on every comparison.
+     * Dates become their timestamp, nullable ints an int, and futures a key that keeps their value once it is there.
+     *
+     * @param value The value as it is shown.
+     * @return The sort key.
+     */
+    public Object toSortKey(final Object value) {
+        switch (this) {
+            case DATE:
+                return value instanceof String ? DateHelper.toTimestamp((String) value) : value;
+            case NULLABLE_INT:
+                if (value instanceof Number) {
+                    return ((Number) value).intValue();
+                }
+                return value == null || StringLiterals.NO_VALUE_SIGN.equals(value) ? NO_VALUE_SORT_KEY : Integer.parseInt(value.toString());
+            case FUTURE_STRING:
+                return new FutureSortKey(value instanceof CompletableFuture ? (CompletableFuture<?>) value : CompletableFuture.completedFuture(value));
+            default:
+                return value;
+        }
+    }
 }
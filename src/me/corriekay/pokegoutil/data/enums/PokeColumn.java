@@ -1,6 +1,5 @@
 package me.corriekay.pokegoutil.data.enums;
 
-import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.NoSuchElementException;
 
@@ -15,9 +14,10 @@ import me.corriekay.pokegoutil.utils.ConfigKey;
 import me.corriekay.pokegoutil.utils.ConfigNew;
 import me.corriekay.pokegoutil.utils.StringLiterals;
 import me.corriekay.pokegoutil.utils.Utilities;
-import me.corriekay.pokegoutil.utils.helpers.CollectionHelper;
 import me.corriekay.pokegoutil.utils.helpers.DateHelper;
 import me.corriekay.pokegoutil.utils.helpers.LocationHelper;
+import me.corriekay.pokegoutil.utils.pokemon.CandyPlan;
+import me.corriekay.pokegoutil.utils.pokemon.CandyPlanner;
 import me.corriekay.pokegoutil.utils.pokemon.PokemonCalculationUtils;
 import me.corriekay.pokegoutil.utils.pokemon.PokemonPerformanceCache;
 import me.corriekay.pokegoutil.utils.pokemon.PokemonUtils;
@@ -218,23 +218,16 @@ public enum PokeColumn {
         @Override
         public Object get(final Pokemon p) {
             if (p.getCandiesToEvolve() != 0) {
-                final int candies = p.getCandy();
-                final int candiesToEvolve = p.getCandiesToEvolve();
+                final CandyPlan plan = Internal.candyPlan;
+                final int planned = plan != null ? plan.getEvolvable(p) : -1;
+                if (planned >= 0) {
+                    return String.valueOf(planned);
+                }
 
-                int evolvable = (int) ((double) candies / candiesToEvolve);
-                int rest = candies % candiesToEvolve;
+                // Not part of the bag that was planned, so only the candies count
                 final boolean transferAfterEvolve = ConfigNew.getConfig().getBool(ConfigKey.TRANSFER_AFTER_EVOLVE);
-
-                // We iterate and get how many candies are added while evolving and if that can make up for some more evolves
-                int newEvolvable = evolvable;
-                do {
-                    final int candyGiven = newEvolvable + (transferAfterEvolve ? newEvolvable : 0);
-                    newEvolvable = (int) ((double) (candyGiven + rest) / candiesToEvolve);
-                    evolvable = evolvable + newEvolvable;
-                    rest = (candyGiven + rest) % candiesToEvolve;
-                } while (newEvolvable > 0);
-
-                return String.valueOf(evolvable);
+                return String.valueOf(CandyPlanner.evolvableFromCandies(p.getCandy(), p.getCandiesToEvolve(),
+                    CandyPlanner.getRefund(transferAfterEvolve)));
             } else {
                 return StringLiterals.NO_VALUE_SIGN;
             }
@@ -290,7 +283,9 @@ public enum PokeColumn {
     public final int id;
     public final String name;
     public final ColumnType columnType;
-    public final ArrayList data;
+
+    /** The columns, indexed by their id, so looking them up while reading cells is a plain array access. */
+    private static final PokeColumn[] BY_ID = createIdIndex();
 
     /**
      * Constructor to create the enum entries.
@@ -302,7 +297,6 @@ public enum PokeColumn {
         this.id = Internal.AUTO_INCREMENTER.get();
         this.name = name;
         this.columnType = columnType;
-        this.data = CollectionHelper.provideArrayList(columnType.clazz);
     }
 
     /**
@@ -312,17 +306,47 @@ public enum PokeColumn {
      * @return The column.
      */
     public static PokeColumn getForId(final int id) {
-        for (final PokeColumn column : PokeColumn.values()) {
-            if (column.id == id) {
-                return column;
-            }
+        if (id >= 0 && id < BY_ID.length && BY_ID[id] != null) {
+            return BY_ID[id];
         }
         // If not found, we throw an exception
         throw new NoSuchElementException("There is no column with id " + id);
     }
 
     /**
-     * Returns the comparator for the given column, based on the column type.
+     * Returns the number of columns, without copying the array of values like values().length does.
+     *
+     * @return The number of columns.
+     */
+    public static int getCount() {
+        return BY_ID.length;
+    }
+
+    /**
+     * Sets the candy plan of the bag, which the Evolvable column shows. All Pokémon of a family share their candies,
+     * so the plan has to be made for the whole bag before the column is calculated.
+     *
+     * @param plan The plan, or null to only count the candies of each Pokémon.
+     */
+    public static void setCandyPlan(final CandyPlan plan) {
+        Internal.candyPlan = plan;
+    }
+
+    private static PokeColumn[] createIdIndex() {
+        final PokeColumn[] columns = values();
+        int maxId = -1;
+        for (final PokeColumn column : columns) {
+            maxId = Math.max(maxId, column.id);
+        }
+        final PokeColumn[] byId = new PokeColumn[maxId + 1];
+        for (final PokeColumn column : columns) {
+            byId[column.id] = column;
+        }
+        return byId;
+    }
+
+    /**
+     * Returns the comparator for the sort keys of the given column, based on the column type.
      *
      * @return The comparator.
      */
@@ -353,5 +377,6 @@ public enum PokeColumn {
      */
     private static class Internal {
         static final AutoIncrementer AUTO_INCREMENTER = new AutoIncrementer();
+        static volatile CandyPlan candyPlan;
     }
 }
@@ -0,0 +1,75 @@
+package me.corriekay.pokegoutil.data.grinder;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import me.corriekay.pokegoutil.utils.pokemon.PokemonCalculationUtils;
+
+import POGOProtos.Enums.PokemonFamilyIdOuterClass.PokemonFamilyId;
+
+/**
+ * What the lucky egg grinder should evolve and transfer.
+ */
+public final class GrindOptions {
+
+    /** No IV limit, low CP Pokémon are transferred whatever their IV is. */
+    public static final double NO_IV_LIMIT = -1;
+
+    private final Set<PokemonFamilyId> families;
+    private final Set<PokemonFamilyId> transferExtras;
+    private final double keepIvAbove;
+    private final boolean transferFavorites;
+
+    /**
+     * Creates the options.
+     *
+     * @param families          The families to evolve.
+     * @param transferExtras    The families of which the Pokémon that are not evolved are transferred afterwards.
+     * @param keepIvAbove       Pokémon with an IV rating above this, from 0 to 1, are never transferred, or
+     *                          {@link #NO_IV_LIMIT}.
+     * @param transferFavorites If favorites may be transferred.
+     */
+    public GrindOptions(final Set<PokemonFamilyId> families, final Set<PokemonFamilyId> transferExtras,
+                        final double keepIvAbove, final boolean transferFavorites) {
+        this.families = Collections.unmodifiableSet(families.isEmpty() ? EnumSet.noneOf(PokemonFamilyId.class) : EnumSet.copyOf(families));
+        this.transferExtras = Collections.unmodifiableSet(
+            transferExtras.isEmpty() ? EnumSet.noneOf(PokemonFamilyId.class) : EnumSet.copyOf(transferExtras));
+        this.keepIvAbove = keepIvAbove;
+        this.transferFavorites = transferFavorites;
+    }
+
+    /**
+     * Returns the families to evolve.
+     *
+     * @return The families.
+     */
+    public Set<PokemonFamilyId> getFamilies() {
+        return families;
+    }
+
+    /**
+     * Checks if the Pokémon of a family that are not evolved are transferred afterwards.
+     *
+     * @param family The family.
+     * @return If they are transferred.
+     */
+    public boolean isTransferExtras(final PokemonFamilyId family) {
+        return transferExtras.contains(family);
+    }
+
+    /**
+     * Checks if a Pokémon must never be transferred.
+     *
+     * @param pokemon The Pokémon.
+     * @return If it is kept.
+     */
+    public boolean keeps(final Pokemon pokemon) {
+        if (pokemon.isFavorite() && !transferFavorites) {
+            return true;
+        }
+        return keepIvAbove != NO_IV_LIMIT && PokemonCalculationUtils.ivRating(pokemon) > keepIvAbove;
+    }
+}
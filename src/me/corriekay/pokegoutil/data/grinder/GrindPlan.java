@@ -0,0 +1,105 @@
+package me.corriekay.pokegoutil.data.grinder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import me.corriekay.pokegoutil.utils.pokemon.CandyPlan;
+import me.corriekay.pokegoutil.utils.pokemon.CandyPlanner;
+
+/**
+ * What the lucky egg grinder does, in that order: the transfers needed for enough candies, the evolves, and the
+ * transfers of the Pokémon that are left over.
+ */
+public final class GrindPlan {
+
+    private final CandyPlan candyPlan;
+    private final List<Pokemon> toTransfer = new ArrayList<>();
+    private final List<Pokemon> toEvolve = new ArrayList<>();
+    private final List<Pokemon> extras = new ArrayList<>();
+
+    private GrindPlan(final CandyPlan candyPlan) {
+        this.candyPlan = candyPlan;
+    }
+
+    /**
+     * Plans the grind, with the candies of each family, see {@link CandyPlanner}.
+     *
+     * @param bag                 The Pokémon in the bag.
+     * @param options             The options.
+     * @param transferAfterEvolve If evolved Pokémon are transferred right away.
+     * @return The plan.
+     */
+    public static GrindPlan create(final List<Pokemon> bag, final GrindOptions options, final boolean transferAfterEvolve) {
+        final List<Pokemon> candidates = new ArrayList<>();
+        for (final Pokemon pokemon : bag) {
+            if (options.getFamilies().contains(pokemon.getPokemonFamily())) {
+                candidates.add(pokemon);
+            }
+        }
+
+        final GrindPlan plan = new GrindPlan(CandyPlanner.plan(candidates, transferAfterEvolve, options::keeps));
+        for (final Pokemon pokemon : candidates) {
+            if (plan.candyPlan.isToTransfer(pokemon)) {
+                plan.toTransfer.add(pokemon);
+            } else if (plan.candyPlan.isToEvolve(pokemon)) {
+                plan.toEvolve.add(pokemon);
+            } else if (pokemon.getCandiesToEvolve() > 0 && options.isTransferExtras(pokemon.getPokemonFamily()) && !options.keeps(pokemon)) {
+                plan.extras.add(pokemon);
+            }
+        }
+        // Cheapest evolves first, so the candies they give back are there for the expensive ones
+        plan.toEvolve.sort(Comparator.comparingInt(Pokemon::getCandiesToEvolve));
+        plan.extras.sort(Comparator.comparingInt(Pokemon::getCp));
+        return plan;
+    }
+
+    /**
+     * Returns the Pokémon to transfer before evolving, so there are enough candies.
+     *
+     * @return The Pokémon.
+     */
+    public List<Pokemon> getToTransfer() {
+        return Collections.unmodifiableList(toTransfer);
+    }
+
+    /**
+     * Returns the Pokémon to evolve, in the order they are evolved.
+     *
+     * @return The Pokémon.
+     */
+    public List<Pokemon> getToEvolve() {
+        return Collections.unmodifiableList(toEvolve);
+    }
+
+    /**
+     * Returns the Pokémon to transfer after evolving, lowest CP first.
+     *
+     * @return The Pokémon.
+     */
+    public List<Pokemon> getExtras() {
+        return Collections.unmodifiableList(extras);
+    }
+
+    /**
+     * Returns the plan of the candies, per family.
+     *
+     * @return The candy plan.
+     */
+    public CandyPlan getCandyPlan() {
+        return candyPlan;
+    }
+
+    /**
+     * Returns the XP the evolves give.
+     *
+     * @param luckyEgg If a lucky egg is active for all of them.
+     * @return The XP.
+     */
+    public int getXp(final boolean luckyEgg) {
+        return toEvolve.size() * CandyPlanner.XP_PER_EVOLVE * (luckyEgg ? GrindStats.LUCKY_EGG_FACTOR : 1);
+    }
+}
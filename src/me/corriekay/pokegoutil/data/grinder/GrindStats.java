@@ -0,0 +1,120 @@
+package me.corriekay.pokegoutil.data.grinder;
+
+import java.util.concurrent.TimeUnit;
+
+import me.corriekay.pokegoutil.utils.pokemon.CandyPlanner;
+
+/**
+ * Keeps track of the evolves of a grind: how fast they go, how much XP they gave, and how much XP the grind will
+ * give in the end, if it goes on at the same speed.
+ */
+public final class GrindStats {
+
+    /** A lucky egg doubles the XP. */
+    public static final int LUCKY_EGG_FACTOR = 2;
+    /** How long a lucky egg lasts. */
+    public static final long LUCKY_EGG_DURATION = TimeUnit.MINUTES.toMillis(30);
+
+    private static final double MILLIS_PER_MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    private final int plannedEvolves;
+    private final long expectedInterval;
+    private long eggStart = -1;
+    private long firstEvolve = -1;
+    private long lastEvolve = -1;
+    private int evolves;
+    private int xp;
+
+    /**
+     * Creates the stats for a grind.
+     *
+     * @param plannedEvolves   The number of evolves.
+     * @param expectedInterval The time between two evolves that is expected before the first ones are done, in ms.
+     */
+    public GrindStats(final int plannedEvolves, final long expectedInterval) {
+        this.plannedEvolves = plannedEvolves;
+        this.expectedInterval = Math.max(1, expectedInterval);
+    }
+
+    /**
+     * Records that the lucky egg was activated.
+     *
+     * @param now The time, in ms.
+     */
+    public synchronized void eggActivated(final long now) {
+        eggStart = now;
+    }
+
+    /**
+     * Records an evolve.
+     *
+     * @param now The time, in ms.
+     */
+    public synchronized void evolved(final long now) {
+        if (firstEvolve < 0) {
+            firstEvolve = now;
+        }
+        lastEvolve = now;
+        evolves++;
+        xp += CandyPlanner.XP_PER_EVOLVE * (getEggTimeLeft(now) > 0 ? LUCKY_EGG_FACTOR : 1);
+    }
+
+    /**
+     * Returns the number of evolves done.
+     *
+     * @return The evolves.
+     */
+    public synchronized int getEvolves() {
+        return evolves;
+    }
+
+    /**
+     * Returns the XP the evolves gave so far.
+     *
+     * @return The XP.
+     */
+    public synchronized int getXp() {
+        return xp;
+    }
+
+    /**
+     * Returns how long the lucky egg lasts.
+     *
+     * @param now The time, in ms.
+     * @return The time left in ms, 0 if there is no active egg.
+     */
+    public synchronized long getEggTimeLeft(final long now) {
+        return eggStart < 0 ? 0 : Math.max(0, eggStart + LUCKY_EGG_DURATION - now);
+    }
+
+    /**
+     * Returns the time between two evolves, measured if there were some already, or the expected one.
+     *
+     * @return The interval in ms.
+     */
+    public synchronized double getInterval() {
+        return evolves > 1 ? (double) (lastEvolve - firstEvolve) / (evolves - 1) : expectedInterval;
+    }
+
+    /**
+     * Returns how many evolves are done per minute.
+     *
+     * @return The evolves per minute.
+     */
+    public synchronized double getEvolvesPerMinute() {
+        return MILLIS_PER_MINUTE / getInterval();
+    }
+
+    /**
+     * Returns the XP the grind will give when all planned evolves are done at the current speed. The ones that are
+     * still done while the egg lasts count double.
+     *
+     * @param now The time, in ms.
+     * @return The XP.
+     */
+    public synchronized int getProjectedXp(final long now) {
+        final int remaining = Math.max(0, plannedEvolves - evolves);
+        final int withEgg = (int) Math.min(remaining, (long) (getEggTimeLeft(now) / getInterval()));
+        return xp + (withEgg * LUCKY_EGG_FACTOR + remaining - withEgg) * CandyPlanner.XP_PER_EVOLVE;
+    }
+}
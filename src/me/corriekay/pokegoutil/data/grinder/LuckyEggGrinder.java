@@ -0,0 +1,294 @@
+package me.corriekay.pokegoutil.data.grinder;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import com.pokegoapi.api.inventory.ItemBag;
+import com.pokegoapi.api.pokemon.Pokemon;
+import com.pokegoapi.exceptions.InvalidCurrencyException;
+import com.pokegoapi.exceptions.LoginFailedException;
+import com.pokegoapi.exceptions.RemoteServerException;
+
+import me.corriekay.pokegoutil.data.models.BpmOperationResult;
+import me.corriekay.pokegoutil.data.models.PokemonModel;
+import me.corriekay.pokegoutil.data.models.operations.Operation;
+import me.corriekay.pokegoutil.gui.enums.OperationId;
+import me.corriekay.pokegoutil.utils.ConfigKey;
+import me.corriekay.pokegoutil.utils.ConfigNew;
+import me.corriekay.pokegoutil.utils.Utilities;
+
+import POGOProtos.Inventory.Item.ItemIdOuterClass.ItemId;
+import POGOProtos.Networking.Responses.UseItemXpBoostResponseOuterClass.UseItemXpBoostResponse;
+
+/**
+ * Runs a {@link GrindPlan}: first the transfers that are needed for enough candies, then, once everything is staged,
+ * the lucky egg is activated and the evolves are done back to back while it lasts, and in the end the Pokémon that
+ * are left over are transferred.
+ * <p>
+ * Evolving stops when the lucky egg runs out, the evolves that did not fit are left over for the next egg and are
+ * reported. Without an egg, all evolves are done.
+ * <p>
+ * The evolves are scheduled at a fixed rate, the configured evolve delay counts from the start of one evolve to the
+ * start of the next one, so the time the server needs to answer is not added on top of it.
+ */
+public final class LuckyEggGrinder {
+
+    /**
+     * The stages of a grind, in the order they are run.
+     */
+    public enum Stage {
+        TRANSFER("Transferring for candies"),
+        ACTIVATE_EGG("Activating lucky egg"),
+        EVOLVE("Evolving"),
+        TRANSFER_EXTRAS("Transferring extras"),
+        DONE("Done");
+
+        private final String description;
+
+        Stage(final String description) {
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    /**
+     * Gets told about the progress of the grind. Called on the thread the grind runs on.
+     */
+    public interface Listener {
+        /**
+         * Called after every step of the grind.
+         *
+         * @param grinder The grinder, to ask for the progress.
+         * @param message What was done.
+         */
+        void onProgress(LuckyEggGrinder grinder, String message);
+    }
+
+    /**
+     * Creates the operations of the grind.
+     */
+    interface OperationFactory {
+        /**
+         * Creates an operation for a Pokémon.
+         *
+         * @param operationId The operation.
+         * @param pokemon     The Pokémon.
+         * @return The operation.
+         */
+        Operation create(OperationId operationId, Pokemon pokemon);
+    }
+
+    private final ItemBag itemBag;
+    private final GrindPlan plan;
+    private final boolean useLuckyEgg;
+    private final Listener listener;
+    private final OperationFactory operationFactory;
+    private final LongSupplier clock;
+    private final GrindStats stats;
+    private final int total;
+    private volatile Stage stage = Stage.TRANSFER;
+    private volatile int done;
+    private volatile int leftOver;
+    private volatile boolean cancelled;
+    private boolean eggActive;
+
+    /**
+     * Creates a grinder for a plan.
+     *
+     * @param itemBag     The item bag of the account, the lucky egg is taken from there.
+     * @param plan        The plan.
+     * @param useLuckyEgg If a lucky egg is activated before evolving.
+     * @param listener    The listener.
+     */
+    public LuckyEggGrinder(final ItemBag itemBag, final GrindPlan plan, final boolean useLuckyEgg, final Listener listener) {
+        this(itemBag, plan, useLuckyEgg, listener,
+            (operationId, pokemon) -> Operation.generateOperation(operationId, new PokemonModel(pokemon)), System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a grinder for a plan, with the operations and the time taken from the given sources.
+     *
+     * @param itemBag          The item bag of the account, the lucky egg is taken from there.
+     * @param plan             The plan.
+     * @param useLuckyEgg      If a lucky egg is activated before evolving.
+     * @param listener         The listener.
+     * @param operationFactory Creates the operations.
+     * @param clock            The current time, in ms.
+     */
+    LuckyEggGrinder(final ItemBag itemBag, final GrindPlan plan, final boolean useLuckyEgg, final Listener listener,
+                    final OperationFactory operationFactory, final LongSupplier clock) {
+        this.itemBag = itemBag;
+        this.plan = plan;
+        this.useLuckyEgg = useLuckyEgg;
+        this.listener = listener;
+        this.operationFactory = operationFactory;
+        this.clock = clock;
+        this.total = plan.getToTransfer().size() + plan.getToEvolve().size() + plan.getExtras().size();
+        final ConfigNew config = ConfigNew.getConfig();
+        this.stats = new GrindStats(plan.getToEvolve().size(),
+            (config.getInt(ConfigKey.DELAY_EVOLVE_MIN) + config.getInt(ConfigKey.DELAY_EVOLVE_MAX)) / 2);
+    }
+
+    /**
+     * Counts the lucky eggs in the bag.
+     *
+     * @param itemBag The item bag.
+     * @return The number of lucky eggs.
+     */
+    public static int countLuckyEggs(final ItemBag itemBag) {
+        return itemBag.getItem(ItemId.ITEM_LUCKY_EGG).getCount();
+    }
+
+    /**
+     * Runs the grind. Blocks until it is done or cancelled.
+     */
+    public void run() {
+        stage = Stage.TRANSFER;
+        runOperations(plan.getToTransfer(), OperationId.TRANSFER, false);
+
+        if (!cancelled && !plan.getToEvolve().isEmpty()) {
+            if (useLuckyEgg) {
+                stage = Stage.ACTIVATE_EGG;
+                listener.onProgress(this, activateLuckyEgg());
+            }
+            stage = Stage.EVOLVE;
+            runOperations(plan.getToEvolve(), OperationId.EVOLVE, true);
+        }
+
+        stage = Stage.TRANSFER_EXTRAS;
+        runOperations(plan.getExtras(), OperationId.TRANSFER, false);
+
+        stage = Stage.DONE;
+        if (cancelled) {
+            listener.onProgress(this, "Grind cancelled");
+        } else if (leftOver > 0) {
+            listener.onProgress(this, String.format("Grind done, %d XP, %d evolves left over for the next egg", stats.getXp(), leftOver));
+        } else {
+            listener.onProgress(this, String.format("Grind done, %d XP", stats.getXp()));
+        }
+    }
+
+    /**
+     * Stops the grind after the current operation.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private String activateLuckyEgg() {
+        try {
+            if (countLuckyEggs(itemBag) <= 0) {
+                return "No lucky egg left, evolving without one";
+            }
+            final UseItemXpBoostResponse response = itemBag.useLuckyEgg();
+            if (response.getResult() != UseItemXpBoostResponse.Result.SUCCESS) {
+                return "Could not activate the lucky egg: " + response.getResult();
+            }
+            stats.eggActivated(clock.getAsLong());
+            eggActive = true;
+            return "Lucky egg activated";
+        } catch (LoginFailedException | RemoteServerException e) {
+            return "Could not activate the lucky egg: " + Utilities.getRealExceptionMessage(e);
+        }
+    }
+
+    private void runOperations(final List<Pokemon> pokemons, final OperationId operationId, final boolean fixedRate) {
+        for (int i = 0; i < pokemons.size(); i++) {
+            if (cancelled) {
+                return;
+            }
+            final long start = clock.getAsLong();
+            if (eggActive && operationId == OperationId.EVOLVE && stats.getEggTimeLeft(start) == 0) {
+                leftOver = pokemons.size() - i;
+                listener.onProgress(this, String.format("Lucky egg ran out, %d evolves left over", leftOver));
+                return;
+            }
+            final Operation operation = operationFactory.create(operationId, pokemons.get(i));
+            final boolean success = execute(operation);
+            if (success && operationId == OperationId.EVOLVE) {
+                stats.evolved(clock.getAsLong());
+            }
+            done++;
+
+            if (fixedRate) {
+                // The delay is from start to start, the time of the request is part of it
+                final long wait = start + operation.getDelay() - clock.getAsLong();
+                if (wait > 0) {
+                    Utilities.sleep((int) wait);
+                }
+            } else {
+                operation.doDelay();
+            }
+        }
+    }
+
+    private boolean execute(final Operation operation) {
+        final PokemonModel pokemon = operation.pokemon;
+        try {
+            final BpmOperationResult result = operation.execute();
+            if (!result.isSuccess()) {
+                listener.onProgress(this, String.format("Skipping %s due to <%s>", pokemon.getSummary(), result.getErrorMessage()));
+                return false;
+            }
+            listener.onProgress(this, String.format("%s %s", operation.getOperationId().getActionVerbFinished(), pokemon.getSummary()));
+            if (result.hasNextOperation()) {
+                // Like transferring right after evolving, which gives the candy the plan counted on
+                execute(Operation.generateOperation(result.getNextOperation(), pokemon));
+            }
+            return true;
+        } catch (InvalidCurrencyException | LoginFailedException | RemoteServerException e) {
+            listener.onProgress(this, String.format("Error %s %s! %s",
+                operation.getOperationId().getActionVerbDuring(), pokemon.getSpecies(), Utilities.getRealExceptionMessage(e)));
+            return false;
+        }
+    }
+
+    /**
+     * Returns the stage the grind is in.
+     *
+     * @return The stage.
+     */
+    public Stage getStage() {
+        return stage;
+    }
+
+    /**
+     * Returns the number of operations done, of all stages.
+     *
+     * @return The number of operations.
+     */
+    public int getDone() {
+        return done;
+    }
+
+    /**
+     * Returns the number of operations of all stages.
+     *
+     * @return The number of operations.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the number of evolves that were not done because the lucky egg ran out.
+     *
+     * @return The number of evolves.
+     */
+    public int getLeftOver() {
+        return leftOver;
+    }
+
+    /**
+     * Returns the stats of the evolves.
+     *
+     * @return The stats.
+     */
+    public GrindStats getStats() {
+        return stats;
+    }
+}
@@ -1,17 +1,20 @@
 package me.corriekay.pokegoutil.data.managers;
 
 import java.awt.BorderLayout;
+import java.awt.SecondaryLoop;
 import java.awt.Toolkit;
 import java.awt.datatransfer.StringSelection;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JPasswordField;
 import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 
 import com.pokegoapi.api.PokemonGo;
@@ -30,9 +33,16 @@ import me.corriekay.pokegoutil.utils.ConfigKey;
 import me.corriekay.pokegoutil.utils.ConfigNew;
 import me.corriekay.pokegoutil.utils.CustomDeviceInfo;
 import me.corriekay.pokegoutil.utils.StringLiterals;
+import me.corriekay.pokegoutil.utils.bootstrap.Bootstrap;
 import me.corriekay.pokegoutil.utils.helpers.Browser;
+import me.corriekay.pokegoutil.utils.http.HttpClientFactory;
+import me.corriekay.pokegoutil.utils.snapshot.InventorySnapshot;
+import me.corriekay.pokegoutil.utils.snapshot.InventorySnapshotStore;
+import me.corriekay.pokegoutil.utils.standin.StandInCredentialProvider;
+import me.corriekay.pokegoutil.utils.standin.StandInInterceptor;
 import me.corriekay.pokegoutil.utils.windows.WindowStuffHelper;
 import me.corriekay.pokegoutil.windows.PokemonGoMainWindow;
+import me.corriekay.pokegoutil.windows.SnapshotWindow;
 
 import okhttp3.OkHttpClient;
 
@@ -78,12 +88,22 @@ public final class AccountController {
         CredentialProvider credentialProvider;
         PokemonGo go = null;
         int tries = 0;
+
+        final String standInUrl = config.getString(ConfigKey.STAND_IN_URL);
+        if (standInUrl != null) {
+            go = logOnStandIn(standInUrl);
+            instance.logged = go != null;
+        }
+
+        // Show the bag as it was last time, while the login takes its time
+        final SnapshotWindow snapshotWindow = instance.logged ? null : showSnapshot();
+
         while (!instance.logged) {
             tries++;
             //BEGIN LOGIN WINDOW
             go = null;
             credentialProvider = null;
-            http = new OkHttpClient();
+            http = HttpClientFactory.getFactory().getClient();
 
             final JTextField ptcUsernameTextField = new JTextField(config.getString(ConfigKey.LOGIN_PTC_USERNAME));
             final JTextField ptcPasswordTextField = new JPasswordField(config.getString(ConfigKey.LOGIN_PTC_PASSWORD));
@@ -108,7 +128,7 @@ public final class AccountController {
 
                 UIManager.put("OptionPane.noButtonText", "Use Google Auth");
                 UIManager.put("OptionPane.yesButtonText", "Use PTC Auth");
-                UIManager.put("OptionPane.cancelButtonText", "Exit");
+                UIManager.put("OptionPane.cancelButtonText", snapshotWindow != null ? "Browse Offline" : "Exit");
                 UIManager.put("OptionPane.okButtonText", "Ok");
 
                 final JPanel panel1 = new JPanel(new BorderLayout());
@@ -128,6 +148,14 @@ public final class AccountController {
             }
 
             if (response == JOptionPane.CANCEL_OPTION) {
+                if (snapshotWindow != null) {
+                    UIManager.put("OptionPane.noButtonText", "No");
+                    UIManager.put("OptionPane.yesButtonText", "Yes");
+                    UIManager.put("OptionPane.cancelButtonText", ButtonText.CANCEL);
+                    System.out.println("Not logged in, browsing the snapshot of " + config.getString(ConfigKey.SNAPSHOT_LAST_ACCOUNT) + " offline.");
+                    snapshotWindow.setOffline();
+                    return;
+                }
                 System.exit(0);
             } else if (response == JOptionPane.OK_OPTION) {
                 try {
@@ -333,7 +361,7 @@ public final class AccountController {
                     if (config.getBool(ConfigKey.DEVICE_INFO_USE_CUSTOM)) {
                         go.setDeviceInfo(new DeviceInfo(new CustomDeviceInfo()));
                     }
-                    go.login(credentialProvider);
+                    loginOffEventThread(go, credentialProvider);
                 } else {
                     throw new IllegalStateException("credentialProvider is null.");
                 }
@@ -344,10 +372,99 @@ public final class AccountController {
                 // deleteLoginData(LoginType.ALL);
             }
         }
+        Bootstrap.mark(Bootstrap.MILESTONE_LOGGED_IN);
+        if (snapshotWindow != null) {
+            // The table columns share their data, so the snapshot has to go before the main window fills them
+            snapshotWindow.dispose();
+        }
         instance.go = go;
         initOtherControllers(go);
         instance.mainWindow = new PokemonGoMainWindow(go, true);
         instance.mainWindow.start();
+        Bootstrap.firstTableShown();
+    }
+
+    /**
+     * Logs on at the local stand-in server instead of the real one, without asking for credentials.
+     * The PTC username is used as the trainer name, if there is one saved.
+     *
+     * @param standInUrl The url of the stand-in server.
+     * @return The logged in api, or null if logging in failed.
+     */
+    private static PokemonGo logOnStandIn(final String standInUrl) {
+        final OkHttpClient http = HttpClientFactory.getFactory().getClient().newBuilder()
+            .addInterceptor(new StandInInterceptor(standInUrl))
+            .build();
+        final String savedUsername = config.getString(ConfigKey.LOGIN_PTC_USERNAME);
+        final String username = savedUsername != null ? savedUsername : StandInCredentialProvider.DEFAULT_USERNAME;
+        System.out.println("Logging in at stand-in server " + standInUrl + " as " + username);
+        try {
+            final PokemonGo go = new PokemonGo(http);
+            go.login(new StandInCredentialProvider(username));
+            return go;
+        } catch (LoginFailedException | RemoteServerException | AsyncPokemonGoException e) {
+            alertFailedLogin(e.getClass().getSimpleName(), e.getMessage(), 1);
+            return null;
+        }
+    }
+
+    /**
+     * Shows the snapshot of the account that was used last, if there is one.
+     *
+     * @return The window showing the snapshot, or null if there is none.
+     */
+    private static SnapshotWindow showSnapshot() {
+        final String account = config.getString(ConfigKey.SNAPSHOT_LAST_ACCOUNT);
+        if (account == null || !config.getBool(ConfigKey.SNAPSHOT_ENABLED)) {
+            return null;
+        }
+        final InventorySnapshot snapshot = InventorySnapshotStore.getStore().load(account);
+        if (snapshot == null) {
+            return null;
+        }
+        final SnapshotWindow window = new SnapshotWindow(snapshot);
+        window.setVisible(true);
+        Bootstrap.firstTableShown();
+        return window;
+    }
+
+    /**
+     * Logs in on a background thread. The event thread, which runs the login dialogs, keeps handling events
+     * meanwhile, so a shown snapshot stays usable.
+     *
+     * @param go                 The api to log in with.
+     * @param credentialProvider The credentials.
+     * @throws LoginFailedException  If the login failed.
+     * @throws RemoteServerException If the server had a problem.
+     */
+    private static void loginOffEventThread(final PokemonGo go, final CredentialProvider credentialProvider)
+        throws LoginFailedException, RemoteServerException {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            go.login(credentialProvider);
+            return;
+        }
+        final SecondaryLoop loop = Toolkit.getDefaultToolkit().getSystemEventQueue().createSecondaryLoop();
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        final Thread login = new Thread(() -> {
+            try {
+                go.login(credentialProvider);
+            } catch (LoginFailedException | RemoteServerException | RuntimeException e) {
+                failure.set(e);
+            } finally {
+                loop.exit();
+            }
+        }, "login");
+        login.start();
+        loop.enter();
+
+        final Exception e = failure.get();
+        if (e instanceof LoginFailedException) {
+            throw (LoginFailedException) e;
+        } else if (e instanceof RemoteServerException) {
+            throw (RemoteServerException) e;
+        } else if (e != null) {
+            throw (RuntimeException) e;
+        }
     }
 
     private static void initOtherControllers(final PokemonGo go) {
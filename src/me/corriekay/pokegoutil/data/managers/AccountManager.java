@@ -16,6 +16,9 @@ import me.corriekay.pokegoutil.data.models.PlayerAccount;
 import me.corriekay.pokegoutil.utils.ConfigKey;
 import me.corriekay.pokegoutil.utils.ConfigNew;
 import me.corriekay.pokegoutil.utils.CustomDeviceInfo;
+import me.corriekay.pokegoutil.utils.http.HttpClientFactory;
+import me.corriekay.pokegoutil.utils.standin.StandInCredentialProvider;
+import me.corriekay.pokegoutil.utils.standin.StandInInterceptor;
 import okhttp3.OkHttpClient;
 
 /**
@@ -29,7 +32,7 @@ public final class AccountManager {
     private PokemonGo go;
     private PlayerAccount playerAccount;
 
-    public static AccountManager getInstance() {
+    public static synchronized AccountManager getInstance() {
         if (instance == null) {
             instance = new AccountManager();
             // DO any required initialization stuff here
@@ -108,6 +111,15 @@ public final class AccountManager {
         return playerAccount;
     }
 
+    /**
+     * Returns the session of the logged in account.
+     *
+     * @return the session, or null if not logged in
+     */
+    public PokemonGo getPokemonGo() {
+        return go;
+    }
+
     public PlayerProfile getPlayerProfile() {
         return go != null ? go.getPlayerProfile() : null;
     }
@@ -125,6 +137,9 @@ public final class AccountManager {
      * @return results of the login
      */
     public BpmResult login(final LoginData loginData) {
+        if (config.getString(ConfigKey.STAND_IN_URL) != null) {
+            return logOnStandIn(loginData);
+        }
         switch (loginData.getLoginType()) {
             case GOOGLE_AUTH:
                 if (loginData.isValidGoogleLogin()) {
@@ -150,7 +165,7 @@ public final class AccountManager {
     private BpmResult logOnGoogleAuth(final LoginData loginData) {
         OkHttpClient http;
         CredentialProvider cp;
-        http = new OkHttpClient();
+        http = HttpClientFactory.getFactory().getClient();
 
         final String authCode = loginData.getToken();
         final boolean saveAuth = config.getBool(ConfigKey.LOGIN_SAVE_AUTH);
@@ -202,7 +217,7 @@ public final class AccountManager {
     private BpmResult logOnPtc(final LoginData loginData) {
         OkHttpClient http;
         CredentialProvider cp;
-        http = new OkHttpClient();
+        http = HttpClientFactory.getFactory().getClient();
 
         final String username = loginData.getUsername();
         final String password = loginData.getPassword();
@@ -230,6 +245,22 @@ public final class AccountManager {
         }
     }
 
+    /**
+     * Login at the local stand-in server. Only the username is used, it selects the account there.
+     *
+     * @param loginData the login data used to login
+     * @return results of the login
+     */
+    private BpmResult logOnStandIn(final LoginData loginData) {
+        final String username = loginData.getUsername() != null ? loginData.getUsername() : StandInCredentialProvider.DEFAULT_USERNAME;
+        try {
+            prepareLogin(new StandInCredentialProvider(username), HttpClientFactory.getFactory().getClient());
+            return new BpmResult();
+        } catch (LoginFailedException | RemoteServerException e) {
+            return new BpmResult(e.getMessage());
+        }
+    }
+
     /**
      * Do login process and initialize GUI.
      *
@@ -240,15 +271,62 @@ public final class AccountManager {
      */
     private void prepareLogin(final CredentialProvider cp, final OkHttpClient http)
             throws LoginFailedException, RemoteServerException {
-        go = new PokemonGo(http);
-        if (config.getBool(ConfigKey.DEVICE_INFO_USE_CUSTOM)) {
-            go.setDeviceInfo(new DeviceInfo(new CustomDeviceInfo()));
-        }
-        go.login(cp);
+        go = newSession(cp, http);
         playerAccount = new PlayerAccount(go.getPlayerProfile());
         initOtherControllers();
     }
 
+    /**
+     * Logs in with the login data into a session of its own. Nothing is saved in the config, and the account that is
+     * logged in for the GUI stays untouched, so several sessions can be open at the same time.
+     * <p>
+     * For Google, the token of the login data has to be a refresh token, there is nobody to enter an auth code.
+     *
+     * @param loginData the login data used to login
+     * @return the logged in session
+     * @throws LoginFailedException  login failed
+     * @throws RemoteServerException server error
+     */
+    public PokemonGo openSession(final LoginData loginData) throws LoginFailedException, RemoteServerException {
+        final OkHttpClient http = HttpClientFactory.getFactory().getClient();
+        final CredentialProvider cp;
+        if (config.getString(ConfigKey.STAND_IN_URL) != null) {
+            cp = new StandInCredentialProvider(loginData.hasUsername() ? loginData.getUsername() : StandInCredentialProvider.DEFAULT_USERNAME);
+        } else if (loginData.isValidPtcLogin()) {
+            cp = new PtcCredentialProvider(http, loginData.getUsername(), loginData.getPassword());
+        } else if (loginData.isValidGoogleLogin()) {
+            cp = new GoogleUserCredentialProvider(http, loginData.getToken());
+        } else {
+            throw new IllegalArgumentException("Neither PTC credentials nor a Google refresh token given");
+        }
+        return newSession(cp, http);
+    }
+
+    /**
+     * Creates a client for the given login, which goes to the stand-in server if one is configured, and logs in.
+     *
+     * @param cp   contains the credential provider
+     * @param http http client
+     * @return the logged in client
+     * @throws LoginFailedException  login failed
+     * @throws RemoteServerException server error
+     */
+    private PokemonGo newSession(final CredentialProvider cp, final OkHttpClient http)
+            throws LoginFailedException, RemoteServerException {
+        final String standInUrl = config.getString(ConfigKey.STAND_IN_URL);
+        final PokemonGo session;
+        if (standInUrl != null) {
+            session = new PokemonGo(http.newBuilder().addInterceptor(new StandInInterceptor(standInUrl)).build());
+        } else {
+            session = new PokemonGo(http);
+        }
+        if (config.getBool(ConfigKey.DEVICE_INFO_USE_CUSTOM)) {
+            session.setDeviceInfo(new DeviceInfo(new CustomDeviceInfo()));
+        }
+        session.login(cp);
+        return session;
+    }
+
     /**
      * The value will be saved for saveAuth in config.json.
      *
@@ -16,6 +16,7 @@ import me.corriekay.pokegoutil.utils.Utilities;
 import me.corriekay.pokegoutil.utils.helpers.DateHelper;
 import me.corriekay.pokegoutil.utils.pokemon.PokemonCalculationUtils;
 import me.corriekay.pokegoutil.utils.pokemon.PokemonCpUtils;
+import me.corriekay.pokegoutil.utils.pokemon.PokemonDerivedStats;
 import me.corriekay.pokegoutil.utils.pokemon.PokemonUtils;
 
 import POGOProtos.Enums.PokemonFamilyIdOuterClass;
@@ -31,580 +32,978 @@ import javafx.beans.property.SimpleLongProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 
+/**
+ * The view model of a single Pokémon in the JavaFX table.
+ * <p>
+ * Properties are only created when they are first asked for, which the table does for the cells of visible
+ * columns and rows. Until then, the getters compute derived values once and cache them, plain fields are read
+ * straight from the Pokémon. This keeps a bag of thousands of models small, and loading it doesn't pay for
+ * columns the user has hidden.
+ */
 public class PokemonModel {
     private static final String UNDERSCORE = "_";
-    private final IntegerProperty numId = new SimpleIntegerProperty();
-    private final StringProperty nickname = new SimpleStringProperty();
-    private final StringProperty species = new SimpleStringProperty();
-    private final DoubleProperty level = new SimpleDoubleProperty();
-    private final StringProperty iv = new SimpleStringProperty();
-    private final IntegerProperty atk = new SimpleIntegerProperty();
-    private final IntegerProperty def = new SimpleIntegerProperty();
-    private final IntegerProperty stam = new SimpleIntegerProperty();
-    private final StringProperty type1 = new SimpleStringProperty();
-    private final StringProperty type2 = new SimpleStringProperty();
-    private final StringProperty move1 = new SimpleStringProperty();
-    private final StringProperty move2 = new SimpleStringProperty();
-    private final IntegerProperty cp = new SimpleIntegerProperty();
-    private final IntegerProperty hp = new SimpleIntegerProperty();
-    private final IntegerProperty maxCp = new SimpleIntegerProperty();
-    private final IntegerProperty maxCpCurrent = new SimpleIntegerProperty();
-    private final IntegerProperty maxEvolvedCpCurrent = new SimpleIntegerProperty();
-    private final IntegerProperty maxEvolvedCp = new SimpleIntegerProperty();
-    private final IntegerProperty candies = new SimpleIntegerProperty();
-    private final IntegerProperty candies2Evlv = new SimpleIntegerProperty();
-    private final IntegerProperty dustToLevel = new SimpleIntegerProperty();
-    private final StringProperty pokeball = new SimpleStringProperty();
-    private final StringProperty caughtDate = new SimpleStringProperty();
-    private final BooleanProperty isFavorite = new SimpleBooleanProperty();
-    private final LongProperty duelAbility = new SimpleLongProperty();
-    private final DoubleProperty gymOffense = new SimpleDoubleProperty();
-    private final LongProperty gymDefense = new SimpleLongProperty();
-    private final LongProperty duelAbilityIv = new SimpleLongProperty();
-    private final DoubleProperty gymOffenseIv = new SimpleDoubleProperty();
-    private final LongProperty gymDefenseIv = new SimpleLongProperty();
-    private final StringProperty cpEvolved = new SimpleStringProperty();
-    private final StringProperty evolvable = new SimpleStringProperty();
+    private static final PokemonMeta EMPTY_META = new PokemonMeta();
+
+    private IntegerProperty numId;
+    private StringProperty nickname;
+    private StringProperty species;
+    private DoubleProperty level;
+    private StringProperty iv;
+    private IntegerProperty atk;
+    private IntegerProperty def;
+    private IntegerProperty stam;
+    private StringProperty type1;
+    private StringProperty type2;
+    private StringProperty move1;
+    private StringProperty move2;
+    private IntegerProperty cp;
+    private IntegerProperty hp;
+    private IntegerProperty maxCp;
+    private IntegerProperty maxCpCurrent;
+    private IntegerProperty maxEvolvedCpCurrent;
+    private IntegerProperty maxEvolvedCp;
+    private IntegerProperty candies;
+    private IntegerProperty candies2Evlv;
+    private IntegerProperty dustToLevel;
+    private StringProperty pokeball;
+    private StringProperty caughtDate;
+    private BooleanProperty isFavorite;
+    private LongProperty duelAbility;
+    private DoubleProperty gymOffense;
+    private LongProperty gymDefense;
+    private LongProperty duelAbilityIv;
+    private DoubleProperty gymOffenseIv;
+    private LongProperty gymDefenseIv;
+    private StringProperty cpEvolved;
+    private StringProperty evolvable;
 
     private Pokemon pokemon;
-    private final AccountManager accountManager = AccountManager.getInstance();
+    private Cache cache;
+    private CpStats cpStats;
+    private PokemonDerivedStats derivedStats;
 
     public PokemonModel(final Pokemon pokemon) {
         this.pokemon = pokemon;
-        initialze();
     }
 
-    public IntegerProperty atkProperty() {
-        return atk;
+    // Bunch of properties, getters and setters. Properties are created on first access.
+
+    public IntegerProperty numIdProperty() {
+        if (numId == null) {
+            numId = new SimpleIntegerProperty(this, "numId", computeNumId());
+        }
+        return numId;
     }
 
-    // Bunch of getters and setters
+    public int getNumId() {
+        return numId != null ? numId.get() : computeNumId();
+    }
 
-    public IntegerProperty candies2EvlvProperty() {
-        return candies2Evlv;
+    public void setNumId(final int numId) {
+        numIdProperty().set(numId);
     }
 
-    public IntegerProperty candiesProperty() {
-        return candies;
+    private int computeNumId() {
+        return meta().getNumber();
     }
 
-    public StringProperty caughtDateProperty() {
-        return caughtDate;
+    public StringProperty nicknameProperty() {
+        if (nickname == null) {
+            nickname = new SimpleStringProperty(this, "nickname", computeNickname());
+        }
+        return nickname;
     }
 
-    public StringProperty cpEvolvedProperty() {
-        return cpEvolved;
+    public String getNickname() {
+        return nickname != null ? nickname.get() : computeNickname();
     }
 
-    public IntegerProperty cpProperty() {
-        return cp;
+    public void setNickname(final String nickname) {
+        nicknameProperty().set(nickname);
     }
 
-    public IntegerProperty defProperty() {
-        return def;
+    private String computeNickname() {
+        return pokemon.getNickname();
     }
 
-    public LongProperty duelAbilityIvProperty() {
-        return duelAbilityIv;
+    public StringProperty speciesProperty() {
+        if (species == null) {
+            species = new SimpleStringProperty(this, "species", computeSpecies());
+        }
+        return species;
     }
 
-    public LongProperty duelAbilityProperty() {
-        return duelAbility;
+    public String getSpecies() {
+        return species != null ? species.get() : computeSpecies();
     }
 
-    public IntegerProperty dustToLevelProperty() {
-        return dustToLevel;
+    public void setSpecies(final String species) {
+        speciesProperty().set(species);
     }
 
-    public StringProperty evolvableProperty() {
-        return evolvable;
+    private String computeSpecies() {
+        final Cache c = cache();
+        if (c.species == null) {
+            c.species = PokemonUtils.getLocalPokeName(pokemon);
+        }
+        return c.species;
     }
 
-    public int getAtk() {
-        return atk.get();
+    public DoubleProperty levelProperty() {
+        if (level == null) {
+            level = new SimpleDoubleProperty(this, "level", computeLevel());
+        }
+        return level;
     }
 
-    public int getCandies() {
-        return candies.get();
+    public double getLevel() {
+        return level != null ? level.get() : computeLevel();
     }
 
-    public int getCandies2Evlv() {
-        return candies2Evlv.get();
+    public void setLevel(final double level) {
+        levelProperty().set(level);
     }
 
-    public int getCandyCostsForPowerup() {
-        return pokemon.getCandyCostsForPowerup();
+    private double computeLevel() {
+        final Cache c = cache();
+        if (Double.isNaN(c.level)) {
+            c.level = pokemon.getLevel();
+        }
+        return c.level;
     }
 
-    public String getCaughtDate() {
-        return caughtDate.get();
+    public StringProperty ivProperty() {
+        if (iv == null) {
+            iv = new SimpleStringProperty(this, "iv", computeIv());
+        }
+        return iv;
     }
 
-    public int getCp() {
-        return cp.get();
+    public String getIv() {
+        return iv != null ? iv.get() : computeIv();
     }
 
-    public String getCpEvolved() {
-        return cpEvolved.get();
+    public void setIv(final String iv) {
+        ivProperty().set(iv);
     }
 
-    public int getDef() {
-        return def.get();
+    private String computeIv() {
+        final Cache c = cache();
+        if (c.iv == null) {
+            c.iv = Utilities.percentageWithTwoCharacters(PokemonCalculationUtils.ivRating(pokemon));
+        }
+        return c.iv;
     }
 
-    public long getDuelAbility() {
-        return duelAbility.get();
+    public IntegerProperty atkProperty() {
+        if (atk == null) {
+            atk = new SimpleIntegerProperty(this, "atk", computeAtk());
+        }
+        return atk;
     }
 
-    public long getDuelAbilityIv() {
-        return duelAbilityIv.get();
+    public int getAtk() {
+        return atk != null ? atk.get() : computeAtk();
     }
 
-    public int getDustToLevel() {
-        return dustToLevel.get();
+    public void setAtk(final int atk) {
+        atkProperty().set(atk);
     }
 
-    public String getEvolvable() {
-        return evolvable.get();
+    private int computeAtk() {
+        return pokemon.getIndividualAttack();
     }
 
-    public long getGymDefense() {
-        return gymDefense.get();
+    public IntegerProperty defProperty() {
+        if (def == null) {
+            def = new SimpleIntegerProperty(this, "def", computeDef());
+        }
+        return def;
     }
 
-    public long getGymDefenseIv() {
-        return gymDefenseIv.get();
+    public int getDef() {
+        return def != null ? def.get() : computeDef();
     }
 
-    public double getGymOffense() {
-        return gymOffense.get();
+    public void setDef(final int def) {
+        defProperty().set(def);
     }
 
-    public double getGymOffenseIv() {
-        return gymOffenseIv.get();
+    private int computeDef() {
+        return pokemon.getIndividualDefense();
     }
 
-    public int getHp() {
-        return hp.get();
+    public IntegerProperty stamProperty() {
+        if (stam == null) {
+            stam = new SimpleIntegerProperty(this, "stam", computeStam());
+        }
+        return stam;
     }
 
-    public String getIv() {
-        return iv.get();
+    public int getStam() {
+        return stam != null ? stam.get() : computeStam();
     }
 
-    public double getLevel() {
-        return level.get();
+    public void setStam(final int stam) {
+        stamProperty().set(stam);
     }
 
-    public int getMaxCp() {
-        return maxCp.get();
+    private int computeStam() {
+        return pokemon.getIndividualStamina();
     }
 
-    public int getMaxCpCurrent() {
-        return maxCpCurrent.get();
+    public StringProperty type1Property() {
+        if (type1 == null) {
+            type1 = new SimpleStringProperty(this, "type1", computeType1());
+        }
+        return type1;
     }
 
-    public int getMaxEvolvedCp() {
-        return maxEvolvedCp.get();
+    public String getType1() {
+        return type1 != null ? type1.get() : computeType1();
     }
 
-    public int getMaxEvolvedCpCurrent() {
-        return maxEvolvedCpCurrent.get();
+    public void setType1(final String type1) {
+        type1Property().set(type1);
     }
 
-    public String getMove1() {
-        return move1.get();
+    private String computeType1() {
+        final Cache c = cache();
+        if (c.type1 == null) {
+            c.type1 = StringUtils.capitalize(meta().getType1().toString().toLowerCase());
+        }
+        return c.type1;
     }
 
-    public String getMove2() {
-        return move2.get();
+    public StringProperty type2Property() {
+        if (type2 == null) {
+            type2 = new SimpleStringProperty(this, "type2", computeType2());
+        }
+        return type2;
     }
 
-    public String getNickname() {
-        return nickname.get();
+    public String getType2() {
+        return type2 != null ? type2.get() : computeType2();
     }
 
-    public int getNumId() {
-        return numId.get();
+    public void setType2(final String type2) {
+        type2Property().set(type2);
     }
 
-    public String getPokeball() {
-        return pokeball.get();
+    private String computeType2() {
+        final Cache c = cache();
+        if (c.type2 == null) {
+            c.type2 = StringUtils.capitalize(meta().getType2().toString().toLowerCase());
+        }
+        return c.type2;
     }
 
-    public Pokemon getPokemon() {
-        return pokemon;
+    public StringProperty move1Property() {
+        if (move1 == null) {
+            move1 = new SimpleStringProperty(this, "move1", computeMove1());
+        }
+        return move1;
     }
 
-    public String getSpecies() {
-        return species.get();
+    public String getMove1() {
+        return move1 != null ? move1.get() : computeMove1();
     }
 
-    public int getStam() {
-        return stam.get();
+    public void setMove1(final String move1) {
+        move1Property().set(move1);
     }
 
-    public int getStardustCostsForPowerup() {
-        return pokemon.getStardustCostsForPowerup();
+    private String computeMove1() {
+        final Cache c = cache();
+        if (c.move1 == null) {
+            c.move1 = formatMove(pokemon.getMove1().toString(), PokemonCalculationUtils.dpsForMove(pokemon, true));
+        }
+        return c.move1;
     }
 
-    public String getSummary() {
-        return String.format(
-            "%s (%s) IV: %s CP: %d",
-            getNickname(), getSpecies(),
-            getIv(), getCp());
+    public StringProperty move2Property() {
+        if (move2 == null) {
+            move2 = new SimpleStringProperty(this, "move2", computeMove2());
+        }
+        return move2;
     }
 
-    public String getType1() {
-        return type1.get();
+    public String getMove2() {
+        return move2 != null ? move2.get() : computeMove2();
     }
 
-    public String getType2() {
-        return type2.get();
+    public void setMove2(final String move2) {
+        move2Property().set(move2);
     }
 
-    public LongProperty gymDefenseIvProperty() {
-        return gymDefenseIv;
+    private String computeMove2() {
+        final Cache c = cache();
+        if (c.move2 == null) {
+            c.move2 = formatMove(pokemon.getMove2().toString(), PokemonCalculationUtils.dpsForMove(pokemon, false));
+        }
+        return c.move2;
     }
 
-    public LongProperty gymDefenseProperty() {
-        return gymDefense;
+    public IntegerProperty cpProperty() {
+        if (cp == null) {
+            cp = new SimpleIntegerProperty(this, "cp", computeCp());
+        }
+        return cp;
     }
 
-    public DoubleProperty gymOffenseIvProperty() {
-        return gymOffenseIv;
+    public int getCp() {
+        return cp != null ? cp.get() : computeCp();
     }
 
-    public DoubleProperty gymOffenseProperty() {
-        return gymOffense;
+    public void setCp(final int cp) {
+        cpProperty().set(cp);
     }
 
-    public IntegerProperty hpProperty() {
-        return hp;
+    private int computeCp() {
+        return pokemon.getCp();
     }
 
-    private void initialze() {
-        final PokemonMeta meta = pokemon.getMeta() != null ? pokemon.getMeta() : new PokemonMeta();
-
-        setNumId(meta.getNumber());
-        setNickname(pokemon.getNickname());
-        setSpecies(PokemonUtils.getLocalPokeName(pokemon));
-        setLevel(pokemon.getLevel());
-        setIv(Utilities.percentageWithTwoCharacters(PokemonCalculationUtils.ivRating(pokemon)));
-        setAtk(pokemon.getIndividualAttack());
-        setDef(pokemon.getIndividualDefense());
-        setStam(pokemon.getIndividualStamina());
-        setType1(StringUtils.capitalize(meta.getType1().toString().toLowerCase()));
-        setType2(StringUtils.capitalize(meta.getType2().toString().toLowerCase()));
-
-        final Double dps1 = PokemonCalculationUtils.dpsForMove(pokemon, true);
-        final Double dps2 = PokemonCalculationUtils.dpsForMove(pokemon, false);
-        setMove1(String.format("%s (%.2fdps)",
-            WordUtils.capitalize(
-                pokemon.getMove1().toString().toLowerCase()
-                    .replaceAll("_fast", "").replaceAll(UNDERSCORE, " ")),
-            dps1));
-        setMove2(String.format("%s (%.2fdps)",
-            WordUtils.capitalize(
-                pokemon.getMove2().toString().toLowerCase()
-                    .replaceAll("_fast", "").replaceAll(UNDERSCORE, " ")),
-            dps2));
-
-        setCp(pokemon.getCp());
-        setHp(pokemon.getMaxStamina());
-
-        int trainerLevel = accountManager.getPlayerProfile().getStats().getLevel();
-
-        // Max CP calculation for current PokemonModel
-
-        int attack = pokemon.getIndividualAttack() + meta.getBaseAttack();
-        int defense = pokemon.getIndividualDefense() + meta.getBaseDefense();
-        int stamina = pokemon.getIndividualStamina() + meta.getBaseStamina();
-        final int maxCpCurrent = PokemonCpUtils.getMaxCpForTrainerLevel(attack, defense, stamina, trainerLevel);
-        final int maxCp = PokemonCpUtils.getMaxCp(attack, defense, stamina);
-        setMaxCp(maxCp);
-        setMaxCpCurrent(maxCpCurrent);
-
-        // Max CP calculation for highest evolution of current PokemonModel
-        final PokemonFamilyIdOuterClass.PokemonFamilyId familyId = pokemon.getPokemonFamily();
-        PokemonIdOuterClass.PokemonId highestFamilyId = PokemonMetaRegistry.getHighestForFamily(familyId);
-
-        // Eeveelutions exception handling
-        if (familyId.getNumber() == PokemonFamilyIdOuterClass.PokemonFamilyId.FAMILY_EEVEE.getNumber()) {
-            if (pokemon.getPokemonId().getNumber() == PokemonIdOuterClass.PokemonId.EEVEE.getNumber()) {
-                final PokemonMeta vap = PokemonMetaRegistry.getMeta(PokemonIdOuterClass.PokemonId.VAPOREON);
-                final PokemonMeta fla = PokemonMetaRegistry.getMeta(PokemonIdOuterClass.PokemonId.FLAREON);
-                final PokemonMeta jol = PokemonMetaRegistry.getMeta(PokemonIdOuterClass.PokemonId.JOLTEON);
-                if (vap != null && fla != null && jol != null) {
-                    final Comparator<PokemonMeta> cMeta = (m1, m2) -> {
-                        final int comb1 = PokemonCpUtils.getMaxCp(
-                            m1.getBaseAttack(),
-                            m1.getBaseDefense(),
-                            m1.getBaseStamina());
-                        final int comb2 = PokemonCpUtils.getMaxCp(
-                            m2.getBaseAttack(),
-                            m2.getBaseDefense(),
-                            m2.getBaseStamina());
-                        return comb1 - comb2;
-                    };
-                    highestFamilyId = PokemonIdOuterClass.PokemonId.forNumber(
-                        Collections.max(Arrays.asList(vap, fla, jol), cMeta).getNumber());
-                }
-            } else {
-                // This is one of the eeveelutions, so PokemonMetaRegistry.getHightestForFamily() returns Eevee.
-                // We correct that here
-                highestFamilyId = pokemon.getPokemonId();
-            }
+    public IntegerProperty hpProperty() {
+        if (hp == null) {
+            hp = new SimpleIntegerProperty(this, "hp", computeHp());
         }
+        return hp;
+    }
 
-        final PokemonMeta highestFamilyMeta = PokemonMetaRegistry.getMeta(highestFamilyId);
-        if (highestFamilyMeta == null) {
-            System.out.println("Error: Cannot find meta data for " + highestFamilyId.name());
-        } else {
-            if (highestFamilyId == pokemon.getPokemonId()) {
-                setMaxEvolvedCpCurrent(maxCpCurrent);
-                setMaxEvolvedCp(maxCp);
-                setCpEvolved("-");
-            } else {
-                attack = highestFamilyMeta.getBaseAttack() + pokemon.getIndividualAttack();
-                defense = highestFamilyMeta.getBaseDefense() + pokemon.getIndividualDefense();
-                stamina = highestFamilyMeta.getBaseStamina() + pokemon.getIndividualStamina();
-                setMaxEvolvedCpCurrent(PokemonCpUtils.getMaxCpForTrainerLevel(attack, defense, stamina, trainerLevel));
-                setMaxEvolvedCp(PokemonCpUtils.getMaxCp(attack, defense, stamina));
-                setCpEvolved(String.valueOf(
-                    PokemonCpUtils.getCpForPokemonLevel(attack, defense, stamina, pokemon.getLevel())));
-            }
-        }
+    public int getHp() {
+        return hp != null ? hp.get() : computeHp();
+    }
 
-        int pokemonCandies = pokemon.getCandy();
+    public void setHp(final int hp) {
+        hpProperty().set(hp);
+    }
 
-        setCandies(pokemonCandies);
-        if (pokemon.getCandiesToEvolve() != 0) {
-            setCandies2Evlv(pokemon.getCandiesToEvolve());
-            // Rounded down candies / toEvolve
-            setEvolvable(String.valueOf((int) ((double) pokemonCandies / pokemon.getCandiesToEvolve())));
+    private int computeHp() {
+        return pokemon.getMaxStamina();
+    }
 
-        } else {
-            setCandies2Evlv(0);
-            setEvolvable("-");
+    public IntegerProperty maxCpProperty() {
+        if (maxCp == null) {
+            maxCp = new SimpleIntegerProperty(this, "maxCp", computeMaxCp());
         }
-        setDustToLevel(pokemon.getStardustCostsForPowerup());
-        setPokeball(WordUtils.capitalize(
-            pokemon.getPokeball().toString().toLowerCase()
-                .replaceAll("item_", "").replaceAll(UNDERSCORE, " ")));
-        setCaughtDate(DateHelper.toString(DateHelper.fromTimestamp(pokemon.getCreationTimeMs())));
-        setIsFavorite(pokemon.isFavorite());
-        setDuelAbility(PokemonCalculationUtils.duelAbility(pokemon));
-        setGymOffense(PokemonCalculationUtils.gymOffense(pokemon));
-        setGymDefense(PokemonCalculationUtils.gymDefense(pokemon));
-
-        setDuelAbilityIv(PokemonCalculationUtils.duelAbility(pokemon));
-        setGymOffenseIv(PokemonCalculationUtils.gymOffense(pokemon));
-        setGymDefenseIv(PokemonCalculationUtils.gymDefense(pokemon));
+        return maxCp;
     }
 
-    public BooleanProperty isFavoriteProperty() {
-        return isFavorite;
+    public int getMaxCp() {
+        return maxCp != null ? maxCp.get() : computeMaxCp();
     }
 
-    public boolean isInGym() {
-        return !pokemon.getDeployedFortId().isEmpty();
+    public void setMaxCp(final int maxCp) {
+        maxCpProperty().set(maxCp);
     }
 
-    public boolean isIsFavorite() {
-        return isFavorite.get();
+    private int computeMaxCp() {
+        return getCpStats().maxCp;
     }
 
-    public StringProperty ivProperty() {
-        return iv;
+    public IntegerProperty maxCpCurrentProperty() {
+        if (maxCpCurrent == null) {
+            maxCpCurrent = new SimpleIntegerProperty(this, "maxCpCurrent", computeMaxCpCurrent());
+        }
+        return maxCpCurrent;
     }
 
-    public DoubleProperty levelProperty() {
-        return level;
+    public int getMaxCpCurrent() {
+        return maxCpCurrent != null ? maxCpCurrent.get() : computeMaxCpCurrent();
     }
 
-    public IntegerProperty maxCpCurrentProperty() {
-        return maxCpCurrent;
+    public void setMaxCpCurrent(final int maxCpCurrent) {
+        maxCpCurrentProperty().set(maxCpCurrent);
     }
 
-    public IntegerProperty maxCpProperty() {
-        return maxCp;
+    private int computeMaxCpCurrent() {
+        return getCpStats().maxCpCurrent;
     }
 
     public IntegerProperty maxEvolvedCpCurrentProperty() {
+        if (maxEvolvedCpCurrent == null) {
+            maxEvolvedCpCurrent = new SimpleIntegerProperty(this, "maxEvolvedCpCurrent", computeMaxEvolvedCpCurrent());
+        }
         return maxEvolvedCpCurrent;
     }
 
+    public int getMaxEvolvedCpCurrent() {
+        return maxEvolvedCpCurrent != null ? maxEvolvedCpCurrent.get() : computeMaxEvolvedCpCurrent();
+    }
+
+    public void setMaxEvolvedCpCurrent(final int maxEvolvedCpCurrent) {
+        maxEvolvedCpCurrentProperty().set(maxEvolvedCpCurrent);
+    }
+
+    private int computeMaxEvolvedCpCurrent() {
+        return getCpStats().maxEvolvedCpCurrent;
+    }
+
     public IntegerProperty maxEvolvedCpProperty() {
+        if (maxEvolvedCp == null) {
+            maxEvolvedCp = new SimpleIntegerProperty(this, "maxEvolvedCp", computeMaxEvolvedCp());
+        }
         return maxEvolvedCp;
     }
 
-    public StringProperty move1Property() {
-        return move1;
+    public int getMaxEvolvedCp() {
+        return maxEvolvedCp != null ? maxEvolvedCp.get() : computeMaxEvolvedCp();
     }
 
-    public StringProperty move2Property() {
-        return move2;
+    public void setMaxEvolvedCp(final int maxEvolvedCp) {
+        maxEvolvedCpProperty().set(maxEvolvedCp);
     }
 
-    public StringProperty nicknameProperty() {
-        return nickname;
+    private int computeMaxEvolvedCp() {
+        return getCpStats().maxEvolvedCp;
     }
 
-    public IntegerProperty numIdProperty() {
-        return numId;
+    public IntegerProperty candiesProperty() {
+        if (candies == null) {
+            candies = new SimpleIntegerProperty(this, "candies", computeCandies());
+        }
+        return candies;
+    }
+
+    public int getCandies() {
+        return candies != null ? candies.get() : computeCandies();
+    }
+
+    public void setCandies(final int candies) {
+        candiesProperty().set(candies);
+    }
+
+    private int computeCandies() {
+        return pokemon.getCandy();
+    }
+
+    public IntegerProperty candies2EvlvProperty() {
+        if (candies2Evlv == null) {
+            candies2Evlv = new SimpleIntegerProperty(this, "candies2Evlv", computeCandies2Evlv());
+        }
+        return candies2Evlv;
+    }
+
+    public int getCandies2Evlv() {
+        return candies2Evlv != null ? candies2Evlv.get() : computeCandies2Evlv();
+    }
+
+    public void setCandies2Evlv(final int candies2Evlv) {
+        candies2EvlvProperty().set(candies2Evlv);
+    }
+
+    private int computeCandies2Evlv() {
+        return pokemon.getCandiesToEvolve();
+    }
+
+    public IntegerProperty dustToLevelProperty() {
+        if (dustToLevel == null) {
+            dustToLevel = new SimpleIntegerProperty(this, "dustToLevel", computeDustToLevel());
+        }
+        return dustToLevel;
+    }
+
+    public int getDustToLevel() {
+        return dustToLevel != null ? dustToLevel.get() : computeDustToLevel();
+    }
+
+    public void setDustToLevel(final int dustToLevel) {
+        dustToLevelProperty().set(dustToLevel);
+    }
+
+    private int computeDustToLevel() {
+        final Cache c = cache();
+        if (c.dustToLevel < 0) {
+            c.dustToLevel = pokemon.getStardustCostsForPowerup();
+        }
+        return c.dustToLevel;
     }
 
     public StringProperty pokeballProperty() {
+        if (pokeball == null) {
+            pokeball = new SimpleStringProperty(this, "pokeball", computePokeball());
+        }
         return pokeball;
     }
 
-    public void setAtk(final int atk) {
-        this.atk.set(atk);
+    public String getPokeball() {
+        return pokeball != null ? pokeball.get() : computePokeball();
     }
 
-    public void setCandies(final int candies) {
-        this.candies.set(candies);
+    public void setPokeball(final String pokeball) {
+        pokeballProperty().set(pokeball);
     }
 
-    public void setCandies2Evlv(final int candies2Evlv) {
-        this.candies2Evlv.set(candies2Evlv);
+    private String computePokeball() {
+        final Cache c = cache();
+        if (c.pokeball == null) {
+            c.pokeball = WordUtils.capitalize(pokemon.getPokeball().toString().toLowerCase().replaceAll("item_", "").replaceAll(UNDERSCORE, " "));
+        }
+        return c.pokeball;
+    }
+
+    public StringProperty caughtDateProperty() {
+        if (caughtDate == null) {
+            caughtDate = new SimpleStringProperty(this, "caughtDate", computeCaughtDate());
+        }
+        return caughtDate;
+    }
+
+    public String getCaughtDate() {
+        return caughtDate != null ? caughtDate.get() : computeCaughtDate();
     }
 
     public void setCaughtDate(final String caughtDate) {
-        this.caughtDate.set(caughtDate);
+        caughtDateProperty().set(caughtDate);
     }
 
-    public void setCp(final int cp) {
-        this.cp.set(cp);
+    private String computeCaughtDate() {
+        final Cache c = cache();
+        if (c.caughtDate == null) {
+            c.caughtDate = DateHelper.toString(DateHelper.fromTimestamp(pokemon.getCreationTimeMs()));
+        }
+        return c.caughtDate;
     }
 
-    public void setCpEvolved(final String cpEvolved) {
-        this.cpEvolved.set(cpEvolved);
+    public BooleanProperty isFavoriteProperty() {
+        if (isFavorite == null) {
+            isFavorite = new SimpleBooleanProperty(this, "isFavorite", computeIsFavorite());
+        }
+        return isFavorite;
     }
 
-    public void setDef(final int def) {
-        this.def.set(def);
+    public boolean isIsFavorite() {
+        return isFavorite != null ? isFavorite.get() : computeIsFavorite();
+    }
+
+    public void setIsFavorite(final boolean isFavorite) {
+        isFavoriteProperty().set(isFavorite);
+    }
+
+    private boolean computeIsFavorite() {
+        return pokemon.isFavorite();
+    }
+
+    public LongProperty duelAbilityProperty() {
+        if (duelAbility == null) {
+            duelAbility = new SimpleLongProperty(this, "duelAbility", computeDuelAbility());
+        }
+        return duelAbility;
+    }
+
+    public long getDuelAbility() {
+        return duelAbility != null ? duelAbility.get() : computeDuelAbility();
     }
 
     public void setDuelAbility(final long duelAbility) {
-        this.duelAbility.set(duelAbility);
+        duelAbilityProperty().set(duelAbility);
     }
 
-    public void setDuelAbilityIv(final long duelAbilityIv) {
-        this.duelAbilityIv.set(duelAbilityIv);
+    private long computeDuelAbility() {
+        return getDerivedStats().duelAbility;
     }
 
-    public void setDustToLevel(final int dustToLevel) {
-        this.dustToLevel.set(dustToLevel);
+    public DoubleProperty gymOffenseProperty() {
+        if (gymOffense == null) {
+            gymOffense = new SimpleDoubleProperty(this, "gymOffense", computeGymOffense());
+        }
+        return gymOffense;
     }
 
-    public void setEvolvable(final String evolvable) {
-        this.evolvable.set(evolvable);
+    public double getGymOffense() {
+        return gymOffense != null ? gymOffense.get() : computeGymOffense();
+    }
+
+    public void setGymOffense(final double gymOffense) {
+        gymOffenseProperty().set(gymOffense);
+    }
+
+    private double computeGymOffense() {
+        return getDerivedStats().gymOffense;
+    }
+
+    public LongProperty gymDefenseProperty() {
+        if (gymDefense == null) {
+            gymDefense = new SimpleLongProperty(this, "gymDefense", computeGymDefense());
+        }
+        return gymDefense;
+    }
+
+    public long getGymDefense() {
+        return gymDefense != null ? gymDefense.get() : computeGymDefense();
     }
 
     public void setGymDefense(final long gymDefense) {
-        this.gymDefense.set(gymDefense);
+        gymDefenseProperty().set(gymDefense);
     }
 
-    public void setGymDefenseIv(final long gymDefenseIv) {
-        this.gymDefenseIv.set(gymDefenseIv);
+    private long computeGymDefense() {
+        return getDerivedStats().gymDefense;
     }
 
-    public void setGymOffense(final double gymOffense) {
-        this.gymOffense.set(gymOffense);
+    public LongProperty duelAbilityIvProperty() {
+        if (duelAbilityIv == null) {
+            duelAbilityIv = new SimpleLongProperty(this, "duelAbilityIv", computeDuelAbilityIv());
+        }
+        return duelAbilityIv;
+    }
+
+    public long getDuelAbilityIv() {
+        return duelAbilityIv != null ? duelAbilityIv.get() : computeDuelAbilityIv();
+    }
+
+    public void setDuelAbilityIv(final long duelAbilityIv) {
+        duelAbilityIvProperty().set(duelAbilityIv);
+    }
+
+    private long computeDuelAbilityIv() {
+        return getDerivedStats().duelAbilityIv;
+    }
+
+    public DoubleProperty gymOffenseIvProperty() {
+        if (gymOffenseIv == null) {
+            gymOffenseIv = new SimpleDoubleProperty(this, "gymOffenseIv", computeGymOffenseIv());
+        }
+        return gymOffenseIv;
+    }
+
+    public double getGymOffenseIv() {
+        return gymOffenseIv != null ? gymOffenseIv.get() : computeGymOffenseIv();
     }
 
     public void setGymOffenseIv(final double gymOffenseIv) {
-        this.gymOffenseIv.set(gymOffenseIv);
+        gymOffenseIvProperty().set(gymOffenseIv);
     }
 
-    public void setHp(final int hp) {
-        this.hp.set(hp);
+    private double computeGymOffenseIv() {
+        return getDerivedStats().gymOffenseIv;
     }
 
-    public void setIsFavorite(final boolean isFavorite) {
-        this.isFavorite.set(isFavorite);
+    public LongProperty gymDefenseIvProperty() {
+        if (gymDefenseIv == null) {
+            gymDefenseIv = new SimpleLongProperty(this, "gymDefenseIv", computeGymDefenseIv());
+        }
+        return gymDefenseIv;
     }
 
-    public void setIv(final String iv) {
-        this.iv.set(iv);
+    public long getGymDefenseIv() {
+        return gymDefenseIv != null ? gymDefenseIv.get() : computeGymDefenseIv();
     }
 
-    public void setLevel(final double level) {
-        this.level.set(level);
+    public void setGymDefenseIv(final long gymDefenseIv) {
+        gymDefenseIvProperty().set(gymDefenseIv);
     }
 
-    public void setMaxCp(final int maxCp) {
-        this.maxCp.set(maxCp);
+    private long computeGymDefenseIv() {
+        return getDerivedStats().gymDefenseIv;
     }
 
-    public void setMaxCpCurrent(final int maxCpCurrent) {
-        this.maxCpCurrent.set(maxCpCurrent);
+    public StringProperty cpEvolvedProperty() {
+        if (cpEvolved == null) {
+            cpEvolved = new SimpleStringProperty(this, "cpEvolved", computeCpEvolved());
+        }
+        return cpEvolved;
     }
 
-    public void setMaxEvolvedCp(final int maxEvolvedCp) {
-        this.maxEvolvedCp.set(maxEvolvedCp);
+    public String getCpEvolved() {
+        return cpEvolved != null ? cpEvolved.get() : computeCpEvolved();
     }
 
-    public void setMaxEvolvedCpCurrent(final int maxEvolvedCpCurrent) {
-        this.maxEvolvedCpCurrent.set(maxEvolvedCpCurrent);
+    public void setCpEvolved(final String cpEvolved) {
+        cpEvolvedProperty().set(cpEvolved);
     }
 
-    public void setMove1(final String move1) {
-        this.move1.set(move1);
+    private String computeCpEvolved() {
+        return getCpStats().cpEvolved;
     }
 
-    public void setMove2(final String move2) {
-        this.move2.set(move2);
+    public StringProperty evolvableProperty() {
+        if (evolvable == null) {
+            evolvable = new SimpleStringProperty(this, "evolvable", computeEvolvable());
+        }
+        return evolvable;
     }
 
-    public void setNickname(final String nickname) {
-        this.nickname.set(nickname);
+    public String getEvolvable() {
+        return evolvable != null ? evolvable.get() : computeEvolvable();
     }
 
-    public void setNumId(final int numId) {
-        this.numId.set(numId);
+    public void setEvolvable(final String evolvable) {
+        evolvableProperty().set(evolvable);
     }
 
-    public void setPokeball(final String pokeball) {
-        this.pokeball.set(pokeball);
+    public int getCandyCostsForPowerup() {
+        return pokemon.getCandyCostsForPowerup();
+    }
+
+    public Pokemon getPokemon() {
+        return pokemon;
+    }
+
+    public int getStardustCostsForPowerup() {
+        return pokemon.getStardustCostsForPowerup();
     }
 
+    public String getSummary() {
+        return String.format(
+            "%s (%s) IV: %s CP: %d",
+            getNickname(), getSpecies(),
+            getIv(), getCp());
+    }
+
+    public boolean isInGym() {
+        return !pokemon.getDeployedFortId().isEmpty();
+    }
+
+    /**
+     * Replaces the Pokémon behind this model, e.g. after it evolved.
+     * Only the properties that have been created already are updated, all other values are computed on access.
+     *
+     * @param pokemon The new Pokémon.
+     */
     public void setPokemon(final Pokemon pokemon) {
         this.pokemon = pokemon;
-        initialze();
+        cache = null;
+        cpStats = null;
+        derivedStats = null;
+        refreshProperties();
     }
 
-    public void setSpecies(final String species) {
-        this.species.set(species);
+    private void refreshProperties() {
+        if (numId != null) {
+            numId.set(computeNumId());
+        }
+        if (nickname != null) {
+            nickname.set(computeNickname());
+        }
+        if (species != null) {
+            species.set(computeSpecies());
+        }
+        if (level != null) {
+            level.set(computeLevel());
+        }
+        if (iv != null) {
+            iv.set(computeIv());
+        }
+        if (atk != null) {
+            atk.set(computeAtk());
+        }
+        if (def != null) {
+            def.set(computeDef());
+        }
+        if (stam != null) {
+            stam.set(computeStam());
+        }
+        if (type1 != null) {
+            type1.set(computeType1());
+        }
+        if (type2 != null) {
+            type2.set(computeType2());
+        }
+        if (move1 != null) {
+            move1.set(computeMove1());
+        }
+        if (move2 != null) {
+            move2.set(computeMove2());
+        }
+        if (cp != null) {
+            cp.set(computeCp());
+        }
+        if (hp != null) {
+            hp.set(computeHp());
+        }
+        if (maxCp != null) {
+            maxCp.set(computeMaxCp());
+        }
+        if (maxCpCurrent != null) {
+            maxCpCurrent.set(computeMaxCpCurrent());
+        }
+        if (maxEvolvedCpCurrent != null) {
+            maxEvolvedCpCurrent.set(computeMaxEvolvedCpCurrent());
+        }
+        if (maxEvolvedCp != null) {
+            maxEvolvedCp.set(computeMaxEvolvedCp());
+        }
+        if (candies != null) {
+            candies.set(computeCandies());
+        }
+        if (candies2Evlv != null) {
+            candies2Evlv.set(computeCandies2Evlv());
+        }
+        if (dustToLevel != null) {
+            dustToLevel.set(computeDustToLevel());
+        }
+        if (pokeball != null) {
+            pokeball.set(computePokeball());
+        }
+        if (caughtDate != null) {
+            caughtDate.set(computeCaughtDate());
+        }
+        if (isFavorite != null) {
+            isFavorite.set(computeIsFavorite());
+        }
+        if (duelAbility != null) {
+            duelAbility.set(computeDuelAbility());
+        }
+        if (gymOffense != null) {
+            gymOffense.set(computeGymOffense());
+        }
+        if (gymDefense != null) {
+            gymDefense.set(computeGymDefense());
+        }
+        if (duelAbilityIv != null) {
+            duelAbilityIv.set(computeDuelAbilityIv());
+        }
+        if (gymOffenseIv != null) {
+            gymOffenseIv.set(computeGymOffenseIv());
+        }
+        if (gymDefenseIv != null) {
+            gymDefenseIv.set(computeGymDefenseIv());
+        }
+        if (cpEvolved != null) {
+            cpEvolved.set(computeCpEvolved());
+        }
+        if (evolvable != null) {
+            evolvable.set(computeEvolvable());
+        }
     }
 
-    public void setStam(final int stam) {
-        this.stam.set(stam);
+    private PokemonMeta meta() {
+        return pokemon.getMeta() != null ? pokemon.getMeta() : EMPTY_META;
     }
 
-    public void setType1(final String type1) {
-        this.type1.set(type1);
+    private static String formatMove(final String move, final double dps) {
+        return String.format("%s (%.2fdps)",
+            WordUtils.capitalize(move.toLowerCase().replaceAll("_fast", "").replaceAll(UNDERSCORE, " ")),
+            dps);
     }
 
-    public void setType2(final String type2) {
-        this.type2.set(type2);
+    private String computeEvolvable() {
+        final Cache c = cache();
+        if (c.evolvable == null) {
+            if (pokemon.getCandiesToEvolve() == 0) {
+                c.evolvable = "-";
+            } else {
+                // Rounded down candies / toEvolve
+                c.evolvable = String.valueOf((int) ((double) pokemon.getCandy() / pokemon.getCandiesToEvolve()));
+            }
+        }
+        return c.evolvable;
     }
 
-    public StringProperty speciesProperty() {
-        return species;
+    private Cache cache() {
+        if (cache == null) {
+            cache = new Cache();
+        }
+        return cache;
     }
 
-    public IntegerProperty stamProperty() {
-        return stam;
+    private CpStats getCpStats() {
+        if (cpStats == null) {
+            cpStats = new CpStats(pokemon, meta());
+        }
+        return cpStats;
     }
 
-    public StringProperty type1Property() {
-        return type1;
-    }
+    private PokemonDerivedStats getDerivedStats() {
+        if (derivedStats == null) {
+            derivedStats = PokemonCalculationUtils.derivedStats(pokemon);
+        }
+        return derivedStats;
+    }
+
+    /**
+     * The derived values that are more than a plain field read on the Pokémon, cached on their first access.
+     * The getters of columns without a property read from here, so sorting and filtering don't format
+     * the same values over and over.
+     */
+    private static final class Cache {
+        private String species;
+        private double level = Double.NaN;
+        private String iv;
+        private String type1;
+        private String type2;
+        private String move1;
+        private String move2;
+        private int dustToLevel = -1;
+        private String pokeball;
+        private String caughtDate;
+        private String evolvable;
+    }
+
+    /**
+     * The max CP values of the Pokémon and its highest evolution. They share most of their calculation,
+     * so they are computed together once, on the first access of any of them.
+     */
+    private static final class CpStats {
+        private int maxCp;
+        private int maxCpCurrent;
+        private int maxEvolvedCp;
+        private int maxEvolvedCpCurrent;
+        private String cpEvolved;
+
+        CpStats(final Pokemon pokemon, final PokemonMeta meta) {
+            final int trainerLevel = AccountManager.getInstance().getPlayerProfile().getStats().getLevel();
+
+            // Max CP calculation for current PokemonModel
+            int attack = pokemon.getIndividualAttack() + meta.getBaseAttack();
+            int defense = pokemon.getIndividualDefense() + meta.getBaseDefense();
+            int stamina = pokemon.getIndividualStamina() + meta.getBaseStamina();
+            maxCpCurrent = PokemonCpUtils.getMaxCpForTrainerLevel(attack, defense, stamina, trainerLevel);
+            maxCp = PokemonCpUtils.getMaxCp(attack, defense, stamina);
+
+            // Max CP calculation for highest evolution of current PokemonModel
+            final PokemonIdOuterClass.PokemonId highestFamilyId = getHighestFamilyId(pokemon);
+            final PokemonMeta highestFamilyMeta = PokemonMetaRegistry.getMeta(highestFamilyId);
+            if (highestFamilyMeta == null) {
+                System.out.println("Error: Cannot find meta data for " + highestFamilyId.name());
+            } else if (highestFamilyId == pokemon.getPokemonId()) {
+                maxEvolvedCpCurrent = maxCpCurrent;
+                maxEvolvedCp = maxCp;
+                cpEvolved = "-";
+            } else {
+                attack = highestFamilyMeta.getBaseAttack() + pokemon.getIndividualAttack();
+                defense = highestFamilyMeta.getBaseDefense() + pokemon.getIndividualDefense();
+                stamina = highestFamilyMeta.getBaseStamina() + pokemon.getIndividualStamina();
+                maxEvolvedCpCurrent = PokemonCpUtils.getMaxCpForTrainerLevel(attack, defense, stamina, trainerLevel);
+                maxEvolvedCp = PokemonCpUtils.getMaxCp(attack, defense, stamina);
+                cpEvolved = String.valueOf(
+                    PokemonCpUtils.getCpForPokemonLevel(attack, defense, stamina, pokemon.getLevel()));
+            }
+        }
 
-    public StringProperty type2Property() {
-        return type2;
+        private static PokemonIdOuterClass.PokemonId getHighestFamilyId(final Pokemon pokemon) {
+            final PokemonFamilyIdOuterClass.PokemonFamilyId familyId = pokemon.getPokemonFamily();
+            PokemonIdOuterClass.PokemonId highestFamilyId = PokemonMetaRegistry.getHighestForFamily(familyId);
+
+            // Eeveelutions exception handling
+            if (familyId.getNumber() == PokemonFamilyIdOuterClass.PokemonFamilyId.FAMILY_EEVEE.getNumber()) {
+                if (pokemon.getPokemonId().getNumber() == PokemonIdOuterClass.PokemonId.EEVEE.getNumber()) {
+                    final PokemonMeta vap = PokemonMetaRegistry.getMeta(PokemonIdOuterClass.PokemonId.VAPOREON);
+                    final PokemonMeta fla = PokemonMetaRegistry.getMeta(PokemonIdOuterClass.PokemonId.FLAREON);
+                    final PokemonMeta jol = PokemonMetaRegistry.getMeta(PokemonIdOuterClass.PokemonId.JOLTEON);
+                    if (vap != null && fla != null && jol != null) {
+                        final Comparator<PokemonMeta> cMeta = (m1, m2) -> {
+                            final int comb1 = PokemonCpUtils.getMaxCp(
+                                m1.getBaseAttack(),
+                                m1.getBaseDefense(),
+                                m1.getBaseStamina());
+                            final int comb2 = PokemonCpUtils.getMaxCp(
+                                m2.getBaseAttack(),
+                                m2.getBaseDefense(),
+                                m2.getBaseStamina());
+                            return comb1 - comb2;
+                        };
+                        highestFamilyId = PokemonIdOuterClass.PokemonId.forNumber(
+                            Collections.max(Arrays.asList(vap, fla, jol), cMeta).getNumber());
+                    }
+                } else {
+                    // This is one of the eeveelutions, so PokemonMetaRegistry.getHightestForFamily() returns Eevee.
+                    // We correct that here
+                    highestFamilyId = pokemon.getPokemonId();
+                }
+            }
+            return highestFamilyId;
+        }
     }
 }
@@ -10,6 +10,7 @@ import me.corriekay.pokegoutil.data.models.BpmOperationResult;
 import me.corriekay.pokegoutil.data.models.PokemonModel;
 import me.corriekay.pokegoutil.gui.enums.OperationId;
 import me.corriekay.pokegoutil.utils.ConfigKey;
+import me.corriekay.pokegoutil.utils.metrics.MetricsRegistry;
 import me.corriekay.pokegoutil.utils.pokemon.PokemonUtils;
 
 public class EvolveOperation extends Operation {
@@ -33,7 +34,8 @@ public class EvolveOperation extends Operation {
 
     @Override
     protected BpmOperationResult doOperation() throws LoginFailedException, RemoteServerException {
-        final EvolutionResult evolutionResult = pokemon.getPokemon().evolve();
+        final EvolutionResult evolutionResult = MetricsRegistry.getRegistry()
+                .recordApiCall(getOperationId(), pokemon.getPokemon()::evolve, EvolutionResult::getResult);
 
         if (!evolutionResult.isSuccessful()) {
             return new BpmOperationResult(String.format(
@@ -8,11 +8,13 @@ import com.pokegoapi.exceptions.LoginFailedException;
 import com.pokegoapi.exceptions.RemoteServerException;
 
 import javafx.collections.ObservableList;
+import me.corriekay.pokegoutil.data.enums.OperationError;
 import me.corriekay.pokegoutil.data.models.BpmOperationResult;
 import me.corriekay.pokegoutil.data.models.PokemonModel;
 import me.corriekay.pokegoutil.gui.enums.OperationId;
 import me.corriekay.pokegoutil.utils.ConfigNew;
 import me.corriekay.pokegoutil.utils.Utilities;
+import me.corriekay.pokegoutil.utils.batch.BatchedCall;
 
 public abstract class Operation {
 
@@ -63,6 +65,24 @@ public abstract class Operation {
 
     protected abstract BpmOperationResult doOperation() throws LoginFailedException, RemoteServerException;
 
+    /**
+     * Creates the request of this operation as a call, that can be sent in one envelope with others of its kind.
+     *
+     * @return The call, or null if this operation can only be executed on its own.
+     */
+    protected BatchedCall<?> createBatchedCall() {
+        return null;
+    }
+
+    /**
+     * Creates the result of this operation from its batched call, after the call was executed.
+     *
+     * @return The result.
+     */
+    protected BpmOperationResult getBatchedResult() {
+        return new BpmOperationResult("Not implemented", OperationError.NOT_IMPLEMENTED);
+    }
+
     public BpmOperationResult execute() throws InvalidCurrencyException, LoginFailedException, RemoteServerException {
         BpmOperationResult result = validateOperation();
 
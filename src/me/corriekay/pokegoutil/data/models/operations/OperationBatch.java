@@ -0,0 +1,89 @@
+package me.corriekay.pokegoutil.data.models.operations;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import com.pokegoapi.api.PokemonGo;
+import com.pokegoapi.exceptions.InvalidCurrencyException;
+import com.pokegoapi.exceptions.LoginFailedException;
+import com.pokegoapi.exceptions.RemoteServerException;
+
+import me.corriekay.pokegoutil.data.models.BpmOperationResult;
+import me.corriekay.pokegoutil.gui.enums.OperationId;
+import me.corriekay.pokegoutil.utils.batch.BatchedCall;
+import me.corriekay.pokegoutil.utils.batch.RequestBatcher;
+
+/**
+ * Executes the operations of a list that can be batched through the RequestBatcher, and hands the rest back to be
+ * executed one by one.
+ */
+public final class OperationBatch {
+
+    private final RequestBatcher batcher;
+
+    /**
+     * Creates a batch with the configured batch size.
+     *
+     * @param go The API.
+     */
+    public OperationBatch(final PokemonGo go) {
+        this(new RequestBatcher(go));
+    }
+
+    /**
+     * Creates a batch that sends through the given batcher.
+     *
+     * @param batcher The batcher.
+     */
+    public OperationBatch(final RequestBatcher batcher) {
+        this.batcher = batcher;
+    }
+
+    /**
+     * Executes all operations that support batching. Each is validated first, the ones that are not valid get the
+     * result of the validation without sending anything. The valid ones are sent in batches per operation type.
+     *
+     * @param operations   The operations.
+     * @param perOperation Called with each executed operation and its result.
+     * @return The operations that have to be executed on their own, in their original order.
+     */
+    public List<Operation> executeBatchable(final List<Operation> operations,
+                                            final BiConsumer<Operation, BpmOperationResult> perOperation) {
+        final List<Operation> single = new ArrayList<>();
+        final Map<OperationId, List<BatchedCall<?>>> calls = new EnumMap<>(OperationId.class);
+        final Map<BatchedCall<?>, Operation> owners = new IdentityHashMap<>();
+
+        for (final Operation operation : operations) {
+            final BatchedCall<?> call = operation.createBatchedCall();
+            if (call == null) {
+                single.add(operation);
+                continue;
+            }
+
+            final BpmOperationResult validation;
+            try {
+                validation = operation.validateOperation();
+            } catch (InvalidCurrencyException | LoginFailedException | RemoteServerException e) {
+                // Let the single execution report it
+                single.add(operation);
+                continue;
+            }
+            if (!validation.isSuccess()) {
+                perOperation.accept(operation, validation);
+                continue;
+            }
+            calls.computeIfAbsent(operation.getOperationId(), id -> new ArrayList<>()).add(call);
+            owners.put(call, operation);
+        }
+
+        calls.values().forEach(batch -> batcher.execute(batch, call -> {
+            final Operation operation = owners.get(call);
+            perOperation.accept(operation, operation.getBatchedResult());
+        }));
+        return single;
+    }
+}
@@ -9,12 +9,18 @@ import me.corriekay.pokegoutil.data.models.BpmOperationResult;
 import me.corriekay.pokegoutil.data.models.PokemonModel;
 import me.corriekay.pokegoutil.gui.enums.OperationId;
 import me.corriekay.pokegoutil.utils.ConfigKey;
+import me.corriekay.pokegoutil.utils.Utilities;
+import me.corriekay.pokegoutil.utils.batch.BatchedCall;
+import me.corriekay.pokegoutil.utils.metrics.MetricsRegistry;
 import me.corriekay.pokegoutil.utils.pokemon.PokemonUtils;
 
+import POGOProtos.Networking.Responses.ReleasePokemonResponseOuterClass.ReleasePokemonResponse;
 import POGOProtos.Networking.Responses.ReleasePokemonResponseOuterClass.ReleasePokemonResponse.Result;
 
 public class TransferOperation extends Operation {
 
+    private BatchedCall<ReleasePokemonResponse> batchedCall;
+
     /**
      * Instantiate TransferOperation. Only used in mocking.
      */
@@ -37,8 +43,39 @@ public class TransferOperation extends Operation {
 
         final Pokemon poke = pokemon.getPokemon();
         final int candies = poke.getCandy();
-        final Result transferResult = poke.transferPokemon();
+        final Result transferResult = MetricsRegistry.getRegistry().recordApiCall(getOperationId(), poke::transferPokemon);
+        return toResult(poke, transferResult, candies);
+    }
+
+    @Override
+    protected BatchedCall<?> createBatchedCall() {
+        batchedCall = BatchedCall.transfer(pokemon.getPokemon());
+        return batchedCall;
+    }
 
+    @Override
+    protected BpmOperationResult getBatchedResult() {
+        final Pokemon poke = batchedCall.getPokemon();
+        if (!batchedCall.hasResponse()) {
+            return new BpmOperationResult(String.format(
+                "Error transferring %s! %s",
+                PokemonUtils.getLocalPokeName(poke),
+                Utilities.getRealExceptionMessage(batchedCall.getError())),
+                OperationError.TRANSFER_FAIL);
+        }
+        final ReleasePokemonResponse response = batchedCall.getResponse();
+        return toResult(poke, response.getResult(), poke.getCandy() - response.getCandyAwarded());
+    }
+
+    /**
+     * Creates the result of a transfer.
+     *
+     * @param poke           The transferred Pokémon.
+     * @param transferResult The result of the server.
+     * @param candies        The candies before the transfer.
+     * @return The result.
+     */
+    private BpmOperationResult toResult(final Pokemon poke, final Result transferResult, final int candies) {
         if (transferResult != Result.SUCCESS) {
             return new BpmOperationResult(String.format(
                 "Error transferring %s, result: %s",
@@ -1,25 +1,67 @@
 package me.corriekay.pokegoutil.gui.controller;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.pokegoapi.api.inventory.Inventories;
+import com.pokegoapi.api.inventory.ItemBag;
+import com.pokegoapi.api.pokemon.Pokemon;
+import com.pokegoapi.exceptions.LoginFailedException;
+import com.pokegoapi.exceptions.RemoteServerException;
+import com.sun.javafx.collections.ObservableListWrapper;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.ProgressBar;
-import javafx.scene.control.RadioButton;
 import javafx.scene.control.Spinner;
+import javafx.scene.control.SpinnerValueFactory;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.BorderPane;
 import javafx.stage.StageStyle;
+import javafx.util.Duration;
+import me.corriekay.pokegoutil.data.grinder.GrindOptions;
+import me.corriekay.pokegoutil.data.grinder.GrindPlan;
+import me.corriekay.pokegoutil.data.grinder.GrindStats;
+import me.corriekay.pokegoutil.data.grinder.LuckyEggGrinder;
+import me.corriekay.pokegoutil.data.managers.InventoryManager;
+import me.corriekay.pokegoutil.data.models.PokemonModel;
+import me.corriekay.pokegoutil.data.models.operations.Operation;
+import me.corriekay.pokegoutil.gui.enums.OperationId;
+import me.corriekay.pokegoutil.utils.ConfigKey;
+import me.corriekay.pokegoutil.utils.ConfigNew;
+import me.corriekay.pokegoutil.utils.Utilities;
+import me.corriekay.pokegoutil.utils.pokemon.CandyPlan;
+
+import POGOProtos.Enums.PokemonFamilyIdOuterClass.PokemonFamilyId;
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
 
 /**
  * The LuckyEggGrinderController is use to handle all lucky egg related actions.
  */
 public class LuckyEggGrinderController extends BaseController<AnchorPane> {
 
+    private static final int DEFAULT_KEEP_IV = 90;
+    private static final int MAX_PERCENTAGE = 100;
+    private static final String SLASH = "/";
+
     @FXML
     private BorderPane luckyEggGrinderPane;
 
@@ -27,10 +69,10 @@ public class LuckyEggGrinderController extends BaseController<AnchorPane> {
     private AnchorPane commandFooterPane;
 
     @FXML
-    private ProgressBar GrinderProgressBar;
+    private ProgressBar grinderProgressBar;
 
     @FXML
-    private Button GrindBtn;
+    private Button grindBtn;
 
     @FXML
     private Label progressLabel;
@@ -42,37 +84,37 @@ public class LuckyEggGrinderController extends BaseController<AnchorPane> {
     private Label operationLbl;
 
     @FXML
-    private TableView<?> listToTransferTableView;
+    private TableView<PokemonModel> listToTransferTableView;
 
     @FXML
-    private TableColumn<?, ?> nick_tabCol;
+    private TableColumn<PokemonModel, String> nick_tabCol;
 
     @FXML
-    private TableColumn<?, ?> name_tabCol;
+    private TableColumn<PokemonModel, String> name_tabCol;
 
     @FXML
-    private TableColumn<?, ?> iv_tabCol;
+    private TableColumn<PokemonModel, String> iv_tabCol;
 
     @FXML
-    private TableColumn<?, ?> CP_tabCol;
+    private TableColumn<PokemonModel, String> CP_tabCol;
 
     @FXML
-    private TableColumn<?, ?> ads_tabCol;
+    private TableColumn<PokemonModel, String> ads_tabCol;
 
     @FXML
-    private TableColumn<?, ?> fav_tabCol;
+    private TableColumn<PokemonModel, String> fav_tabCol;
 
     @FXML
     private AnchorPane optionsPane;
 
     @FXML
-    private ComboBox<?> optionsComboBox;
+    private ComboBox<PokemonFamilyId> optionsComboBox;
 
     @FXML
     private CheckBox noTransferLowerThanRadioBtn;
 
     @FXML
-    private Spinner<?> noTransferLowerThanSpinner;
+    private Spinner<Integer> noTransferLowerThanSpinner;
 
     @FXML
     private CheckBox transferFavRadioBtn;
@@ -105,16 +147,32 @@ public class LuckyEggGrinderController extends BaseController<AnchorPane> {
     private Label timeLeftOnEggLbl;
 
     @FXML
-    private RadioButton caterpieRadioBtn2;
+    private CheckBox caterpieRadioBtn2;
+
+    @FXML
+    private CheckBox weedleRadioBtn2;
 
     @FXML
-    private RadioButton weedleRadioBtn2;
+    private CheckBox pidgeyRadioBtn2;
 
     @FXML
     private CheckBox enableOptionsChkBox;
 
-    public LuckyEggGrinderController() {
+    private final AnchorPane parentPane;
+    private final Set<PokemonFamilyId> addedFamilies = EnumSet.noneOf(PokemonFamilyId.class);
+    private final Timeline eggTimer = new Timeline(new KeyFrame(Duration.seconds(1), e -> refreshProgress()));
+    private GrindPlan plan;
+    private volatile LuckyEggGrinder grinder;
+    private GrindStats eggStats;
+
+    /**
+     * Instantiate the LuckyEggGrinderController onto the parent pane.
+     *
+     * @param parentPane parent pane
+     */
+    public LuckyEggGrinderController(final AnchorPane parentPane) {
         super();
+        this.parentPane = parentPane;
         initializeController();
     }
 
@@ -123,24 +181,298 @@ public class LuckyEggGrinderController extends BaseController<AnchorPane> {
         return "layout/LuckyEggGrinder.fxml";
     }
 
+    @Override
+    public void initializeController() {
+        final FXMLLoader loader = new FXMLLoader();
+        loader.setLocation(classLoader.getResource(getFxmlLayout()));
+        loader.setController(this);
+        loader.setClassLoader(classLoader);
+        try {
+            final Node root = loader.load();
+            parentPane.getChildren().clear();
+            parentPane.getChildren().addAll(root);
+        } catch (final IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
     @FXML
     void initialize() {
-        // Not done
+        nick_tabCol.setCellValueFactory(cellData -> cellData.getValue().nicknameProperty());
+        name_tabCol.setCellValueFactory(cellData -> cellData.getValue().speciesProperty());
+        iv_tabCol.setCellValueFactory(cellData -> cellData.getValue().ivProperty());
+        CP_tabCol.setCellValueFactory(cellData -> new SimpleStringProperty(String.valueOf(cellData.getValue().getCp())));
+        ads_tabCol.setCellValueFactory(cellData -> new SimpleStringProperty(
+            cellData.getValue().getAtk() + SLASH + cellData.getValue().getDef() + SLASH + cellData.getValue().getStam()));
+        fav_tabCol.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().isIsFavorite() ? "Yes" : ""));
+
+        noTransferLowerThanSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, MAX_PERCENTAGE, DEFAULT_KEEP_IV));
+        noTransferLowerThanSpinner.valueProperty().addListener((observable, oldValue, newValue) -> refreshPlan());
+
+        enableOptionsChkBox.setOnAction(this::onEnableOptions);
+        noTransferLowerThanRadioBtn.setOnAction(this::onNoTransferThanIV);
+        transferFavRadioBtn.setOnAction(this::onTransferFav);
+        optionsComboBox.setOnAction(this::onAddFamily);
+        for (final CheckBox checkBox : new CheckBox[] {caterpieRadioBtn1, weedleRadioBtn1, pidgeyRadioBtn1,
+            caterpieRadioBtn2, weedleRadioBtn2, pidgeyRadioBtn2}) {
+            checkBox.setOnAction(e -> refreshPlan());
+        }
+        grindBtn.setOnAction(this::onGrind);
+        transferBtn.setOnAction(this::onTransfer);
+        eggActivateBtn.setOnAction(this::onActivateEgg);
+
+        eggTimer.setCycleCount(Timeline.INDEFINITE);
+        grinderProgressBar.setProgress(0);
+        progressLabel.setText("");
+        operationLbl.setText("");
+        refreshPlan();
     }
 
     @FXML
     void onEnableOptions(final ActionEvent event) {
-        // Not done
+        optionsPane.setDisable(!enableOptionsChkBox.isSelected());
+        refreshPlan();
     }
 
     @FXML
     void onNoTransferThanIV(final ActionEvent event) {
-        // Not done
+        noTransferLowerThanSpinner.setDisable(!noTransferLowerThanRadioBtn.isSelected());
+        refreshPlan();
     }
 
     @FXML
     void onTransferFav(final ActionEvent event) {
-        // Not done
+        refreshPlan();
+    }
+
+    /**
+     * Adds the chosen family to the grinder, or removes it if it was added already.
+     *
+     * @param event The event.
+     */
+    private void onAddFamily(final ActionEvent event) {
+        final PokemonFamilyId family = optionsComboBox.getValue();
+        if (family != null && !addedFamilies.remove(family)) {
+            addedFamilies.add(family);
+        }
+        refreshPlan();
+    }
+
+    private void onGrind(final ActionEvent event) {
+        if (grinder != null) {
+            return;
+        }
+        // The bag may have changed since the plan was shown, never run one with Pokémon that are gone
+        refreshPlan();
+        if (plan.getToEvolve().isEmpty() && plan.getToTransfer().isEmpty()) {
+            return;
+        }
+        final ItemBag itemBag = getItemBag();
+        final boolean useLuckyEgg = itemBag != null && LuckyEggGrinder.countLuckyEggs(itemBag) > 0;
+        final LuckyEggGrinder newGrinder = new LuckyEggGrinder(itemBag, plan, useLuckyEgg, (g, message) -> {
+            System.out.println(message);
+            Platform.runLater(this::refreshProgress);
+        });
+        grinder = newGrinder;
+        setRunning(true);
+        eggTimer.play();
+
+        final Thread thread = new Thread(() -> {
+            newGrinder.run();
+            Platform.runLater(() -> {
+                grinder = null;
+                eggStats = newGrinder.getStats();
+                setRunning(false);
+                refreshProgress();
+                refreshPlan();
+            });
+        }, "LuckyEggGrinder");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Only transfers the Pokémon in the list, after the usual review.
+     *
+     * @param event The event.
+     */
+    private void onTransfer(final ActionEvent event) {
+        final List<Operation> operations = Operation.generateOperations(OperationId.TRANSFER, listToTransferTableView.getItems());
+        new OperationConfirmationController(new ObservableListWrapper<>(operations));
+    }
+
+    /**
+     * Activates a lucky egg right away, for evolving by hand.
+     *
+     * @param event The event.
+     */
+    private void onActivateEgg(final ActionEvent event) {
+        final ItemBag itemBag = getItemBag();
+        if (itemBag == null) {
+            return;
+        }
+        try {
+            System.out.println("Activating lucky egg: " + itemBag.useLuckyEgg().getResult());
+            eggStats = new GrindStats(0, 1);
+            eggStats.eggActivated(System.currentTimeMillis());
+            eggTimer.play();
+        } catch (LoginFailedException | RemoteServerException e) {
+            System.out.println("Could not activate the lucky egg: " + Utilities.getRealExceptionMessage(e));
+        }
+        refreshEggs();
+    }
+
+    private void setRunning(final boolean running) {
+        grindBtn.setDisable(running || plan == null || plan.getToEvolve().isEmpty() && plan.getToTransfer().isEmpty());
+        transferBtn.setDisable(running || listToTransferTableView.getItems().isEmpty());
+        eggActivateBtn.setDisable(running || eggNbLbl.getText().startsWith("0 "));
+        commandRequestPane.setDisable(running);
+        grinderProgressBar.setDisable(!running);
+    }
+
+    /**
+     * Returns the item bag of the account.
+     *
+     * @return The item bag, or null if not logged in or it can't be read.
+     */
+    private static ItemBag getItemBag() {
+        try {
+            final Inventories inventories = InventoryManager.getInventories();
+            return inventories != null ? inventories.getItemBag() : null;
+        } catch (LoginFailedException | RemoteServerException e) {
+            System.out.println("Could not read the items: " + Utilities.getRealExceptionMessage(e));
+            return null;
+        }
+    }
+
+    /**
+     * Returns the Pokémon that are in the bag right now.
+     *
+     * @return The Pokémon, empty if not logged in or the bag can't be read.
+     */
+    private static List<Pokemon> getBag() {
+        try {
+            final Inventories inventories = InventoryManager.getInventories();
+            return inventories != null ? new ArrayList<>(inventories.getPokebank().getPokemons()) : new ArrayList<>();
+        } catch (LoginFailedException | RemoteServerException e) {
+            System.out.println("Could not read the Pokémon: " + Utilities.getRealExceptionMessage(e));
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Plans the grind again with the current options and the current bag, and shows what it would do.
+     */
+    private void refreshPlan() {
+        final List<Pokemon> bag = getBag();
+
+        final Set<PokemonFamilyId> families = EnumSet.noneOf(PokemonFamilyId.class);
+        final Set<PokemonFamilyId> extras = EnumSet.noneOf(PokemonFamilyId.class);
+        addFamily(families, extras, PokemonFamilyId.FAMILY_CATERPIE, caterpieRadioBtn1, caterpieRadioBtn2);
+        addFamily(families, extras, PokemonFamilyId.FAMILY_WEEDLE, weedleRadioBtn1, weedleRadioBtn2);
+        addFamily(families, extras, PokemonFamilyId.FAMILY_PIDGEY, pidgeyRadioBtn1, pidgeyRadioBtn2);
+        final boolean options = enableOptionsChkBox.isSelected();
+        if (options) {
+            families.addAll(addedFamilies);
+        }
+        final double keepIvAbove = options && noTransferLowerThanRadioBtn.isSelected()
+            ? noTransferLowerThanSpinner.getValue() / (double) MAX_PERCENTAGE
+            : GrindOptions.NO_IV_LIMIT;
+        final boolean transferFavorites = options && transferFavRadioBtn.isSelected();
+
+        plan = GrindPlan.create(bag, new GrindOptions(families, extras, keepIvAbove, transferFavorites),
+            ConfigNew.getConfig().getBool(ConfigKey.TRANSFER_AFTER_EVOLVE));
+
+        describeSpecies(caterpieRadioBtn1, caterpieRadioBtn2, bag, PokemonFamilyId.FAMILY_CATERPIE, PokemonId.CATERPIE, "Caterpie");
+        describeSpecies(weedleRadioBtn1, weedleRadioBtn2, bag, PokemonFamilyId.FAMILY_WEEDLE, PokemonId.WEEDLE, "Weedle");
+        describeSpecies(pidgeyRadioBtn1, pidgeyRadioBtn2, bag, PokemonFamilyId.FAMILY_PIDGEY, PokemonId.PIDGEY, "Pidgey");
+        requestLbl.setText(String.format("You will earn %d XP evolving %d Pokémon.", plan.getXp(true), plan.getToEvolve().size()));
+
+        final List<PokemonModel> toTransfer = new ArrayList<>();
+        plan.getToTransfer().forEach(p -> toTransfer.add(new PokemonModel(p)));
+        plan.getExtras().forEach(p -> toTransfer.add(new PokemonModel(p)));
+        listToTransferTableView.setItems(FXCollections.observableArrayList(toTransfer));
+
+        refreshFamilyChoices(bag);
+        refreshEggs();
+        setRunning(grinder != null);
+    }
+
+    private static void addFamily(final Set<PokemonFamilyId> families, final Set<PokemonFamilyId> extras, final PokemonFamilyId family,
+                                  final CheckBox evolve, final CheckBox transferExtras) {
+        if (evolve.isSelected()) {
+            families.add(family);
+            if (transferExtras.isSelected()) {
+                extras.add(family);
+            }
+        }
+    }
+
+    private void describeSpecies(final CheckBox evolve, final CheckBox transferExtras, final List<Pokemon> bag,
+                                 final PokemonFamilyId family, final PokemonId species, final String name) {
+        int owned = 0;
+        int candies = 0;
+        for (final Pokemon pokemon : bag) {
+            if (pokemon.getPokemonId() == species) {
+                owned++;
+                candies = pokemon.getCandy();
+            }
+        }
+        final CandyPlan.FamilyPlan familyPlan = plan.getCandyPlan().getFamily(family);
+        final int evolves = familyPlan != null ? familyPlan.getEvolves(species.getNumber()) : 0;
+        int extras = 0;
+        for (final Pokemon pokemon : plan.getExtras()) {
+            if (pokemon.getPokemonId() == species) {
+                extras++;
+            }
+        }
+        evolve.setText(String.format("%s : %d owned, %d cand(y-ies), you can Evolve %d %s(s)", name, owned, candies, evolves, name));
+        transferExtras.setText(String.format("%d Extra %s(s), transfer those from lowest CP to highest", extras, name));
+    }
+
+    private void refreshFamilyChoices(final List<Pokemon> bag) {
+        final Set<PokemonFamilyId> choices = EnumSet.noneOf(PokemonFamilyId.class);
+        for (final Pokemon pokemon : bag) {
+            if (pokemon.getCandiesToEvolve() > 0) {
+                choices.add(pokemon.getPokemonFamily());
+            }
+        }
+        choices.removeAll(EnumSet.of(PokemonFamilyId.FAMILY_CATERPIE, PokemonFamilyId.FAMILY_WEEDLE, PokemonFamilyId.FAMILY_PIDGEY));
+        final List<PokemonFamilyId> sorted = new ArrayList<>(choices);
+        Collections.sort(sorted);
+        if (!sorted.equals(optionsComboBox.getItems())) {
+            optionsComboBox.setItems(FXCollections.observableArrayList(sorted));
+        }
+        optionsComboBox.setPromptText(addedFamilies.isEmpty() ? "add/remove to the grinder" : addedFamilies.size() + " families added");
+    }
+
+    private void refreshEggs() {
+        final ItemBag itemBag = getItemBag();
+        final int eggs = itemBag != null ? LuckyEggGrinder.countLuckyEggs(itemBag) : 0;
+        eggNbLbl.setText(eggs + "  Lucky Egg(s)");
+    }
+
+    /**
+     * Shows the progress of the grind, the evolves per minute, the projected XP and the time left on the egg.
+     */
+    private void refreshProgress() {
+        final LuckyEggGrinder current = grinder;
+        final GrindStats stats = current != null ? current.getStats() : eggStats;
+        final long now = System.currentTimeMillis();
+        final long eggTimeLeft = stats != null ? stats.getEggTimeLeft(now) : 0;
+        timeLeftOnEggLbl.setText(String.format("Time left on Egg : %02d:%02d",
+            TimeUnit.MILLISECONDS.toMinutes(eggTimeLeft), TimeUnit.MILLISECONDS.toSeconds(eggTimeLeft) % TimeUnit.MINUTES.toSeconds(1)));
+        if (current == null && eggTimeLeft == 0) {
+            eggTimer.stop();
+        }
+        if (current == null) {
+            return;
+        }
+
+        grinderProgressBar.setProgress(current.getTotal() > 0 ? (double) current.getDone() / current.getTotal() : 1);
+        progressLabel.setText(current.getDone() + SLASH + current.getTotal());
+        operationLbl.setText(String.format("Operation in progress : %s, %.1f evolves/min, %d XP projected",
+            current.getStage(), stats.getEvolvesPerMinute(), stats.getProjectedXp(now)));
     }
 
     @Override
@@ -15,6 +15,7 @@ import javafx.scene.control.MenuItem;
 import javafx.scene.image.ImageView;
 import javafx.scene.image.PixelWriter;
 import javafx.scene.image.WritableImage;
+import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
@@ -74,10 +75,16 @@ public class MainWindowController extends BaseController<BorderPane> {
     @FXML
     private final PokemonTableController pokemontableController;
 
+    @FXML
+    private AnchorPane luckyEggGrinder;
+
+    private final LuckyEggGrinderController luckyEggGrinderController;
+
     public MainWindowController() {
         super();
         initializeController();
         pokemontableController = new PokemonTableController(pokemontable);
+        luckyEggGrinderController = new LuckyEggGrinderController(luckyEggGrinder);
     }
 
     @Override
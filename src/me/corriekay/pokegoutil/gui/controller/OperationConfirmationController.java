@@ -1,5 +1,8 @@
 package me.corriekay.pokegoutil.gui.controller;
 
+import java.util.List;
+
+import com.pokegoapi.api.PokemonGo;
 import com.pokegoapi.exceptions.InvalidCurrencyException;
 import com.pokegoapi.exceptions.LoginFailedException;
 import com.pokegoapi.exceptions.RemoteServerException;
@@ -14,9 +17,11 @@ import javafx.scene.control.ListView;
 import javafx.scene.control.ProgressBar;
 import javafx.scene.layout.AnchorPane;
 import javafx.stage.StageStyle;
+import me.corriekay.pokegoutil.data.managers.AccountManager;
 import me.corriekay.pokegoutil.data.models.BpmOperationResult;
 import me.corriekay.pokegoutil.data.models.PokemonModel;
 import me.corriekay.pokegoutil.data.models.operations.Operation;
+import me.corriekay.pokegoutil.data.models.operations.OperationBatch;
 import me.corriekay.pokegoutil.utils.Utilities;
 
 /**
@@ -62,7 +67,12 @@ public class OperationConfirmationController extends BaseController<AnchorPane>
     }
 
     private void startOperations(final ActionEvent actionEvent) {
-        operationListView.getItems().forEach(operation -> doOperation(operation));
+        final PokemonGo go = AccountManager.getInstance().getPokemonGo();
+        List<Operation> single = operationListView.getItems();
+        if (go != null) {
+            single = new OperationBatch(go).executeBatchable(single, this::showResult);
+        }
+        single.forEach(operation -> doOperation(operation));
         System.out.println("Batch Operation Done");
     }
 
@@ -71,19 +81,6 @@ public class OperationConfirmationController extends BaseController<AnchorPane>
         BpmOperationResult result = null;
         try {
             result = operation.execute();
-            if (result.isSuccess()) {
-                result.getSuccessMessageList().forEach(msg -> System.out.println(msg));
-
-                System.out.println(String.format(
-                        "%s %s",
-                        operation.getOperationId().getActionVerbFinished(),
-                        pokemon.getSummary()));
-            } else {
-                System.out.println(String.format(
-                        "Skipping %s due to <%s>",
-                        pokemon.getSummary(),
-                        result.getErrorMessage()));
-            }
         } catch (InvalidCurrencyException | LoginFailedException | RemoteServerException e) {
             System.out.println(String.format(
                     "Error %s %s! %s",
@@ -91,13 +88,40 @@ public class OperationConfirmationController extends BaseController<AnchorPane>
                     pokemon.getSpecies(),
                     Utilities.getRealExceptionMessage(e)));
         }
+        if (result != null) {
+            printResult(operation, result);
+        }
         operation.doDelay();
 
-        if(result != null && result.hasNextOperation()){
+        if (result != null && result.hasNextOperation()) {
             doOperation(Operation.generateOperation(result.getNextOperation(), pokemon));
         }
     }
 
+    private void showResult(final Operation operation, final BpmOperationResult result) {
+        printResult(operation, result);
+        if (result.hasNextOperation()) {
+            doOperation(Operation.generateOperation(result.getNextOperation(), operation.pokemon));
+        }
+    }
+
+    private void printResult(final Operation operation, final BpmOperationResult result) {
+        final PokemonModel pokemon = operation.pokemon;
+        if (result.isSuccess()) {
+            result.getSuccessMessageList().forEach(msg -> System.out.println(msg));
+
+            System.out.println(String.format(
+                    "%s %s",
+                    operation.getOperationId().getActionVerbFinished(),
+                    pokemon.getSummary()));
+        } else {
+            System.out.println(String.format(
+                    "Skipping %s due to <%s>",
+                    pokemon.getSummary(),
+                    result.getErrorMessage()));
+        }
+    }
+
     private void pauseOperations(final ActionEvent actionEvent) {
     }
 
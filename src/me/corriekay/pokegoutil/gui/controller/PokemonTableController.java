@@ -30,6 +30,7 @@ import me.corriekay.pokegoutil.gui.enums.ColumnId;
 import me.corriekay.pokegoutil.gui.enums.OperationId;
 import me.corriekay.pokegoutil.utils.ConfigKey;
 import me.corriekay.pokegoutil.utils.ConfigNew;
+import me.corriekay.pokegoutil.utils.bootstrap.Bootstrap;
 
 /**
  * The PokemonTableController is use to display the pokemons in a grid.
@@ -256,6 +257,7 @@ public class PokemonTableController extends BaseController<GridPane> {
         } catch (final IOException exception) {
             throw new RuntimeException(exception);
         }
+        Bootstrap.firstTableShown();
     }
 
     /**
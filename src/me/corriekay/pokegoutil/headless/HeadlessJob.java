@@ -0,0 +1,185 @@
+package me.corriekay.pokegoutil.headless;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import me.corriekay.pokegoutil.data.models.LoginData;
+import me.corriekay.pokegoutil.gui.enums.OperationId;
+import me.corriekay.pokegoutil.utils.pokemon.PokemonCalculationUtils;
+
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+
+/**
+ * A job for the headless runner, read from a JSON file. It says which accounts to log in, which of their Pokémon to
+ * pick, and what to do with them.
+ * <pre>
+ * {
+ *   "accounts": [
+ *     {"name": "main", "username": "ptcUser", "password": "ptcPassword"},
+ *     {"name": "alt", "refreshToken": "googleRefreshToken"}
+ *   ],
+ *   "threads": 2,
+ *   "dryRun": false,
+ *   "filter": {"species": ["PIDGEY", "RATTATA"], "maxCp": 500, "maxIv": 80, "includeFavorites": false},
+ *   "operations": ["RENAME", "EVOLVE", "TRANSFER"],
+ *   "renamePattern": "%ivrating%_%name%"
+ * }
+ * </pre>
+ * The operations run in the given order, each one over all picked Pokémon before the next one starts. IV limits are
+ * percentages, like in the table. Only renaming, evolving and transferring can run headless, favoriting and powering
+ * up are refused when the job is read.
+ */
+public final class HeadlessJob {
+
+    private static final double PERCENTAGE_FACTOR = 100.0;
+    private static final Set<OperationId> SUPPORTED_OPERATIONS =
+        Collections.unmodifiableSet(EnumSet.of(OperationId.RENAME, OperationId.EVOLVE, OperationId.TRANSFER));
+
+    private final List<JobAccount> accounts;
+    private final int threads;
+    private final boolean dryRun;
+    private final Set<PokemonId> species;
+    private final int minCp;
+    private final int maxCp;
+    private final double minIv;
+    private final double maxIv;
+    private final boolean includeFavorites;
+    private final List<OperationId> operations;
+    private final String renamePattern;
+
+    /**
+     * An account of the job, with the name it is reported under.
+     */
+    public static final class JobAccount {
+        public final String name;
+        public final LoginData loginData;
+
+        /**
+         * Creates an account of the job.
+         *
+         * @param name      The name it is reported under.
+         * @param loginData The login data.
+         */
+        JobAccount(final String name, final LoginData loginData) {
+            this.name = name;
+            this.loginData = loginData;
+        }
+    }
+
+    /**
+     * Reads a job from its JSON.
+     *
+     * @param json The JSON of the job.
+     * @throws IllegalArgumentException If the job is incomplete or has unknown values.
+     */
+    public HeadlessJob(final JSONObject json) {
+        try {
+            final JSONArray accountArray = json.getJSONArray("accounts");
+            final List<JobAccount> accountList = new ArrayList<>();
+            for (int i = 0; i < accountArray.length(); i++) {
+                accountList.add(parseAccount(accountArray.getJSONObject(i), i));
+            }
+            accounts = Collections.unmodifiableList(accountList);
+            threads = Math.max(1, json.optInt("threads", 1));
+            dryRun = json.optBoolean("dryRun", false);
+
+            final JSONObject filter = json.has("filter") ? json.getJSONObject("filter") : new JSONObject();
+            final Set<PokemonId> speciesSet = EnumSet.noneOf(PokemonId.class);
+            final JSONArray speciesArray = filter.optJSONArray("species");
+            if (speciesArray != null) {
+                for (int i = 0; i < speciesArray.length(); i++) {
+                    speciesSet.add(PokemonId.valueOf(speciesArray.getString(i).toUpperCase(Locale.ENGLISH)));
+                }
+            }
+            species = Collections.unmodifiableSet(speciesSet);
+            minCp = filter.optInt("minCp", 0);
+            maxCp = filter.optInt("maxCp", Integer.MAX_VALUE);
+            minIv = filter.optDouble("minIv", 0);
+            maxIv = filter.optDouble("maxIv", PERCENTAGE_FACTOR);
+            includeFavorites = filter.optBoolean("includeFavorites", false);
+
+            final JSONArray operationArray = json.getJSONArray("operations");
+            final List<OperationId> operationList = new ArrayList<>();
+            for (int i = 0; i < operationArray.length(); i++) {
+                final OperationId operationId = OperationId.valueOf(operationArray.getString(i).toUpperCase(Locale.ENGLISH));
+                if (!SUPPORTED_OPERATIONS.contains(operationId)) {
+                    throw new IllegalArgumentException(String.format(
+                        "The operation %s can't run headless, only %s are supported", operationId, SUPPORTED_OPERATIONS));
+                }
+                operationList.add(operationId);
+            }
+            operations = Collections.unmodifiableList(operationList);
+            renamePattern = json.optString("renamePattern", null);
+        } catch (final JSONException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+
+        if (accounts.isEmpty()) {
+            throw new IllegalArgumentException("The job has no accounts");
+        }
+        if (operations.contains(OperationId.RENAME) && (renamePattern == null || renamePattern.isEmpty())) {
+            throw new IllegalArgumentException("The job renames, but has no renamePattern");
+        }
+    }
+
+    private static JobAccount parseAccount(final JSONObject json, final int index) {
+        final String name = json.optString("name", "account" + (index + 1));
+        final LoginData loginData;
+        if (json.has("refreshToken")) {
+            loginData = new LoginData(json.getString("refreshToken"));
+        } else {
+            loginData = new LoginData(json.optString("username", null), json.optString("password", null));
+        }
+        return new JobAccount(name, loginData);
+    }
+
+    /**
+     * Checks if the Pokémon is picked by the filter of the job.
+     *
+     * @param pokemon The Pokémon.
+     * @return If the job works on it.
+     */
+    public boolean matches(final Pokemon pokemon) {
+        if (pokemon.isFavorite() && !includeFavorites) {
+            return false;
+        }
+        if (!species.isEmpty() && !species.contains(pokemon.getPokemonId())) {
+            return false;
+        }
+        if (pokemon.getCp() < minCp || pokemon.getCp() > maxCp) {
+            return false;
+        }
+        final double iv = PokemonCalculationUtils.ivRating(pokemon) * PERCENTAGE_FACTOR;
+        return iv >= minIv && iv <= maxIv;
+    }
+
+    public List<JobAccount> getAccounts() {
+        return accounts;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public List<OperationId> getOperations() {
+        return operations;
+    }
+
+    public String getRenamePattern() {
+        return renamePattern;
+    }
+}
@@ -0,0 +1,253 @@
+package me.corriekay.pokegoutil.headless;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import com.pokegoapi.api.PokemonGo;
+import com.pokegoapi.api.pokemon.Pokemon;
+import com.pokegoapi.exceptions.InvalidCurrencyException;
+import com.pokegoapi.exceptions.LoginFailedException;
+import com.pokegoapi.exceptions.RemoteServerException;
+
+import me.corriekay.pokegoutil.data.managers.AccountManager;
+import me.corriekay.pokegoutil.data.models.BpmOperationResult;
+import me.corriekay.pokegoutil.data.models.LoginData;
+import me.corriekay.pokegoutil.data.models.PokemonModel;
+import me.corriekay.pokegoutil.data.models.operations.Operation;
+import me.corriekay.pokegoutil.gui.enums.OperationId;
+import me.corriekay.pokegoutil.headless.HeadlessJob.JobAccount;
+import me.corriekay.pokegoutil.utils.Utilities;
+import me.corriekay.pokegoutil.utils.pokemon.PokeHandler;
+import me.corriekay.pokegoutil.utils.pokemon.PokeNick;
+import me.corriekay.pokegoutil.utils.pokemon.RenameTemplate;
+
+import POGOProtos.Networking.Responses.NicknamePokemonResponseOuterClass.NicknamePokemonResponse;
+
+/**
+ * Runs a job without any window, for scheduled runs like cron.
+ * <p>
+ * Usage: {@code java -cp BlossomsPokemonGoManager.jar me.corriekay.pokegoutil.headless.HeadlessRunner job.json}
+ * <p>
+ * Neither Swing nor JavaFX gets started. The progress is written as JSON Lines to the standard output, everything
+ * else the tool logs goes to the standard error. Every account gets a session of its own, so the accounts of a job
+ * can run in parallel threads. Separate JVMs work as well, but should each get a working directory of their own,
+ * because the config is read from and written to there.
+ * <p>
+ * The exit code is 0 if every operation of every account succeeded, 1 if something failed and 2 if the job could not
+ * be read.
+ */
+public final class HeadlessRunner {
+
+    private static final int EXIT_FAILED = 1;
+    private static final int EXIT_INVALID_JOB = 2;
+
+    private final HeadlessJob job;
+    private final ProgressReporter reporter;
+    private final SessionFactory sessionFactory;
+
+    /**
+     * Opens the session of an account.
+     */
+    interface SessionFactory {
+        /**
+         * Logs the account in.
+         *
+         * @param loginData The login data of the account.
+         * @return The logged in session.
+         * @throws LoginFailedException  If the login failed.
+         * @throws RemoteServerException If the server failed.
+         */
+        PokemonGo open(LoginData loginData) throws LoginFailedException, RemoteServerException;
+    }
+
+    /**
+     * Creates a runner for the job, which logs in through the AccountManager.
+     *
+     * @param job      The job.
+     * @param reporter The reporter the progress is written to.
+     */
+    public HeadlessRunner(final HeadlessJob job, final ProgressReporter reporter) {
+        this(job, reporter, loginData -> AccountManager.getInstance().openSession(loginData));
+    }
+
+    /**
+     * Creates a runner for the job, which opens its sessions through the given factory.
+     *
+     * @param job            The job.
+     * @param reporter       The reporter the progress is written to.
+     * @param sessionFactory The factory for the sessions of the accounts.
+     */
+    HeadlessRunner(final HeadlessJob job, final ProgressReporter reporter, final SessionFactory sessionFactory) {
+        this.job = job;
+        this.reporter = reporter;
+        this.sessionFactory = sessionFactory;
+    }
+
+    /**
+     * Entry point of the headless mode.
+     *
+     * @param args The path of the job file.
+     */
+    public static void main(final String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        // Everything else that is printed is a log message, the standard output is kept for the progress
+        final PrintStream progressOut = System.out;
+        System.setOut(System.err);
+
+        if (args.length != 1) {
+            System.err.println("Usage: HeadlessRunner <job.json>");
+            System.exit(EXIT_INVALID_JOB);
+        }
+
+        final HeadlessJob job;
+        try {
+            final String json = new String(Files.readAllBytes(Paths.get(args[0])), StandardCharsets.UTF_8);
+            job = new HeadlessJob(new JSONObject(json));
+        } catch (IOException | JSONException | IllegalArgumentException e) {
+            System.err.println("Could not read the job " + args[0] + ": " + e.getMessage());
+            System.exit(EXIT_INVALID_JOB);
+            return;
+        }
+
+        final boolean success = new HeadlessRunner(job, new ProgressReporter(progressOut)).run();
+        System.exit(success ? 0 : EXIT_FAILED);
+    }
+
+    /**
+     * Runs the job for all its accounts, as many at the same time as the job allows, and waits until they are done.
+     *
+     * @return If every account was logged in and every operation succeeded.
+     */
+    public boolean run() {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(job.getThreads(), job.getAccounts().size()));
+        final List<Future<Boolean>> results = new ArrayList<>();
+        for (final JobAccount account : job.getAccounts()) {
+            results.add(executor.submit(() -> runAccount(account)));
+        }
+        executor.shutdown();
+
+        boolean success = true;
+        for (final Future<Boolean> result : results) {
+            try {
+                success &= result.get();
+            } catch (final ExecutionException e) {
+                success = false;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return success;
+    }
+
+    /**
+     * Logs the account in, picks its Pokémon and runs the operations on them.
+     *
+     * @param account The account.
+     * @return If the account was logged in and every operation succeeded.
+     */
+    private boolean runAccount(final JobAccount account) {
+        try {
+            final PokemonGo go = sessionFactory.open(account.loginData);
+            reporter.report(reporter.event(account.name, ProgressReporter.EVENT_LOGIN));
+
+            final List<PokemonModel> selected = new ArrayList<>();
+            for (final Pokemon pokemon : go.getInventories().getPokebank().getPokemons()) {
+                if (job.matches(pokemon)) {
+                    selected.add(new PokemonModel(pokemon));
+                }
+            }
+            reporter.report(reporter.event(account.name, ProgressReporter.EVENT_SELECTED).put("count", selected.size()));
+
+            final RenameTemplate template = job.getRenamePattern() != null ? RenameTemplate.compile(job.getRenamePattern()) : null;
+            final StringBuilder buffer = new StringBuilder();
+            int failed = 0;
+            // The delay is waited before the next operation, so the account is done right after its last one
+            Operation delayed = null;
+            for (final OperationId operationId : job.getOperations()) {
+                final Iterator<PokemonModel> iterator = selected.iterator();
+                while (iterator.hasNext()) {
+                    final Operation operation = Operation.generateOperation(operationId, iterator.next());
+                    if (delayed != null) {
+                        delayed.doDelay();
+                        delayed = null;
+                    }
+                    final JSONObject event = reporter.event(account.name, ProgressReporter.EVENT_OPERATION)
+                        .put("operation", operationId.name())
+                        .put("pokemon", operation.pokemon.getPokemon().getId())
+                        .put("summary", operation.pokemon.getSummary());
+                    final boolean success = runOperation(operation, template, buffer, event);
+                    event.put("success", success);
+                    reporter.report(event);
+
+                    if (!success) {
+                        failed++;
+                    } else if (!job.isDryRun()) {
+                        if (operationId == OperationId.TRANSFER) {
+                            // Gone now, the following operations can't work on it anymore
+                            iterator.remove();
+                        }
+                        delayed = operation;
+                    }
+                }
+            }
+
+            reporter.report(reporter.event(account.name, ProgressReporter.EVENT_DONE).put("failed", failed));
+            return failed == 0;
+        } catch (LoginFailedException | RemoteServerException | RuntimeException e) {
+            reporter.report(reporter.event(account.name, ProgressReporter.EVENT_ERROR)
+                .put("message", Utilities.getRealExceptionMessage(e)));
+            return false;
+        }
+    }
+
+    /**
+     * Runs a single operation, or only validates it for a dry run, and adds its outcome to the event.
+     *
+     * @param operation The operation.
+     * @param template  The compiled rename pattern, if the job renames.
+     * @param buffer    The buffer to render nicknames in.
+     * @param event     The event to add the outcome to.
+     * @return If the operation succeeded.
+     */
+    private boolean runOperation(final Operation operation, final RenameTemplate template, final StringBuilder buffer,
+                                 final JSONObject event) {
+        try {
+            if (operation.getOperationId() == OperationId.RENAME) {
+                final PokeNick nick = new PokeNick(template, operation.pokemon.getPokemon(), buffer);
+                event.put("nickname", nick.toString());
+                if (job.isDryRun()) {
+                    return true;
+                }
+                final NicknamePokemonResponse.Result result = PokeHandler.rename(nick);
+                event.put("message", result.toString());
+                return result == NicknamePokemonResponse.Result.SUCCESS || result == NicknamePokemonResponse.Result.UNSET;
+            }
+
+            final BpmOperationResult result = job.isDryRun() ? operation.validateOperation() : operation.execute();
+            if (result.isSuccess()) {
+                event.put("messages", new JSONArray(result.getSuccessMessageList()));
+            } else {
+                event.put("message", result.getErrorMessage());
+            }
+            return result.isSuccess();
+        } catch (InvalidCurrencyException | LoginFailedException | RemoteServerException e) {
+            event.put("message", Utilities.getRealExceptionMessage(e));
+            return false;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package me.corriekay.pokegoutil.headless;
+
+import java.io.PrintStream;
+
+import org.json.JSONObject;
+
+/**
+ * Writes the progress of a headless run as JSON Lines, one event per line, so scripts can follow it.
+ * <p>
+ * Every event has the time, the account and the kind of event, plus the values that belong to it. Lines of several
+ * accounts running at the same time never get mixed up.
+ */
+public final class ProgressReporter {
+
+    public static final String EVENT_LOGIN = "login";
+    public static final String EVENT_SELECTED = "selected";
+    public static final String EVENT_OPERATION = "operation";
+    public static final String EVENT_DONE = "done";
+    public static final String EVENT_ERROR = "error";
+
+    private final PrintStream out;
+
+    /**
+     * Creates a reporter that writes into the given stream.
+     *
+     * @param out The stream, usually the real standard output.
+     */
+    public ProgressReporter(final PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Creates an event, which has to be filled and then given to {@link #report(JSONObject)}.
+     *
+     * @param account The account the event belongs to.
+     * @param event   The kind of event.
+     * @return The event.
+     */
+    public JSONObject event(final String account, final String event) {
+        final JSONObject json = new JSONObject();
+        json.put("time", System.currentTimeMillis());
+        json.put("account", account);
+        json.put("event", event);
+        return json;
+    }
+
+    /**
+     * Writes the event as a line.
+     *
+     * @param event The event.
+     */
+    public void report(final JSONObject event) {
+        final String line = event.toString();
+        synchronized (out) {
+            out.println(line);
+            out.flush();
+        }
+    }
+}
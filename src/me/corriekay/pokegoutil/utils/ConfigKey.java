@@ -5,6 +5,7 @@ import javax.swing.*;
 public enum ConfigKey {
 
     DEVELOPFLAG("develop", false, Type.BOOLEAN),
+    STAND_IN_URL("develop.standIn.url", null, Type.STRING),
 
     LOGIN_SAVE_AUTH("login.saveAuth", false, Type.BOOLEAN),
     LOGIN_GOOGLE_AUTH_TOKEN("login.google.authToken", null, Type.STRING),
@@ -31,10 +32,15 @@ public enum ConfigKey {
     SHOW_BULK_POPUP("settings.popupAfterBulk", true, Type.BOOLEAN),
     INCLUDE_FAMILY("settings.includeFamily", true, Type.BOOLEAN),
     ALTERNATIVE_IV_CALCULATION("settings.alternativeIvCalculation", false, Type.BOOLEAN),
+    KEEP_BEST_PER_SPECIES("settings.keepBestPerSpecies", 3, Type.INTEGER),
+    BATCH_REQUESTS("settings.batch.enabled", false, Type.BOOLEAN),
+    BATCH_SIZE("settings.batch.size", 20, Type.INTEGER),
 
     LANGUAGE("options.lang", "en", Type.STRING),
     FONT_SIZE("options.font.size", 12, Type.INTEGER),
     SKIP_VERSION("options.skipversion", null, Type.STRING),
+    SNAPSHOT_ENABLED("options.snapshot.enabled", true, Type.BOOLEAN),
+    SNAPSHOT_LAST_ACCOUNT("options.snapshot.lastAccount", null, Type.STRING),
 
     DELAY_RENAME_MIN("delay.rename.min", 1000, Type.INTEGER),
     DELAY_RENAME_MAX("delay.rename.max", 5000, Type.INTEGER),
@@ -84,15 +84,27 @@ public final class Utilities {
         return message;
     }
 
-    public static String concatString(char delimeter, String... strings) {
+    /**
+     * Joins the given strings with a delimiter.
+     *
+     * @param delimeter The delimiter.
+     * @param strings   The strings.
+     * @return The joined string.
+     */
+    public static String concatString(final char delimeter, final String... strings) {
         if (strings.length == 0) {
             return "";
         }
 
-        String s = strings[0];
+        int length = strings.length - 1;
+        for (final String string : strings) {
+            length += String.valueOf(string).length();
+        }
+        final StringBuilder s = new StringBuilder(length);
+        s.append(strings[0]);
         for (int i = 1; i < strings.length; i++) {
-            s += delimeter + strings[i];
+            s.append(delimeter).append(strings[i]);
         }
-        return s;
+        return s.toString();
     }
 }
@@ -0,0 +1,223 @@
+package me.corriekay.pokegoutil.utils.batch;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.GeneratedMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.pokegoapi.api.PokemonGo;
+import com.pokegoapi.api.inventory.CandyJar;
+import com.pokegoapi.api.pokemon.Pokemon;
+import com.pokegoapi.main.ServerRequest;
+
+import me.corriekay.pokegoutil.gui.enums.OperationId;
+
+import POGOProtos.Networking.Requests.Messages.NicknamePokemonMessageOuterClass.NicknamePokemonMessage;
+import POGOProtos.Networking.Requests.Messages.ReleasePokemonMessageOuterClass.ReleasePokemonMessage;
+import POGOProtos.Networking.Requests.Messages.SetFavoritePokemonMessageOuterClass.SetFavoritePokemonMessage;
+import POGOProtos.Networking.Requests.Messages.UpgradePokemonMessageOuterClass.UpgradePokemonMessage;
+import POGOProtos.Networking.Requests.RequestTypeOuterClass.RequestType;
+import POGOProtos.Networking.Responses.NicknamePokemonResponseOuterClass.NicknamePokemonResponse;
+import POGOProtos.Networking.Responses.ReleasePokemonResponseOuterClass.ReleasePokemonResponse;
+import POGOProtos.Networking.Responses.SetFavoritePokemonResponseOuterClass.SetFavoritePokemonResponse;
+import POGOProtos.Networking.Responses.UpgradePokemonResponseOuterClass.UpgradePokemonResponse;
+
+/**
+ * One request for one Pokémon, that can be sent on its own or together with others of the same operation in one
+ * request envelope. After the RequestBatcher executed it, it holds either the response or the error.
+ *
+ * @param <T> The type of the response.
+ */
+public final class BatchedCall<T> {
+
+    /**
+     * Parses the response of a request.
+     *
+     * @param <T> The type of the response.
+     */
+    @FunctionalInterface
+    interface ResponseParser<T> {
+        T parse(ByteString data) throws InvalidProtocolBufferException;
+    }
+
+    private final OperationId operation;
+    private final Pokemon pokemon;
+    private final RequestType requestType;
+    private final GeneratedMessage message;
+    private final ResponseParser<T> parser;
+    private final Function<T, ?> resultCode;
+    private final BiConsumer<PokemonGo, T> onResponse;
+    private T response;
+    private Exception error;
+
+    private BatchedCall(final OperationId operation, final Pokemon pokemon, final RequestType requestType,
+                        final GeneratedMessage message, final ResponseParser<T> parser, final Function<T, ?> resultCode,
+                        final BiConsumer<PokemonGo, T> onResponse) {
+        this.operation = operation;
+        this.pokemon = pokemon;
+        this.requestType = requestType;
+        this.message = message;
+        this.parser = parser;
+        this.resultCode = resultCode;
+        this.onResponse = onResponse;
+    }
+
+    /**
+     * Creates the call to transfer a Pokémon. On success, the Pokémon is removed from the bag and the candies are
+     * added, like the API does it.
+     *
+     * @param pokemon The Pokémon.
+     * @return The call.
+     */
+    public static BatchedCall<ReleasePokemonResponse> transfer(final Pokemon pokemon) {
+        return new BatchedCall<>(OperationId.TRANSFER, pokemon, RequestType.RELEASE_POKEMON,
+            ReleasePokemonMessage.newBuilder().setPokemonId(pokemon.getId()).build(),
+            ReleasePokemonResponse::parseFrom, ReleasePokemonResponse::getResult,
+            (go, response) -> {
+                if (response.getResult() == ReleasePokemonResponse.Result.SUCCESS) {
+                    final CandyJar candyJar = go.getInventories().getCandyjar();
+                    candyJar.setCandy(pokemon.getPokemonFamily(),
+                        candyJar.getCandies(pokemon.getPokemonFamily()) + response.getCandyAwarded());
+                    go.getInventories().getPokebank().removePokemon(pokemon);
+                }
+            });
+    }
+
+    /**
+     * Creates the call to rename a Pokémon. The new name shows up with the next inventory refresh.
+     *
+     * @param pokemon  The Pokémon.
+     * @param nickname The new nickname.
+     * @return The call.
+     */
+    public static BatchedCall<NicknamePokemonResponse> rename(final Pokemon pokemon, final String nickname) {
+        return new BatchedCall<>(OperationId.RENAME, pokemon, RequestType.NICKNAME_POKEMON,
+            NicknamePokemonMessage.newBuilder().setPokemonId(pokemon.getId()).setNickname(nickname).build(),
+            NicknamePokemonResponse::parseFrom, NicknamePokemonResponse::getResult, null);
+    }
+
+    /**
+     * Creates the call to set or unset a Pokémon as favorite. The change shows up with the next inventory refresh.
+     *
+     * @param pokemon  The Pokémon.
+     * @param favorite If it should be favorite.
+     * @return The call.
+     */
+    public static BatchedCall<SetFavoritePokemonResponse> favorite(final Pokemon pokemon, final boolean favorite) {
+        return new BatchedCall<>(OperationId.FAVORITE, pokemon, RequestType.SET_FAVORITE_POKEMON,
+            SetFavoritePokemonMessage.newBuilder().setPokemonId(pokemon.getId()).setIsFavorite(favorite).build(),
+            SetFavoritePokemonResponse::parseFrom, SetFavoritePokemonResponse::getResult, null);
+    }
+
+    /**
+     * Creates the call to power up a Pokémon once. The new stats are in the response, the spent candies and stardust
+     * show up with the next inventory and profile refresh.
+     *
+     * @param pokemon The Pokémon.
+     * @return The call.
+     */
+    public static BatchedCall<UpgradePokemonResponse> powerUp(final Pokemon pokemon) {
+        return new BatchedCall<>(OperationId.POWERUP, pokemon, RequestType.UPGRADE_POKEMON,
+            UpgradePokemonMessage.newBuilder().setPokemonId(pokemon.getId()).build(),
+            UpgradePokemonResponse::parseFrom, UpgradePokemonResponse::getResult, null);
+    }
+
+    /**
+     * Creates a fresh server request for this call. Requests hold their response, so every send needs its own.
+     *
+     * @return The server request.
+     */
+    ServerRequest createRequest() {
+        return new ServerRequest(requestType, message);
+    }
+
+    /**
+     * Takes the response of a sent request.
+     *
+     * @param go      The API, to update the local state with.
+     * @param request The request, after it was sent.
+     * @throws InvalidProtocolBufferException If the response could not be parsed.
+     */
+    void complete(final PokemonGo go, final ServerRequest request) throws InvalidProtocolBufferException {
+        response = parser.parse(request.getData());
+        error = null;
+        if (onResponse != null) {
+            onResponse.accept(go, response);
+        }
+    }
+
+    /**
+     * Marks the call as failed.
+     *
+     * @param e What went wrong.
+     */
+    void fail(final Exception e) {
+        response = null;
+        error = e;
+    }
+
+    /**
+     * Returns the result code of the response, as it is tagged in the metrics.
+     *
+     * @return The result code, or the name of the error.
+     */
+    String getResultCode() {
+        return response != null ? String.valueOf(resultCode.apply(response)) : error.getClass().getSimpleName();
+    }
+
+    /**
+     * Checks if the call was executed, so it holds either a response or an error.
+     *
+     * @return If it was executed.
+     */
+    boolean isExecuted() {
+        return response != null || error != null;
+    }
+
+    /**
+     * Returns the operation the call belongs to, its metrics are tagged with it.
+     *
+     * @return The operation.
+     */
+    public OperationId getOperation() {
+        return operation;
+    }
+
+    /**
+     * Returns the Pokémon the call is for.
+     *
+     * @return The Pokémon.
+     */
+    public Pokemon getPokemon() {
+        return pokemon;
+    }
+
+    /**
+     * Returns the response of the server.
+     *
+     * @return The response, or null if the call failed or was not executed yet.
+     */
+    public T getResponse() {
+        return response;
+    }
+
+    /**
+     * Returns why the call failed.
+     *
+     * @return The error, or null if it did not fail.
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    /**
+     * Checks if the server answered the call. That does not mean the operation succeeded, see the result in the
+     * response for that.
+     *
+     * @return If there is a response.
+     */
+    public boolean hasResponse() {
+        return response != null;
+    }
+}
@@ -0,0 +1,282 @@
+package me.corriekay.pokegoutil.utils.batch;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.pokegoapi.api.PokemonGo;
+import com.pokegoapi.exceptions.LoginFailedException;
+import com.pokegoapi.exceptions.RemoteServerException;
+import com.pokegoapi.main.ServerRequest;
+
+import me.corriekay.pokegoutil.gui.enums.OperationId;
+import me.corriekay.pokegoutil.utils.ConfigKey;
+import me.corriekay.pokegoutil.utils.ConfigNew;
+import me.corriekay.pokegoutil.utils.Utilities;
+import me.corriekay.pokegoutil.utils.metrics.MetricsRegistry;
+
+/**
+ * Executes calls of one operation, packing several of them into one request envelope where the server allows it.
+ * <p>
+ * Batching is used against the stand-in server, or if it is turned on with "settings.batch.enabled" for a server that
+ * accepts it. Otherwise every call is sent in its own envelope, like the API does it. Between two envelopes the
+ * configured delay of the operation is kept, so a batch is paced like a single call.
+ * <p>
+ * Calls are only sent again when the server explicitly did not apply them: if it answers the envelope with an HTTP
+ * error, or answers fewer requests than it got. A client error means the server refuses batches, so everything that
+ * follows is sent one by one. If the envelope fails in any other way, like a read timeout, the server may have applied
+ * it already. Power-ups and renames must not be applied twice, so the calls of such an envelope are marked as failed
+ * and never sent again.
+ * <p>
+ * Single calls are recorded in the metrics like every other API call. A batch is recorded as one call of the
+ * operation with the suffix "_BATCH", and its calls are counted by result in "bpm_api_batched_requests_total". The
+ * round trips saved by batching are counted in "bpm_api_round_trips_saved_total".
+ */
+public final class RequestBatcher {
+
+    public static final String BATCH_SUFFIX = "_BATCH";
+
+    private static final Pattern HTTP_CODE = Pattern.compile("http code\\D*(\\d{3})");
+    private static final int HTTP_SERVER_ERROR = 500;
+
+    private final PokemonGo go;
+    private final Consumer<OperationId> pacer;
+    private final MetricsRegistry metrics = MetricsRegistry.getRegistry();
+    private int batchSize;
+
+    /**
+     * Creates a batcher with the configured batch size, or one that sends single calls if batching isn't allowed.
+     *
+     * @param go The API.
+     */
+    public RequestBatcher(final PokemonGo go) {
+        this(go, isBatchingAllowed() ? ConfigNew.getConfig().getInt(ConfigKey.BATCH_SIZE) : 1);
+    }
+
+    /**
+     * Creates a batcher.
+     *
+     * @param go        The API.
+     * @param batchSize How many calls are sent in one envelope at most. 1 sends single calls.
+     */
+    public RequestBatcher(final PokemonGo go, final int batchSize) {
+        this(go, batchSize, RequestBatcher::sleepBetween);
+    }
+
+    /**
+     * Creates a batcher with its own pacing between envelopes.
+     *
+     * @param go        The API.
+     * @param batchSize How many calls are sent in one envelope at most. 1 sends single calls.
+     * @param pacer     Called between two envelopes with the operation of the next one.
+     */
+    RequestBatcher(final PokemonGo go, final int batchSize, final Consumer<OperationId> pacer) {
+        this.go = go;
+        this.batchSize = Math.max(1, batchSize);
+        this.pacer = pacer;
+    }
+
+    /**
+     * Checks if several calls may be sent in one envelope: always against the stand-in server, otherwise only if it
+     * is turned on in the config.
+     *
+     * @return If batching is allowed.
+     */
+    public static boolean isBatchingAllowed() {
+        final ConfigNew config = ConfigNew.getConfig();
+        return StringUtils.isNotEmpty(config.getString(ConfigKey.STAND_IN_URL)) || config.getBool(ConfigKey.BATCH_REQUESTS);
+    }
+
+    /**
+     * Returns how many calls are sent in one envelope at most. Drops if the server refused a batch.
+     *
+     * @return The batch size.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Executes the calls in order, in as few envelopes as allowed. Each call holds its response or error afterwards,
+     * and is passed to the callback as soon as its envelope came back.
+     *
+     * @param calls   The calls, all of the same operation.
+     * @param perCall Called with every call after it was executed, may be null.
+     * @param <C>     The type of the calls.
+     */
+    public <C extends BatchedCall<?>> void execute(final List<C> calls, final Consumer<C> perCall) {
+        int start = 0;
+        while (start < calls.size()) {
+            final int end = Math.min(start + batchSize, calls.size());
+            final List<C> chunk = calls.subList(start, end);
+            boolean sent = false;
+            if (chunk.size() > 1) {
+                sendBatch(chunk);
+                sent = true;
+            }
+            for (final C call : chunk) {
+                // Calls the server did not apply are sent again on their own
+                if (!call.isExecuted()) {
+                    if (sent) {
+                        pacer.accept(call.getOperation());
+                    }
+                    sendSingle(call);
+                    sent = true;
+                }
+                report(perCall, call);
+            }
+            start = end;
+            if (start < calls.size()) {
+                pacer.accept(calls.get(start).getOperation());
+            }
+        }
+    }
+
+    private void sendSingle(final BatchedCall<?> call) {
+        final ServerRequest request = call.createRequest();
+        try {
+            metrics.recordApiCall(call.getOperation().name(), () -> {
+                go.getRequestHandler().sendServerRequests(request);
+                complete(call, request);
+                return call;
+            }, BatchedCall::getResultCode);
+        } catch (LoginFailedException | RemoteServerException | RuntimeException e) {
+            call.fail(e);
+        }
+    }
+
+    /**
+     * Sends the calls in one envelope. Afterwards each call holds its response or error, except the ones the server
+     * explicitly did not apply. Those are left unexecuted, to be sent again.
+     *
+     * @param chunk The calls.
+     */
+    private void sendBatch(final List<? extends BatchedCall<?>> chunk) {
+        final OperationId operation = chunk.get(0).getOperation();
+        final ServerRequest[] requests = new ServerRequest[chunk.size()];
+        for (int i = 0; i < requests.length; i++) {
+            requests[i] = chunk.get(i).createRequest();
+        }
+        try {
+            metrics.recordApiCall(operation.name() + BATCH_SUFFIX, () -> go.getRequestHandler().sendServerRequests(requests));
+        } catch (LoginFailedException | RemoteServerException | RuntimeException e) {
+            final int httpCode = getHttpErrorCode(e);
+            if (httpCode > 0) {
+                System.out.println("Server rejected the batch of " + chunk.size() + " with http code " + httpCode
+                    + ", sending the requests one by one.");
+                if (httpCode < HTTP_SERVER_ERROR) {
+                    batchSize = 1;
+                }
+            } else {
+                System.out.println("Error sending batch of " + chunk.size() + ", the requests are not sent again: "
+                    + Utilities.getRealExceptionMessage(e));
+                chunk.forEach(call -> call.fail(e));
+            }
+            return;
+        }
+
+        // The responses come back in the order of the requests
+        int answered = 0;
+        for (int i = 0; i < requests.length; i++) {
+            final BatchedCall<?> call = chunk.get(i);
+            if (!hasResponse(requests[i])) {
+                // Not handled by the server, it is sent again on its own
+                continue;
+            }
+            answered++;
+            try {
+                complete(call, requests[i]);
+            } catch (RemoteServerException | RuntimeException e) {
+                call.fail(e);
+            }
+            metrics.counter(MetricsRegistry.BATCHED_REQUESTS,
+                MetricsRegistry.TAG_OPERATION, operation.name(),
+                MetricsRegistry.TAG_RESULT, call.getResultCode()).increment();
+        }
+        if (answered > 1) {
+            metrics.counter(MetricsRegistry.ROUND_TRIPS_SAVED, MetricsRegistry.TAG_OPERATION, operation.name())
+                .add(answered - 1);
+        }
+        if (answered < chunk.size()) {
+            System.out.println("Server answered " + answered + " of " + chunk.size()
+                + " requests of the batch, sending the rest one by one.");
+            batchSize = Math.max(1, answered);
+        }
+    }
+
+    /**
+     * Checks if the server sent a response for the request. The API leaves the data of a request empty if the
+     * envelope came back with fewer responses than requests.
+     *
+     * @param request The request, after it was sent.
+     * @return If there is a response.
+     */
+    private static boolean hasResponse(final ServerRequest request) {
+        try {
+            return request.getData() != null;
+        } catch (final InvalidProtocolBufferException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Finds the HTTP error code the server answered an envelope with. The API reports those as a RemoteServerException
+     * without cause, while I/O errors are wrapped as its cause.
+     *
+     * @param e The error of sending the envelope.
+     * @return The HTTP code, or 0 if the server did not answer with an HTTP error.
+     */
+    static int getHttpErrorCode(final Exception e) {
+        if (!(e instanceof RemoteServerException) || e.getCause() != null || e.getMessage() == null) {
+            return 0;
+        }
+        final Matcher matcher = HTTP_CODE.matcher(e.getMessage());
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+    }
+
+    private void complete(final BatchedCall<?> call, final ServerRequest request) throws RemoteServerException {
+        try {
+            call.complete(go, request);
+        } catch (final InvalidProtocolBufferException e) {
+            throw new RemoteServerException(e);
+        }
+    }
+
+    private static <C> void report(final Consumer<C> perCall, final C call) {
+        if (perCall != null) {
+            perCall.accept(call);
+        }
+    }
+
+    /**
+     * Sleeps for the configured delay of an operation, as kept between two envelopes.
+     *
+     * @param operation The operation.
+     */
+    public static void sleepBetween(final OperationId operation) {
+        final ConfigNew config = ConfigNew.getConfig();
+        switch (operation) {
+            case TRANSFER:
+                Utilities.sleepRandom(config.getInt(ConfigKey.DELAY_TRANSFER_MIN), config.getInt(ConfigKey.DELAY_TRANSFER_MAX));
+                break;
+            case RENAME:
+                Utilities.sleepRandom(config.getInt(ConfigKey.DELAY_RENAME_MIN), config.getInt(ConfigKey.DELAY_RENAME_MAX));
+                break;
+            case FAVORITE:
+                Utilities.sleepRandom(config.getInt(ConfigKey.DELAY_FAVORITE_MIN), config.getInt(ConfigKey.DELAY_FAVORITE_MAX));
+                break;
+            case POWERUP:
+                Utilities.sleepRandom(config.getInt(ConfigKey.DELAY_POWERUP_MIN), config.getInt(ConfigKey.DELAY_POWERUP_MAX));
+                break;
+            case EVOLVE:
+                Utilities.sleepRandom(config.getInt(ConfigKey.DELAY_EVOLVE_MIN), config.getInt(ConfigKey.DELAY_EVOLVE_MAX));
+                break;
+            default:
+                break;
+        }
+    }
+}
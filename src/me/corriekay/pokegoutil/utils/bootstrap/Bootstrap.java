@@ -0,0 +1,150 @@
+package me.corriekay.pokegoutil.utils.bootstrap;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import me.corriekay.pokegoutil.utils.StringLiterals;
+
+/**
+ * Runs the startup stages of the application as a dependency graph and reports how long they took.
+ * <p>
+ * Every stage runs on a background thread as soon as the stages it depends on are done, so the UI can be shown
+ * while the caches are still being filled. Code that needs the result of a stage can wait for it with stage().
+ * Next to the stages, milestones like "Logged in" are recorded, and when the first table is shown, a timing
+ * report of the whole startup is printed.
+ */
+public final class Bootstrap {
+
+    public static final String MILESTONE_UI_STARTED = "UI started";
+    public static final String MILESTONE_LOGGED_IN = "Logged in";
+    public static final String MILESTONE_FIRST_TABLE = "First table shown";
+
+    private static final long START_NANOS = System.nanoTime();
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "bootstrap-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Map<BootstrapStage, CompletableFuture<Void>> STAGES = new EnumMap<>(BootstrapStage.class);
+    private static final List<Timing> TIMINGS = new ArrayList<>();
+    private static final AtomicBoolean REPORTED = new AtomicBoolean();
+
+    /** Prevent initializing this class. */
+    private Bootstrap() {
+    }
+
+    /**
+     * Starts all stages. Stages that are already running are not started again.
+     */
+    public static void start() {
+        for (final BootstrapStage stage : BootstrapStage.values()) {
+            stage(stage);
+        }
+    }
+
+    /**
+     * Returns the future of the given stage, starting it and the stages it depends on if that did not happen yet.
+     *
+     * @param stage The stage.
+     * @return The future that completes when the stage is done. It never completes exceptionally.
+     */
+    public static synchronized CompletableFuture<Void> stage(final BootstrapStage stage) {
+        CompletableFuture<Void> future = STAGES.get(stage);
+        if (future == null) {
+            final CompletableFuture<?>[] dependencies = stage.getDependencies().stream()
+                .map(Bootstrap::stage)
+                .toArray(CompletableFuture[]::new);
+            future = CompletableFuture.allOf(dependencies).thenRunAsync(() -> runTimed(stage), EXECUTOR);
+            STAGES.put(stage, future);
+        }
+        return future;
+    }
+
+    /**
+     * Records that a milestone of the startup has been reached.
+     *
+     * @param milestone The name of the milestone.
+     */
+    public static void mark(final String milestone) {
+        final long now = System.nanoTime();
+        synchronized (TIMINGS) {
+            TIMINGS.add(new Timing(milestone, now, now, null));
+        }
+    }
+
+    /**
+     * Records that the first table of Pokémon is shown, and prints the timing report. Only the first call counts.
+     */
+    public static void firstTableShown() {
+        if (REPORTED.compareAndSet(false, true)) {
+            mark(MILESTONE_FIRST_TABLE);
+            System.out.println(getReport());
+        }
+    }
+
+    /**
+     * Builds the report of all stages and milestones recorded until now, in milliseconds since the start.
+     *
+     * @return The report.
+     */
+    public static String getReport() {
+        final StringBuilder report = new StringBuilder("Startup timing (ms since start):");
+        synchronized (TIMINGS) {
+            for (final Timing timing : TIMINGS) {
+                report.append(StringLiterals.NEWLINE);
+                if (timing.thread == null) {
+                    report.append(String.format("  %-20s at %6d", timing.name, toMillis(timing.endNanos)));
+                } else {
+                    report.append(String.format("  %-20s at %6d, took %6d ms on %s",
+                        timing.name, toMillis(timing.startNanos),
+                        TimeUnit.NANOSECONDS.toMillis(timing.endNanos - timing.startNanos), timing.thread));
+                }
+            }
+        }
+        return report.toString();
+    }
+
+    private static void runTimed(final BootstrapStage stage) {
+        final long start = System.nanoTime();
+        try {
+            stage.run();
+        } catch (final RuntimeException | ExceptionInInitializerError e) {
+            // The error shows up again where the result is used, so a failed stage must not stop the ones after it
+            System.out.println("Startup stage '" + stage.getFriendlyName() + "' failed: " + e.toString());
+        }
+        final long end = System.nanoTime();
+        synchronized (TIMINGS) {
+            TIMINGS.add(new Timing(stage.getFriendlyName(), start, end, Thread.currentThread().getName()));
+        }
+    }
+
+    private static long toMillis(final long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos - START_NANOS);
+    }
+
+    /**
+     * The timing of one stage, or of a milestone if no thread is given.
+     */
+    private static final class Timing {
+        private final String name;
+        private final long startNanos;
+        private final long endNanos;
+        private final String thread;
+
+        Timing(final String name, final long startNanos, final long endNanos, final String thread) {
+            this.name = name;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+            this.thread = thread;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package me.corriekay.pokegoutil.utils.bootstrap;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import me.corriekay.pokegoutil.utils.ConfigNew;
+import me.corriekay.pokegoutil.utils.helpers.LocationHelper;
+import me.corriekay.pokegoutil.utils.pokemon.PokemonNameCache;
+import me.corriekay.pokegoutil.utils.pokemon.PokemonPerformanceCache;
+import me.corriekay.pokegoutil.utils.version.Updater;
+
+/**
+ * The stages that are run in the background while the application starts, and the stages they depend on.
+ * <p>
+ * Stages without a dependency between each other run at the same time.
+ */
+public enum BootstrapStage {
+    CONFIG("Config load") {
+        @Override
+        void run() {
+            ConfigNew.getConfig();
+        }
+    },
+    META_CACHES("Meta caches", CONFIG) {
+        @Override
+        void run() {
+            // The performance cache fills the move tables on the way
+            PokemonPerformanceCache.getHighestStats();
+            PokemonNameCache.get();
+        }
+    },
+    LOCATIONS("Location store", CONFIG) {
+        @Override
+        void run() {
+            LocationHelper.initialize();
+        }
+    },
+    VERSION_CHECK("Version check", CONFIG) {
+        @Override
+        void run() {
+            Updater.getUpdater().queryLatestVersion();
+        }
+    };
+
+    private final String friendlyName;
+    private final List<BootstrapStage> dependencies;
+
+    /**
+     * Creates a stage.
+     *
+     * @param friendlyName The name shown in the timing report.
+     * @param dependencies The stages that have to be finished before this one starts.
+     */
+    BootstrapStage(final String friendlyName, final BootstrapStage... dependencies) {
+        this.friendlyName = friendlyName;
+        this.dependencies = Collections.unmodifiableList(Arrays.asList(dependencies));
+    }
+
+    /**
+     * Does the work of this stage.
+     */
+    abstract void run();
+
+    public String getFriendlyName() {
+        return friendlyName;
+    }
+
+    public List<BootstrapStage> getDependencies() {
+        return dependencies;
+    }
+}
@@ -0,0 +1,264 @@
+package me.corriekay.pokegoutil.utils.export;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.json.JSONObject;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+import com.pokegoapi.google.common.geometry.S2CellId;
+
+import me.corriekay.pokegoutil.data.enums.ColumnType;
+import me.corriekay.pokegoutil.data.enums.PokeColumn;
+import me.corriekay.pokegoutil.utils.helpers.LocationHelper;
+import me.corriekay.pokegoutil.utils.snapshot.InventorySnapshotStore;
+
+/**
+ * Writes the table columns of Pokémon into a CSV or JSON Lines file, one row at a time.
+ * <p>
+ * Nothing is collected before it is written: every row is calculated and written straight into a buffered channel,
+ * so the memory needed does not grow with the number of Pokémon. Every row starts with the account it belongs to,
+ * so the bags of several accounts can go into the same file.
+ * <p>
+ * The caught location and city are taken from the locations that were looked up before, for the table or an earlier
+ * export. Looking them up during the export would not be done by the time the row is written, so locations that were
+ * never looked up are exported empty.
+ */
+public final class PokemonExporter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String ACCOUNT_COLUMN = "Account";
+    private static final char QUOTE = '"';
+    private static final char SEPARATOR = ',';
+    private static final char LINE_FEED = '\n';
+
+    private final Writer out;
+    private final Format format;
+    private final List<PokeColumn> columns;
+    private long rowCount;
+
+    /**
+     * The formats the Pokémon can be exported in.
+     */
+    public enum Format {
+        CSV("csv"),
+        JSON_LINES("jsonl");
+
+        public final String fileExtension;
+
+        Format(final String fileExtension) {
+            this.fileExtension = fileExtension;
+        }
+
+        /**
+         * Adds the extension of the format to the file, if its name has no extension.
+         *
+         * @param file The file.
+         * @return The file with an extension.
+         */
+        public File withExtension(final File file) {
+            return file.getName().indexOf('.') >= 0 ? file : new File(file.getPath() + "." + fileExtension);
+        }
+    }
+
+    /**
+     * Creates an exporter that writes into the given writer. The header, if the format has one, is written directly.
+     *
+     * @param out     The writer.
+     * @param format  The format.
+     * @param columns The columns to export, in that order.
+     * @throws IOException If the header could not be written.
+     */
+    public PokemonExporter(final Writer out, final Format format, final List<PokeColumn> columns) throws IOException {
+        this.out = out;
+        this.format = format;
+        this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+        if (format == Format.CSV) {
+            writeCsvValue(ACCOUNT_COLUMN);
+            for (final PokeColumn column : this.columns) {
+                out.write(SEPARATOR);
+                writeCsvValue(column.name);
+            }
+            out.write(LINE_FEED);
+        }
+    }
+
+    /**
+     * Opens the file for writing, replacing it if it exists, and creates an exporter for it.
+     *
+     * @param file    The file.
+     * @param format  The format.
+     * @param columns The columns to export, in that order.
+     * @return The exporter, which has to be closed.
+     * @throws IOException If the file could not be opened.
+     */
+    public static PokemonExporter open(final Path file, final Format format, final List<PokeColumn> columns) throws IOException {
+        final FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        final Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE);
+        return new PokemonExporter(writer, format, columns);
+    }
+
+    /**
+     * Returns all columns that hold data, which is all of them except the row number.
+     *
+     * @return The columns.
+     */
+    public static List<PokeColumn> getDefaultColumns() {
+        final List<PokeColumn> columns = new ArrayList<>();
+        for (final PokeColumn column : PokeColumn.values()) {
+            if (column.columnType != ColumnType.AUTO_INCREMENT) {
+                columns.add(column);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Calculates the columns of a Pokémon and writes them as a row.
+     *
+     * @param account The trainer name.
+     * @param pokemon The Pokémon.
+     * @throws IOException If the row could not be written.
+     */
+    public void write(final String account, final Pokemon pokemon) throws IOException {
+        startRow(account);
+        for (final PokeColumn column : columns) {
+            writeValue(column, getValue(column, pokemon));
+        }
+        endRow();
+    }
+
+    /**
+     * Writes a row with values that have been calculated already.
+     *
+     * @param account The trainer name.
+     * @param row     The values, one for every PokeColumn in the order of the enum.
+     * @throws IOException If the row could not be written.
+     */
+    public void write(final String account, final Object[] row) throws IOException {
+        startRow(account);
+        for (final PokeColumn column : columns) {
+            writeValue(column, row[column.ordinal()]);
+        }
+        endRow();
+    }
+
+    /**
+     * Writes the rows of the saved snapshot of an account, reading them one at a time.
+     *
+     * @param store   The snapshot store.
+     * @param account The trainer name.
+     * @return If there was a snapshot to export.
+     * @throws IOException If the snapshot could not be read or the rows could not be written.
+     */
+    public boolean writeSnapshot(final InventorySnapshotStore store, final String account) throws IOException {
+        return store.forEachRow(account, (rowAccount, pokemon, row) -> write(rowAccount, row)) >= 0;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Calculates the value of a column, with locations taken from the saved ones.
+     *
+     * @param column  The column.
+     * @param pokemon The Pokémon.
+     * @return The value, null for a location that was not looked up yet.
+     */
+    private static Object getValue(final PokeColumn column, final Pokemon pokemon) {
+        if (column != PokeColumn.CAUGHT_LOCATION && column != PokeColumn.CAUGHT_CITY) {
+            return column.get(pokemon);
+        }
+        final LocationHelper.Location location = LocationHelper.getSavedLocation(new S2CellId(pokemon.getCapturedS2CellId()));
+        if (location == null) {
+            return null;
+        }
+        return column == PokeColumn.CAUGHT_LOCATION ? location.formattedLocation : location.city;
+    }
+
+    private void startRow(final String account) throws IOException {
+        if (format == Format.CSV) {
+            writeCsvValue(account);
+        } else {
+            out.write("{");
+            out.write(JSONObject.quote(ACCOUNT_COLUMN));
+            out.write(':');
+            out.write(JSONObject.quote(account));
+        }
+    }
+
+    private void endRow() throws IOException {
+        if (format == Format.JSON_LINES) {
+            out.write('}');
+        }
+        out.write(LINE_FEED);
+        rowCount++;
+    }
+
+    private void writeValue(final PokeColumn column, final Object value) throws IOException {
+        // Rows of the table or a snapshot may hold locations that are still looked up, only what is known is exported
+        final Object resolved = value instanceof CompletableFuture ? ((CompletableFuture<?>) value).getNow(null) : value;
+        if (format == Format.CSV) {
+            out.write(SEPARATOR);
+            if (resolved != null) {
+                writeCsvValue(resolved.toString());
+            }
+        } else {
+            out.write(SEPARATOR);
+            out.write(JSONObject.quote(column.name));
+            out.write(':');
+            if (resolved instanceof Number && isFinite((Number) resolved)) {
+                out.write(resolved.toString());
+            } else if (resolved == null || resolved instanceof Number) {
+                out.write("null");
+            } else {
+                out.write(JSONObject.quote(resolved.toString()));
+            }
+        }
+    }
+
+    private void writeCsvValue(final String value) throws IOException {
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            final char c = value.charAt(i);
+            needsQuotes = c == SEPARATOR || c == QUOTE || c == LINE_FEED || c == '\r';
+        }
+        if (!needsQuotes) {
+            out.write(value);
+            return;
+        }
+        out.write(QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == QUOTE) {
+                out.write(QUOTE);
+            }
+            out.write(c);
+        }
+        out.write(QUOTE);
+    }
+
+    private static boolean isFinite(final Number number) {
+        final double d = number.doubleValue();
+        return !Double.isNaN(d) && !Double.isInfinite(d);
+    }
+}
@@ -30,6 +30,16 @@ public final class DateHelper {
         return LocalDateTime.parse(localDateTimeString, dateTimeFormatter);
     }
 
+    /**
+     * Parses a date time string, like the ones created with toString(), into a timestamp.
+     *
+     * @param localDateTimeString The date time string.
+     * @return The timestamp in milliseconds.
+     */
+    public static long toTimestamp(String localDateTimeString) {
+        return fromString(localDateTimeString).atZone(zoneId).toInstant().toEpochMilli();
+    }
+
     public static String currentTime() {
         return LocalDateTime.now().format(timeFormatter);
     }
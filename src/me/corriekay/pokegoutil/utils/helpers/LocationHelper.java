@@ -3,7 +3,6 @@ package me.corriekay.pokegoutil.utils.helpers;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Type;
-import java.net.URL;
 import java.text.DecimalFormat;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -20,6 +19,7 @@ import me.corriekay.pokegoutil.data.enums.ExceptionMessages;
 import me.corriekay.pokegoutil.utils.ConfigKey;
 import me.corriekay.pokegoutil.utils.ConfigNew;
 import me.corriekay.pokegoutil.utils.StringLiterals;
+import me.corriekay.pokegoutil.utils.http.HttpClientFactory;
 
 import com.google.gson.Gson;
 import com.google.gson.JsonSyntaxException;
@@ -37,21 +37,32 @@ public final class LocationHelper {
     private static final int SAVE_DELAY_SECONDS = 5;
 
     // Internal needed constants
-    private static final Map<Long, Location> SAVED_LOCATIONS;
+    private static final Map<Long, Location> SAVED_LOCATIONS = new ConcurrentHashMap<>();
     private static final Gson GSON = new Gson();
 
     // A switch if locations should be saved
     private static boolean shouldSave;
-
-    static {
-        SAVED_LOCATIONS = new ConcurrentHashMap<>();
-        load();
-    }
+    private static volatile boolean loaded;
 
     /** Prevent initializing this class. */
     private LocationHelper() {
     }
 
+    /**
+     * Loads the saved locations, if that did not happen yet. The startup does it ahead of time, every lookup
+     * does it before reading the saved locations, so calling it again does nothing.
+     */
+    public static void initialize() {
+        if (!loaded) {
+            synchronized (SAVED_LOCATIONS) {
+                if (!loaded) {
+                    load();
+                    loaded = true;
+                }
+            }
+        }
+    }
+
     /**
      * Returns the location as lat long coordinates.
      *
@@ -62,6 +73,17 @@ public final class LocationHelper {
         return new LatLongLocation(s2CellId);
     }
 
+    /**
+     * Returns the location of a cell if it was looked up before, without querying it.
+     *
+     * @param s2CellId The cell ID
+     * @return The location, or null if it was not looked up yet.
+     */
+    public static Location getSavedLocation(final S2CellId s2CellId) {
+        initialize();
+        return SAVED_LOCATIONS.get(s2CellId.id());
+    }
+
     /**
      * Returns a Future that resolves some time in the future after the location is queried from Google API.
      * It returns a string for the location based on the cell ID.
@@ -72,6 +94,7 @@ public final class LocationHelper {
     public static CompletableFuture<Location> getLocation(final S2CellId s2CellId) {
         return CompletableFuture.supplyAsync(
             () -> {
+                initialize();
                 // If we have the location saved, we can return it already
                 if (SAVED_LOCATIONS.containsKey(s2CellId.id())) {
                     return SAVED_LOCATIONS.get(s2CellId.id());
@@ -115,8 +138,8 @@ public final class LocationHelper {
         final String apiUrl = "http://maps.googleapis.com/maps/api/geocode/json?latlng=%s&sensor=true&language=%s";
         final String formattedUrl = String.format(apiUrl, latLong.replace(" ", "%20"), language);
         try {
-            final URL url = new URL(formattedUrl);
-            final String apiResponse = FileHelper.readFile(url.openStream());
+            // Not cached, errors come back with 200 as well. Successful lookups are saved with the locations.
+            final String apiResponse = HttpClientFactory.getFactory().fetch(formattedUrl, false);
             return new JSONObject(apiResponse);
         } catch (IOException e) {
             System.out.println(ExceptionMessages.COULD_NOT_QUERY_LOCATION.with(e));
@@ -1,5 +1,8 @@
 package me.corriekay.pokegoutil.utils.helpers;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import com.pokegoapi.api.pokemon.PokemonType;
 
 /** Class to Help get the Unicode character.
@@ -42,6 +45,15 @@ public enum UnicodeHelper {
     SHIELD(0x26E8, "shield"),
     SWORD(0x2694, "sword");
 
+    private static final Map<String, String> CHARACTERS = new HashMap<>();
+
+    static {
+        for (UnicodeHelper uni : values()) {
+            // The first one wins, like the search did before
+            CHARACTERS.putIfAbsent(uni.identifier, Character.toString((char) uni.hexaCode));
+        }
+    }
+
     private int hexaCode;
     private String identifier;
 
@@ -58,11 +70,7 @@ public enum UnicodeHelper {
      *        returned
      * @return unicode character in String */
     public static String get(String identifier) {
-        for (UnicodeHelper uni : values()) {
-            if (uni.identifier.equals(identifier)) {
-                return Character.toString((char) uni.hexaCode);
-            }
-        }
-        return "";
+        final String character = CHARACTERS.get(identifier);
+        return character != null ? character : "";
     }
 }
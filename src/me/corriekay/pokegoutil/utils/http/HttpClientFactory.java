@@ -0,0 +1,248 @@
+package me.corriekay.pokegoutil.utils.http;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import me.corriekay.pokegoutil.utils.metrics.MetricsRegistry;
+
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Hands out the HTTP clients of the tool. All of them share one connection pool and one dispatcher, so connections to
+ * the game server, the login servers and the helper endpoints are kept alive and reused, instead of every login and
+ * every lookup opening its own.
+ * <p>
+ * Every client has explicit connect, read and write timeouts. The dispatcher limits how many asynchronous calls run at
+ * once, in total and per host. All calls of the tool are synchronous though, so the limit per host is also enforced by
+ * an interceptor: a call waits for a permit of its host before it is sent, and gives it back once the response
+ * headers are there.
+ * <p>
+ * Plain GET requests, like the version check, go through the caching client. Its responses are kept on disk for as
+ * long as the cache rule of their url says, no matter what the server sends. Geocoding is not cached here: errors like
+ * OVER_QUERY_LIMIT come back with 200 too, and the LocationHelper already keeps the successful lookups itself.
+ * <p>
+ * The pool, the dispatcher and the cache report their state as gauges to the MetricsRegistry.
+ */
+public final class HttpClientFactory {
+
+    public static final String POOL_CONNECTIONS = "bpm_http_pool_connections";
+    public static final String DISPATCHER_CALLS = "bpm_http_dispatcher_calls";
+    public static final String CACHE_REQUESTS = "bpm_http_cache_requests";
+    public static final String TAG_STATE = "state";
+
+    public static final int CONNECT_TIMEOUT_SECONDS = 10;
+    public static final int READ_TIMEOUT_SECONDS = 30;
+    public static final int WRITE_TIMEOUT_SECONDS = 30;
+    public static final int MAX_REQUESTS = 32;
+    public static final int MAX_REQUESTS_PER_HOST = 5;
+    public static final int MAX_IDLE_CONNECTIONS = 5;
+    public static final int KEEP_ALIVE_MINUTES = 5;
+
+    private static final File CACHE_DIRECTORY = new File("cache", "http");
+    private static final long CACHE_SIZE_BYTES = 10L * 1024 * 1024;
+    private static final String CACHE_CONTROL = "Cache-Control";
+    private static final String PRAGMA = "Pragma";
+
+    private static final Map<String, Long> DEFAULT_CACHE_RULES;
+
+    static {
+        final Map<String, Long> rules = new LinkedHashMap<>();
+        rules.put("raw.githubusercontent.com/", TimeUnit.HOURS.toSeconds(1));
+        DEFAULT_CACHE_RULES = Collections.unmodifiableMap(rules);
+    }
+
+    private static HttpClientFactory instance;
+
+    private final ConnectionPool connectionPool;
+    private final Dispatcher dispatcher;
+    private final Cache cache;
+    private final Map<String, Long> cacheRules;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final OkHttpClient client;
+    private final OkHttpClient cachingClient;
+
+    /**
+     * Creates a factory with its own pool, dispatcher and cache.
+     * <p>
+     * Can't be called externally, use HttpClientFactory.getFactory() instead.
+     *
+     * @param cacheDirectory The directory to cache responses in.
+     * @param cacheRules     How long responses are cached, in seconds, by the start of their url without scheme and
+     *                       port, like "example.com/api/".
+     */
+    HttpClientFactory(final File cacheDirectory, final Map<String, Long> cacheRules) {
+        this.connectionPool = new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES);
+        this.dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(MAX_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+        this.cache = new Cache(cacheDirectory, CACHE_SIZE_BYTES);
+        this.cacheRules = cacheRules;
+
+        this.client = new OkHttpClient.Builder()
+            .connectionPool(connectionPool)
+            .dispatcher(dispatcher)
+            .connectTimeout(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .readTimeout(READ_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .writeTimeout(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .addInterceptor(this::limitPerHost)
+            .build();
+        this.cachingClient = client.newBuilder()
+            .cache(cache)
+            .addNetworkInterceptor(chain -> applyCacheRule(chain.request(), chain.proceed(chain.request())))
+            .build();
+    }
+
+    /**
+     * Gets the instance of the HttpClientFactory. The first call registers its gauges.
+     *
+     * @return The HttpClientFactory.
+     */
+    public static synchronized HttpClientFactory getFactory() {
+        if (instance == null) {
+            instance = new HttpClientFactory(CACHE_DIRECTORY, DEFAULT_CACHE_RULES);
+            instance.registerMetrics(MetricsRegistry.getRegistry());
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the client for the game server and the logins. Nothing is cached.
+     * Clients derived from it with newBuilder() keep sharing the pool and the dispatcher.
+     *
+     * @return The client.
+     */
+    public OkHttpClient getClient() {
+        return client;
+    }
+
+    /**
+     * Returns the client for plain GET requests, which caches responses according to the cache rules.
+     *
+     * @return The client.
+     */
+    public OkHttpClient getCachingClient() {
+        return cachingClient;
+    }
+
+    /**
+     * Loads the body of an url with the caching client.
+     *
+     * @param url The url.
+     * @return The body.
+     * @throws IOException If the request failed or the server did not answer with success.
+     */
+    public String fetch(final String url) throws IOException {
+        return fetch(url, true);
+    }
+
+    /**
+     * Loads the body of an url.
+     *
+     * @param url    The url.
+     * @param cached If the caching client is used, otherwise the response is neither cached nor taken from the cache.
+     * @return The body.
+     * @throws IOException If the request failed or the server did not answer with success.
+     */
+    public String fetch(final String url, final boolean cached) throws IOException {
+        final Request request = new Request.Builder().url(url).build();
+        final Response response = (cached ? cachingClient : client).newCall(request).execute();
+        try (ResponseBody body = response.body()) {
+            if (!response.isSuccessful()) {
+                throw new IOException("HTTP " + response.code() + " " + response.message() + " for " + url);
+            }
+            return body.string();
+        }
+    }
+
+    /**
+     * Returns how long responses of the url are cached.
+     *
+     * @param url The url.
+     * @return The time in seconds, or -1 if they are not cached.
+     */
+    long getMaxAgeSeconds(final HttpUrl url) {
+        final String key = url.host() + url.encodedPath();
+        for (final Map.Entry<String, Long> rule : cacheRules.entrySet()) {
+            if (key.startsWith(rule.getKey())) {
+                return rule.getValue();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lets at most MAX_REQUESTS_PER_HOST calls to the same host run at once, the others wait for their turn.
+     *
+     * @param chain The chain of the call.
+     * @return The response.
+     * @throws IOException If the call failed, or the thread was interrupted while waiting.
+     */
+    private Response limitPerHost(final Interceptor.Chain chain) throws IOException {
+        final Semaphore permits = hostPermits.computeIfAbsent(chain.request().url().host(),
+            host -> new Semaphore(MAX_REQUESTS_PER_HOST, true));
+        try {
+            permits.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + chain.request().url().host());
+        }
+        try {
+            return chain.proceed(chain.request());
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Response applyCacheRule(final Request request, final Response response) {
+        final long maxAge = getMaxAgeSeconds(request.url());
+        if (maxAge < 0 || !response.isSuccessful()) {
+            return response;
+        }
+        return response.newBuilder()
+            .removeHeader(PRAGMA)
+            .header(CACHE_CONTROL, "public, max-age=" + maxAge)
+            .build();
+    }
+
+    /**
+     * Registers the state of the pool, the dispatcher and the cache as gauges.
+     *
+     * @param metrics The registry.
+     */
+    void registerMetrics(final MetricsRegistry metrics) {
+        metrics.gauge(POOL_CONNECTIONS, connectionPool::connectionCount, TAG_STATE, "total");
+        metrics.gauge(POOL_CONNECTIONS, connectionPool::idleConnectionCount, TAG_STATE, "idle");
+        metrics.gauge(DISPATCHER_CALLS, dispatcher::runningCallsCount, TAG_STATE, "running");
+        metrics.gauge(DISPATCHER_CALLS, dispatcher::queuedCallsCount, TAG_STATE, "queued");
+        metrics.gauge(CACHE_REQUESTS, cache::requestCount, TAG_STATE, "total");
+        metrics.gauge(CACHE_REQUESTS, cache::hitCount, TAG_STATE, "hit");
+        metrics.gauge(CACHE_REQUESTS, cache::networkCount, TAG_STATE, "network");
+    }
+
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    public Dispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+}
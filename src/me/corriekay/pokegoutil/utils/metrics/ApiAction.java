@@ -0,0 +1,19 @@
+package me.corriekay.pokegoutil.utils.metrics;
+
+import com.pokegoapi.exceptions.LoginFailedException;
+import com.pokegoapi.exceptions.RemoteServerException;
+
+/**
+ * A single call against the game API that has no result, like refreshing the inventories.
+ */
+@FunctionalInterface
+public interface ApiAction {
+
+    /**
+     * Executes the call.
+     *
+     * @throws LoginFailedException  If the login failed.
+     * @throws RemoteServerException If the server caused an error.
+     */
+    void run() throws LoginFailedException, RemoteServerException;
+}
@@ -0,0 +1,22 @@
+package me.corriekay.pokegoutil.utils.metrics;
+
+import com.pokegoapi.exceptions.LoginFailedException;
+import com.pokegoapi.exceptions.RemoteServerException;
+
+/**
+ * A single call against the game API that returns a result.
+ *
+ * @param <T> The type of the result.
+ */
+@FunctionalInterface
+public interface ApiCall<T> {
+
+    /**
+     * Executes the call.
+     *
+     * @return The result of the call.
+     * @throws LoginFailedException  If the login failed.
+     * @throws RemoteServerException If the server caused an error.
+     */
+    T call() throws LoginFailedException, RemoteServerException;
+}
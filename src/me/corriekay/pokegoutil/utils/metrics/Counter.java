@@ -0,0 +1,45 @@
+package me.corriekay.pokegoutil.utils.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing counter. Safe to increment from any thread.
+ */
+public final class Counter {
+
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Only created by the MetricsRegistry.
+     */
+    Counter() {
+    }
+
+    /**
+     * Increments the counter by one.
+     */
+    public void increment() {
+        count.increment();
+    }
+
+    /**
+     * Increments the counter by the given amount.
+     *
+     * @param amount The amount to add. Has to be positive.
+     */
+    public void add(final long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Counters can only increase, got " + amount);
+        }
+        count.add(amount);
+    }
+
+    /**
+     * Returns the current value of the counter.
+     *
+     * @return The count.
+     */
+    public long get() {
+        return count.sum();
+    }
+}
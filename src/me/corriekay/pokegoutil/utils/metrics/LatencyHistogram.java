@@ -0,0 +1,167 @@
+package me.corriekay.pokegoutil.utils.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A latency histogram in the style of HdrHistogram, with log-linear buckets.
+ * <p>
+ * Values are recorded in microseconds. Every power of two is split into 16 linear sub buckets,
+ * so each recorded value is off by at most 1/16 (6.25%) of its magnitude, over the whole range
+ * from one microsecond up to several days. Recording is lock free and does not allocate.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Only created by the MetricsRegistry.
+     */
+    LatencyHistogram() {
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param duration The duration.
+     * @param unit     The unit of the duration.
+     */
+    public void record(final long duration, final TimeUnit unit) {
+        recordMicros(unit.toMicros(duration));
+    }
+
+    /**
+     * Records a duration given in microseconds.
+     *
+     * @param micros The duration in microseconds.
+     */
+    public void recordMicros(final long micros) {
+        final long value = Math.max(0, micros);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.incrementAndGet();
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns a consistent copy of the current state of this histogram.
+     *
+     * @return The snapshot.
+     */
+    public Snapshot snapshot() {
+        final long[] copy = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = buckets.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(copy, total, sum.get(), max.get());
+    }
+
+    /**
+     * Calculates the bucket a value belongs to.
+     *
+     * @param value The value, has to be positive.
+     * @return The index of the bucket.
+     */
+    static int bucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int shift = exponent - SUB_BUCKET_BITS;
+        final int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Calculates the highest value that still falls into the given bucket.
+     *
+     * @param index The index of the bucket.
+     * @return The upper bound of the bucket, inclusive.
+     */
+    static long bucketUpperBound(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKET_COUNT - 1;
+        final long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * An immutable copy of a histogram at a given time.
+     */
+    public static final class Snapshot {
+
+        private final long[] buckets;
+        private final long count;
+        private final long sumMicros;
+        private final long maxMicros;
+
+        /**
+         * Creates a snapshot.
+         *
+         * @param buckets   The copied bucket counts.
+         * @param count     The total count.
+         * @param sumMicros The sum of all recorded values.
+         * @param maxMicros The highest recorded value.
+         */
+        Snapshot(final long[] buckets, final long count, final long sumMicros, final long maxMicros) {
+            this.buckets = buckets;
+            this.count = count;
+            this.sumMicros = sumMicros;
+            this.maxMicros = maxMicros;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSumMicros() {
+            return sumMicros;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        /**
+         * Returns the mean of all recorded values.
+         *
+         * @return The mean in microseconds, or 0 if nothing was recorded.
+         */
+        public double getMeanMicros() {
+            return count == 0 ? 0 : (double) sumMicros / count;
+        }
+
+        /**
+         * Returns the value below which the given fraction of recorded values fall.
+         *
+         * @param quantile The quantile, between 0 and 1.
+         * @return The value in microseconds, or 0 if nothing was recorded.
+         */
+        public long getValueAtQuantile(final double quantile) {
+            if (count == 0) {
+                return 0;
+            }
+            final long rank = Math.max(1, (long) Math.ceil(quantile * count));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), maxMicros);
+                }
+            }
+            return maxMicros;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package me.corriekay.pokegoutil.utils.metrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The identity of a metric, its name and a sorted set of tags.
+ * Two keys with the same name and the same tags are equal, regardless of the order the tags were given in.
+ */
+public final class MetricKey implements Comparable<MetricKey> {
+
+    private final String name;
+    private final Map<String, String> tags;
+    private final String tagString;
+
+    /**
+     * Creates a new metric key.
+     *
+     * @param name The name of the metric.
+     * @param tags The tags, given as alternating key and value.
+     */
+    public MetricKey(final String name, final String... tags) {
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags have to be given as key/value pairs: " + Arrays.toString(tags));
+        }
+        this.name = name;
+        final TreeMap<String, String> sortedTags = new TreeMap<>();
+        for (int i = 0; i < tags.length; i += 2) {
+            sortedTags.put(tags[i], tags[i + 1]);
+        }
+        this.tags = Collections.unmodifiableMap(sortedTags);
+        this.tagString = sortedTags.toString();
+    }
+
+    /**
+     * Returns the name of the metric.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the tags of the metric, sorted by key.
+     *
+     * @return The tags.
+     */
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public int compareTo(final MetricKey other) {
+        final int byName = name.compareTo(other.name);
+        return byName != 0 ? byName : tagString.compareTo(other.tagString);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof MetricKey)) {
+            return false;
+        }
+        final MetricKey other = (MetricKey) obj;
+        return name.equals(other.name) && tags.equals(other.tags);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * name.hashCode() + tags.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return tags.isEmpty() ? name : name + tagString;
+    }
+}
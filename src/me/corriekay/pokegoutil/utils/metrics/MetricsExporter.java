@@ -0,0 +1,179 @@
+package me.corriekay.pokegoutil.utils.metrics;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import me.corriekay.pokegoutil.utils.StringLiterals;
+import me.corriekay.pokegoutil.utils.helpers.DateHelper;
+import me.corriekay.pokegoutil.utils.helpers.FileHelper;
+
+/**
+ * Converts snapshots of the MetricsRegistry into JSON or the Prometheus text format.
+ */
+public final class MetricsExporter {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p99", "p999"};
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final double MICROS_PER_SECOND = 1000000.0;
+    // The Prometheus text format always uses \n, regardless of the platform
+    private static final char LINE_FEED = '\n';
+
+    /** Prevent initializing this class. */
+    private MetricsExporter() {
+    }
+
+    /**
+     * The formats a snapshot can be exported in.
+     */
+    public enum Format {
+        JSON("json"),
+        PROMETHEUS("prom");
+
+        public final String fileExtension;
+
+        Format(final String fileExtension) {
+            this.fileExtension = fileExtension;
+        }
+
+        /**
+         * Formats the snapshot.
+         *
+         * @param snapshot The snapshot.
+         * @return The formatted snapshot.
+         */
+        public String format(final MetricsSnapshot snapshot) {
+            return this == JSON ? toJson(snapshot).toString(FileHelper.INDENT) : toPrometheus(snapshot);
+        }
+    }
+
+    /**
+     * Converts the snapshot into JSON. Latencies are given in milliseconds.
+     *
+     * @param snapshot The snapshot.
+     * @return The JSON object.
+     */
+    public static JSONObject toJson(final MetricsSnapshot snapshot) {
+        final JSONObject json = new JSONObject();
+        json.put("timestamp", DateHelper.toString(DateHelper.fromTimestamp(snapshot.getTimestamp())));
+
+        final JSONArray counters = new JSONArray();
+        snapshot.getCounters().forEach((key, value) -> counters.put(keyToJson(key).put("value", value)));
+        json.put("counters", counters);
+
+        final JSONArray gauges = new JSONArray();
+        snapshot.getGauges().forEach((key, value) -> gauges.put(keyToJson(key).put("value", value)));
+        json.put("gauges", gauges);
+
+        final JSONArray histograms = new JSONArray();
+        snapshot.getHistograms().forEach((key, histogram) -> {
+            final JSONObject entry = keyToJson(key);
+            entry.put("count", histogram.getCount());
+            entry.put("meanMs", histogram.getMeanMicros() / MICROS_PER_MILLI);
+            entry.put("maxMs", histogram.getMaxMicros() / MICROS_PER_MILLI);
+            for (int i = 0; i < QUANTILES.length; i++) {
+                entry.put(PERCENTILE_NAMES[i] + "Ms", histogram.getValueAtQuantile(QUANTILES[i]) / MICROS_PER_MILLI);
+            }
+            histograms.put(entry);
+        });
+        json.put("histograms", histograms);
+
+        return json;
+    }
+
+    /**
+     * Converts the snapshot into the Prometheus text exposition format.
+     * Histograms are written as summaries, with latencies in seconds.
+     *
+     * @param snapshot The snapshot.
+     * @return The text.
+     */
+    public static String toPrometheus(final MetricsSnapshot snapshot) {
+        final StringBuilder sb = new StringBuilder();
+
+        String lastName = null;
+        for (final Map.Entry<MetricKey, Long> entry : snapshot.getCounters().entrySet()) {
+            lastName = writeType(sb, entry.getKey().getName(), "counter", lastName);
+            writeSample(sb, entry.getKey().getName(), entry.getKey().getTags(), null, entry.getValue());
+        }
+
+        lastName = null;
+        for (final Map.Entry<MetricKey, Double> entry : snapshot.getGauges().entrySet()) {
+            lastName = writeType(sb, entry.getKey().getName(), "gauge", lastName);
+            writeSample(sb, entry.getKey().getName(), entry.getKey().getTags(), null, entry.getValue());
+        }
+
+        lastName = null;
+        for (final Map.Entry<MetricKey, LatencyHistogram.Snapshot> entry : snapshot.getHistograms().entrySet()) {
+            final String name = entry.getKey().getName() + "_seconds";
+            final Map<String, String> tags = entry.getKey().getTags();
+            final LatencyHistogram.Snapshot histogram = entry.getValue();
+            lastName = writeType(sb, name, "summary", lastName);
+            for (final double quantile : QUANTILES) {
+                writeSample(sb, name, tags, String.valueOf(quantile),
+                    histogram.getValueAtQuantile(quantile) / MICROS_PER_SECOND);
+            }
+            writeSample(sb, name + "_sum", tags, null, histogram.getSumMicros() / MICROS_PER_SECOND);
+            writeSample(sb, name + "_count", tags, null, histogram.getCount());
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Exports the snapshot into the given file.
+     *
+     * @param snapshot The snapshot.
+     * @param format   The format to export in.
+     * @param file     The file to write to.
+     */
+    public static void export(final MetricsSnapshot snapshot, final Format format, final File file) {
+        FileHelper.saveFile(file, format.format(snapshot));
+        System.out.println("Exported metrics to " + file.getAbsolutePath());
+    }
+
+    private static JSONObject keyToJson(final MetricKey key) {
+        final JSONObject json = new JSONObject();
+        json.put("name", key.getName());
+        json.put("tags", new JSONObject(key.getTags()));
+        return json;
+    }
+
+    private static String writeType(final StringBuilder sb, final String name, final String type, final String lastName) {
+        if (!name.equals(lastName)) {
+            sb.append("# TYPE ").append(name).append(StringLiterals.SPACE).append(type).append(LINE_FEED);
+        }
+        return name;
+    }
+
+    private static void writeSample(final StringBuilder sb, final String name, final Map<String, String> tags,
+                                    final String quantile, final Number value) {
+        sb.append(name);
+        if (!tags.isEmpty() || quantile != null) {
+            sb.append('{');
+            final Iterator<Map.Entry<String, String>> it = tags.entrySet().iterator();
+            while (it.hasNext()) {
+                final Map.Entry<String, String> tag = it.next();
+                writeLabel(sb, tag.getKey(), tag.getValue());
+                if (it.hasNext() || quantile != null) {
+                    sb.append(',');
+                }
+            }
+            if (quantile != null) {
+                writeLabel(sb, "quantile", quantile);
+            }
+            sb.append('}');
+        }
+        sb.append(StringLiterals.SPACE).append(value).append(LINE_FEED);
+    }
+
+    private static void writeLabel(final StringBuilder sb, final String key, final String value) {
+        sb.append(key).append("=\"")
+            .append(value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+            .append('"');
+    }
+}
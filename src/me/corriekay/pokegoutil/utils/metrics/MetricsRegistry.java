@@ -0,0 +1,199 @@
+package me.corriekay.pokegoutil.utils.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+import com.pokegoapi.exceptions.LoginFailedException;
+import com.pokegoapi.exceptions.RemoteServerException;
+
+import me.corriekay.pokegoutil.gui.enums.OperationId;
+
+/**
+ * The in-process registry for all metrics of the tool.
+ * <p>
+ * Holds counters, latency histograms and gauges, each identified by a name and tags.
+ * Every call against the game API should go through recordApiCall(), so that its latency and
+ * its outcome are recorded, tagged by the operation and the result code returned by the server.
+ */
+public final class MetricsRegistry {
+
+    public static final String API_CALLS = "bpm_api_calls_total";
+    public static final String API_CALL_DURATION = "bpm_api_call_duration";
+    public static final String BATCHED_REQUESTS = "bpm_api_batched_requests_total";
+    public static final String ROUND_TRIPS_SAVED = "bpm_api_round_trips_saved_total";
+    public static final String TAG_OPERATION = "operation";
+    public static final String TAG_RESULT = "result";
+
+    public static final String INVENTORY_REFRESH = "INVENTORY_REFRESH";
+    public static final String PROFILE_REFRESH = "PROFILE_REFRESH";
+    public static final String RESULT_SUCCESS = "SUCCESS";
+
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    private final Map<MetricKey, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<MetricKey, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<MetricKey, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry with only the default gauges.
+     * <p>
+     * The tool records everything into MetricsRegistry.getRegistry(), use this only for a registry of its own, like
+     * in tests.
+     */
+    public MetricsRegistry() {
+        final Runtime runtime = Runtime.getRuntime();
+        gauge("bpm_jvm_heap_used_bytes", () -> runtime.totalMemory() - runtime.freeMemory());
+        gauge("bpm_jvm_heap_max_bytes", runtime::maxMemory);
+    }
+
+    /**
+     * Gets the instance of the MetricsRegistry.
+     *
+     * @return The MetricsRegistry.
+     */
+    public static MetricsRegistry getRegistry() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the counter with the given name and tags, creating it if needed.
+     *
+     * @param name The name of the counter.
+     * @param tags The tags, given as alternating key and value.
+     * @return The counter.
+     */
+    public Counter counter(final String name, final String... tags) {
+        return counters.computeIfAbsent(new MetricKey(name, tags), key -> new Counter());
+    }
+
+    /**
+     * Returns the latency histogram with the given name and tags, creating it if needed.
+     *
+     * @param name The name of the histogram.
+     * @param tags The tags, given as alternating key and value.
+     * @return The histogram.
+     */
+    public LatencyHistogram histogram(final String name, final String... tags) {
+        return histograms.computeIfAbsent(new MetricKey(name, tags), key -> new LatencyHistogram());
+    }
+
+    /**
+     * Registers a gauge, which is read each time a snapshot is taken.
+     * Registering a gauge with the same name and tags again replaces the old one.
+     *
+     * @param name     The name of the gauge.
+     * @param supplier The function supplying the current value.
+     * @param tags     The tags, given as alternating key and value.
+     */
+    public void gauge(final String name, final DoubleSupplier supplier, final String... tags) {
+        gauges.put(new MetricKey(name, tags), supplier);
+    }
+
+    /**
+     * Executes an API call for the given operation and records its latency and result.
+     * The result itself is used as result code, which fits the result enums returned by the server.
+     *
+     * @param operation The operation the call belongs to.
+     * @param call      The call.
+     * @param <T>       The type of the result.
+     * @return The result of the call.
+     * @throws LoginFailedException  If the login failed.
+     * @throws RemoteServerException If the server caused an error.
+     */
+    public <T> T recordApiCall(final OperationId operation, final ApiCall<T> call)
+        throws LoginFailedException, RemoteServerException {
+        return recordApiCall(operation.name(), call, Function.identity());
+    }
+
+    /**
+     * Executes an API call for the given operation and records its latency and result.
+     *
+     * @param operation  The operation the call belongs to.
+     * @param call       The call.
+     * @param resultCode Function that converts the result to the result code to tag with.
+     * @param <T>        The type of the result.
+     * @return The result of the call.
+     * @throws LoginFailedException  If the login failed.
+     * @throws RemoteServerException If the server caused an error.
+     */
+    public <T> T recordApiCall(final OperationId operation, final ApiCall<T> call, final Function<T, ?> resultCode)
+        throws LoginFailedException, RemoteServerException {
+        return recordApiCall(operation.name(), call, resultCode);
+    }
+
+    /**
+     * Executes an API call and records its latency and result.
+     *
+     * @param operation  The name of the operation the call belongs to.
+     * @param call       The call.
+     * @param resultCode Function that converts the result to the result code to tag with.
+     * @param <T>        The type of the result.
+     * @return The result of the call.
+     * @throws LoginFailedException  If the login failed.
+     * @throws RemoteServerException If the server caused an error.
+     */
+    public <T> T recordApiCall(final String operation, final ApiCall<T> call, final Function<T, ?> resultCode)
+        throws LoginFailedException, RemoteServerException {
+        final long start = System.nanoTime();
+        final T result;
+        try {
+            result = call.call();
+        } catch (LoginFailedException | RemoteServerException | RuntimeException e) {
+            recordOutcome(operation, e.getClass().getSimpleName(), System.nanoTime() - start);
+            throw e;
+        }
+        recordOutcome(operation, String.valueOf(resultCode.apply(result)), System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Executes an API call without result and records its latency and outcome.
+     *
+     * @param operation The name of the operation the call belongs to.
+     * @param action    The call.
+     * @throws LoginFailedException  If the login failed.
+     * @throws RemoteServerException If the server caused an error.
+     */
+    public void recordApiCall(final String operation, final ApiAction action)
+        throws LoginFailedException, RemoteServerException {
+        recordApiCall(operation, () -> {
+            action.run();
+            return RESULT_SUCCESS;
+        }, Function.identity());
+    }
+
+    /**
+     * Records the outcome of a single API call.
+     *
+     * @param operation   The name of the operation.
+     * @param result      The result code.
+     * @param elapsedNano The time the call took, in nanoseconds.
+     */
+    private void recordOutcome(final String operation, final String result, final long elapsedNano) {
+        counter(API_CALLS, TAG_OPERATION, operation, TAG_RESULT, result).increment();
+        histogram(API_CALL_DURATION, TAG_OPERATION, operation, TAG_RESULT, result)
+            .record(elapsedNano, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Takes a snapshot of all metrics.
+     *
+     * @return The snapshot.
+     */
+    public MetricsSnapshot snapshot() {
+        final TreeMap<MetricKey, Long> counterValues = new TreeMap<>();
+        counters.forEach((key, counter) -> counterValues.put(key, counter.get()));
+
+        final TreeMap<MetricKey, Double> gaugeValues = new TreeMap<>();
+        gauges.forEach((key, supplier) -> gaugeValues.put(key, supplier.getAsDouble()));
+
+        final TreeMap<MetricKey, LatencyHistogram.Snapshot> histogramValues = new TreeMap<>();
+        histograms.forEach((key, histogram) -> histogramValues.put(key, histogram.snapshot()));
+
+        return new MetricsSnapshot(System.currentTimeMillis(), counterValues, gaugeValues, histogramValues);
+    }
+}
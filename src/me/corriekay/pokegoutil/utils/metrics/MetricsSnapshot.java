@@ -0,0 +1,49 @@
+package me.corriekay.pokegoutil.utils.metrics;
+
+import java.util.Collections;
+import java.util.SortedMap;
+
+/**
+ * An immutable copy of all metrics of the MetricsRegistry at a given time.
+ */
+public final class MetricsSnapshot {
+
+    private final long timestamp;
+    private final SortedMap<MetricKey, Long> counters;
+    private final SortedMap<MetricKey, Double> gauges;
+    private final SortedMap<MetricKey, LatencyHistogram.Snapshot> histograms;
+
+    /**
+     * Creates a snapshot. Only called by the MetricsRegistry.
+     *
+     * @param timestamp  The time the snapshot was taken, in milliseconds since epoch.
+     * @param counters   The values of all counters.
+     * @param gauges     The values of all gauges.
+     * @param histograms The snapshots of all histograms.
+     */
+    MetricsSnapshot(final long timestamp,
+                    final SortedMap<MetricKey, Long> counters,
+                    final SortedMap<MetricKey, Double> gauges,
+                    final SortedMap<MetricKey, LatencyHistogram.Snapshot> histograms) {
+        this.timestamp = timestamp;
+        this.counters = Collections.unmodifiableSortedMap(counters);
+        this.gauges = Collections.unmodifiableSortedMap(gauges);
+        this.histograms = Collections.unmodifiableSortedMap(histograms);
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public SortedMap<MetricKey, Long> getCounters() {
+        return counters;
+    }
+
+    public SortedMap<MetricKey, Double> getGauges() {
+        return gauges;
+    }
+
+    public SortedMap<MetricKey, LatencyHistogram.Snapshot> getHistograms() {
+        return histograms;
+    }
+}
@@ -0,0 +1,193 @@
+package me.corriekay.pokegoutil.utils.pokemon;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import POGOProtos.Enums.PokemonFamilyIdOuterClass.PokemonFamilyId;
+
+/**
+ * The result of {@link CandyPlanner}: per family how many Pokémon can be evolved, which ones, and which ones have to
+ * be transferred for it.
+ */
+public final class CandyPlan {
+
+    private final Map<PokemonFamilyId, FamilyPlan> families = new EnumMap<>(PokemonFamilyId.class);
+    private final Set<Long> toEvolve = new HashSet<>();
+    private final Set<Long> toTransfer = new HashSet<>();
+
+    /**
+     * The plan of one family.
+     */
+    public static final class FamilyPlan {
+        private final int candies;
+        private int candiesLeft;
+        private final Map<Integer, Integer> evolvesPerSpecies = new HashMap<>();
+        private final List<Pokemon> toEvolve = new ArrayList<>();
+        private final List<Pokemon> toTransfer = new ArrayList<>();
+
+        FamilyPlan(final int candies) {
+            this.candies = candies;
+            this.candiesLeft = candies;
+        }
+
+        void addSpecies(final int species, final List<Pokemon> evolve, final List<Pokemon> transfer, final int left) {
+            evolvesPerSpecies.put(species, evolve.size());
+            toEvolve.addAll(evolve);
+            toTransfer.addAll(transfer);
+            candiesLeft = left;
+        }
+
+        /**
+         * Returns the candies of the family before the plan.
+         *
+         * @return The candies.
+         */
+        public int getCandies() {
+            return candies;
+        }
+
+        /**
+         * Returns the candies that are left after all evolves and transfers of the plan.
+         *
+         * @return The candies.
+         */
+        public int getCandiesLeft() {
+            return candiesLeft;
+        }
+
+        /**
+         * Returns how many Pokémon of a species are evolved.
+         *
+         * @param species The Pokédex number of the species.
+         * @return The number of evolves.
+         */
+        public int getEvolves(final int species) {
+            return evolvesPerSpecies.getOrDefault(species, 0);
+        }
+
+        /**
+         * Returns how many Pokémon of the family are evolved.
+         *
+         * @return The number of evolves.
+         */
+        public int getEvolves() {
+            return toEvolve.size();
+        }
+
+        /**
+         * Returns how many Pokémon of the family have to be transferred before evolving.
+         *
+         * @return The number of transfers.
+         */
+        public int getTransfers() {
+            return toTransfer.size();
+        }
+
+        /**
+         * Returns the XP all evolves of the family give, without a lucky egg.
+         *
+         * @return The XP.
+         */
+        public int getXp() {
+            return getEvolves() * CandyPlanner.XP_PER_EVOLVE;
+        }
+
+        /**
+         * Returns the Pokémon to evolve, best first.
+         *
+         * @return The Pokémon.
+         */
+        public List<Pokemon> getToEvolve() {
+            return Collections.unmodifiableList(toEvolve);
+        }
+
+        /**
+         * Returns the Pokémon to transfer before evolving.
+         *
+         * @return The Pokémon.
+         */
+        public List<Pokemon> getToTransfer() {
+            return Collections.unmodifiableList(toTransfer);
+        }
+    }
+
+    void add(final PokemonFamilyId family, final FamilyPlan plan) {
+        families.put(family, plan);
+        plan.toEvolve.forEach(p -> toEvolve.add(p.getId()));
+        plan.toTransfer.forEach(p -> toTransfer.add(p.getId()));
+    }
+
+    /**
+     * Returns the plan of a family.
+     *
+     * @param family The family.
+     * @return The plan, or null if there are no Pokémon of the family.
+     */
+    public FamilyPlan getFamily(final PokemonFamilyId family) {
+        return families.get(family);
+    }
+
+    /**
+     * Returns how many Pokémon of the species of the given one are evolved.
+     *
+     * @param pokemon The Pokémon.
+     * @return The number of evolves, or -1 if the Pokémon was not planned.
+     */
+    public int getEvolvable(final Pokemon pokemon) {
+        final FamilyPlan plan = families.get(pokemon.getPokemonFamily());
+        return plan != null ? plan.getEvolves(pokemon.getPokemonId().getNumber()) : -1;
+    }
+
+    /**
+     * Checks if the Pokémon is one of the ones to evolve.
+     *
+     * @param pokemon The Pokémon.
+     * @return If it should be evolved.
+     */
+    public boolean isToEvolve(final Pokemon pokemon) {
+        return toEvolve.contains(pokemon.getId());
+    }
+
+    /**
+     * Checks if the Pokémon is one of the ones to transfer.
+     *
+     * @param pokemon The Pokémon.
+     * @return If it should be transferred.
+     */
+    public boolean isToTransfer(final Pokemon pokemon) {
+        return toTransfer.contains(pokemon.getId());
+    }
+
+    /**
+     * Returns the Pokémon of all families to transfer, which has to be done first, and then the ones to evolve.
+     *
+     * @return The batch, the transfers first.
+     */
+    public List<Pokemon> getBatch() {
+        final List<Pokemon> batch = new ArrayList<>();
+        families.values().forEach(plan -> batch.addAll(plan.toTransfer));
+        families.values().forEach(plan -> batch.addAll(plan.toEvolve));
+        return batch;
+    }
+
+    /**
+     * Returns the XP of all evolves, without a lucky egg.
+     *
+     * @return The XP.
+     */
+    public int getXp() {
+        int xp = 0;
+        for (final FamilyPlan plan : families.values()) {
+            xp += plan.getXp();
+        }
+        return xp;
+    }
+}
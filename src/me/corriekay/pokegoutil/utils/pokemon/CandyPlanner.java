@@ -0,0 +1,192 @@
+package me.corriekay.pokegoutil.utils.pokemon;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import me.corriekay.pokegoutil.utils.ConfigKey;
+import me.corriekay.pokegoutil.utils.ConfigNew;
+
+import POGOProtos.Enums.PokemonFamilyIdOuterClass.PokemonFamilyId;
+
+/**
+ * Plans how many Pokémon of the bag can be evolved with the candies of their family, and how many have to be
+ * transferred for it.
+ * <p>
+ * All Pokémon of a family share one candy pool. Every evolve costs the candies of the species and gives one candy
+ * back, and one more if the evolved Pokémon is transferred right away. Pokémon of the same species that are not
+ * evolved can be transferred for one candy each, favorites never are. The numbers are calculated per species in
+ * closed form, the species of a family are planned cheapest first, each with the candies the one before left.
+ */
+public final class CandyPlanner {
+
+    /** The XP an evolve gives, without a lucky egg. */
+    public static final int XP_PER_EVOLVE = 500;
+
+    /** Prevent initializing this class. */
+    private CandyPlanner() {
+    }
+
+    /**
+     * Plans the bag, with transferring after evolving like it is configured.
+     *
+     * @param pokemons The Pokémon in the bag.
+     * @return The plan.
+     */
+    public static CandyPlan plan(final List<Pokemon> pokemons) {
+        return plan(pokemons, ConfigNew.getConfig().getBool(ConfigKey.TRANSFER_AFTER_EVOLVE));
+    }
+
+    /**
+     * Plans the bag.
+     *
+     * @param pokemons            The Pokémon in the bag.
+     * @param transferAfterEvolve If evolved Pokémon are transferred right away, for one more candy.
+     * @return The plan.
+     */
+    public static CandyPlan plan(final List<Pokemon> pokemons, final boolean transferAfterEvolve) {
+        return plan(pokemons, transferAfterEvolve, Pokemon::isFavorite);
+    }
+
+    /**
+     * Plans the bag.
+     *
+     * @param pokemons            The Pokémon in the bag.
+     * @param transferAfterEvolve If evolved Pokémon are transferred right away, for one more candy.
+     * @param keep                The Pokémon that must not be transferred for candies, like favorites.
+     * @return The plan.
+     */
+    public static CandyPlan plan(final List<Pokemon> pokemons, final boolean transferAfterEvolve, final Predicate<Pokemon> keep) {
+        // Evolve the ones that are kept first, and the best ones, those are the ones that stay anyway
+        final Comparator<Pokemon> evolveOrder = Comparator.comparing(keep::test).reversed()
+            .thenComparing(Comparator.comparingDouble(PokemonCalculationUtils::ivRating).reversed());
+        final int refund = getRefund(transferAfterEvolve);
+
+        // One pass to group the bag by family, and inside of that by the cost of the species
+        final Map<PokemonFamilyId, TreeMap<Integer, Map<Integer, List<Pokemon>>>> families = new EnumMap<>(PokemonFamilyId.class);
+        final Map<PokemonFamilyId, Integer> candies = new EnumMap<>(PokemonFamilyId.class);
+        for (final Pokemon pokemon : pokemons) {
+            final PokemonFamilyId family = pokemon.getPokemonFamily();
+            candies.putIfAbsent(family, pokemon.getCandy());
+            final int cost = pokemon.getCandiesToEvolve();
+            if (cost > 0) {
+                families.computeIfAbsent(family, f -> new TreeMap<>())
+                    .computeIfAbsent(cost, c -> new TreeMap<>())
+                    .computeIfAbsent(pokemon.getPokemonId().getNumber(), s -> new ArrayList<>())
+                    .add(pokemon);
+            }
+        }
+
+        final CandyPlan plan = new CandyPlan();
+        candies.forEach((family, familyCandies) -> {
+            final CandyPlan.FamilyPlan familyPlan = new CandyPlan.FamilyPlan(familyCandies);
+            final TreeMap<Integer, Map<Integer, List<Pokemon>>> byCost = families.get(family);
+            if (byCost != null) {
+                byCost.forEach((cost, bySpecies) -> bySpecies.forEach((species, members) ->
+                    planSpecies(familyPlan, species, cost, refund, members, evolveOrder, keep)));
+            }
+            plan.add(family, familyPlan);
+        });
+        return plan;
+    }
+
+    private static void planSpecies(final CandyPlan.FamilyPlan familyPlan, final int species, final int cost, final int refund,
+                                    final List<Pokemon> members, final Comparator<Pokemon> evolveOrder, final Predicate<Pokemon> keep) {
+        members.sort(evolveOrder);
+        int kept = 0;
+        for (final Pokemon pokemon : members) {
+            if (keep.test(pokemon)) {
+                kept++;
+            }
+        }
+
+        final int candies = familyPlan.getCandiesLeft();
+        final int evolves = maxEvolves(candies, cost, refund, members.size(), kept);
+        final int transfers = transfersNeeded(candies, cost, refund, evolves);
+
+        final List<Pokemon> toEvolve = members.subList(0, evolves);
+        // The worst ones are transferred, the list is sorted with the kept ones first, so none of them are hit
+        final List<Pokemon> toTransfer = members.subList(members.size() - transfers, members.size());
+        familyPlan.addSpecies(species, toEvolve, toTransfer, candies + transfers - evolves * (cost - refund));
+    }
+
+    /**
+     * Returns the candies an evolve gives back.
+     *
+     * @param transferAfterEvolve If the evolved Pokémon is transferred right away.
+     * @return The candies.
+     */
+    public static int getRefund(final boolean transferAfterEvolve) {
+        return transferAfterEvolve ? 2 : 1;
+    }
+
+    /**
+     * Calculates how often a Pokémon can be evolved with the candies alone, if there are enough Pokémon to evolve.
+     *
+     * @param candies The candies of the family.
+     * @param cost    The candies an evolve costs.
+     * @param refund  The candies an evolve gives back.
+     * @return The number of evolves.
+     */
+    public static int evolvableFromCandies(final int candies, final int cost, final int refund) {
+        if (cost <= 0 || candies < cost) {
+            return 0;
+        }
+        if (cost <= refund) {
+            return Integer.MAX_VALUE;
+        }
+        // After the first evolve, every further one costs the difference
+        return Math.floorDiv(candies - refund, cost - refund);
+    }
+
+    /**
+     * Calculates how many Pokémon of a species can be evolved, if Pokémon that are not evolved may be transferred for
+     * candies. Favorites are never transferred.
+     *
+     * @param candies   The candies of the family.
+     * @param cost      The candies an evolve costs.
+     * @param refund    The candies an evolve gives back.
+     * @param count     The number of Pokémon of the species.
+     * @param favorites How many of them are favorites.
+     * @return The number of evolves.
+     */
+    public static int maxEvolves(final int candies, final int cost, final int refund, final int count, final int favorites) {
+        if (cost <= 0 || count <= 0) {
+            return 0;
+        }
+        if (cost <= refund) {
+            return candies + count - favorites >= cost ? count : 0;
+        }
+        // If more than the favorites are evolved, the ones not evolved can be transferred: e * (cost - refund + 1) <= candies + count - refund
+        final int evolvesWithTransfers = Math.min(count, Math.floorDiv(candies + count - refund, cost - refund + 1));
+        if (evolvesWithTransfers > favorites) {
+            return evolvesWithTransfers;
+        }
+        // Otherwise only favorites are evolved, and all others can be transferred
+        final int evolvesOfFavorites = Math.min(favorites, Math.floorDiv(candies + count - favorites - refund, cost - refund));
+        return Math.max(evolvesOfFavorites, 0);
+    }
+
+    /**
+     * Calculates how many Pokémon have to be transferred before evolving, to have enough candies for all evolves.
+     *
+     * @param candies The candies of the family.
+     * @param cost    The candies an evolve costs.
+     * @param refund  The candies an evolve gives back.
+     * @param evolves The number of evolves.
+     * @return The number of transfers.
+     */
+    public static int transfersNeeded(final int candies, final int cost, final int refund, final int evolves) {
+        if (evolves <= 0) {
+            return 0;
+        }
+        // The last evolve needs the full cost, the ones before only the difference
+        return Math.max(0, evolves * cost - (evolves - 1) * refund - candies);
+    }
+}
@@ -2,21 +2,28 @@ package me.corriekay.pokegoutil.utils.pokemon;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
 
 import org.apache.commons.lang3.StringUtils;
 
+import com.pokegoapi.api.PokemonGo;
 import com.pokegoapi.api.pokemon.Pokemon;
 import com.pokegoapi.api.pokemon.PokemonMoveMetaRegistry;
 import com.pokegoapi.exceptions.LoginFailedException;
 import com.pokegoapi.exceptions.RemoteServerException;
 
 import me.corriekay.pokegoutil.data.enums.PokeColumn;
+import me.corriekay.pokegoutil.gui.enums.OperationId;
 import me.corriekay.pokegoutil.utils.StringLiterals;
 import me.corriekay.pokegoutil.utils.Utilities;
+import me.corriekay.pokegoutil.utils.batch.BatchedCall;
+import me.corriekay.pokegoutil.utils.batch.RequestBatcher;
 import me.corriekay.pokegoutil.utils.helpers.UnicodeHelper;
+import me.corriekay.pokegoutil.utils.metrics.MetricsRegistry;
 
 import POGOProtos.Networking.Responses.NicknamePokemonResponseOuterClass.NicknamePokemonResponse;
 
@@ -51,8 +58,17 @@ public class PokeHandler {
      * @return The result of type <c>NicknamePokemonResponse.Result</c>
      */
     public static NicknamePokemonResponse.Result renameWithPattern(final String pattern, final Pokemon pokemon) {
-        final PokeNick pokeNick = generatePokemonNickname(pattern, pokemon);
+        return rename(generatePokemonNickname(pattern, pokemon));
+    }
 
+    /**
+     * Rename a single Pokemon to the already generated nickname
+     *
+     * @param pokeNick The nickname, containing the Pokemon to rename
+     * @return The result of type <c>NicknamePokemonResponse.Result</c>
+     */
+    public static NicknamePokemonResponse.Result rename(final PokeNick pokeNick) {
+        final Pokemon pokemon = pokeNick.pokemon;
         if (pokeNick.toString().equals(pokemon.getNickname())) {
             // Why renaming to the same nickname?
             return NicknamePokemonResponse.Result.UNSET; // We need to use UNSET here. No chance to extend the enum
@@ -60,7 +76,8 @@ public class PokeHandler {
 
         // Actually renaming the Pokémon with the calculated nickname
         try {
-            final NicknamePokemonResponse.Result result = pokemon.renamePokemon(pokeNick.toString());
+            final NicknamePokemonResponse.Result result = MetricsRegistry.getRegistry()
+                .recordApiCall(OperationId.RENAME, () -> pokemon.renamePokemon(pokeNick.toString()));
             return result;
         } catch (LoginFailedException | RemoteServerException e) {
             System.out.println("Error while renaming "
@@ -75,29 +92,71 @@ public class PokeHandler {
     /**
      * Rename a bunch of Pokemon based on a pattern
      *
+     * The pattern is compiled once and each nickname is generated exactly once. The renames are sent in batches, see
+     * {@link #bulkRename(PokemonGo, List, BiConsumer)}.
+     *
+     * @param go              The API to send the requests with
      * @param pattern         The pattern to use for renaming
      * @param perPokeCallback Will be called for each Pokémon that has been (tried) to
-     *                        rename.
+     *                        rename, with the nickname that was used.
      * @return A <c>LinkedHashMap</c> with each Pokémon as key and the result as
      * value.
      */
-    public LinkedHashMap<Pokemon, NicknamePokemonResponse.Result> bulkRenameWithPattern(final String pattern,
-                                                                                        final BiConsumer<NicknamePokemonResponse.Result, Pokemon> perPokeCallback) {
+    public LinkedHashMap<Pokemon, NicknamePokemonResponse.Result> bulkRenameWithPattern(final PokemonGo go, final String pattern,
+                                                                                        final BiConsumer<NicknamePokemonResponse.Result, PokeNick> perPokeCallback) {
+        final RenameTemplate template = RenameTemplate.compile(pattern);
+        final StringBuilder buffer = new StringBuilder();
+        final List<PokeNick> nicks = new ArrayList<>(mons.size());
+        mons.forEach(p -> nicks.add(new PokeNick(template, p, buffer)));
+        return bulkRename(go, nicks, perPokeCallback);
+    }
+
+    /**
+     * Rename a bunch of Pokemon to their already generated nicknames, packing the requests into as few envelopes as
+     * the RequestBatcher is allowed to. Nicknames that equal the current one are not sent and reported as UNSET.
+     *
+     * @param go              The API to send the requests with
+     * @param nicks           The nicknames, each containing the Pokemon to rename
+     * @param perPokeCallback Will be called for each Pokémon that has been (tried) to
+     *                        rename, with the nickname that was used.
+     * @return A <c>LinkedHashMap</c> with each Pokémon as key and the result as
+     * value.
+     */
+    public static LinkedHashMap<Pokemon, NicknamePokemonResponse.Result> bulkRename(final PokemonGo go,
+                                                                                    final List<PokeNick> nicks,
+                                                                                    final BiConsumer<NicknamePokemonResponse.Result, PokeNick> perPokeCallback) {
         final LinkedHashMap<Pokemon, NicknamePokemonResponse.Result> results = new LinkedHashMap<>();
+        final Map<Pokemon, PokeNick> byPokemon = new HashMap<>();
+        final List<BatchedCall<NicknamePokemonResponse>> calls = new ArrayList<>();
+        nicks.forEach(pokeNick -> {
+            results.put(pokeNick.pokemon, NicknamePokemonResponse.Result.UNSET);
+            if (!pokeNick.toString().equals(pokeNick.pokemon.getNickname())) {
+                byPokemon.put(pokeNick.pokemon, pokeNick);
+                calls.add(BatchedCall.rename(pokeNick.pokemon, pokeNick.toString()));
+            }
+        });
 
-        mons.forEach(p -> {
-            final NicknamePokemonResponse.Result result = renameWithPattern(pattern, p);
+        new RequestBatcher(go).execute(calls, call -> {
+            final NicknamePokemonResponse.Result result;
+            if (call.hasResponse()) {
+                result = call.getResponse().getResult();
+            } else {
+                System.out.println("Error while renaming "
+                    + PokemonUtils.getLocalPokeName(call.getPokemon()) + "(" + call.getPokemon().getNickname() + ")! "
+                    + Utilities.getRealExceptionMessage(call.getError()));
+                result = NicknamePokemonResponse.Result.UNRECOGNIZED;
+            }
+            results.put(call.getPokemon(), result);
             if (perPokeCallback != null) {
-                perPokeCallback.accept(result, p);
+                perPokeCallback.accept(result, byPokemon.get(call.getPokemon()));
             }
-            results.put(p, result);
         });
 
         return results;
     }
 
-    public void bulkRenameWithPattern(final String pattern) {
-        bulkRenameWithPattern(pattern, null);
+    public void bulkRenameWithPattern(final PokemonGo go, final String pattern) {
+        bulkRenameWithPattern(go, pattern, null);
     }
 
     /**
@@ -221,22 +280,40 @@ public class PokeHandler {
                 return UnicodeHelper.get(String.valueOf(PokeColumn.IV_STAMINA.get(p)));
             }
         },
-        DUEL_ABILITY("Duel Ability in two digits (XX for 100%)") {
+        DUEL_ABILITY("Duel Ability in two digits (XX for 100%)", true) {
             @Override
-            public String get(Pokemon p) {
-                return Utilities.percentageWithTwoCharacters((double) PokeColumn.DUEL_ABILITY.get(p));
+            public String get(final Pokemon p) {
+                return get(p, PokemonCalculationUtils.derivedStats(p));
+            }
+
+            @Override
+            public String get(final Pokemon p, final PokemonDerivedStats stats) {
+                return Utilities.percentageWithTwoCharacters(Utilities.percentage(
+                    stats.duelAbilityIv, PokemonPerformanceCache.getHighestStats().duelAbility.value));
             }
         },
-        GYM_OFFENSE("Gym Offense in two digits (XX for 100%)") {
+        GYM_OFFENSE("Gym Offense in two digits (XX for 100%)", true) {
             @Override
-            public String get(Pokemon p) {
-                return Utilities.percentageWithTwoCharacters((double) PokeColumn.GYM_OFFENSE.get(p));
+            public String get(final Pokemon p) {
+                return get(p, PokemonCalculationUtils.derivedStats(p));
+            }
+
+            @Override
+            public String get(final Pokemon p, final PokemonDerivedStats stats) {
+                return Utilities.percentageWithTwoCharacters(Utilities.percentage(
+                    stats.gymOffenseIv, PokemonPerformanceCache.getHighestStats().gymOffense.value));
             }
         },
-        GYM_DEFENSE("Gym Defense in two digits (XX for 100%)") {
+        GYM_DEFENSE("Gym Defense in two digits (XX for 100%)", true) {
             @Override
-            public String get(Pokemon p) {
-                return Utilities.percentageWithTwoCharacters((double) PokeColumn.GYM_DEFENSE.get(p));
+            public String get(final Pokemon p) {
+                return get(p, PokemonCalculationUtils.derivedStats(p));
+            }
+
+            @Override
+            public String get(final Pokemon p, final PokemonDerivedStats stats) {
+                return Utilities.percentageWithTwoCharacters(Utilities.percentage(
+                    stats.gymDefenseIv, PokemonPerformanceCache.getHighestStats().gymDefense.value));
             }
         },
         MAX_CP("Maximum possible CP (with Trainer Level 40)") {
@@ -346,9 +423,15 @@ public class PokeHandler {
         }
 
         private final String friendlyName;
+        private final boolean usesDerivedStats;
 
         ReplacePattern(final String friendlyName) {
+            this(friendlyName, false);
+        }
+
+        ReplacePattern(final String friendlyName, final boolean usesDerivedStats) {
             this.friendlyName = friendlyName;
+            this.usesDerivedStats = usesDerivedStats;
         }
 
         /**
@@ -368,5 +451,26 @@ public class PokeHandler {
          * @return The value that the placeholder should be replaced with
          */
         public abstract String get(Pokemon p);
+
+        /**
+         * Returns the replacement, using already calculated derived stats if it needs them.
+         * This way a nickname with several of those placeholders only calculates them once.
+         *
+         * @param p     The Pokémon that receives the new nick name.
+         * @param stats The derived stats of the Pokémon, may be null if usesDerivedStats() is false.
+         * @return The value that the placeholder should be replaced with
+         */
+        public String get(final Pokemon p, final PokemonDerivedStats stats) {
+            return get(p);
+        }
+
+        /**
+         * Whether this placeholder is calculated from the derived stats (Duel Ability, Gym Offense and Defense).
+         *
+         * @return Weather or not the derived stats are needed.
+         */
+        public boolean usesDerivedStats() {
+            return usesDerivedStats;
+        }
     }
 }
@@ -4,26 +4,15 @@ import com.pokegoapi.api.pokemon.Pokemon;
 
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import me.corriekay.pokegoutil.utils.pokemon.PokeHandler.ReplacePattern;
-
 /**
  * Calls to manage a nickname of a Pokémon.
- * The constructor replaces the patterns in the design with its values.
+ * The constructor replaces the patterns in the design with its values, see RenameTemplate.
  * The Nick will also be cutted to the maximum nickname length.
  */
 public class PokeNick {
 
     public static final int MAX_NICKNAME_LENGTH = 12;
 
-    /**
-     * Helper variable to get the rename Regex-Pattern so we don't have to rebuild
-     * it every time we process a pokemon. This should save resources.
-     */
-    private static Pattern regex = Pattern.compile("(%([a-zA-Z0-9_]+)%)");
-
     // Constructor parameters
     public final String pattern;
     public final Pokemon pokemon;
@@ -34,32 +23,28 @@ public class PokeNick {
 
     /**
      * Creates a Pokémon nickname from given pattern and the Pokémon.
+     * When creating nicknames for many Pokémon with the same pattern, compile a RenameTemplate once instead.
      *
      * @param pattern The pattern (with placeholders allowed).
      * @param pokemon The Pokémon
      */
     public PokeNick(final String pattern, final Pokemon pokemon) {
-        this.pattern = pattern;
-        this.pokemon = pokemon;
-        final Matcher m = regex.matcher(pattern);
-        String replacedNickname = pattern;
-        while (m.find()) {
-            final String fullExpr = m.group(1);
-            final String exprName = m.group(2);
+        this(RenameTemplate.compile(pattern), pokemon, new StringBuilder());
+    }
 
-            try {
-                // Get ReplacePattern Object and use its get method to get the replacement string.
-                // Replace in nickname.
-                final ReplacePattern rep = ReplacePattern.valueOf(exprName.toUpperCase());
-                final String repStr = rep.get(pokemon);
-                replacedNickname = replacedNickname.replace(fullExpr, repStr);
-            } catch (IllegalArgumentException iae) {
-                // Do nothing, nothing to replace
-            }
-        }
+    /**
+     * Creates a Pokémon nickname from given compiled pattern and the Pokémon.
+     *
+     * @param template The compiled pattern.
+     * @param pokemon  The Pokémon
+     * @param buffer   A buffer to render the nickname in, can be reused for the next nickname.
+     */
+    public PokeNick(final RenameTemplate template, final Pokemon pokemon, final StringBuilder buffer) {
+        this.pattern = template.getPattern();
+        this.pokemon = pokemon;
 
         // Set the stuff we need
-        fullNickname = replacedNickname;
+        fullNickname = template.render(pokemon, buffer).toString();
         usableNickname = StringUtils.substring(fullNickname, 0, MAX_NICKNAME_LENGTH);
     }
 
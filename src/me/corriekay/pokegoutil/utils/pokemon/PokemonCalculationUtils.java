@@ -84,13 +84,7 @@ public final class PokemonCalculationUtils {
      * @return The clean dps.
      */
     private static double dpsForMove(final PokemonId pokemonId, final PokemonMove move, final boolean primary) {
-        final PokemonMoveMeta moveMeta = PokemonMoveMetaRegistry.getMeta(move);
-        final int moveDelay = primary ? 0 : MOVE2_CHARGE_DELAY_MS;
-        double dps = (double) moveMeta.getPower() / (double) (moveMeta.getTime() + moveDelay) * MILLISECONDS_FACTOR;
-        if (PokemonUtils.hasStab(pokemonId, moveMeta.getMove())) {
-            dps = dps * STAB_MULTIPLIER;
-        }
-        return dps;
+        return PokemonMoveTable.dpsForMove(pokemonId, move, primary);
     }
 
     /**
@@ -198,6 +192,55 @@ public final class PokemonCalculationUtils {
         return Math.round(gymDefense);
     }
 
+    /**
+     * Calculates Duel Ability, Gym Offense and Gym Defense of given Pokémon in one pass, each once with the
+     * species base stats alone and once adjusted by the Pokémon's IVs.
+     *
+     * @param p A Pokemon object
+     * @return The derived stats.
+     */
+    public static PokemonDerivedStats derivedStats(final Pokemon p) {
+        return derivedStats(p.getPokemonId(), p.getMove1(), p.getMove2(), p.getIndividualAttack(), p.getIndividualDefense(), p.getIndividualStamina());
+    }
+
+    /**
+     * Calculates Duel Ability, Gym Offense and Gym Defense in one pass, each once with the species base stats alone
+     * and once adjusted by the given IVs.
+     * <p>
+     * The weave damage is only simulated once per mode (offense and defense) and shared between all six values,
+     * the results equal those of duelAbility(), gymOffense() and gymDefense().
+     *
+     * @param pokemonId The pokemonId of the pokemon
+     * @param move1     The first move of the pokemon
+     * @param move2     The second move of the pokemon
+     * @param attackIV  The attackIV of the pokemon
+     * @param defenseIV The defenseIV of the pokemon
+     * @param staminaIV The staminaIV of the pokemon
+     * @return The derived stats.
+     */
+    public static PokemonDerivedStats derivedStats(final PokemonId pokemonId,
+                                                   final PokemonMove move1, final PokemonMove move2,
+                                                   final int attackIV, final int defenseIV, final int staminaIV) {
+        final PokemonMeta meta = PokemonMetaRegistry.getMeta(pokemonId);
+        final double offenseDamage = Math.max(
+            PokemonCalculationUtils.dpsForMove(pokemonId, move1, true) * WEAVE_LENGTH_SECONDS,
+            PokemonCalculationUtils.weaveDps(pokemonId, move1, move2, 0));
+        final double defenseDamage = PokemonCalculationUtils.weaveDps(pokemonId, move1, move2, MOVE_2_ADDITIONAL_DELAY);
+
+        final double gymOffense = offenseDamage * meta.getBaseAttack();
+        final double gymOffenseIv = offenseDamage * (meta.getBaseAttack() + attackIV);
+        final long tankiness = tankiness(pokemonId, 0, 0);
+        final long tankinessIv = tankiness(pokemonId, defenseIV, staminaIV);
+
+        return new PokemonDerivedStats(
+            Math.round(gymOffense * tankiness),
+            gymOffense,
+            Math.round(defenseDamage * meta.getBaseAttack() * tankiness),
+            Math.round(gymOffenseIv * tankinessIv),
+            gymOffenseIv,
+            Math.round(defenseDamage * (meta.getBaseAttack() + attackIV) * tankinessIv));
+    }
+
     /**
      * Tankiness is basically Base HP * Base Def. An approximation of a Pokemon's relative ability
      * to soak damage compared to other species.
@@ -262,10 +305,28 @@ public final class PokemonCalculationUtils {
      * @link i607ch00
      */
     public static double weaveDps(final PokemonId pokemonId, final PokemonMove move1, final PokemonMove move2, final int additionalDelay) {
+        return PokemonMoveTable.weaveDps(pokemonId.ordinal(), move1.ordinal(), move2.ordinal(), additionalDelay);
+    }
+
+    /**
+     * Calculates the weave damage directly from the meta registries. This is the reference implementation
+     * of the spreadsheet formula, which PokemonMoveTable.weaveDps() has to match exactly. Only meant for tests and
+     * benchmarks, use weaveDps() everywhere else.
+     *
+     * @param pokemonId       The pokemonId of the pokemon
+     * @param move1           The first move of the pokemon
+     * @param move2           The second move of the pokemon
+     * @param additionalDelay Allow a delay in milliseconds for gym offense (0ms) vs gym defense (2000ms)
+     * @return Damage over 100 seconds for a Pokemon's moveset
+     */
+    public static double weaveDpsFromMeta(final PokemonId pokemonId, final PokemonMove move1, final PokemonMove move2, final int additionalDelay) {
+        final PokemonMeta meta = PokemonMetaRegistry.getMeta(pokemonId);
         final PokemonMoveMeta pm1 = PokemonMoveMetaRegistry.getMeta(move1);
         final PokemonMoveMeta pm2 = PokemonMoveMetaRegistry.getMeta(move2);
-        final double moveOneStab = PokemonUtils.hasStab(pokemonId, move1) ? STAB_MULTIPLIER : NORMAL_MULTIPLIER;
-        final double moveTwoStab = PokemonUtils.hasStab(pokemonId, move2) ? STAB_MULTIPLIER : NORMAL_MULTIPLIER;
+        final boolean move1HasStab = meta.getType1().equals(pm1.getType()) || meta.getType2().equals(pm1.getType());
+        final boolean move2HasStab = meta.getType1().equals(pm2.getType()) || meta.getType2().equals(pm2.getType());
+        final double moveOneStab = move1HasStab ? STAB_MULTIPLIER : NORMAL_MULTIPLIER;
+        final double moveTwoStab = move2HasStab ? STAB_MULTIPLIER : NORMAL_MULTIPLIER;
 
         //Translation reference
         //R = Move 1 Power
@@ -128,6 +128,17 @@ public class PokemonCpUtils {
         return getLevel(cpMultiplier);
     }
 
+    /**
+     * Get the cp multiplier for the given level
+     *
+     * @param level the Pokémon level, in steps of 0.5 between 1 and 40.5
+     * @return The cp multiplier, or 0 if the level doesn't exist
+     */
+    public static float getCpMultiplierForLevel(float level) {
+        final Float cpMultiplier = LEVEL_CPMULTIPLIER.get(level);
+        return cpMultiplier != null ? cpMultiplier : 0f;
+    }
+
     /**
      * Get the maximum CP from the values
      *
@@ -177,109 +188,34 @@ public class PokemonCpUtils {
      * @return New CP level
      */
     public static int getCpAfterPowerup(float cp, float cpMultiplier) {
-        // Based on http://pokemongo.gamepress.gg/power-up-costs
-        float level = getLevelFromCpMultiplier(cpMultiplier);
-        if (level <= 10) {
-            return (int) ((cp * 0.009426125469) / Math.pow(cpMultiplier, 2));
-        }
-        if (level <= 20) {
-            return (int) ((cp * 0.008919025675) / Math.pow(cpMultiplier, 2));
+        // The CP grows with the square of the CP multiplier of the next half level
+        final float level = getLevelFromCpMultiplier(cpMultiplier);
+        final float nextCpMultiplier = getCpMultiplierForLevel(level + 0.5f);
+        if (nextCpMultiplier == 0f) {
+            return (int) cp;
         }
-        if (level <= 30) {
-            return (int) ((cp * 0.008924905903) / Math.pow(cpMultiplier, 2));
-        }
-        return (int) ((cp * 0.00445946079) / Math.pow(cpMultiplier, 2));
+        return (int) (cp * Math.pow(nextCpMultiplier / cpMultiplier, 2));
     }
 
     /**
      * Get the amount of stardust required to do a powerup
      *
      * @param cpMultiplier All CP multiplier values combined
-     * @param powerups     Number of previous powerups
+     * @param powerups     Not used, the level alone decides the costs
      * @return Amount of stardust
      */
     public static int getStartdustCostsForPowerup(float cpMultiplier, int powerups) {
-        // Based on http://pokemongo.gamepress.gg/power-up-costs
-        float level = getLevelFromCpMultiplier(cpMultiplier);
-        if (level <= 3 && powerups <= 4) {
-            return 200;
-        }
-        if (level <= 4 && powerups <= 8) {
-            return 400;
-        }
-        if (level <= 7 && powerups <= 12) {
-            return 600;
-        }
-        if (level <= 8 && powerups <= 16) {
-            return 800;
-        }
-        if (level <= 11 && powerups <= 20) {
-            return 1000;
-        }
-        if (level <= 13 && powerups <= 24) {
-            return 1300;
-        }
-        if (level <= 15 && powerups <= 28) {
-            return 1600;
-        }
-        if (level <= 17 && powerups <= 32) {
-            return 1900;
-        }
-        if (level <= 19 && powerups <= 36) {
-            return 2200;
-        }
-        if (level <= 21 && powerups <= 40) {
-            return 2500;
-        }
-        if (level <= 23 && powerups <= 44) {
-            return 3000;
-        }
-        if (level <= 25 && powerups <= 48) {
-            return 3500;
-        }
-        if (level <= 27 && powerups <= 52) {
-            return 4000;
-        }
-        if (level <= 29 && powerups <= 56) {
-            return 4500;
-        }
-        if (level <= 31 && powerups <= 60) {
-            return 5000;
-        }
-        if (level <= 33 && powerups <= 64) {
-            return 6000;
-        }
-        if (level <= 35 && powerups <= 68) {
-            return 7000;
-        }
-        if (level <= 37 && powerups <= 72) {
-            return 8000;
-        }
-        if (level <= 39 && powerups <= 76) {
-            return 9000;
-        }
-        return 10000;
+        return PowerUpSimulator.getStardustCost(getLevelFromCpMultiplier(cpMultiplier));
     }
 
     /**
      * Get the amount of candy required to do a powerup
      *
      * @param cpMultiplier All CP multiplier values combined
-     * @param powerups     Number of previous powerups
+     * @param powerups     Not used, the level alone decides the costs
      * @return Amount of candy
      */
     public static int getCandyCostsForPowerup(float cpMultiplier, int powerups) {
-        // Based on http://pokemongo.gamepress.gg/power-up-costs
-        float level = getLevelFromCpMultiplier(cpMultiplier);
-        if (level <= 13 && powerups <= 20) {
-            return 1;
-        }
-        if (level <= 21 && powerups <= 36) {
-            return 2;
-        }
-        if (level <= 31 && powerups <= 60) {
-            return 3;
-        }
-        return 4;
+        return PowerUpSimulator.getCandyCost(getLevelFromCpMultiplier(cpMultiplier));
     }
 }
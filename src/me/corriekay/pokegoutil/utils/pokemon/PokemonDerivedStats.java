@@ -0,0 +1,36 @@
+package me.corriekay.pokegoutil.utils.pokemon;
+
+/**
+ * Holds Duel Ability, Gym Offense and Gym Defense of a Pokémon, both for the species base stats alone
+ * and adjusted by the individual values of the Pokémon.
+ * Created by PokemonCalculationUtils.derivedStats(), which calculates all of them in one pass.
+ */
+public final class PokemonDerivedStats {
+    public final long duelAbility;
+    public final double gymOffense;
+    public final long gymDefense;
+    public final long duelAbilityIv;
+    public final double gymOffenseIv;
+    public final long gymDefenseIv;
+
+    /**
+     * Creates an instance of this derived stats object.
+     * This is just an internal data class, so can only be created from inside the package.
+     *
+     * @param duelAbility   The Duel Ability with base stats.
+     * @param gymOffense    The Gym Offense with base stats.
+     * @param gymDefense    The Gym Defense with base stats.
+     * @param duelAbilityIv The Duel Ability with IVs.
+     * @param gymOffenseIv  The Gym Offense with IVs.
+     * @param gymDefenseIv  The Gym Defense with IVs.
+     */
+    PokemonDerivedStats(final long duelAbility, final double gymOffense, final long gymDefense,
+                        final long duelAbilityIv, final double gymOffenseIv, final long gymDefenseIv) {
+        this.duelAbility = duelAbility;
+        this.gymOffense = gymOffense;
+        this.gymDefense = gymDefense;
+        this.duelAbilityIv = duelAbilityIv;
+        this.gymOffenseIv = gymOffenseIv;
+        this.gymDefenseIv = gymDefenseIv;
+    }
+}
@@ -0,0 +1,138 @@
+package me.corriekay.pokegoutil.utils.pokemon;
+
+import java.util.Map;
+
+import com.pokegoapi.api.pokemon.PokemonMeta;
+import com.pokegoapi.api.pokemon.PokemonMetaRegistry;
+import com.pokegoapi.api.pokemon.PokemonMoveMeta;
+import com.pokegoapi.api.pokemon.PokemonMoveMetaRegistry;
+
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+import POGOProtos.Enums.PokemonMoveOuterClass.PokemonMove;
+
+/**
+ * Flat tables of the move meta data and the STAB types of every species, built once from the registries.
+ * <p>
+ * Moves are indexed by PokemonMove ordinal, species by PokemonId ordinal. The weave damage kernel works only
+ * on these arrays, so it does no registry lookups and allocates nothing, which matters as it is evaluated
+ * for every Pokémon and column, and for every moveset of every species in the PokemonPerformanceCache.
+ */
+public final class PokemonMoveTable {
+    private static final int[] POWER;
+    private static final int[] TIME;
+    private static final int[] ENERGY;
+    private static final double[] CRIT_CHANCE;
+    private static final int[] TYPE;
+    private static final long[] STAB_TYPES;
+
+    /**
+     * Creates the tables from the move and Pokémon registries.
+     */
+    static {
+        final PokemonMove[] moves = PokemonMove.values();
+        POWER = new int[moves.length];
+        TIME = new int[moves.length];
+        ENERGY = new int[moves.length];
+        CRIT_CHANCE = new double[moves.length];
+        TYPE = new int[moves.length];
+        for (final PokemonMove move : moves) {
+            if (move == PokemonMove.UNRECOGNIZED) {
+                continue;
+            }
+            final PokemonMoveMeta meta = PokemonMoveMetaRegistry.getMeta(move);
+            if (meta != null) {
+                final int index = move.ordinal();
+                POWER[index] = meta.getPower();
+                TIME[index] = meta.getTime();
+                ENERGY[index] = meta.getEnergy();
+                CRIT_CHANCE[index] = meta.getCritChance();
+                TYPE[index] = meta.getType().ordinal();
+            }
+        }
+
+        STAB_TYPES = new long[PokemonId.values().length];
+        for (final Map.Entry<PokemonId, PokemonMeta> entry : PokemonMetaRegistry.getMeta().entrySet()) {
+            final PokemonMeta meta = entry.getValue();
+            STAB_TYPES[entry.getKey().ordinal()] = (1L << meta.getType1().ordinal()) | (1L << meta.getType2().ordinal());
+        }
+    }
+
+    /** Prevent initializing this class. */
+    private PokemonMoveTable() {
+    }
+
+    /**
+     * Checks if a Pokémon with given ID has STAB (=Same Type Attack Bonus) with given move.
+     *
+     * @param pokemonId The Pokémons ID.
+     * @param move      The move.
+     * @return Weather or not the Pokémon has STAB.
+     */
+    public static boolean hasStab(final PokemonId pokemonId, final PokemonMove move) {
+        return hasStab(pokemonId.ordinal(), move.ordinal());
+    }
+
+    /**
+     * Calculates the no weave dps for a move, see PokemonCalculationUtils.dpsForMove().
+     *
+     * @param pokemonId The pokemonId to check for.
+     * @param move      The move to calculate the dps for.
+     * @param primary   If it should be calculated for the primary more or the secondary.
+     * @return The clean dps.
+     */
+    static double dpsForMove(final PokemonId pokemonId, final PokemonMove move, final boolean primary) {
+        final int index = move.ordinal();
+        final int moveDelay = primary ? 0 : PokemonCalculationUtils.MOVE2_CHARGE_DELAY_MS;
+        double dps = (double) POWER[index] / (double) (TIME[index] + moveDelay) * PokemonCalculationUtils.MILLISECONDS_FACTOR;
+        if (hasStab(pokemonId.ordinal(), index)) {
+            dps = dps * PokemonCalculationUtils.STAB_MULTIPLIER;
+        }
+        return dps;
+    }
+
+    /**
+     * Calculates the weave damage over 100 seconds, see PokemonCalculationUtils.weaveDps() for the formula.
+     * Gives exactly the same results, but only uses the precomputed tables.
+     *
+     * @param pokemonIndex    The PokemonId ordinal.
+     * @param move1Index      The PokemonMove ordinal of the first move.
+     * @param move2Index      The PokemonMove ordinal of the second move.
+     * @param additionalDelay Allow a delay in milliseconds for gym offense (0ms) vs gym defense (2000ms)
+     * @return Damage over 100 seconds for a Pokemon's moveset
+     */
+    static double weaveDps(final int pokemonIndex, final int move1Index, final int move2Index, final int additionalDelay) {
+        final double moveOneStab = hasStab(pokemonIndex, move1Index)
+            ? PokemonCalculationUtils.STAB_MULTIPLIER : PokemonCalculationUtils.NORMAL_MULTIPLIER;
+        final double moveTwoStab = hasStab(pokemonIndex, move2Index)
+            ? PokemonCalculationUtils.STAB_MULTIPLIER : PokemonCalculationUtils.NORMAL_MULTIPLIER;
+        final int move1Time = TIME[move1Index] + additionalDelay;
+        final int move2Time = TIME[move2Index] + PokemonCalculationUtils.MOVE2_CHARGE_DELAY_MS;
+        final int move2Energy = Math.abs(ENERGY[move2Index]);
+
+        final double weaveEnergyUsageRatio;
+        if (move2Energy == PokemonCalculationUtils.MAX_MOVE_ENERGY) {
+            weaveEnergyUsageRatio = Math.ceil((double) move2Energy / (double) ENERGY[move1Index]);
+        } else {
+            weaveEnergyUsageRatio = (double) move2Energy / (double) ENERGY[move1Index];
+        }
+
+        final double weaveCycleLength = weaveEnergyUsageRatio * move1Time
+            + TIME[move2Index] + PokemonCalculationUtils.MOVE2_CHARGE_DELAY_MS;
+        final double cycles = Math.floor(PokemonCalculationUtils.WEAVE_NUMBER / weaveCycleLength);
+        final double move1Uses = Math.ceil(cycles * weaveEnergyUsageRatio);
+        final double remainingMove1Uses = Math.floor(
+            (PokemonCalculationUtils.WEAVE_NUMBER - (cycles * move2Time + move1Uses * move1Time)) / move1Time);
+
+        final double move1Damage = POWER[move1Index] * moveOneStab;
+        final double move2Damage = POWER[move2Index] * moveTwoStab
+            * (1 + (PokemonCalculationUtils.CRIT_DAMAGE_BONUS * CRIT_CHANCE[move2Index]));
+
+        return cycles * move2Damage
+            + move1Uses * move1Damage
+            + remainingMove1Uses * move1Damage;
+    }
+
+    private static boolean hasStab(final int pokemonIndex, final int moveIndex) {
+        return (STAB_TYPES[pokemonIndex] & (1L << TYPE[moveIndex])) != 0;
+    }
+}
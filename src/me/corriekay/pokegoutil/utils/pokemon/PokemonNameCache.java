@@ -0,0 +1,173 @@
+package me.corriekay.pokegoutil.utils.pokemon;
+
+import java.util.Locale;
+import java.util.MissingResourceException;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.pokegoapi.util.PokeDictionary;
+
+import me.corriekay.pokegoutil.utils.ConfigKey;
+import me.corriekay.pokegoutil.utils.ConfigNew;
+import me.corriekay.pokegoutil.utils.StringLiterals;
+
+import POGOProtos.Enums.PokemonFamilyIdOuterClass.PokemonFamilyId;
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+
+/**
+ * Holds the Pokémon names of the current language, looked up once per language instead of on every call.
+ * <p>
+ * Names are kept in arrays indexed by Pokédex number, together with their lowercase search forms and the
+ * search forms of the family names. Changing the language builds a new set of tables and swaps it in at once,
+ * so readers see either the old or the new language, never a mix.
+ */
+public final class PokemonNameCache {
+
+    private static volatile Names current;
+
+    /** Prevent initializing this class. */
+    private PokemonNameCache() {
+    }
+
+    /**
+     * Returns the name tables of the current language, building them on first use.
+     *
+     * @return The name tables.
+     */
+    public static Names get() {
+        Names names = current;
+        if (names == null) {
+            names = new Names(ConfigNew.getConfig().getString(ConfigKey.LANGUAGE));
+            current = names;
+        }
+        return names;
+    }
+
+    /**
+     * Switches to the given language. The tables are built before they replace the current ones.
+     *
+     * @param language The language code from the config, like "en" or "zh_CN".
+     */
+    public static void setLanguage(final String language) {
+        current = new Names(language);
+    }
+
+    /**
+     * Parses a language code from the config into a Locale.
+     *
+     * @param language The language code, like "en" or "zh_CN".
+     * @return The Locale.
+     */
+    public static Locale toLocale(final String language) {
+        final String[] langar = language.split(StringLiterals.UNDERSCORE);
+        if (langar.length == 1) {
+            return new Locale(langar[0]);
+        } else {
+            return new Locale(langar[0], langar[1]);
+        }
+    }
+
+    /**
+     * Normalizes a text for searching, the same way the search input is normalized.
+     *
+     * @param text The text.
+     * @return The text without spaces and underscores, in lower case.
+     */
+    public static String toSearchForm(final String text) {
+        return StringUtils.remove(StringUtils.remove(text, '_'), ' ').toLowerCase();
+    }
+
+    /**
+     * The immutable name tables of one language.
+     */
+    public static final class Names {
+        private final String language;
+        private final Locale locale;
+        private final String[] names;
+        private final String[] searchNames;
+        private final String[] familySearchNames;
+
+        Names(final String language) {
+            this.language = language;
+            this.locale = toLocale(language);
+
+            int maxNumber = 0;
+            for (final PokemonId pokemonId : PokemonId.values()) {
+                if (pokemonId != PokemonId.UNRECOGNIZED) {
+                    maxNumber = Math.max(maxNumber, pokemonId.getNumber());
+                }
+            }
+            names = new String[maxNumber + 1];
+            searchNames = new String[maxNumber + 1];
+            for (final PokemonId pokemonId : PokemonId.values()) {
+                if (pokemonId == PokemonId.UNRECOGNIZED) {
+                    continue;
+                }
+                try {
+                    final String name = PokeDictionary.getDisplayName(pokemonId.getNumber(), locale);
+                    names[pokemonId.getNumber()] = name;
+                    searchNames[pokemonId.getNumber()] = toSearchForm(name);
+                } catch (final MissingResourceException e) {
+                    // No name for that one, leave it to the direct lookup
+                }
+            }
+
+            final PokemonFamilyId[] families = PokemonFamilyId.values();
+            familySearchNames = new String[families.length];
+            for (final PokemonFamilyId family : families) {
+                final String familyName = family.toString().replaceAll(StringLiterals.FAMILY_PREFIX, "");
+                String name;
+                try {
+                    name = getName(PokemonId.valueOf(familyName).getNumber());
+                } catch (final IllegalArgumentException | MissingResourceException e) {
+                    name = familyName;
+                }
+                familySearchNames[family.ordinal()] = toSearchForm(name);
+            }
+        }
+
+        public String getLanguage() {
+            return language;
+        }
+
+        public Locale getLocale() {
+            return locale;
+        }
+
+        /**
+         * Returns the Name for the Pokémon with given id.
+         *
+         * @param id The Pokémon ID
+         * @return The translated Pokémon name
+         */
+        public String getName(final int id) {
+            if (id >= 0 && id < names.length && names[id] != null) {
+                return names[id];
+            }
+            return PokeDictionary.getDisplayName(id, locale);
+        }
+
+        /**
+         * Returns the search form of the name for the Pokémon with given id, see toSearchForm().
+         *
+         * @param id The Pokémon ID
+         * @return The translated Pokémon name, normalized for searching
+         */
+        public String getSearchName(final int id) {
+            if (id >= 0 && id < searchNames.length && searchNames[id] != null) {
+                return searchNames[id];
+            }
+            return toSearchForm(getName(id));
+        }
+
+        /**
+         * Returns the search form of the family name, which is the name of the first Pokémon in the family.
+         *
+         * @param family The family.
+         * @return The translated family name, normalized for searching
+         */
+        public String getFamilySearchName(final PokemonFamilyId family) {
+            return familySearchNames[family.ordinal()];
+        }
+    }
+}
@@ -40,17 +40,15 @@ public final class PokemonPerformanceCache {
             PokemonPerformance highestGymDefense = PokemonPerformance.DEFAULT;
             for (final PokemonMove move1 : meta.getQuickMoves()) {
                 for (final PokemonMove move2 : meta.getCinematicMoves()) {
-                    final long duelAbility = PokemonCalculationUtils.duelAbility(pokemonId, move1, move2, PokemonUtils.MAX_IV, PokemonUtils.MAX_IV, PokemonUtils.MAX_IV);
-                    if (duelAbility > highestDuelAbility.value) {
-                        highestDuelAbility = new PokemonPerformance(pokemonId, duelAbility, move1, move2);
+                    final PokemonDerivedStats derived = PokemonCalculationUtils.derivedStats(pokemonId, move1, move2, PokemonUtils.MAX_IV, PokemonUtils.MAX_IV, PokemonUtils.MAX_IV);
+                    if (derived.duelAbilityIv > highestDuelAbility.value) {
+                        highestDuelAbility = new PokemonPerformance(pokemonId, derived.duelAbilityIv, move1, move2);
                     }
-                    final double gymOffense = PokemonCalculationUtils.gymOffense(pokemonId, move1, move2, PokemonUtils.MAX_IV);
-                    if (gymOffense > highestGymOffense.value) {
-                        highestGymOffense = new PokemonPerformance(pokemonId, gymOffense, move1, move2);
+                    if (derived.gymOffenseIv > highestGymOffense.value) {
+                        highestGymOffense = new PokemonPerformance(pokemonId, derived.gymOffenseIv, move1, move2);
                     }
-                    final long gymDefense = PokemonCalculationUtils.gymDefense(pokemonId, move1, move2, PokemonUtils.MAX_IV, PokemonUtils.MAX_IV, PokemonUtils.MAX_IV);
-                    if (gymDefense > highestGymDefense.value) {
-                        highestGymDefense = new PokemonPerformance(pokemonId, gymDefense, move1, move2);
+                    if (derived.gymDefenseIv > highestGymDefense.value) {
+                        highestGymDefense = new PokemonPerformance(pokemonId, derived.gymDefenseIv, move1, move2);
                     }
                 }
             }
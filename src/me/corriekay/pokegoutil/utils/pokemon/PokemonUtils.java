@@ -2,22 +2,14 @@ package me.corriekay.pokegoutil.utils.pokemon;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.Locale;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.text.WordUtils;
 
 import com.pokegoapi.api.player.Team;
 import com.pokegoapi.api.pokemon.Pokemon;
-import com.pokegoapi.api.pokemon.PokemonMeta;
-import com.pokegoapi.api.pokemon.PokemonMetaRegistry;
-import com.pokegoapi.api.pokemon.PokemonMoveMeta;
-import com.pokegoapi.api.pokemon.PokemonMoveMetaRegistry;
 import com.pokegoapi.api.pokemon.PokemonType;
-import com.pokegoapi.util.PokeDictionary;
 
-import me.corriekay.pokegoutil.utils.ConfigKey;
-import me.corriekay.pokegoutil.utils.ConfigNew;
 import me.corriekay.pokegoutil.utils.StringLiterals;
 
 import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
@@ -54,17 +46,7 @@ public final class PokemonUtils {
      * @return The translated Pokémon name
      */
     public static String getLocalPokeName(final int id) {
-        final String lang = ConfigNew.getConfig().getString(ConfigKey.LANGUAGE);
-
-        final Locale locale;
-        final String[] langar = lang.split(StringLiterals.UNDERSCORE);
-        if (langar.length == 1) {
-            locale = new Locale(langar[0]);
-        } else {
-            locale = new Locale(langar[0], langar[1]);
-        }
-
-        return PokeDictionary.getDisplayName(id, locale);
+        return PokemonNameCache.get().getName(id);
     }
 
     /**
@@ -153,9 +135,7 @@ public final class PokemonUtils {
      * @return Weather or not the Pokémon has STAB.
      */
     public static boolean hasStab(final PokemonId pokemonId, final PokemonMove move) {
-        final PokemonMeta meta = PokemonMetaRegistry.getMeta(pokemonId);
-        final PokemonMoveMeta moveMeta = PokemonMoveMetaRegistry.getMeta(move);
-        return meta.getType1().equals(moveMeta.getType()) || meta.getType2().equals(moveMeta.getType());
+        return PokemonMoveTable.hasStab(pokemonId, move);
     }
 }
 
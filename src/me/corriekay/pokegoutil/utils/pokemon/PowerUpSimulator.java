@@ -0,0 +1,399 @@
+package me.corriekay.pokegoutil.utils.pokemon;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+import com.pokegoapi.api.pokemon.PokemonMeta;
+
+import POGOProtos.Enums.PokemonFamilyIdOuterClass.PokemonFamilyId;
+
+/**
+ * Simulates powering up Pokémon, with the stardust and candy costs and the CP multipliers looked up per half level
+ * in tables that are built once.
+ * <p>
+ * Levels are handled as indexes of half levels: 0 is level 1, 1 is level 1.5 and {@link #MAX_INDEX} is level 40.
+ * The cost at an index is the cost of the power-up from that level to the next half level.
+ */
+@SuppressWarnings("deprecation")
+public final class PowerUpSimulator {
+
+    private static final int HALF_LEVELS_PER_LEVEL = 2;
+
+    /** The lowest level. */
+    public static final float MIN_LEVEL = 1f;
+    /** The highest level a Pokémon can be powered up to. */
+    public static final float MAX_LEVEL = 40f;
+    /** The index of the highest level. */
+    public static final int MAX_INDEX = (int) ((MAX_LEVEL - MIN_LEVEL) * HALF_LEVELS_PER_LEVEL);
+    /** The lowest CP a Pokémon can have. */
+    public static final int MIN_CP = 10;
+
+    private static final double CP_DIVISOR = 10.0;
+    private static final int[] STARDUST_PER_TWO_LEVELS = {
+        200, 400, 600, 800, 1000, 1300, 1600, 1900, 2200, 2500,
+        3000, 3500, 4000, 4500, 5000, 6000, 7000, 8000, 9000, 10000,
+    };
+    // The candy cost is CANDY[i] from level CANDY_FROM_LEVEL[i] on
+    private static final int[] CANDY_FROM_LEVEL = {1, 11, 21, 26, 31, 33, 35, 37, 39};
+    private static final int[] CANDY = {1, 2, 3, 4, 6, 8, 10, 12, 15};
+
+    private static final int[] STARDUST_COST = new int[MAX_INDEX];
+    private static final int[] CANDY_COST = new int[MAX_INDEX];
+    private static final long[] STARDUST_TO = new long[MAX_INDEX + 1];
+    private static final int[] CANDY_TO = new int[MAX_INDEX + 1];
+    private static final double[] CP_MULTIPLIER_SQUARED = new double[MAX_INDEX + 1];
+
+    static {
+        int band = 0;
+        for (int index = 0; index < MAX_INDEX; index++) {
+            final int level = (int) toLevel(index);
+            while (band + 1 < CANDY_FROM_LEVEL.length && level >= CANDY_FROM_LEVEL[band + 1]) {
+                band++;
+            }
+            STARDUST_COST[index] = STARDUST_PER_TWO_LEVELS[(level - 1) / HALF_LEVELS_PER_LEVEL];
+            CANDY_COST[index] = CANDY[band];
+            STARDUST_TO[index + 1] = STARDUST_TO[index] + STARDUST_COST[index];
+            CANDY_TO[index + 1] = CANDY_TO[index] + CANDY_COST[index];
+        }
+        for (int index = 0; index <= MAX_INDEX; index++) {
+            final double cpMultiplier = PokemonCpUtils.getCpMultiplierForLevel(toLevel(index));
+            CP_MULTIPLIER_SQUARED[index] = cpMultiplier * cpMultiplier;
+        }
+    }
+
+    /** Prevent initializing this class. */
+    private PowerUpSimulator() {
+    }
+
+    /**
+     * Converts a level to its index, see the class description.
+     *
+     * @param level The level, in steps of 0.5.
+     * @return The index, limited to the levels a Pokémon can be powered up to.
+     */
+    public static int toIndex(final float level) {
+        return Math.max(0, Math.min(Math.round((level - MIN_LEVEL) * HALF_LEVELS_PER_LEVEL), MAX_INDEX));
+    }
+
+    /**
+     * Converts an index back to its level.
+     *
+     * @param index The index.
+     * @return The level.
+     */
+    public static float toLevel(final int index) {
+        return MIN_LEVEL + (float) index / HALF_LEVELS_PER_LEVEL;
+    }
+
+    /**
+     * Returns the stardust the next power-up costs.
+     *
+     * @param level The current level.
+     * @return The stardust, 0 at the highest level.
+     */
+    public static int getStardustCost(final float level) {
+        final int index = toIndex(level);
+        return index < MAX_INDEX ? STARDUST_COST[index] : 0;
+    }
+
+    /**
+     * Returns the candies the next power-up costs.
+     *
+     * @param level The current level.
+     * @return The candies, 0 at the highest level.
+     */
+    public static int getCandyCost(final float level) {
+        final int index = toIndex(level);
+        return index < MAX_INDEX ? CANDY_COST[index] : 0;
+    }
+
+    /**
+     * Returns the stardust all power-ups from one level to another cost.
+     *
+     * @param from The current level.
+     * @param to   The target level.
+     * @return The stardust, 0 if the target is not higher.
+     */
+    public static long getStardustBetween(final float from, final float to) {
+        return Math.max(0, STARDUST_TO[toIndex(to)] - STARDUST_TO[toIndex(from)]);
+    }
+
+    /**
+     * Returns the candies all power-ups from one level to another cost.
+     *
+     * @param from The current level.
+     * @param to   The target level.
+     * @return The candies, 0 if the target is not higher.
+     */
+    public static int getCandyBetween(final float from, final float to) {
+        return Math.max(0, CANDY_TO[toIndex(to)] - CANDY_TO[toIndex(from)]);
+    }
+
+    /**
+     * Returns the CP at a level.
+     *
+     * @param attack  Base attack plus attack IV.
+     * @param defense Base defense plus defense IV.
+     * @param stamina Base stamina plus stamina IV.
+     * @param index   The index of the level.
+     * @return The CP.
+     */
+    public static int getCp(final int attack, final int defense, final int stamina, final int index) {
+        return toCp(statProduct(attack, defense, stamina), index);
+    }
+
+    private static double statProduct(final int attack, final int defense, final int stamina) {
+        return attack * Math.sqrt((double) defense * stamina) / CP_DIVISOR;
+    }
+
+    private static int toCp(final double statProduct, final int index) {
+        return Math.max(MIN_CP, (int) (statProduct * CP_MULTIPLIER_SQUARED[index]));
+    }
+
+    /**
+     * What powering up a selection to every level costs and gives. Pokémon that are above a target level stay as
+     * they are.
+     */
+    public static final class Projection {
+        private final long[] stardust = new long[MAX_INDEX + 1];
+        private final long[] candy = new long[MAX_INDEX + 1];
+        private final long[] cp = new long[MAX_INDEX + 1];
+
+        /**
+         * Returns the stardust needed to power up the selection to a level.
+         *
+         * @param level The target level.
+         * @return The stardust.
+         */
+        public long getStardust(final float level) {
+            return stardust[toIndex(level)];
+        }
+
+        /**
+         * Returns the candies needed to power up the selection to a level, of all families together.
+         *
+         * @param level The target level.
+         * @return The candies.
+         */
+        public long getCandy(final float level) {
+            return candy[toIndex(level)];
+        }
+
+        /**
+         * Returns the CP of the whole selection at a level.
+         *
+         * @param level The target level.
+         * @return The CP.
+         */
+        public long getCp(final float level) {
+            return cp[toIndex(level)];
+        }
+    }
+
+    /**
+     * Projects the stardust, candies and CP of a selection for every target level up to 40.
+     *
+     * @param attack  Base attack plus attack IV, per Pokémon.
+     * @param defense Base defense plus defense IV, per Pokémon.
+     * @param stamina Base stamina plus stamina IV, per Pokémon.
+     * @param level   The index of the current level, per Pokémon.
+     * @return The projection.
+     */
+    public static Projection project(final int[] attack, final int[] defense, final int[] stamina, final int[] level) {
+        final Projection projection = new Projection();
+        final long[] stardust = projection.stardust;
+        final long[] candy = projection.candy;
+        final long[] cp = projection.cp;
+        for (int i = 0; i < level.length; i++) {
+            final double statProduct = statProduct(attack[i], defense[i], stamina[i]);
+            final int current = level[i];
+            final int currentCp = toCp(statProduct, current);
+            for (int target = 0; target <= current; target++) {
+                cp[target] += currentCp;
+            }
+            final long stardustFrom = STARDUST_TO[current];
+            final int candyFrom = CANDY_TO[current];
+            for (int target = current + 1; target <= MAX_INDEX; target++) {
+                stardust[target] += STARDUST_TO[target] - stardustFrom;
+                candy[target] += CANDY_TO[target] - candyFrom;
+                cp[target] += toCp(statProduct, target);
+            }
+        }
+        return projection;
+    }
+
+    /**
+     * The power-ups the allocator chose.
+     */
+    public static final class Allocation {
+        private final int[] from;
+        private final int[] to;
+        private long stardust;
+        private long candy;
+        private long cpGain;
+        private int powerUps;
+
+        Allocation(final int[] level) {
+            from = level.clone();
+            to = level.clone();
+        }
+
+        /**
+         * Returns the level a Pokémon should be powered up to.
+         *
+         * @param i The position of the Pokémon in the selection.
+         * @return The level, the current one if it should not be powered up.
+         */
+        public float getTargetLevel(final int i) {
+            return toLevel(to[i]);
+        }
+
+        /**
+         * Returns how often a Pokémon should be powered up.
+         *
+         * @param i The position of the Pokémon in the selection.
+         * @return The number of power-ups.
+         */
+        public int getPowerUps(final int i) {
+            return to[i] - from[i];
+        }
+
+        /**
+         * Returns the number of power-ups of all Pokémon together.
+         *
+         * @return The number of power-ups.
+         */
+        public int getPowerUps() {
+            return powerUps;
+        }
+
+        /**
+         * Returns the stardust the power-ups cost.
+         *
+         * @return The stardust.
+         */
+        public long getStardust() {
+            return stardust;
+        }
+
+        /**
+         * Returns the candies the power-ups cost, of all families together.
+         *
+         * @return The candies.
+         */
+        public long getCandy() {
+            return candy;
+        }
+
+        /**
+         * Returns how much CP the selection gains.
+         *
+         * @return The CP gained.
+         */
+        public long getCpGain() {
+            return cpGain;
+        }
+    }
+
+    /**
+     * Spends the stardust on the power-ups that give the most CP per stardust, one at a time, as long as the
+     * stardust and the candies of the family last. That is a greedy choice, close to the best one because the costs
+     * only grow with the level.
+     *
+     * @param attack   Base attack plus attack IV, per Pokémon.
+     * @param defense  Base defense plus defense IV, per Pokémon.
+     * @param stamina  Base stamina plus stamina IV, per Pokémon.
+     * @param level    The index of the current level, per Pokémon.
+     * @param family   The family of each Pokémon, as an index into candies.
+     * @param candies  The candies per family.
+     * @param stardust The stardust to spend.
+     * @param maxLevel The index of the highest level Pokémon may reach, usually the trainer level plus 1.5.
+     * @return The chosen power-ups.
+     */
+    public static Allocation allocate(final int[] attack, final int[] defense, final int[] stamina, final int[] level,
+                                      final int[] family, final int[] candies, final long stardust, final int maxLevel) {
+        final int max = Math.min(maxLevel, MAX_INDEX);
+        final Allocation allocation = new Allocation(level);
+        final int[] to = allocation.to;
+        final int[] candiesLeft = candies.clone();
+        final double[] statProduct = new double[level.length];
+        final double[] gainPerStardust = new double[level.length];
+        final PriorityQueue<Integer> next = new PriorityQueue<>(Math.max(1, level.length),
+            (a, b) -> Double.compare(gainPerStardust[b], gainPerStardust[a]));
+        for (int i = 0; i < level.length; i++) {
+            statProduct[i] = statProduct(attack[i], defense[i], stamina[i]);
+            if (to[i] < max) {
+                gainPerStardust[i] = gainPerStardust(statProduct[i], to[i]);
+                next.add(i);
+            }
+        }
+
+        long stardustLeft = stardust;
+        while (!next.isEmpty()) {
+            final int i = next.poll();
+            final int index = to[i];
+            final int stardustCost = STARDUST_COST[index];
+            final int candyCost = CANDY_COST[index];
+            if (stardustCost > stardustLeft || candyCost > candiesLeft[family[i]]) {
+                // The next power-ups of this one cost at least as much, so it is done
+                continue;
+            }
+            stardustLeft -= stardustCost;
+            candiesLeft[family[i]] -= candyCost;
+            allocation.stardust += stardustCost;
+            allocation.candy += candyCost;
+            allocation.cpGain += toCp(statProduct[i], index + 1) - toCp(statProduct[i], index);
+            allocation.powerUps++;
+            to[i] = index + 1;
+            if (to[i] < max) {
+                gainPerStardust[i] = gainPerStardust(statProduct[i], to[i]);
+                next.add(i);
+            }
+        }
+        return allocation;
+    }
+
+    private static double gainPerStardust(final double statProduct, final int index) {
+        return statProduct * (CP_MULTIPLIER_SQUARED[index + 1] - CP_MULTIPLIER_SQUARED[index]) / STARDUST_COST[index];
+    }
+
+    /**
+     * Spends the stardust on the given Pokémon, see {@link #allocate(int[], int[], int[], int[], int[], int[], long, int)}.
+     * The candies of every family are the ones the player has.
+     *
+     * @param pokemons     The Pokémon.
+     * @param stardust     The stardust to spend.
+     * @param trainerLevel The trainer level, which limits the level Pokémon can reach.
+     * @return The chosen power-ups, in the order of the Pokémon.
+     */
+    public static Allocation allocate(final List<Pokemon> pokemons, final long stardust, final int trainerLevel) {
+        final int count = pokemons.size();
+        final int[] attack = new int[count];
+        final int[] defense = new int[count];
+        final int[] stamina = new int[count];
+        final int[] level = new int[count];
+        final int[] family = new int[count];
+        final Map<PokemonFamilyId, Integer> families = new EnumMap<>(PokemonFamilyId.class);
+        final int[] candies = new int[count];
+        for (int i = 0; i < count; i++) {
+            final Pokemon pokemon = pokemons.get(i);
+            final PokemonMeta meta = pokemon.getMeta();
+            attack[i] = meta.getBaseAttack() + pokemon.getIndividualAttack();
+            defense[i] = meta.getBaseDefense() + pokemon.getIndividualDefense();
+            stamina[i] = meta.getBaseStamina() + pokemon.getIndividualStamina();
+            level[i] = toIndex(pokemon.getLevel());
+            final Integer known = families.get(pokemon.getPokemonFamily());
+            if (known == null) {
+                family[i] = families.size();
+                families.put(pokemon.getPokemonFamily(), family[i]);
+                candies[family[i]] = pokemon.getCandy();
+            } else {
+                family[i] = known;
+            }
+        }
+        return allocate(attack, defense, stamina, level, family, candies, stardust, toIndex(trainerLevel + 1.5f));
+    }
+}
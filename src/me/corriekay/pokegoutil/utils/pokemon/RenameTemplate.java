@@ -0,0 +1,109 @@
+package me.corriekay.pokegoutil.utils.pokemon;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import me.corriekay.pokegoutil.utils.pokemon.PokeHandler.ReplacePattern;
+
+/**
+ * A rename pattern, parsed once into literal text and placeholders.
+ * <p>
+ * Rendering a Pokémon then just appends the segments, without matching the pattern again or looking up the
+ * placeholders by name. Placeholders that don't exist stay in the nickname as they are written.
+ */
+public final class RenameTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("(%([a-zA-Z0-9_]+)%)");
+
+    private final String pattern;
+    private final List<Object> segments;
+    private final boolean usesDerivedStats;
+
+    private RenameTemplate(final String pattern, final List<Object> segments) {
+        this.pattern = pattern;
+        this.segments = Collections.unmodifiableList(segments);
+        this.usesDerivedStats = segments.stream()
+            .anyMatch(s -> s instanceof ReplacePattern && ((ReplacePattern) s).usesDerivedStats());
+    }
+
+    /**
+     * Parses the given pattern.
+     *
+     * @param pattern The pattern (with placeholders allowed).
+     * @return The compiled template.
+     */
+    public static RenameTemplate compile(final String pattern) {
+        final List<Object> segments = new ArrayList<>();
+        final Matcher m = PLACEHOLDER.matcher(pattern);
+        final StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (m.find()) {
+            literal.append(pattern, position, m.start());
+            position = m.end();
+            final ReplacePattern replacePattern = findReplacePattern(m.group(2));
+            if (replacePattern == null) {
+                // Nothing to replace, keep the text
+                literal.append(m.group(1));
+            } else {
+                if (literal.length() > 0) {
+                    segments.add(literal.toString());
+                    literal.setLength(0);
+                }
+                segments.add(replacePattern);
+            }
+        }
+        literal.append(pattern, position, pattern.length());
+        if (literal.length() > 0) {
+            segments.add(literal.toString());
+        }
+        return new RenameTemplate(pattern, segments);
+    }
+
+    private static ReplacePattern findReplacePattern(final String name) {
+        try {
+            return ReplacePattern.valueOf(name.toUpperCase());
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Renders the nickname of a Pokémon into the given buffer. The buffer is cleared first, so it can be reused
+     * for every Pokémon of a batch.
+     *
+     * @param pokemon The Pokémon.
+     * @param buffer  The buffer to render into.
+     * @return The buffer.
+     */
+    public StringBuilder render(final Pokemon pokemon, final StringBuilder buffer) {
+        buffer.setLength(0);
+        final PokemonDerivedStats stats = usesDerivedStats ? PokemonCalculationUtils.derivedStats(pokemon) : null;
+        for (final Object segment : segments) {
+            if (segment instanceof ReplacePattern) {
+                buffer.append(((ReplacePattern) segment).get(pokemon, stats));
+            } else {
+                buffer.append((String) segment);
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Renders the nickname of a Pokémon.
+     *
+     * @param pokemon The Pokémon.
+     * @return The nickname, not yet cut to the maximum length.
+     */
+    public String render(final Pokemon pokemon) {
+        return render(pokemon, new StringBuilder()).toString();
+    }
+}
@@ -0,0 +1,296 @@
+package me.corriekay.pokegoutil.utils.pokemon;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import POGOProtos.Enums.PokemonFamilyIdOuterClass.PokemonFamilyId;
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+
+/**
+ * Groups the bag by species and family and keeps the best few Pokémon of every species by IV, CP, duel ability and
+ * gym offense, so "everything but the best of each species" can be selected without sorting the table.
+ * <p>
+ * The best ones are kept in bounded heaps, one per species and metric, with the worst of the best on top. The index
+ * is synced with the bag by Pokémon id: only new or changed Pokémon are rated, and only species that lost one of
+ * their best ones are ranked again.
+ */
+public final class SpeciesIndex {
+
+    /** How many of each species are kept if nothing else is configured. */
+    public static final int DEFAULT_KEEP = 3;
+
+    /**
+     * What the Pokémon of a species are ranked by.
+     */
+    public enum Metric {
+        IV("IV"),
+        CP("CP"),
+        DUEL_ABILITY("duel ability"),
+        GYM_OFFENSE("gym offense");
+
+        private final String friendlyName;
+        private final Comparator<Entry> order;
+
+        Metric(final String friendlyName) {
+            this.friendlyName = friendlyName;
+            // Worst first, so the heads of the heaps are the ones to drop. Ties are decided by the id
+            this.order = Comparator.<Entry>comparingDouble(e -> e.values[ordinal()]).thenComparingLong(e -> e.id);
+        }
+
+        @Override
+        public String toString() {
+            return friendlyName;
+        }
+    }
+
+    /**
+     * A Pokémon with its ratings.
+     */
+    private static final class Entry {
+        final long id;
+        final PokemonId species;
+        final double[] values;
+        Pokemon pokemon;
+
+        Entry(final Pokemon pokemon) {
+            this.id = pokemon.getId();
+            this.species = pokemon.getPokemonId();
+            this.pokemon = pokemon;
+
+            final PokemonDerivedStats derived = PokemonCalculationUtils.derivedStats(pokemon);
+            final PokemonPerformanceStats best = PokemonPerformanceCache.getStats(species);
+            values = new double[Metric.values().length];
+            values[Metric.IV.ordinal()] = PokemonCalculationUtils.ivRating(pokemon);
+            values[Metric.CP.ordinal()] = pokemon.getCp();
+            values[Metric.DUEL_ABILITY.ordinal()] = best != null ? derived.duelAbilityIv / best.duelAbility.value : derived.duelAbilityIv;
+            values[Metric.GYM_OFFENSE.ordinal()] = best != null ? derived.gymOffenseIv / best.gymOffense.value : derived.gymOffenseIv;
+        }
+
+        /**
+         * Checks if the Pokémon would be rated the same as this entry.
+         */
+        boolean isRatedLike(final Pokemon other) {
+            final Pokemon p = pokemon;
+            return p.getPokemonId() == other.getPokemonId()
+                && p.getCp() == other.getCp()
+                && p.getMove1() == other.getMove1()
+                && p.getMove2() == other.getMove2()
+                && p.getIndividualAttack() == other.getIndividualAttack()
+                && p.getIndividualDefense() == other.getIndividualDefense()
+                && p.getIndividualStamina() == other.getIndividualStamina();
+        }
+    }
+
+    /**
+     * The Pokémon of one species and its best ones per metric.
+     */
+    private final class Species {
+        final Map<Long, Entry> members = new HashMap<>();
+        final List<PriorityQueue<Entry>> best = new ArrayList<>();
+        boolean stale;
+
+        Species() {
+            for (final Metric metric : Metric.values()) {
+                best.add(new PriorityQueue<>(keep + 1, metric.order));
+            }
+        }
+
+        void add(final Entry entry) {
+            members.put(entry.id, entry);
+            for (final PriorityQueue<Entry> heap : best) {
+                offer(heap, entry);
+            }
+        }
+
+        void remove(final Entry entry) {
+            members.remove(entry.id);
+            for (final PriorityQueue<Entry> heap : best) {
+                // One of the best is gone, the next one has to move up
+                if (heap.remove(entry)) {
+                    stale = true;
+                }
+            }
+        }
+
+        void rank() {
+            for (final PriorityQueue<Entry> heap : best) {
+                heap.clear();
+                for (final Entry entry : members.values()) {
+                    offer(heap, entry);
+                }
+            }
+            stale = false;
+        }
+
+        private void offer(final PriorityQueue<Entry> heap, final Entry entry) {
+            heap.offer(entry);
+            if (heap.size() > keep) {
+                heap.poll();
+            }
+        }
+    }
+
+    private final int keep;
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<PokemonId, Species> species = new EnumMap<>(PokemonId.class);
+    private final Map<PokemonFamilyId, Set<PokemonId>> families = new EnumMap<>(PokemonFamilyId.class);
+
+    /**
+     * Creates an empty index.
+     *
+     * @param keep How many of every species count as the best ones.
+     */
+    public SpeciesIndex(final int keep) {
+        this.keep = Math.max(1, keep);
+    }
+
+    /**
+     * Creates an index of the given bag.
+     *
+     * @param keep How many of every species count as the best ones.
+     * @param bag  The Pokémon.
+     * @return The index.
+     */
+    public static SpeciesIndex of(final int keep, final Collection<Pokemon> bag) {
+        final SpeciesIndex index = new SpeciesIndex(keep);
+        index.sync(bag);
+        return index;
+    }
+
+    /**
+     * Brings the index up to date with the bag. Pokémon are matched by id, only the ones that are new or have
+     * changed are rated again.
+     *
+     * @param bag The Pokémon that are in the bag now.
+     */
+    public synchronized void sync(final Collection<Pokemon> bag) {
+        final Map<Long, Pokemon> current = new HashMap<>(bag.size() * 2);
+        for (final Pokemon pokemon : bag) {
+            current.put(pokemon.getId(), pokemon);
+        }
+
+        final Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            final Entry entry = it.next();
+            final Pokemon pokemon = current.get(entry.id);
+            if (pokemon != null && entry.isRatedLike(pokemon)) {
+                entry.pokemon = pokemon;
+                current.remove(entry.id);
+            } else {
+                it.remove();
+                removeFromSpecies(entry);
+            }
+        }
+
+        for (final Pokemon pokemon : current.values()) {
+            final Entry entry = new Entry(pokemon);
+            entries.put(entry.id, entry);
+            species.computeIfAbsent(entry.species, s -> new Species()).add(entry);
+            families.computeIfAbsent(pokemon.getPokemonFamily(), f -> EnumSet.noneOf(PokemonId.class)).add(entry.species);
+        }
+
+        for (final Species s : species.values()) {
+            if (s.stale) {
+                s.rank();
+            }
+        }
+    }
+
+    private void removeFromSpecies(final Entry entry) {
+        final Species s = species.get(entry.species);
+        s.remove(entry);
+        if (s.members.isEmpty()) {
+            species.remove(entry.species);
+            families.values().forEach(ids -> ids.remove(entry.species));
+            families.values().removeIf(Set::isEmpty);
+        }
+    }
+
+    /**
+     * Returns how many of every species count as the best ones.
+     *
+     * @return The number.
+     */
+    public int getKeep() {
+        return keep;
+    }
+
+    /**
+     * Returns how many Pokémon of a species are in the bag.
+     *
+     * @param pokemonId The species.
+     * @return The count.
+     */
+    public synchronized int getCount(final PokemonId pokemonId) {
+        final Species s = species.get(pokemonId);
+        return s != null ? s.members.size() : 0;
+    }
+
+    /**
+     * Returns the species of a family that are in the bag.
+     *
+     * @param family The family.
+     * @return The species.
+     */
+    public synchronized Set<PokemonId> getSpecies(final PokemonFamilyId family) {
+        final Set<PokemonId> ids = families.get(family);
+        return ids != null ? Collections.unmodifiableSet(EnumSet.copyOf(ids)) : Collections.emptySet();
+    }
+
+    /**
+     * Returns how many Pokémon of a family are in the bag.
+     *
+     * @param family The family.
+     * @return The count.
+     */
+    public synchronized int getFamilyCount(final PokemonFamilyId family) {
+        int count = 0;
+        for (final PokemonId pokemonId : getSpecies(family)) {
+            count += getCount(pokemonId);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the best Pokémon of a species, best first.
+     *
+     * @param pokemonId The species.
+     * @param metric    What they are ranked by.
+     * @return The best ones, at most {@link #getKeep()}.
+     */
+    public synchronized List<Pokemon> getBest(final PokemonId pokemonId, final Metric metric) {
+        final Species s = species.get(pokemonId);
+        if (s == null) {
+            return Collections.emptyList();
+        }
+        final List<Entry> best = new ArrayList<>(s.best.get(metric.ordinal()));
+        best.sort(metric.order.reversed());
+        final List<Pokemon> pokemons = new ArrayList<>(best.size());
+        best.forEach(entry -> pokemons.add(entry.pokemon));
+        return pokemons;
+    }
+
+    /**
+     * Checks if a Pokémon is one of the best of its species.
+     *
+     * @param pokemon The Pokémon.
+     * @param metric  What they are ranked by.
+     * @return If it is, false if it is not in the index.
+     */
+    public synchronized boolean isBest(final Pokemon pokemon, final Metric metric) {
+        final Entry entry = entries.get(pokemon.getId());
+        return entry != null && species.get(entry.species).best.get(metric.ordinal()).contains(entry);
+    }
+}
@@ -0,0 +1,102 @@
+package me.corriekay.pokegoutil.utils.query;
+
+import java.util.BitSet;
+
+import me.corriekay.pokegoutil.utils.ConfigKey;
+import me.corriekay.pokegoutil.utils.ConfigNew;
+import me.corriekay.pokegoutil.utils.pokemon.PokemonNameCache;
+
+/**
+ * A search query over the columns of the Pokémon table, parsed once into a tree of predicates.
+ * <p>
+ * Conditions are combined with {@code &} (and), {@code |} or {@code ;} (or), {@code !} (not) and parentheses, and
+ * and binds stronger than or. A condition is either a comparison of a field, like {@code iv>=90}, {@code cp<1000},
+ * {@code species:dratini} (contains) or {@code type=dragon}, the word {@code fav} for favorites, or any other text,
+ * which is searched in names, types, moves and the Pokéball like the search always did. Example:
+ * <pre>iv&gt;=90 &amp; species:dratini &amp; cp&lt;1000 | fav</pre>
+ * Spaces and case don't matter. IV and ratings are compared in percent.
+ * <p>
+ * The conditions of an and or an or are evaluated cheapest first and stop as soon as the result is known, so the
+ * expensive free text search only runs for rows that passed the number checks.
+ */
+public final class PokemonQuery {
+
+    private final String query;
+    private final QueryNode root;
+
+    private PokemonQuery(final String query, final QueryNode root) {
+        this.query = query;
+        this.root = root;
+    }
+
+    /**
+     * Compiles a query, searching names in the current language.
+     *
+     * @param query The query.
+     * @return The compiled query.
+     * @throws IllegalArgumentException If the query is not valid, with a message that says why.
+     */
+    public static PokemonQuery compile(final String query) {
+        return compile(query, PokemonNameCache.get(), ConfigNew.getConfig().getBool(ConfigKey.INCLUDE_FAMILY));
+    }
+
+    /**
+     * Compiles a query.
+     *
+     * @param query         The query.
+     * @param names         The names to search species in, or null to only search the species column.
+     * @param includeFamily If the free text search also searches the family name.
+     * @return The compiled query.
+     * @throws IllegalArgumentException If the query is not valid, with a message that says why.
+     */
+    public static PokemonQuery compile(final String query, final PokemonNameCache.Names names, final boolean includeFamily) {
+        return new PokemonQuery(query, new QueryParser(query, names, includeFamily).parse());
+    }
+
+    /**
+     * Checks if a row matches the query.
+     *
+     * @param source The rows.
+     * @param row    The row.
+     * @return If it matches.
+     */
+    public boolean matches(final RowSource source, final int row) {
+        return root.matches(source, row);
+    }
+
+    /**
+     * Checks all rows in one go.
+     *
+     * @param source   The rows.
+     * @param rowCount The number of rows.
+     * @return The rows that match.
+     */
+    public BitSet select(final RowSource source, final int rowCount) {
+        final BitSet selected = new BitSet(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            if (root.matches(source, row)) {
+                selected.set(row);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Returns the query as it was written.
+     *
+     * @return The query.
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Returns the compiled query, in the order it is evaluated.
+     *
+     * @return The compiled query.
+     */
+    @Override
+    public String toString() {
+        return root.toString();
+    }
+}
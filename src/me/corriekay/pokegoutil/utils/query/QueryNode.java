@@ -0,0 +1,389 @@
+package me.corriekay.pokegoutil.utils.query;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.commons.lang3.math.NumberUtils;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import me.corriekay.pokegoutil.data.enums.PokeColumn;
+import me.corriekay.pokegoutil.utils.StringLiterals;
+import me.corriekay.pokegoutil.utils.pokemon.PokemonNameCache;
+
+/**
+ * A node of a compiled query. Every node knows roughly how expensive it is, so and and or can check the cheap ones
+ * first.
+ */
+abstract class QueryNode {
+
+    static final int COST_NUMBER = 1;
+    static final int COST_TEXT = 2;
+    static final int COST_FREE_TEXT = 20;
+
+    /**
+     * Checks if a row matches.
+     *
+     * @param source The rows.
+     * @param row    The row.
+     * @return If it matches.
+     */
+    abstract boolean matches(RowSource source, int row);
+
+    /**
+     * Returns how expensive the check is, relative to the other nodes.
+     *
+     * @return The cost.
+     */
+    abstract int getCost();
+
+    /**
+     * Sorts the nodes by cost, cheapest first. Equal ones keep their order.
+     */
+    private static QueryNode[] sortByCost(final List<QueryNode> nodes) {
+        final List<QueryNode> sorted = new ArrayList<>(nodes);
+        sorted.sort(Comparator.comparingInt(QueryNode::getCost));
+        return sorted.toArray(new QueryNode[sorted.size()]);
+    }
+
+    private static int sumCost(final QueryNode[] nodes) {
+        int cost = 0;
+        for (final QueryNode node : nodes) {
+            cost += node.getCost();
+        }
+        return cost;
+    }
+
+    private static String join(final QueryNode[] nodes, final String operator) {
+        final StringBuilder builder = new StringBuilder("(");
+        for (int i = 0; i < nodes.length; i++) {
+            if (i > 0) {
+                builder.append(operator);
+            }
+            builder.append(nodes[i]);
+        }
+        return builder.append(')').toString();
+    }
+
+    /**
+     * Matches if all nodes match.
+     */
+    static final class And extends QueryNode {
+        private final QueryNode[] nodes;
+        private final int cost;
+
+        And(final List<QueryNode> nodes) {
+            this.nodes = sortByCost(nodes);
+            this.cost = sumCost(this.nodes);
+        }
+
+        @Override
+        boolean matches(final RowSource source, final int row) {
+            for (final QueryNode node : nodes) {
+                if (!node.matches(source, row)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        int getCost() {
+            return cost;
+        }
+
+        @Override
+        public String toString() {
+            return join(nodes, " & ");
+        }
+    }
+
+    /**
+     * Matches if any node matches.
+     */
+    static final class Or extends QueryNode {
+        private final QueryNode[] nodes;
+        private final int cost;
+
+        Or(final List<QueryNode> nodes) {
+            this.nodes = sortByCost(nodes);
+            this.cost = sumCost(this.nodes);
+        }
+
+        @Override
+        boolean matches(final RowSource source, final int row) {
+            for (final QueryNode node : nodes) {
+                if (node.matches(source, row)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        int getCost() {
+            return cost;
+        }
+
+        @Override
+        public String toString() {
+            return join(nodes, " | ");
+        }
+    }
+
+    /**
+     * Matches if the node does not match.
+     */
+    static final class Not extends QueryNode {
+        private final QueryNode node;
+
+        Not(final QueryNode node) {
+            this.node = node;
+        }
+
+        @Override
+        boolean matches(final RowSource source, final int row) {
+            return !node.matches(source, row);
+        }
+
+        @Override
+        int getCost() {
+            return node.getCost();
+        }
+
+        @Override
+        public String toString() {
+            return "!" + node;
+        }
+    }
+
+    /**
+     * The ways two numbers can be compared.
+     */
+    enum Comparison {
+        LESS("<") {
+            @Override
+            boolean test(final double value, final double limit) {
+                return value < limit;
+            }
+        },
+        LESS_OR_EQUAL("<=") {
+            @Override
+            boolean test(final double value, final double limit) {
+                return value <= limit;
+            }
+        },
+        GREATER(">") {
+            @Override
+            boolean test(final double value, final double limit) {
+                return value > limit;
+            }
+        },
+        GREATER_OR_EQUAL(">=") {
+            @Override
+            boolean test(final double value, final double limit) {
+                return value >= limit;
+            }
+        },
+        EQUAL("=") {
+            @Override
+            boolean test(final double value, final double limit) {
+                return Math.abs(value - limit) < EPSILON;
+            }
+        },
+        NOT_EQUAL("!=") {
+            @Override
+            boolean test(final double value, final double limit) {
+                return Math.abs(value - limit) >= EPSILON;
+            }
+        };
+
+        private static final double EPSILON = 1e-9;
+
+        final String operator;
+
+        Comparison(final String operator) {
+            this.operator = operator;
+        }
+
+        abstract boolean test(double value, double limit);
+    }
+
+    /**
+     * Compares the number in a column with a limit.
+     */
+    static final class NumberComparison extends QueryNode {
+        private final String field;
+        private final PokeColumn column;
+        private final double scale;
+        private final Comparison comparison;
+        private final String limitText;
+        private final double limit;
+
+        NumberComparison(final String field, final PokeColumn column, final double scale, final Comparison comparison, final String limitText) {
+            this.field = field;
+            this.column = column;
+            this.scale = scale;
+            this.comparison = comparison;
+            this.limitText = limitText;
+            this.limit = Double.parseDouble(limitText);
+        }
+
+        @Override
+        boolean matches(final RowSource source, final int row) {
+            final Object value = source.get(column, row);
+            final double number;
+            if (value instanceof Number) {
+                number = ((Number) value).doubleValue();
+            } else if (value instanceof String) {
+                // Columns like "To Evolve" show a dash for no value, the table sorts that as 0 as well
+                number = StringLiterals.NO_VALUE_SIGN.equals(value) ? 0 : NumberUtils.toDouble((String) value, Double.NaN);
+            } else {
+                return false;
+            }
+            return comparison.test(number * scale, limit);
+        }
+
+        @Override
+        int getCost() {
+            return COST_NUMBER;
+        }
+
+        @Override
+        public String toString() {
+            return field + comparison.operator + limitText;
+        }
+    }
+
+    /**
+     * Searches a text in one or more text columns. The texts are compared in search form, see
+     * {@link PokemonNameCache#toSearchForm(String)}.
+     */
+    static final class TextMatch extends QueryNode {
+        private final String field;
+        private final PokeColumn[] columns;
+        private final PokemonNameCache.Names names;
+        private final boolean exact;
+        private final boolean negated;
+        private final String text;
+
+        /**
+         * Creates a text match.
+         *
+         * @param field   The field as it was written.
+         * @param columns The columns to search in, it matches if one of them does.
+         * @param names   If not null, the species search name of the Pokédex number is searched, too.
+         * @param exact   If the text has to be equal, otherwise contained.
+         * @param negated If it matches when the text is not found.
+         * @param text    The text, in search form.
+         */
+        TextMatch(final String field, final PokeColumn[] columns, final PokemonNameCache.Names names,
+                  final boolean exact, final boolean negated, final String text) {
+            this.field = field;
+            this.columns = columns;
+            this.names = names;
+            this.exact = exact;
+            this.negated = negated;
+            this.text = text;
+        }
+
+        @Override
+        boolean matches(final RowSource source, final int row) {
+            return found(source, row) != negated;
+        }
+
+        private boolean found(final RowSource source, final int row) {
+            for (final PokeColumn column : columns) {
+                if (test(toText(source.get(column, row)))) {
+                    return true;
+                }
+            }
+            if (names != null) {
+                final Object number = source.get(PokeColumn.POKEDEX_ID, row);
+                return number instanceof Integer && test(names.getSearchName((Integer) number));
+            }
+            return false;
+        }
+
+        private boolean test(final String value) {
+            return exact ? value.equals(text) : value.contains(text);
+        }
+
+        private static String toText(final Object value) {
+            // Locations are looked up in the background, only what is known by now is searched
+            final Object resolved = value instanceof CompletableFuture ? ((CompletableFuture<?>) value).getNow(null) : value;
+            return resolved != null ? PokemonNameCache.toSearchForm(resolved.toString()) : "";
+        }
+
+        @Override
+        int getCost() {
+            return COST_TEXT * (columns.length + (names != null ? 1 : 0));
+        }
+
+        @Override
+        public String toString() {
+            return field + (negated ? "!=" : exact ? "=" : ":") + text;
+        }
+    }
+
+    /**
+     * Matches favorites.
+     */
+    static final class Favorite extends QueryNode {
+        private static final String YES = "Yes";
+
+        @Override
+        boolean matches(final RowSource source, final int row) {
+            return YES.equals(source.get(PokeColumn.FAVORITE, row));
+        }
+
+        @Override
+        int getCost() {
+            return COST_NUMBER;
+        }
+
+        @Override
+        public String toString() {
+            return "fav";
+        }
+    }
+
+    /**
+     * The search as it was before there were queries: the text is searched in the species and family name, the
+     * nickname, the types, the moves and the Pokéball.
+     */
+    static final class FreeText extends QueryNode {
+        private final String text;
+        private final PokemonNameCache.Names names;
+        private final boolean includeFamily;
+        private final SearchKeyBuilder keys = new SearchKeyBuilder();
+
+        FreeText(final String text, final PokemonNameCache.Names names, final boolean includeFamily) {
+            this.text = text;
+            this.names = names;
+            this.includeFamily = includeFamily;
+        }
+
+        @Override
+        boolean matches(final RowSource source, final int row) {
+            final Pokemon pokemon = source.getPokemon(row);
+            if (pokemon == null) {
+                return false;
+            }
+            final PokemonNameCache.Names searchNames = names != null ? names : PokemonNameCache.get();
+            return keys.getKey(pokemon, searchNames, includeFamily).contains(text);
+        }
+
+        @Override
+        int getCost() {
+            return COST_FREE_TEXT;
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+}
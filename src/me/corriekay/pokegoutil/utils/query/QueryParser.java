@@ -0,0 +1,234 @@
+package me.corriekay.pokegoutil.utils.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.lang3.math.NumberUtils;
+
+import me.corriekay.pokegoutil.data.enums.ColumnType;
+import me.corriekay.pokegoutil.data.enums.PokeColumn;
+import me.corriekay.pokegoutil.utils.StringLiterals;
+import me.corriekay.pokegoutil.utils.pokemon.PokemonNameCache;
+
+/**
+ * Parses a query into a tree of nodes, see {@link PokemonQuery} for the syntax.
+ */
+final class QueryParser {
+
+    private static final Pattern CONDITION = Pattern.compile("([a-z0-9#]+)(>=|<=|!=|=|>|<|:)(.*)");
+    private static final String TERM_END = "&|;()";
+    private static final double PERCENT = 100.0;
+    private static final Map<String, Field> FIELDS = createFields();
+
+    private final String query;
+    private final PokemonNameCache.Names names;
+    private final boolean includeFamily;
+    private int pos;
+
+    /**
+     * A field that can be used in a condition.
+     */
+    private static final class Field {
+        final PokeColumn[] columns;
+        final boolean numeric;
+        final double scale;
+        final boolean speciesNames;
+
+        Field(final boolean numeric, final double scale, final boolean speciesNames, final PokeColumn... columns) {
+            this.columns = columns;
+            this.numeric = numeric;
+            this.scale = scale;
+            this.speciesNames = speciesNames;
+        }
+    }
+
+    QueryParser(final String query, final PokemonNameCache.Names names, final boolean includeFamily) {
+        this.query = query;
+        this.names = names;
+        this.includeFamily = includeFamily;
+    }
+
+    private static Map<String, Field> createFields() {
+        final Map<String, Field> fields = new HashMap<>();
+        // Every column can be used by its name without underscores, like "maxcpcur"
+        for (final PokeColumn column : PokeColumn.values()) {
+            if (column.columnType == ColumnType.AUTO_INCREMENT) {
+                continue;
+            }
+            fields.put(column.name().replaceAll(StringLiterals.UNDERSCORE, "").toLowerCase(), column(column));
+        }
+        alias(fields, column(PokeColumn.IV_RATING), "iv");
+        alias(fields, column(PokeColumn.LEVEL), "lvl", "level");
+        alias(fields, column(PokeColumn.IV_ATTACK), "atk");
+        alias(fields, column(PokeColumn.IV_DEFENSE), "def");
+        alias(fields, column(PokeColumn.IV_STAMINA), "sta", "stam");
+        alias(fields, column(PokeColumn.MAX_CP_40), "maxcp");
+        alias(fields, column(PokeColumn.CANDIES), "candy");
+        alias(fields, column(PokeColumn.CANDIES_TO_EVOLVE), "toevolve");
+        alias(fields, column(PokeColumn.EVOLVABLE_COUNT), "evolvable");
+        alias(fields, column(PokeColumn.STARDUST_TO_POWERUP), "dust", "stardust");
+        alias(fields, column(PokeColumn.POKEDEX_ID), "#", "dex", "id");
+        alias(fields, column(PokeColumn.DUEL_ABILITY_RATING), "duel");
+        alias(fields, column(PokeColumn.GYM_OFFENSE_RATING), "offense");
+        alias(fields, column(PokeColumn.GYM_DEFENSE_RATING), "defense");
+        alias(fields, new Field(false, 1, true, PokeColumn.SPECIES), "species", "name");
+        alias(fields, column(PokeColumn.NICKNAME), "nick");
+        alias(fields, new Field(false, 1, false, PokeColumn.TYPE_1, PokeColumn.TYPE_2), "type");
+        alias(fields, new Field(false, 1, false, PokeColumn.MOVE_1, PokeColumn.MOVE_2), "move");
+        alias(fields, column(PokeColumn.MOVE_1), "move1");
+        alias(fields, column(PokeColumn.MOVE_2), "move2");
+        alias(fields, column(PokeColumn.CAUGHT_WITH), "ball");
+        alias(fields, column(PokeColumn.CAUGHT_CITY), "city");
+        alias(fields, column(PokeColumn.CAUGHT_LOCATION), "location");
+        return Collections.unmodifiableMap(fields);
+    }
+
+    private static Field column(final PokeColumn column) {
+        switch (column.columnType) {
+            case INT:
+            case LONG:
+            case DOUBLE:
+            case NULLABLE_INT:
+                return new Field(true, 1, false, column);
+            case PERCENTAGE:
+                // IV and the ratings are shown in percent, the other percentage columns are plain values
+                final boolean percent = column == PokeColumn.IV_RATING || column.name().endsWith("_RATING");
+                return new Field(true, percent ? PERCENT : 1, false, column);
+            default:
+                return new Field(false, 1, false, column);
+        }
+    }
+
+    private static void alias(final Map<String, Field> fields, final Field field, final String... aliases) {
+        for (final String alias : aliases) {
+            fields.put(alias, field);
+        }
+    }
+
+    /**
+     * Parses the whole query.
+     *
+     * @return The root node.
+     * @throws IllegalArgumentException If the query is not valid.
+     */
+    QueryNode parse() {
+        final QueryNode root = parseOr();
+        skipWhitespace();
+        if (pos < query.length()) {
+            throw error("Unexpected '" + query.charAt(pos) + "'");
+        }
+        return root;
+    }
+
+    private QueryNode parseOr() {
+        final List<QueryNode> nodes = new ArrayList<>();
+        nodes.add(parseAnd());
+        while (accept('|') || accept(';')) {
+            nodes.add(parseAnd());
+        }
+        return nodes.size() == 1 ? nodes.get(0) : new QueryNode.Or(nodes);
+    }
+
+    private QueryNode parseAnd() {
+        final List<QueryNode> nodes = new ArrayList<>();
+        nodes.add(parseUnary());
+        while (accept('&')) {
+            nodes.add(parseUnary());
+        }
+        return nodes.size() == 1 ? nodes.get(0) : new QueryNode.And(nodes);
+    }
+
+    private QueryNode parseUnary() {
+        if (accept('!')) {
+            return new QueryNode.Not(parseUnary());
+        }
+        if (accept('(')) {
+            final QueryNode node = parseOr();
+            if (!accept(')')) {
+                throw error("Missing ')'");
+            }
+            return node;
+        }
+        return parseTerm();
+    }
+
+    private QueryNode parseTerm() {
+        skipWhitespace();
+        final int start = pos;
+        while (pos < query.length() && TERM_END.indexOf(query.charAt(pos)) < 0) {
+            pos++;
+        }
+        final String term = PokemonNameCache.toSearchForm(query.substring(start, pos).replaceAll("\\s", ""));
+        if (term.isEmpty()) {
+            pos = start;
+            throw error("Search term expected");
+        }
+
+        final Matcher matcher = CONDITION.matcher(term);
+        if (!matcher.matches()) {
+            if ("fav".equals(term) || "favorite".equals(term) || "favourite".equals(term)) {
+                return new QueryNode.Favorite();
+            }
+            return new QueryNode.FreeText(term.replaceAll("snek", "ekans"), names, includeFamily);
+        }
+
+        final String fieldName = matcher.group(1);
+        final String operator = matcher.group(2);
+        final String value = matcher.group(3);
+        final Field field = FIELDS.get(fieldName);
+        if (field == null) {
+            throw error("Unknown field '" + fieldName + "'");
+        }
+        if (value.isEmpty()) {
+            throw error("Value for '" + fieldName + "' expected");
+        }
+
+        if (field.numeric) {
+            if (!NumberUtils.isNumber(value)) {
+                throw error("'" + fieldName + "' needs a number, not '" + value + "'");
+            }
+            return new QueryNode.NumberComparison(fieldName, field.columns[0], field.scale, toComparison(operator), value);
+        }
+
+        final boolean negated = "!=".equals(operator);
+        if (!negated && !":".equals(operator) && !"=".equals(operator)) {
+            throw error("'" + fieldName + "' is a text, it can only be used with ':', '=' or '!='");
+        }
+        return new QueryNode.TextMatch(fieldName, field.columns, field.speciesNames ? names : null,
+            !":".equals(operator), negated, value);
+    }
+
+    private static QueryNode.Comparison toComparison(final String operator) {
+        for (final QueryNode.Comparison comparison : QueryNode.Comparison.values()) {
+            if (comparison.operator.equals(operator)) {
+                return comparison;
+            }
+        }
+        // A colon on a number means equal
+        return QueryNode.Comparison.EQUAL;
+    }
+
+    private boolean accept(final char c) {
+        skipWhitespace();
+        if (pos < query.length() && query.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (pos < query.length() && Character.isWhitespace(query.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException error(final String message) {
+        return new IllegalArgumentException(message + " at position " + (pos + 1));
+    }
+}
@@ -0,0 +1,38 @@
+package me.corriekay.pokegoutil.utils.query;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import me.corriekay.pokegoutil.data.enums.PokeColumn;
+import me.corriekay.pokegoutil.utils.pokemon.SpeciesIndex;
+
+/**
+ * The rows a query is evaluated on. Values are read per column, the way the table holds them.
+ */
+public interface RowSource {
+
+    /**
+     * Returns the value of a column in a row.
+     *
+     * @param column The column.
+     * @param row    The row.
+     * @return The value, like it is shown in the table.
+     */
+    Object get(PokeColumn column, int row);
+
+    /**
+     * Returns the Pokémon of a row. Only needed for the free text search.
+     *
+     * @param row The row.
+     * @return The Pokémon, or null if there is none.
+     */
+    Pokemon getPokemon(int row);
+
+    /**
+     * Returns the species index of the rows, if the source keeps one up to date.
+     *
+     * @return The index, or null if the rows have to be indexed when needed.
+     */
+    default SpeciesIndex getSpeciesIndex() {
+        return null;
+    }
+}
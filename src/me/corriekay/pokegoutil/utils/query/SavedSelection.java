@@ -0,0 +1,172 @@
+package me.corriekay.pokegoutil.utils.query;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import me.corriekay.pokegoutil.data.enums.PokeColumn;
+import me.corriekay.pokegoutil.utils.ConfigKey;
+import me.corriekay.pokegoutil.utils.ConfigNew;
+import me.corriekay.pokegoutil.utils.pokemon.CandyPlan;
+import me.corriekay.pokegoutil.utils.pokemon.CandyPlanner;
+import me.corriekay.pokegoutil.utils.pokemon.SpeciesIndex;
+
+/**
+ * Selections that need more than one row to decide, computed in a single pass over the rows.
+ */
+public enum SavedSelection {
+    DUPLICATES_BELOW_BEST_IV("Duplicates below best IV per species", PokeColumn.IV_RATING),
+    DUPLICATES_BELOW_BEST_CP("Duplicates below best CP per species", PokeColumn.CP),
+    CANDY_PLAN_TRANSFERS("Transfers needed for the most evolves", null),
+    CANDY_PLAN_EVOLVES("Evolves possible with the candies", null),
+    ALL_BUT_BEST_IV(SpeciesIndex.Metric.IV),
+    ALL_BUT_BEST_CP(SpeciesIndex.Metric.CP),
+    ALL_BUT_BEST_DUEL_ABILITY(SpeciesIndex.Metric.DUEL_ABILITY),
+    ALL_BUT_BEST_GYM_OFFENSE(SpeciesIndex.Metric.GYM_OFFENSE);
+
+    private static final String FAVORITE = "Yes";
+
+    private final String friendlyName;
+    private final PokeColumn column;
+    private final SpeciesIndex.Metric metric;
+
+    SavedSelection(final String friendlyName, final PokeColumn column) {
+        this.friendlyName = friendlyName;
+        this.column = column;
+        this.metric = null;
+    }
+
+    SavedSelection(final SpeciesIndex.Metric metric) {
+        this.friendlyName = null;
+        this.column = null;
+        this.metric = metric;
+    }
+
+    /**
+     * The best rows of a species seen so far. Usually one, more if they are equally good.
+     */
+    private static final class Best {
+        double value;
+        final List<Integer> rows = new ArrayList<>(1);
+
+        Best(final double value, final int row) {
+            this.value = value;
+            rows.add(row);
+        }
+    }
+
+    /**
+     * Computes the rows to select. Of every species, all Pokémon that are worse than the best one in the column are
+     * selected. Favorites count as best ones, but are never selected. The candy plan selections select what the
+     * plan of all rows would transfer or evolve. The metric selections select all but the best few of every species,
+     * see {@link SpeciesIndex}.
+     *
+     * @param source   The rows.
+     * @param rowCount The number of rows.
+     * @return The rows to select.
+     */
+    public BitSet select(final RowSource source, final int rowCount) {
+        if (metric != null) {
+            return selectAllButBest(source, rowCount);
+        }
+        if (column == null) {
+            return selectPlanned(source, rowCount);
+        }
+        final BitSet selected = new BitSet(rowCount);
+        final Map<Object, Best> bestPerSpecies = new HashMap<>();
+        for (int row = 0; row < rowCount; row++) {
+            final Object species = source.get(PokeColumn.POKEDEX_ID, row);
+            final Object value = source.get(column, row);
+            final double number = value instanceof Number ? ((Number) value).doubleValue() : 0;
+            final Best best = bestPerSpecies.get(species);
+            if (best == null) {
+                bestPerSpecies.put(species, new Best(number, row));
+            } else if (number > best.value) {
+                // The ones that were best so far are duplicates now
+                for (final int worse : best.rows) {
+                    selectUnlessFavorite(source, worse, selected);
+                }
+                best.rows.clear();
+                best.rows.add(row);
+                best.value = number;
+            } else if (number == best.value) {
+                best.rows.add(row);
+            } else {
+                selectUnlessFavorite(source, row, selected);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Selects the Pokémon the candy plan of all rows transfers or evolves, see {@link CandyPlanner}.
+     */
+    private BitSet selectPlanned(final RowSource source, final int rowCount) {
+        final List<Pokemon> pokemons = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            final Pokemon pokemon = source.getPokemon(row);
+            if (pokemon != null) {
+                pokemons.add(pokemon);
+            }
+        }
+        final CandyPlan plan = CandyPlanner.plan(pokemons);
+
+        final BitSet selected = new BitSet(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            final Pokemon pokemon = source.getPokemon(row);
+            if (pokemon != null && (this == CANDY_PLAN_TRANSFERS ? plan.isToTransfer(pokemon) : plan.isToEvolve(pokemon))) {
+                selected.set(row);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Selects all Pokémon that are not among the best of their species, using the index of the source if it keeps
+     * one. Favorites are never selected.
+     */
+    private BitSet selectAllButBest(final RowSource source, final int rowCount) {
+        SpeciesIndex index = source.getSpeciesIndex();
+        if (index == null) {
+            final List<Pokemon> pokemons = new ArrayList<>(rowCount);
+            for (int row = 0; row < rowCount; row++) {
+                final Pokemon pokemon = source.getPokemon(row);
+                if (pokemon != null) {
+                    pokemons.add(pokemon);
+                }
+            }
+            index = SpeciesIndex.of(getKeep(), pokemons);
+        }
+
+        final BitSet selected = new BitSet(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            final Pokemon pokemon = source.getPokemon(row);
+            if (pokemon != null && !index.isBest(pokemon, metric)) {
+                selectUnlessFavorite(source, row, selected);
+            }
+        }
+        return selected;
+    }
+
+    private static int getKeep() {
+        return ConfigNew.getConfig().getInt(ConfigKey.KEEP_BEST_PER_SPECIES);
+    }
+
+    private static void selectUnlessFavorite(final RowSource source, final int row, final BitSet selected) {
+        if (!FAVORITE.equals(source.get(PokeColumn.FAVORITE, row))) {
+            selected.set(row);
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (metric != null) {
+            return "All but the best " + getKeep() + " per species by " + metric;
+        }
+        return friendlyName;
+    }
+}
@@ -0,0 +1,126 @@
+package me.corriekay.pokegoutil.utils.query;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import me.corriekay.pokegoutil.utils.StringLiterals;
+import me.corriekay.pokegoutil.utils.pokemon.PokemonNameCache;
+
+import POGOProtos.Enums.PokemonMoveOuterClass.PokemonMove;
+
+/**
+ * Builds the text the free text search looks in: the species and family name, the nickname, the types, the moves
+ * and the Pokéball of a Pokémon, separated by commas, in lower case and without underscores and spaces.
+ * <p>
+ * The keys are cached per Pokémon until its name, nickname or moves change, or the language does. Enum values are
+ * normalized once per value, and keys are written into one buffer that is reused, so searching a big bag again on
+ * every keystroke neither builds strings nor runs regular expressions.
+ */
+public final class SearchKeyBuilder {
+
+    private static final char DELIMITER = ',';
+    private static final String[] REMOVED = {"_FAST", StringLiterals.FAMILY_PREFIX, "NONE", "ITEM_"};
+    private static final Map<Enum<?>, String> ENUM_TOKENS = new ConcurrentHashMap<>();
+    private static final Map<Pokemon, SearchKey> KEYS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    /**
+     * A cached key, with what it was built from.
+     */
+    private static final class SearchKey {
+        final PokemonNameCache.Names names;
+        final boolean includeFamily;
+        final int species;
+        final String nickname;
+        final PokemonMove move1;
+        final PokemonMove move2;
+        final String key;
+
+        SearchKey(final PokemonNameCache.Names names, final boolean includeFamily, final Pokemon pokemon, final String key) {
+            this.names = names;
+            this.includeFamily = includeFamily;
+            this.species = pokemon.getPokemonId().getNumber();
+            this.nickname = pokemon.getNickname();
+            this.move1 = pokemon.getMove1();
+            this.move2 = pokemon.getMove2();
+            this.key = key;
+        }
+
+        boolean isFor(final PokemonNameCache.Names names, final boolean includeFamily, final Pokemon pokemon) {
+            return this.names == names
+                && this.includeFamily == includeFamily
+                && species == pokemon.getPokemonId().getNumber()
+                && move1 == pokemon.getMove1()
+                && move2 == pokemon.getMove2()
+                && nickname.equals(pokemon.getNickname());
+        }
+    }
+
+    /**
+     * Returns the search key of a Pokémon, from the cache if nothing changed since it was built.
+     *
+     * @param pokemon       The Pokémon.
+     * @param names         The names of the current language.
+     * @param includeFamily If the family name is part of the key.
+     * @return The search key.
+     */
+    public String getKey(final Pokemon pokemon, final PokemonNameCache.Names names, final boolean includeFamily) {
+        final SearchKey cached = KEYS.get(pokemon);
+        if (cached != null && cached.isFor(names, includeFamily, pokemon)) {
+            return cached.key;
+        }
+        final String key = build(pokemon, names, includeFamily);
+        KEYS.put(pokemon, new SearchKey(names, includeFamily, pokemon, key));
+        return key;
+    }
+
+    /**
+     * Builds the search key of a Pokémon, without looking at the cache.
+     *
+     * @param pokemon       The Pokémon.
+     * @param names         The names of the current language.
+     * @param includeFamily If the family name is part of the key.
+     * @return The search key.
+     */
+    public String build(final Pokemon pokemon, final PokemonNameCache.Names names, final boolean includeFamily) {
+        buffer.setLength(0);
+        buffer.append(names.getSearchName(pokemon.getPokemonId().getNumber()));
+        buffer.append(DELIMITER);
+        if (includeFamily) {
+            buffer.append(names.getFamilySearchName(pokemon.getPokemonFamily()));
+        }
+        buffer.append(DELIMITER).append(toToken(pokemon.getNickname()));
+        buffer.append(DELIMITER).append(toToken(pokemon.getMeta().getType1()));
+        buffer.append(DELIMITER).append(toToken(pokemon.getMeta().getType2()));
+        buffer.append(DELIMITER).append(toToken(pokemon.getMove1()));
+        buffer.append(DELIMITER).append(toToken(pokemon.getMove2()));
+        buffer.append(DELIMITER).append(toToken(pokemon.getPokeball()));
+        return buffer.toString();
+    }
+
+    private static String toToken(final Enum<?> value) {
+        return ENUM_TOKENS.computeIfAbsent(value, v -> toToken(v.toString()));
+    }
+
+    /**
+     * Normalizes one part of the key: the enum prefixes and suffixes that are not searched for are removed, then
+     * underscores and spaces, and the rest is lowercased.
+     *
+     * @param text The text.
+     * @return The normalized text.
+     */
+    static String toToken(final String text) {
+        String token = text;
+        for (final String removed : REMOVED) {
+            token = StringUtils.remove(token, removed);
+        }
+        return PokemonNameCache.toSearchForm(token);
+    }
+}
@@ -0,0 +1,560 @@
+package me.corriekay.pokegoutil.utils.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import me.corriekay.pokegoutil.data.enums.ColumnType;
+import me.corriekay.pokegoutil.data.enums.PokeColumn;
+
+/**
+ * The history of the bag of one account, as an append-only file of table states over time.
+ * <p>
+ * Each recorded refresh is stored as the difference to the one before: only the Pokémon that are new, changed or
+ * gone, and of the changed ones only the columns that changed. Every few records a full keyframe is written, so
+ * reconstructing a point in time never has to replay more than a few differences. Columns that are looked up in
+ * the background (the locations) are not part of the history.
+ */
+public final class InventoryHistory {
+
+    static final int KEYFRAME_INTERVAL = 20;
+
+    private static final byte KEYFRAME = 1;
+    private static final byte DELTA = 2;
+    private static final PokeColumn[] TRACKED_COLUMNS = Arrays.stream(PokeColumn.values())
+        .filter(column -> column.columnType != ColumnType.AUTO_INCREMENT && column.columnType != ColumnType.FUTURE_STRING)
+        .toArray(PokeColumn[]::new);
+    private static final String[] TRACKED_NAMES = Arrays.stream(TRACKED_COLUMNS).map(PokeColumn::name).toArray(String[]::new);
+
+    static {
+        // The changed columns of a Pokémon are stored as the bits of a long
+        if (TRACKED_COLUMNS.length > Long.SIZE) {
+            throw new IllegalStateException("The history can track " + Long.SIZE + " columns, but there are " + TRACKED_COLUMNS.length);
+        }
+    }
+
+    private final File file;
+    private final List<IndexEntry> index = new ArrayList<>();
+    private boolean loaded;
+    /** The length of the file up to the end of the last complete record. */
+    private long goodLength;
+    private String[] latestColumns;
+    private Map<Long, Object[]> latest = new HashMap<>();
+    private int deltasSinceKeyframe;
+
+    /**
+     * Creates the history kept in the given file.
+     *
+     * @param file The file.
+     */
+    InventoryHistory(final File file) {
+        this.file = file;
+    }
+
+    /**
+     * Records the snapshot as the newest state. If nothing changed since the last record, nothing is written.
+     *
+     * @param snapshot The snapshot.
+     * @return If something was written.
+     * @throws IOException If the history could not be read or written.
+     */
+    public synchronized boolean record(final InventorySnapshot snapshot) throws IOException {
+        load();
+        final Map<Long, Object[]> state = new HashMap<>();
+        for (int i = 0; i < snapshot.getPokemons().size(); i++) {
+            final Object[] row = snapshot.getRows().get(i);
+            final Object[] values = new Object[TRACKED_COLUMNS.length];
+            for (int c = 0; c < TRACKED_COLUMNS.length; c++) {
+                values[c] = row[TRACKED_COLUMNS[c].ordinal()];
+            }
+            state.put(snapshot.getPokemons().get(i).getId(), values);
+        }
+
+        final boolean keyframe = latestColumns == null || !Arrays.equals(latestColumns, TRACKED_NAMES)
+            || deltasSinceKeyframe >= KEYFRAME_INTERVAL;
+        final Delta delta = keyframe ? null : Delta.between(latest, state);
+        if (delta != null && delta.isEmpty()) {
+            return false;
+        }
+
+        // A record that failed to be written halfway is cut off again, so the new one follows the last good one
+        if (file.length() > goodLength) {
+            truncate(goodLength);
+        }
+        final long offset = goodLength;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+            out.writeByte(keyframe ? KEYFRAME : DELTA);
+            out.writeLong(snapshot.getSavedAtMs());
+            if (keyframe) {
+                writeKeyframe(out, state);
+            } else {
+                delta.write(out);
+            }
+        }
+        index.add(new IndexEntry(snapshot.getSavedAtMs(), offset, keyframe));
+        goodLength = file.length();
+        latest = state;
+        latestColumns = TRACKED_NAMES;
+        deltasSinceKeyframe = keyframe ? 0 : deltasSinceKeyframe + 1;
+        return true;
+    }
+
+    /**
+     * Returns the times of all records.
+     *
+     * @return The times, in milliseconds since the epoch, oldest first.
+     * @throws IOException If the history could not be read.
+     */
+    public synchronized List<Long> getTimestamps() throws IOException {
+        load();
+        final List<Long> timestamps = new ArrayList<>(index.size());
+        index.forEach(entry -> timestamps.add(entry.timestamp));
+        return timestamps;
+    }
+
+    /**
+     * Reconstructs the bag as it was at the given time, which is the newest record not after that time.
+     *
+     * @param timestamp The time, in milliseconds since the epoch.
+     * @return The table rows by Pokémon id, with one value for every PokeColumn in the order of the enum.
+     *     Columns that are not part of the history are null. Empty, if there is no record that early.
+     * @throws IOException If the history could not be read.
+     */
+    public synchronized Map<Long, Object[]> reconstruct(final long timestamp) throws IOException {
+        load();
+        IndexEntry start = null;
+        for (final IndexEntry entry : index) {
+            if (entry.timestamp > timestamp) {
+                break;
+            }
+            if (entry.keyframe) {
+                start = entry;
+            }
+        }
+        final Map<Long, Object[]> rows = new HashMap<>();
+        if (start == null) {
+            return rows;
+        }
+
+        final Replay replay = new Replay();
+        try (CountingInputStream counter = open(start.offset)) {
+            final DataInputStream in = new DataInputStream(counter);
+            while (counter.position < file.length()) {
+                final long recordTime = replay.next(in, null);
+                if (recordTime > timestamp) {
+                    break;
+                }
+                replay.commit();
+            }
+        }
+
+        final int[] ordinals = toOrdinals(replay.columns);
+        replay.state.forEach((id, values) -> {
+            final Object[] row = new Object[PokeColumn.getCount()];
+            for (int c = 0; c < values.length; c++) {
+                if (ordinals[c] >= 0) {
+                    row[ordinals[c]] = values[c];
+                }
+            }
+            rows.put(id, row);
+        });
+        return rows;
+    }
+
+    /**
+     * Calculates how every species developed over the whole history, in a single pass over the records.
+     * <p>
+     * A species gets a new point for every record that changed one of its Pokémon. The aggregates are updated by
+     * the differences only, not recalculated over the whole bag.
+     *
+     * @return The points of every species, by Pokédex number, oldest first.
+     * @throws IOException If the history could not be read.
+     */
+    public synchronized Map<Integer, List<TrendPoint>> speciesTrends() throws IOException {
+        load();
+        final Map<Integer, List<TrendPoint>> trends = new TreeMap<>();
+        if (index.isEmpty()) {
+            return trends;
+        }
+        final Map<Integer, double[]> aggregates = new HashMap<>();
+        final Replay replay = new Replay();
+        try (CountingInputStream counter = open(0)) {
+            final DataInputStream in = new DataInputStream(counter);
+            while (counter.position < file.length()) {
+                final SpeciesAggregator aggregator = new SpeciesAggregator(aggregates, replay);
+                final long recordTime = replay.next(in, aggregator);
+                replay.commit();
+                for (final Integer species : aggregator.touched) {
+                    final double[] sums = aggregates.get(species);
+                    trends.computeIfAbsent(species, s -> new ArrayList<>()).add(new TrendPoint(recordTime, sums));
+                }
+            }
+        }
+        return trends;
+    }
+
+    /**
+     * Reads the whole file once, to build the index and the newest state. A record that was cut off by a crash
+     * while writing is removed from the file.
+     */
+    private void load() throws IOException {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!file.isFile()) {
+            return;
+        }
+        final Replay replay = new Replay();
+        try (CountingInputStream counter = open(0)) {
+            final DataInputStream in = new DataInputStream(counter);
+            while (counter.position < file.length()) {
+                final long offset = counter.position;
+                try {
+                    final long timestamp = replay.next(in, null);
+                    index.add(new IndexEntry(timestamp, offset, replay.pendingKeyframe));
+                    deltasSinceKeyframe = replay.pendingKeyframe ? 0 : deltasSinceKeyframe + 1;
+                    replay.commit();
+                    goodLength = counter.position;
+                } catch (final EOFException e) {
+                    break;
+                }
+            }
+        }
+        if (goodLength < file.length()) {
+            System.out.println("Removing an incomplete record from " + file.getName());
+            truncate(goodLength);
+        }
+        latest = replay.state;
+        latestColumns = replay.columns;
+    }
+
+    private void truncate(final long length) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(length);
+        }
+    }
+
+    private CountingInputStream open(final long offset) throws IOException {
+        final FileInputStream in = new FileInputStream(file);
+        in.getChannel().position(offset);
+        final CountingInputStream counter = new CountingInputStream(new BufferedInputStream(in));
+        counter.position = offset;
+        return counter;
+    }
+
+    private static void writeKeyframe(final DataOutputStream out, final Map<Long, Object[]> state) throws IOException {
+        out.writeInt(TRACKED_NAMES.length);
+        for (final String name : TRACKED_NAMES) {
+            out.writeUTF(name);
+        }
+        out.writeInt(state.size());
+        for (final Map.Entry<Long, Object[]> entry : state.entrySet()) {
+            out.writeLong(entry.getKey());
+            for (final Object value : entry.getValue()) {
+                InventorySnapshotStore.writeValue(out, value);
+            }
+        }
+    }
+
+    private static int[] toOrdinals(final String[] columns) {
+        final int[] ordinals = new int[columns == null ? 0 : columns.length];
+        for (int c = 0; c < ordinals.length; c++) {
+            ordinals[c] = -1;
+            for (final PokeColumn column : PokeColumn.values()) {
+                if (column.name().equals(columns[c])) {
+                    ordinals[c] = column.ordinal();
+                }
+            }
+        }
+        return ordinals;
+    }
+
+    /**
+     * One point of the trend of a species.
+     */
+    public static final class TrendPoint {
+        public final long timestamp;
+        public final int count;
+        public final double averageCp;
+        public final double averageIvRating;
+
+        TrendPoint(final long timestamp, final double[] sums) {
+            this.timestamp = timestamp;
+            this.count = (int) sums[SpeciesAggregator.COUNT];
+            this.averageCp = count == 0 ? 0 : sums[SpeciesAggregator.CP_SUM] / count;
+            this.averageIvRating = count == 0 ? 0 : sums[SpeciesAggregator.IV_SUM] / count;
+        }
+    }
+
+    /**
+     * Where a record starts in the file.
+     */
+    private static final class IndexEntry {
+        private final long timestamp;
+        private final long offset;
+        private final boolean keyframe;
+
+        IndexEntry(final long timestamp, final long offset, final boolean keyframe) {
+            this.timestamp = timestamp;
+            this.offset = offset;
+            this.keyframe = keyframe;
+        }
+    }
+
+    /**
+     * Gets told about every Pokémon whose values are replaced while a record is applied.
+     */
+    private interface ChangeListener {
+        void changed(Object[] before, Object[] after);
+
+        void reset();
+    }
+
+    /**
+     * Applies records one after the other to a state.
+     * <p>
+     * A record is read into the pending state first, and only becomes the state with commit(). That way reading
+     * can stop at a record that is too new, or cut off, without touching the state.
+     */
+    private static final class Replay {
+        private String[] columns;
+        private Map<Long, Object[]> state = new HashMap<>();
+        private String[] pendingColumns;
+        private Map<Long, Object[]> pending;
+        private boolean pendingKeyframe;
+
+        long next(final DataInputStream in, final ChangeListener listener) throws IOException {
+            final byte type = in.readByte();
+            final long timestamp = in.readLong();
+            if (type == KEYFRAME) {
+                pendingKeyframe = true;
+                pendingColumns = new String[in.readInt()];
+                for (int c = 0; c < pendingColumns.length; c++) {
+                    pendingColumns[c] = in.readUTF();
+                }
+                pending = new HashMap<>();
+                final int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    final long id = in.readLong();
+                    final Object[] values = new Object[pendingColumns.length];
+                    for (int c = 0; c < values.length; c++) {
+                        values[c] = InventorySnapshotStore.readValue(in);
+                    }
+                    pending.put(id, values);
+                }
+                if (listener != null) {
+                    listener.reset();
+                    pending.values().forEach(values -> listener.changed(null, values));
+                }
+            } else if (type == DELTA) {
+                pendingKeyframe = false;
+                pendingColumns = columns;
+                pending = new HashMap<>(state);
+                final int changed = in.readInt();
+                for (int i = 0; i < changed; i++) {
+                    final long id = in.readLong();
+                    final long mask = in.readLong();
+                    final Object[] before = pending.get(id);
+                    final Object[] values = before != null ? before.clone() : new Object[columns.length];
+                    for (int c = 0; c < values.length; c++) {
+                        if ((mask & (1L << c)) != 0) {
+                            values[c] = InventorySnapshotStore.readValue(in);
+                        }
+                    }
+                    pending.put(id, values);
+                    if (listener != null) {
+                        listener.changed(before, values);
+                    }
+                }
+                final int removed = in.readInt();
+                for (int i = 0; i < removed; i++) {
+                    final Object[] before = pending.remove(in.readLong());
+                    if (listener != null && before != null) {
+                        listener.changed(before, null);
+                    }
+                }
+            } else {
+                throw new IOException("Unknown record type " + type);
+            }
+            return timestamp;
+        }
+
+        void commit() {
+            columns = pendingColumns;
+            state = pending;
+        }
+    }
+
+    /**
+     * The difference between two states.
+     */
+    private static final class Delta {
+        private final List<Long> changedIds = new ArrayList<>();
+        private final List<Long> masks = new ArrayList<>();
+        private final List<Object[]> values = new ArrayList<>();
+        private final List<Long> removedIds = new ArrayList<>();
+
+        static Delta between(final Map<Long, Object[]> before, final Map<Long, Object[]> after) {
+            final Delta delta = new Delta();
+            for (final Map.Entry<Long, Object[]> entry : after.entrySet()) {
+                final Object[] old = before.get(entry.getKey());
+                final Object[] now = entry.getValue();
+                long mask = 0;
+                for (int c = 0; c < now.length; c++) {
+                    if (old == null || !Objects.equals(old[c], now[c])) {
+                        mask |= 1L << c;
+                    }
+                }
+                if (mask != 0) {
+                    delta.changedIds.add(entry.getKey());
+                    delta.masks.add(mask);
+                    delta.values.add(now);
+                }
+            }
+            for (final Long id : before.keySet()) {
+                if (!after.containsKey(id)) {
+                    delta.removedIds.add(id);
+                }
+            }
+            return delta;
+        }
+
+        boolean isEmpty() {
+            return changedIds.isEmpty() && removedIds.isEmpty();
+        }
+
+        void write(final DataOutputStream out) throws IOException {
+            out.writeInt(changedIds.size());
+            for (int i = 0; i < changedIds.size(); i++) {
+                final long mask = masks.get(i);
+                out.writeLong(changedIds.get(i));
+                out.writeLong(mask);
+                final Object[] row = values.get(i);
+                for (int c = 0; c < row.length; c++) {
+                    if ((mask & (1L << c)) != 0) {
+                        InventorySnapshotStore.writeValue(out, row[c]);
+                    }
+                }
+            }
+            out.writeInt(removedIds.size());
+            for (final Long id : removedIds) {
+                out.writeLong(id);
+            }
+        }
+    }
+
+    /**
+     * Keeps count, CP sum and IV sum per species up to date while records are applied.
+     */
+    private static final class SpeciesAggregator implements ChangeListener {
+        static final int COUNT = 0;
+        static final int CP_SUM = 1;
+        static final int IV_SUM = 2;
+
+        private final Map<Integer, double[]> aggregates;
+        private final Replay replay;
+        private final List<Integer> touched = new ArrayList<>();
+        private int speciesIndex;
+        private int cpIndex;
+        private int ivIndex;
+
+        SpeciesAggregator(final Map<Integer, double[]> aggregates, final Replay replay) {
+            this.aggregates = aggregates;
+            this.replay = replay;
+            findColumns(replay.columns);
+        }
+
+        @Override
+        public void reset() {
+            // A keyframe replaces everything, and every species known so far gets a point
+            touched.addAll(aggregates.keySet());
+            aggregates.values().forEach(sums -> Arrays.fill(sums, 0));
+            findColumns(replay.pendingColumns);
+        }
+
+        @Override
+        public void changed(final Object[] before, final Object[] after) {
+            add(before, -1);
+            add(after, 1);
+        }
+
+        private void add(final Object[] values, final int sign) {
+            if (values == null || speciesIndex < 0) {
+                return;
+            }
+            final Integer species = ((Number) values[speciesIndex]).intValue();
+            final double[] sums = aggregates.computeIfAbsent(species, s -> new double[3]);
+            sums[COUNT] += sign;
+            sums[CP_SUM] += sign * number(values, cpIndex);
+            sums[IV_SUM] += sign * number(values, ivIndex);
+            if (!touched.contains(species)) {
+                touched.add(species);
+            }
+        }
+
+        private void findColumns(final String[] columns) {
+            final List<String> names = columns != null ? Arrays.asList(columns) : Collections.emptyList();
+            speciesIndex = names.indexOf(PokeColumn.POKEDEX_ID.name());
+            cpIndex = names.indexOf(PokeColumn.CP.name());
+            ivIndex = names.indexOf(PokeColumn.IV_RATING.name());
+        }
+
+        private static double number(final Object[] values, final int index) {
+            return index >= 0 && values[index] instanceof Number ? ((Number) values[index]).doubleValue() : 0;
+        }
+    }
+
+    /**
+     * Keeps track of how many bytes have been read, to know where the records start.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private long position;
+
+        CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                position++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int n = super.read(b, off, len);
+            if (n > 0) {
+                position += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = super.skip(n);
+            position += skipped;
+            return skipped;
+        }
+    }
+}
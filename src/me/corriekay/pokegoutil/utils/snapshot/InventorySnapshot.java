@@ -0,0 +1,90 @@
+package me.corriekay.pokegoutil.utils.snapshot;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import POGOProtos.Data.PokemonDataOuterClass.PokemonData;
+
+/**
+ * The Pokémon bag of one account at one point in time, as it was shown in the table.
+ * <p>
+ * Next to the Pokémon data itself, it holds the value of every table column for every Pokémon, so the table can
+ * be shown from it without calculating anything and without a connection to the server.
+ */
+public final class InventorySnapshot {
+
+    private final String account;
+    private final long savedAtMs;
+    private final List<PokemonData> pokemons;
+    private final List<Object[]> rows;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param account   The trainer name of the account.
+     * @param savedAtMs The time the snapshot was taken, in milliseconds since the epoch.
+     * @param pokemons  The Pokémon data.
+     * @param rows      The table rows, one for every Pokémon, with one value for every PokeColumn in the order of the enum.
+     */
+    public InventorySnapshot(final String account, final long savedAtMs, final List<PokemonData> pokemons, final List<Object[]> rows) {
+        if (pokemons.size() != rows.size()) {
+            throw new IllegalArgumentException("Got " + pokemons.size() + " Pokémon, but " + rows.size() + " rows");
+        }
+        this.account = account;
+        this.savedAtMs = savedAtMs;
+        this.pokemons = Collections.unmodifiableList(pokemons);
+        this.rows = Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * Builds the data of a Pokémon back from what the api exposes of it. All fields the tool shows or uses are kept.
+     * <p>
+     * Height, weight, origin, owner name, battle counts, the fort it came from and the egg fields are not rebuilt and
+     * read as their defaults from a snapshot. No column is shown from them, the columns of a snapshot come from its
+     * rows, so only code that reads them from the Pokémon itself would see the difference.
+     *
+     * @param p The Pokémon.
+     * @return The Pokémon data.
+     */
+    public static PokemonData toProto(final Pokemon p) {
+        return PokemonData.newBuilder()
+            .setId(p.getId())
+            .setPokemonId(p.getPokemonId())
+            .setCp(p.getCp())
+            .setStamina(p.getStamina())
+            .setStaminaMax(p.getMaxStamina())
+            .setMove1(p.getMove1())
+            .setMove2(p.getMove2())
+            .setDeployedFortId(p.getDeployedFortId() != null ? p.getDeployedFortId() : "")
+            .setIndividualAttack(p.getIndividualAttack())
+            .setIndividualDefense(p.getIndividualDefense())
+            .setIndividualStamina(p.getIndividualStamina())
+            .setCpMultiplier(p.getCpMultiplier())
+            .setAdditionalCpMultiplier(p.getAdditionalCpMultiplier())
+            .setNumUpgrades(p.getNumUpgrades())
+            .setPokeball(p.getPokeball())
+            .setCapturedCellId(p.getCapturedS2CellId())
+            .setCreationTimeMs(p.getCreationTimeMs())
+            .setNickname(p.getNickname() != null ? p.getNickname() : "")
+            .setFavorite(p.isFavorite() ? 1 : 0)
+            .build();
+    }
+
+    public String getAccount() {
+        return account;
+    }
+
+    public long getSavedAtMs() {
+        return savedAtMs;
+    }
+
+    public List<PokemonData> getPokemons() {
+        return pokemons;
+    }
+
+    public List<Object[]> getRows() {
+        return rows;
+    }
+}
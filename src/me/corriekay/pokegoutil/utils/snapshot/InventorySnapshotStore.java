@@ -0,0 +1,313 @@
+package me.corriekay.pokegoutil.utils.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import me.corriekay.pokegoutil.data.enums.PokeColumn;
+
+import POGOProtos.Data.PokemonDataOuterClass.PokemonData;
+
+/**
+ * Saves and loads the inventory snapshots, one file per account.
+ * <p>
+ * The files are gzipped binary: a header with the account, the time and the column names, then for every Pokémon
+ * its serialized data followed by the values of its table row. A snapshot written for other columns than the
+ * current ones is ignored, as its rows would not fit the table. Files are written to a temporary file first and
+ * then moved in place, so a crash while writing never leaves a broken snapshot behind.
+ */
+public final class InventorySnapshotStore {
+
+    private static final File DEFAULT_DIRECTORY = new File(System.getProperty("user.dir"), "snapshots");
+    private static final InventorySnapshotStore INSTANCE = new InventorySnapshotStore(DEFAULT_DIRECTORY);
+
+    private static final int MAGIC = 0x42504d53;
+    private static final int FORMAT_VERSION = 1;
+    private static final String FILE_EXTENSION = ".snapshot";
+    private static final String TEMP_EXTENSION = ".tmp";
+    private static final String HISTORY_EXTENSION = ".history";
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_INT = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_DOUBLE = 3;
+    private static final byte TAG_STRING = 4;
+    private static final byte TAG_FUTURE_STRING = 5;
+    private static final byte TAG_FLOAT = 6;
+
+    private final File directory;
+    private final Map<File, InventoryHistory> histories = new ConcurrentHashMap<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a store that keeps its files in the given directory.
+     *
+     * @param directory The directory.
+     */
+    InventorySnapshotStore(final File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Gets the store in the working directory.
+     *
+     * @return The store.
+     */
+    public static InventorySnapshotStore getStore() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the file of the snapshot of the given account.
+     *
+     * @param account The trainer name.
+     * @return The file, which may not exist.
+     */
+    public File getFile(final String account) {
+        return new File(directory, toFileName(account) + FILE_EXTENSION);
+    }
+
+    /**
+     * Returns the history of the given account.
+     *
+     * @param account The trainer name.
+     * @return The history, which is empty if nothing was recorded yet.
+     */
+    public InventoryHistory getHistory(final String account) {
+        final File file = new File(directory, toFileName(account) + HISTORY_EXTENSION);
+        return histories.computeIfAbsent(file, InventoryHistory::new);
+    }
+
+    /**
+     * Writes the snapshot and records it in the history of the account, in the background.
+     * Snapshots are written in the order they are given.
+     *
+     * @param snapshot The snapshot.
+     * @return A future that completes when the snapshot is written. Errors are printed, not thrown.
+     */
+    public CompletableFuture<Void> saveAsync(final InventorySnapshot snapshot) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                save(snapshot);
+                getHistory(snapshot.getAccount()).record(snapshot);
+            } catch (final IOException e) {
+                System.out.println("Could not save the snapshot of " + snapshot.getAccount() + ": " + e.toString());
+            }
+        }, writer);
+    }
+
+    /**
+     * Writes the snapshot.
+     *
+     * @param snapshot The snapshot.
+     * @throws IOException If the file could not be written.
+     */
+    public void save(final InventorySnapshot snapshot) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create directory " + directory);
+        }
+        final File file = getFile(snapshot.getAccount());
+        final File temp = new File(file.getPath() + TEMP_EXTENSION);
+        final PokeColumn[] columns = PokeColumn.values();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(temp))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(snapshot.getAccount());
+            out.writeLong(snapshot.getSavedAtMs());
+            out.writeInt(columns.length);
+            for (final PokeColumn column : columns) {
+                out.writeUTF(column.name());
+            }
+
+            final List<PokemonData> pokemons = snapshot.getPokemons();
+            final List<Object[]> rows = snapshot.getRows();
+            out.writeInt(pokemons.size());
+            for (int i = 0; i < pokemons.size(); i++) {
+                final byte[] data = pokemons.get(i).toByteArray();
+                out.writeInt(data.length);
+                out.write(data);
+                for (final Object value : rows.get(i)) {
+                    writeValue(out, value);
+                }
+            }
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the snapshot of the given account.
+     *
+     * @param account The trainer name.
+     * @return The snapshot, or null if there is none or it can't be used.
+     */
+    public InventorySnapshot load(final String account) {
+        final List<PokemonData> pokemons = new ArrayList<>();
+        final List<Object[]> rows = new ArrayList<>();
+        final String[] savedAccount = new String[1];
+        try {
+            final long savedAtMs = forEachRow(account, (rowAccount, pokemon, row) -> {
+                savedAccount[0] = rowAccount;
+                pokemons.add(pokemon);
+                rows.add(row);
+            });
+            if (savedAtMs < 0) {
+                return null;
+            }
+            return new InventorySnapshot(savedAccount[0] != null ? savedAccount[0] : account, savedAtMs, pokemons, rows);
+        } catch (final IOException e) {
+            System.out.println("Could not load snapshot " + getFile(account).getName() + ": " + e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Reads the snapshot of the given account row by row, without keeping the rows in memory.
+     *
+     * @param account  The trainer name.
+     * @param consumer Gets every Pokémon with its row.
+     * @return The time the snapshot was taken, or -1 if there is none or it can't be used.
+     * @throws IOException If the file could not be read, or the consumer failed.
+     */
+    public long forEachRow(final String account, final RowConsumer consumer) throws IOException {
+        final File file = getFile(account);
+        if (!file.isFile()) {
+            return -1;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                System.out.println("Ignoring snapshot " + file.getName() + ", it has an unknown format.");
+                return -1;
+            }
+            final String savedAccount = in.readUTF();
+            final long savedAtMs = in.readLong();
+            final PokeColumn[] columns = PokeColumn.values();
+            final int columnCount = in.readInt();
+            boolean columnsMatch = columnCount == columns.length;
+            for (int i = 0; i < columnCount; i++) {
+                final String name = in.readUTF();
+                columnsMatch = columnsMatch && columns[i].name().equals(name);
+            }
+            if (!columnsMatch) {
+                System.out.println("Ignoring snapshot " + file.getName() + ", it was saved with other table columns.");
+                return -1;
+            }
+
+            final int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                final byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                final PokemonData pokemon = PokemonData.parseFrom(data);
+                final Object[] row = new Object[columnCount];
+                for (int c = 0; c < columnCount; c++) {
+                    row[c] = readValue(in);
+                }
+                consumer.accept(savedAccount, pokemon, row);
+            }
+            return savedAtMs;
+        }
+    }
+
+    /**
+     * Returns the accounts that have a snapshot.
+     *
+     * @return The account names, as used in the file names.
+     */
+    public List<String> getAccounts() {
+        final List<String> accounts = new ArrayList<>();
+        final File[] files = directory.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+        if (files != null) {
+            for (final File file : files) {
+                accounts.add(file.getName().substring(0, file.getName().length() - FILE_EXTENSION.length()));
+            }
+        }
+        return accounts;
+    }
+
+    /**
+     * Gets the rows of a snapshot while it is read.
+     */
+    @FunctionalInterface
+    public interface RowConsumer {
+        /**
+         * Takes one row.
+         *
+         * @param account The trainer name saved in the snapshot.
+         * @param pokemon The Pokémon data.
+         * @param row     The values of the row, one for every PokeColumn in the order of the enum.
+         * @throws IOException If the row could not be processed.
+         */
+        void accept(String account, PokemonData pokemon, Object[] row) throws IOException;
+    }
+
+    private static String toFileName(final String account) {
+        return account.replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+
+    static void writeValue(final DataOutputStream out, final Object value) throws IOException {
+        if (value instanceof Integer) {
+            out.writeByte(TAG_INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(TAG_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(TAG_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof String) {
+            out.writeByte(TAG_STRING);
+            out.writeUTF((String) value);
+        } else if (value instanceof CompletableFuture) {
+            // Values that are still being looked up are saved empty, they are looked up again with the next refresh
+            final Object resolved = ((CompletableFuture<?>) value).getNow(null);
+            out.writeByte(TAG_FUTURE_STRING);
+            out.writeUTF(resolved != null ? resolved.toString() : "");
+        } else {
+            out.writeByte(TAG_NULL);
+        }
+    }
+
+    static Object readValue(final DataInputStream in) throws IOException {
+        final byte tag = in.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_INT:
+                return in.readInt();
+            case TAG_LONG:
+                return in.readLong();
+            case TAG_DOUBLE:
+                return in.readDouble();
+            case TAG_FLOAT:
+                return in.readFloat();
+            case TAG_STRING:
+                return in.readUTF();
+            case TAG_FUTURE_STRING:
+                return CompletableFuture.completedFuture(in.readUTF());
+            default:
+                throw new IOException("Unknown value tag " + tag);
+        }
+    }
+}
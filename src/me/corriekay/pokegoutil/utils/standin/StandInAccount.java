@@ -0,0 +1,383 @@
+package me.corriekay.pokegoutil.utils.standin;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.pokegoapi.api.pokemon.PokemonMeta;
+import com.pokegoapi.api.pokemon.PokemonMetaRegistry;
+
+import me.corriekay.pokegoutil.utils.pokemon.PokemonCpUtils;
+
+import POGOProtos.Data.Player.CurrencyOuterClass.Currency;
+import POGOProtos.Data.Player.PlayerStatsOuterClass.PlayerStats;
+import POGOProtos.Data.PlayerDataOuterClass.PlayerData;
+import POGOProtos.Data.PokemonDataOuterClass.PokemonData;
+import POGOProtos.Enums.PokemonFamilyIdOuterClass.PokemonFamilyId;
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+import POGOProtos.Enums.PokemonMoveOuterClass.PokemonMove;
+import POGOProtos.Enums.TutorialStateOuterClass.TutorialState;
+import POGOProtos.Inventory.CandyOuterClass.Candy;
+import POGOProtos.Inventory.InventoryDeltaOuterClass.InventoryDelta;
+import POGOProtos.Inventory.InventoryItemDataOuterClass.InventoryItemData;
+import POGOProtos.Inventory.InventoryItemOuterClass.InventoryItem;
+import POGOProtos.Inventory.Item.ItemIdOuterClass.ItemId;
+import POGOProtos.Networking.Responses.EvolvePokemonResponseOuterClass.EvolvePokemonResponse;
+import POGOProtos.Networking.Responses.NicknamePokemonResponseOuterClass.NicknamePokemonResponse;
+import POGOProtos.Networking.Responses.ReleasePokemonResponseOuterClass.ReleasePokemonResponse;
+import POGOProtos.Networking.Responses.SetFavoritePokemonResponseOuterClass.SetFavoritePokemonResponse;
+import POGOProtos.Networking.Responses.UpgradePokemonResponseOuterClass.UpgradePokemonResponse;
+
+/**
+ * The server side state of one account on the stand-in server: the bag, candies, stardust and trainer stats.
+ * All methods are synchronized, so one account can be used by several clients at once.
+ */
+final class StandInAccount {
+
+    private static final int TRAINER_LEVEL = 30;
+    private static final long TRAINER_EXPERIENCE = 2000000;
+    private static final int STARDUST = 500000;
+    private static final int POKECOINS = 0;
+    private static final int MAX_POKEMON_STORAGE = 100000;
+    private static final int MAX_CANDIES = 400;
+    private static final int MAX_IV = 15;
+    private static final int MAX_WILD_HALF_LEVEL = 60;
+    private static final float LEVEL_STEP = 0.5f;
+    private static final float MAX_LEVEL = 40f;
+    private static final int EVOLVE_EXPERIENCE = 500;
+    private static final long CAPTURE_TIME_SPREAD_MS = TimeUnit.DAYS.toMillis(365);
+    private static final double CP_DIVISOR = 10.0;
+
+    private static final List<PokemonId> SPECIES = new ArrayList<>();
+    private static final Map<PokemonId, List<PokemonId>> EVOLUTIONS = new EnumMap<>(PokemonId.class);
+
+    static {
+        for (final PokemonId pokemonId : PokemonId.values()) {
+            if (pokemonId == PokemonId.UNRECOGNIZED || pokemonId == PokemonId.MISSINGNO) {
+                continue;
+            }
+            final PokemonMeta meta = PokemonMetaRegistry.getMeta(pokemonId);
+            if (meta == null) {
+                continue;
+            }
+            SPECIES.add(pokemonId);
+            final PokemonId parent = meta.getParentId();
+            if (parent != null && parent != PokemonId.MISSINGNO) {
+                EVOLUTIONS.computeIfAbsent(parent, id -> new ArrayList<>()).add(pokemonId);
+            }
+        }
+    }
+
+    private final String username;
+    private final Random random;
+    private final Map<Long, PokemonData> bag = new LinkedHashMap<>();
+    private final Map<Long, Long> modifiedTimes = new HashMap<>();
+    private final Map<Long, Long> deletedTimes = new HashMap<>();
+    private final Map<PokemonFamilyId, Integer> candies = new EnumMap<>(PokemonFamilyId.class);
+    private final long creationTime = System.currentTimeMillis();
+    private long nextPokemonId;
+    private int stardust = STARDUST;
+    private long experience = TRAINER_EXPERIENCE;
+
+    /**
+     * Creates a new account with a randomly generated bag.
+     *
+     * @param username The name of the trainer.
+     * @param bagSize  The number of Pokémon to generate.
+     * @param seed     The seed for the generation.
+     */
+    StandInAccount(final String username, final int bagSize, final long seed) {
+        this.username = username;
+        this.random = new Random(seed ^ username.hashCode());
+        this.nextPokemonId = random.nextLong() & Long.MAX_VALUE;
+
+        for (int i = 0; i < bagSize; i++) {
+            final PokemonData pokemon = generatePokemon(SPECIES.get(random.nextInt(SPECIES.size())));
+            bag.put(pokemon.getId(), pokemon);
+            modifiedTimes.put(pokemon.getId(), creationTime);
+        }
+        for (final PokemonFamilyId family : PokemonFamilyId.values()) {
+            if (family != PokemonFamilyId.UNRECOGNIZED) {
+                candies.put(family, random.nextInt(MAX_CANDIES));
+            }
+        }
+    }
+
+    String getUsername() {
+        return username;
+    }
+
+    /**
+     * Builds the player data, as returned by GET_PLAYER.
+     *
+     * @return The player data.
+     */
+    synchronized PlayerData getPlayerData() {
+        final PlayerData.Builder builder = PlayerData.newBuilder()
+            .setUsername(username)
+            .setCreationTimestampMs(creationTime)
+            .setMaxPokemonStorage(MAX_POKEMON_STORAGE)
+            .addCurrencies(Currency.newBuilder().setName("POKECOIN").setAmount(POKECOINS))
+            .addCurrencies(Currency.newBuilder().setName("STARDUST").setAmount(stardust));
+        // Complete all tutorials, otherwise the API tries to do them on login
+        for (final TutorialState state : TutorialState.values()) {
+            if (state != TutorialState.UNRECOGNIZED) {
+                builder.addTutorialState(state);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builds the inventory delta since the given time, as returned by GET_INVENTORY.
+     * Candies and the player stats are always included, Pokémon only if they changed since then. Pokémon that were
+     * released or evolved since then are sent as deleted items.
+     *
+     * @param lastTimestamp The time of the last inventory update of the client, 0 for everything.
+     * @return The inventory delta.
+     */
+    synchronized InventoryDelta getInventory(final long lastTimestamp) {
+        final long now = System.currentTimeMillis();
+        final InventoryDelta.Builder delta = InventoryDelta.newBuilder()
+            .setOriginalTimestampMs(lastTimestamp)
+            .setNewTimestampMs(now);
+
+        delta.addInventoryItems(item(now, InventoryItemData.newBuilder().setPlayerStats(PlayerStats.newBuilder()
+            .setLevel(TRAINER_LEVEL)
+            .setExperience(experience)
+            .setNextLevelXp(experience + 1))));
+        candies.forEach((family, amount) -> delta.addInventoryItems(item(now, InventoryItemData.newBuilder()
+            .setCandy(Candy.newBuilder().setFamilyId(family).setCandy(amount)))));
+        bag.values().forEach(pokemon -> {
+            if (modifiedTimes.get(pokemon.getId()) > lastTimestamp) {
+                delta.addInventoryItems(item(now, InventoryItemData.newBuilder().setPokemonData(pokemon)));
+            }
+        });
+        if (lastTimestamp > 0) {
+            deletedTimes.forEach((id, deleted) -> {
+                if (deleted > lastTimestamp) {
+                    delta.addInventoryItems(InventoryItem.newBuilder()
+                        .setModifiedTimestampMs(now)
+                        .setDeletedItemKey(id));
+                }
+            });
+        }
+        return delta.build();
+    }
+
+    /**
+     * Releases a Pokémon and awards one candy.
+     *
+     * @param pokemonId The id of the Pokémon.
+     * @return The response.
+     */
+    synchronized ReleasePokemonResponse release(final long pokemonId) {
+        final PokemonData pokemon = bag.get(pokemonId);
+        if (pokemon == null) {
+            return ReleasePokemonResponse.newBuilder().setResult(ReleasePokemonResponse.Result.FAILED).build();
+        }
+        if (!pokemon.getDeployedFortId().isEmpty()) {
+            return ReleasePokemonResponse.newBuilder().setResult(ReleasePokemonResponse.Result.POKEMON_DEPLOYED).build();
+        }
+        delete(pokemonId);
+        addCandies(pokemon.getPokemonId(), 1);
+        return ReleasePokemonResponse.newBuilder()
+            .setResult(ReleasePokemonResponse.Result.SUCCESS)
+            .setCandyAwarded(1)
+            .build();
+    }
+
+    /**
+     * Evolves a Pokémon, if there are enough candies. Species with several evolutions, like Eevee, evolve into a random
+     * one of them.
+     *
+     * @param pokemonId The id of the Pokémon.
+     * @return The response.
+     */
+    synchronized EvolvePokemonResponse evolve(final long pokemonId) {
+        final PokemonData pokemon = bag.get(pokemonId);
+        if (pokemon == null) {
+            return EvolvePokemonResponse.newBuilder().setResult(EvolvePokemonResponse.Result.FAILED_POKEMON_MISSING).build();
+        }
+        final List<PokemonId> evolutions = EVOLUTIONS.get(pokemon.getPokemonId());
+        if (evolutions == null) {
+            return EvolvePokemonResponse.newBuilder()
+                .setResult(EvolvePokemonResponse.Result.FAILED_POKEMON_CANNOT_EVOLVE).build();
+        }
+        final int cost = PokemonMetaRegistry.getMeta(pokemon.getPokemonId()).getCandyToEvolve();
+        if (getCandies(pokemon.getPokemonId()) < cost) {
+            return EvolvePokemonResponse.newBuilder()
+                .setResult(EvolvePokemonResponse.Result.FAILED_INSUFFICIENT_RESOURCES).build();
+        }
+
+        addCandies(pokemon.getPokemonId(), 1 - cost);
+        experience += EVOLVE_EXPERIENCE;
+        delete(pokemonId);
+        final PokemonData evolved = withStats(pokemon.toBuilder()
+            .setId(nextPokemonId++)
+            .setPokemonId(evolutions.get(random.nextInt(evolutions.size()))), level(pokemon));
+        bag.put(evolved.getId(), evolved);
+        modifiedTimes.put(evolved.getId(), System.currentTimeMillis());
+
+        return EvolvePokemonResponse.newBuilder()
+            .setResult(EvolvePokemonResponse.Result.SUCCESS)
+            .setEvolvedPokemonData(evolved)
+            .setExperienceAwarded(EVOLVE_EXPERIENCE)
+            .setCandyAwarded(1)
+            .build();
+    }
+
+    /**
+     * Powers up a Pokémon by half a level, if there are enough candies and stardust.
+     *
+     * @param pokemonId The id of the Pokémon.
+     * @return The response.
+     */
+    synchronized UpgradePokemonResponse upgrade(final long pokemonId) {
+        final PokemonData pokemon = bag.get(pokemonId);
+        if (pokemon == null) {
+            return UpgradePokemonResponse.newBuilder()
+                .setResult(UpgradePokemonResponse.Result.ERROR_POKEMON_NOT_FOUND).build();
+        }
+        final float level = level(pokemon);
+        if (level >= Math.min(MAX_LEVEL, TRAINER_LEVEL + 1.5f)) {
+            return UpgradePokemonResponse.newBuilder()
+                .setResult(UpgradePokemonResponse.Result.ERROR_UPGRADE_NOT_AVAILABLE).build();
+        }
+        final float cpMultiplier = pokemon.getCpMultiplier() + pokemon.getAdditionalCpMultiplier();
+        final int dustCost = PokemonCpUtils.getStartdustCostsForPowerup(cpMultiplier, pokemon.getNumUpgrades());
+        final int candyCost = PokemonCpUtils.getCandyCostsForPowerup(cpMultiplier, pokemon.getNumUpgrades());
+        if (stardust < dustCost || getCandies(pokemon.getPokemonId()) < candyCost) {
+            return UpgradePokemonResponse.newBuilder()
+                .setResult(UpgradePokemonResponse.Result.ERROR_INSUFFICIENT_RESOURCES).build();
+        }
+
+        stardust -= dustCost;
+        addCandies(pokemon.getPokemonId(), -candyCost);
+        final PokemonData upgraded = withStats(pokemon.toBuilder()
+            .setNumUpgrades(pokemon.getNumUpgrades() + 1), level + LEVEL_STEP);
+        bag.put(upgraded.getId(), upgraded);
+        modifiedTimes.put(upgraded.getId(), System.currentTimeMillis());
+
+        return UpgradePokemonResponse.newBuilder()
+            .setResult(UpgradePokemonResponse.Result.SUCCESS)
+            .setUpgradedPokemon(upgraded)
+            .build();
+    }
+
+    /**
+     * Gives a Pokémon a new nickname.
+     *
+     * @param pokemonId The id of the Pokémon.
+     * @param nickname  The new nickname.
+     * @return The response.
+     */
+    synchronized NicknamePokemonResponse nickname(final long pokemonId, final String nickname) {
+        final PokemonData pokemon = bag.get(pokemonId);
+        if (pokemon == null) {
+            return NicknamePokemonResponse.newBuilder()
+                .setResult(NicknamePokemonResponse.Result.ERROR_POKEMON_NOT_FOUND).build();
+        }
+        update(pokemon.toBuilder().setNickname(nickname).build());
+        return NicknamePokemonResponse.newBuilder().setResult(NicknamePokemonResponse.Result.SUCCESS).build();
+    }
+
+    /**
+     * Marks a Pokémon as favorite or not.
+     *
+     * @param pokemonId  The id of the Pokémon.
+     * @param isFavorite Whether the Pokémon should be favorite.
+     * @return The response.
+     */
+    synchronized SetFavoritePokemonResponse favorite(final long pokemonId, final boolean isFavorite) {
+        final PokemonData pokemon = bag.get(pokemonId);
+        if (pokemon == null) {
+            return SetFavoritePokemonResponse.newBuilder()
+                .setResult(SetFavoritePokemonResponse.Result.ERROR_POKEMON_NOT_FOUND).build();
+        }
+        update(pokemon.toBuilder().setFavorite(isFavorite ? 1 : 0).build());
+        return SetFavoritePokemonResponse.newBuilder().setResult(SetFavoritePokemonResponse.Result.SUCCESS).build();
+    }
+
+    private void delete(final long pokemonId) {
+        bag.remove(pokemonId);
+        modifiedTimes.remove(pokemonId);
+        deletedTimes.put(pokemonId, System.currentTimeMillis());
+    }
+
+    private void update(final PokemonData pokemon) {
+        bag.put(pokemon.getId(), pokemon);
+        modifiedTimes.put(pokemon.getId(), System.currentTimeMillis());
+    }
+
+    private int getCandies(final PokemonId pokemonId) {
+        return candies.getOrDefault(PokemonMetaRegistry.getMeta(pokemonId).getFamily(), 0);
+    }
+
+    private void addCandies(final PokemonId pokemonId, final int amount) {
+        candies.merge(PokemonMetaRegistry.getMeta(pokemonId).getFamily(), amount, Integer::sum);
+    }
+
+    private PokemonData generatePokemon(final PokemonId pokemonId) {
+        final PokemonMeta meta = PokemonMetaRegistry.getMeta(pokemonId);
+        final PokemonMove[] quickMoves = meta.getQuickMoves();
+        final PokemonMove[] chargeMoves = meta.getCinematicMoves();
+        final float level = (random.nextInt(MAX_WILD_HALF_LEVEL) + 2) * LEVEL_STEP;
+
+        final PokemonData.Builder builder = PokemonData.newBuilder()
+            .setId(nextPokemonId++)
+            .setPokemonId(pokemonId)
+            .setMove1(quickMoves[random.nextInt(quickMoves.length)])
+            .setMove2(chargeMoves[random.nextInt(chargeMoves.length)])
+            .setIndividualAttack(random.nextInt(MAX_IV + 1))
+            .setIndividualDefense(random.nextInt(MAX_IV + 1))
+            .setIndividualStamina(random.nextInt(MAX_IV + 1))
+            .setPokeball(ItemId.ITEM_POKE_BALL)
+            .setOwnerName(username)
+            .setCreationTimeMs(creationTime - (long) (random.nextDouble() * CAPTURE_TIME_SPREAD_MS));
+        return withStats(builder, level);
+    }
+
+    /**
+     * Sets cp multiplier, CP and HP on the builder, according to species, IVs and the level.
+     *
+     * @param builder The builder of the Pokémon.
+     * @param level   The level the Pokémon should have.
+     * @return The built Pokémon.
+     */
+    private static PokemonData withStats(final PokemonData.Builder builder, final float level) {
+        final PokemonMeta meta = PokemonMetaRegistry.getMeta(builder.getPokemonId());
+        final float cpMultiplier = PokemonCpUtils.getCpMultiplierForLevel(level);
+        final int attack = meta.getBaseAttack() + builder.getIndividualAttack();
+        final int defense = meta.getBaseDefense() + builder.getIndividualDefense();
+        final int stamina = meta.getBaseStamina() + builder.getIndividualStamina();
+        final int cp = (int) Math.max(CP_DIVISOR,
+            attack * Math.sqrt(defense) * Math.sqrt(stamina) * cpMultiplier * cpMultiplier / CP_DIVISOR);
+        final int hp = (int) Math.max(1, stamina * cpMultiplier);
+
+        final float baseMultiplier = builder.getCpMultiplier() > 0 ? builder.getCpMultiplier() : cpMultiplier;
+        return builder
+            .setCpMultiplier(baseMultiplier)
+            .setAdditionalCpMultiplier(cpMultiplier - baseMultiplier)
+            .setCp(cp)
+            .setStamina(hp)
+            .setStaminaMax(hp)
+            .build();
+    }
+
+    private static float level(final PokemonData pokemon) {
+        return PokemonCpUtils.getLevelFromCpMultiplier(pokemon.getCpMultiplier() + pokemon.getAdditionalCpMultiplier());
+    }
+
+    private static InventoryItem item(final long timestamp, final InventoryItemData.Builder data) {
+        return InventoryItem.newBuilder()
+            .setModifiedTimestampMs(timestamp)
+            .setInventoryItemData(data)
+            .build();
+    }
+}
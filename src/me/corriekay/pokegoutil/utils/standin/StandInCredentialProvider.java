@@ -0,0 +1,47 @@
+package me.corriekay.pokegoutil.utils.standin;
+
+import com.pokegoapi.auth.CredentialProvider;
+
+import POGOProtos.Networking.Envelopes.RequestEnvelopeOuterClass.RequestEnvelope.AuthInfo;
+
+/**
+ * Credentials for the stand-in server. No password needed, the username alone selects the account.
+ */
+public class StandInCredentialProvider extends CredentialProvider {
+
+    /** The account used when no username is given. */
+    public static final String DEFAULT_USERNAME = "trainer";
+
+    private static final String PROVIDER = "ptc";
+    private static final int TOKEN_UNKNOWN2 = 59;
+
+    private final String username;
+
+    /**
+     * Creates the credentials for an account on the stand-in server.
+     *
+     * @param username The name of the trainer.
+     */
+    public StandInCredentialProvider(final String username) {
+        super();
+        this.username = username;
+    }
+
+    @Override
+    public String getTokenId() {
+        return StandInServer.TOKEN_PREFIX + username;
+    }
+
+    @Override
+    public AuthInfo getAuthInfo() {
+        return AuthInfo.newBuilder()
+            .setProvider(PROVIDER)
+            .setToken(AuthInfo.JWT.newBuilder().setContents(getTokenId()).setUnknown2(TOKEN_UNKNOWN2))
+            .build();
+    }
+
+    @Override
+    public boolean isTokenIdExpired() {
+        return false;
+    }
+}
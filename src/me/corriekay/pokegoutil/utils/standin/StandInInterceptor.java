@@ -0,0 +1,40 @@
+package me.corriekay.pokegoutil.utils.standin;
+
+import java.io.IOException;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Redirects every request of an OkHttpClient to the stand-in server, keeping path and query.
+ * The API uses a fixed endpoint, so this is the only way to point it somewhere else.
+ */
+public class StandInInterceptor implements Interceptor {
+
+    private final HttpUrl target;
+
+    /**
+     * Creates the interceptor.
+     *
+     * @param standInUrl The base url of the stand-in server, e.g. "http://localhost:9898".
+     */
+    public StandInInterceptor(final String standInUrl) {
+        target = HttpUrl.parse(standInUrl);
+        if (target == null) {
+            throw new IllegalArgumentException("Invalid stand-in url: " + standInUrl);
+        }
+    }
+
+    @Override
+    public Response intercept(final Chain chain) throws IOException {
+        final Request request = chain.request();
+        final HttpUrl redirected = request.url().newBuilder()
+            .scheme(target.scheme())
+            .host(target.host())
+            .port(target.port())
+            .build();
+        return chain.proceed(request.newBuilder().url(redirected).build());
+    }
+}
@@ -0,0 +1,245 @@
+package me.corriekay.pokegoutil.utils.standin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.protobuf.ByteString;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import me.corriekay.pokegoutil.utils.Utilities;
+
+import POGOProtos.Networking.Envelopes.AuthTicketOuterClass.AuthTicket;
+import POGOProtos.Networking.Envelopes.RequestEnvelopeOuterClass.RequestEnvelope;
+import POGOProtos.Networking.Envelopes.ResponseEnvelopeOuterClass.ResponseEnvelope;
+import POGOProtos.Networking.Requests.Messages.EvolvePokemonMessageOuterClass.EvolvePokemonMessage;
+import POGOProtos.Networking.Requests.Messages.GetInventoryMessageOuterClass.GetInventoryMessage;
+import POGOProtos.Networking.Requests.Messages.NicknamePokemonMessageOuterClass.NicknamePokemonMessage;
+import POGOProtos.Networking.Requests.Messages.ReleasePokemonMessageOuterClass.ReleasePokemonMessage;
+import POGOProtos.Networking.Requests.Messages.SetFavoritePokemonMessageOuterClass.SetFavoritePokemonMessage;
+import POGOProtos.Networking.Requests.Messages.UpgradePokemonMessageOuterClass.UpgradePokemonMessage;
+import POGOProtos.Networking.Requests.RequestOuterClass.Request;
+import POGOProtos.Networking.Responses.GetInventoryResponseOuterClass.GetInventoryResponse;
+import POGOProtos.Networking.Responses.GetPlayerResponseOuterClass.GetPlayerResponse;
+
+/**
+ * A local stand-in for the game server, speaking the same request and response envelopes as the real one.
+ * <p>
+ * It implements login, player data, inventory, release, evolve, upgrade, nickname and favorite. Every other
+ * request type is answered with an empty message, which the API parses as the default instance.
+ * Each account gets its own bag, generated on first login. Latency and errors can be injected through the
+ * StandInSettings, so batch throughput, refresh latency and multi-account scaling can be measured offline.
+ * <p>
+ * Point the tool at it by setting "develop.standIn.url" in the config, or run it standalone via main().
+ */
+public final class StandInServer {
+
+    public static final String TOKEN_PREFIX = "standin:";
+
+    private static final int STATUS_OK = 1;
+    private static final int STATUS_AUTH_EXPIRED = 102;
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_BAD_REQUEST = 400;
+    private static final int HTTP_UNAVAILABLE = 503;
+    private static final long TICKET_LIFETIME_MS = TimeUnit.HOURS.toMillis(1);
+
+    private final StandInSettings settings;
+    private final Map<String, StandInAccount> accounts = new ConcurrentHashMap<>();
+    private final AtomicLong envelopes = new AtomicLong();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Creates the server. It is not started until start() is called.
+     *
+     * @param settings The settings.
+     */
+    public StandInServer(final StandInSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Runs the stand-in server standalone, until the process is killed.
+     *
+     * @param args Arguments as described in StandInSettings.fromArgs().
+     * @throws IOException If the server can't be started.
+     */
+    public static void main(final String[] args) throws IOException {
+        final StandInServer standIn = new StandInServer(StandInSettings.fromArgs(args));
+        standIn.start();
+        System.out.println("Stand-in server listening on " + standIn.getUrl());
+    }
+
+    /**
+     * Starts listening.
+     *
+     * @throws IOException If the port can't be bound.
+     */
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", settings.getPort()), 0);
+        server.createContext("/", this::handle);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Stops the server and releases its threads.
+     */
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    /**
+     * Returns the base url the server listens on.
+     *
+     * @return The url, e.g. "http://localhost:9898".
+     */
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public long getEnvelopeCount() {
+        return envelopes.get();
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getInjectedErrorCount() {
+        return injectedErrors.get();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        // The whole response is built before any header is sent, so a failure can still be answered with an error
+        int code;
+        byte[] body;
+        try {
+            final RequestEnvelope envelope;
+            try (InputStream in = exchange.getRequestBody()) {
+                envelope = RequestEnvelope.parseFrom(in);
+            }
+            envelopes.incrementAndGet();
+            if (settings.getMaxLatencyMs() > 0) {
+                Utilities.sleep(Utilities.getRandom(settings.getMinLatencyMs(), settings.getMaxLatencyMs()));
+            }
+
+            if (ThreadLocalRandom.current().nextDouble() < settings.getErrorRate()) {
+                injectedErrors.incrementAndGet();
+                code = HTTP_UNAVAILABLE;
+                body = new byte[0];
+            } else {
+                code = HTTP_OK;
+                body = process(envelope).toByteArray();
+            }
+        } catch (final IOException | RuntimeException e) {
+            System.out.println("Stand-in server could not handle request: " + Utilities.getRealExceptionMessage(e));
+            code = HTTP_BAD_REQUEST;
+            body = e.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            respond(exchange, code, body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private ResponseEnvelope process(final RequestEnvelope envelope) throws IOException {
+        final ResponseEnvelope.Builder response = ResponseEnvelope.newBuilder()
+            .setRequestId(envelope.getRequestId());
+
+        final String username = getUsername(envelope);
+        if (username == null) {
+            return response.setStatusCode(STATUS_AUTH_EXPIRED).build();
+        }
+        final StandInAccount account = accounts.computeIfAbsent(username,
+            name -> new StandInAccount(name, settings.getBagSize(), settings.getSeed()));
+
+        response.setStatusCode(STATUS_OK);
+        if (envelope.hasAuthInfo()) {
+            response.setAuthTicket(AuthTicket.newBuilder()
+                .setStart(ByteString.copyFromUtf8(username))
+                .setEnd(ByteString.copyFromUtf8(Long.toHexString(ThreadLocalRandom.current().nextLong())))
+                .setExpireTimestampMs(System.currentTimeMillis() + TICKET_LIFETIME_MS));
+        }
+        for (final Request request : envelope.getRequestsList()) {
+            requests.incrementAndGet();
+            response.addReturns(handleRequest(account, request));
+        }
+        return response.build();
+    }
+
+    private static ByteString handleRequest(final StandInAccount account, final Request request) throws IOException {
+        final ByteString message = request.getRequestMessage();
+        switch (request.getRequestType()) {
+            case GET_PLAYER:
+                return GetPlayerResponse.newBuilder()
+                    .setSuccess(true)
+                    .setPlayerData(account.getPlayerData())
+                    .build().toByteString();
+            case GET_INVENTORY:
+                return GetInventoryResponse.newBuilder()
+                    .setSuccess(true)
+                    .setInventoryDelta(account.getInventory(GetInventoryMessage.parseFrom(message).getLastTimestampMs()))
+                    .build().toByteString();
+            case RELEASE_POKEMON:
+                return account.release(ReleasePokemonMessage.parseFrom(message).getPokemonId()).toByteString();
+            case EVOLVE_POKEMON:
+                return account.evolve(EvolvePokemonMessage.parseFrom(message).getPokemonId()).toByteString();
+            case UPGRADE_POKEMON:
+                return account.upgrade(UpgradePokemonMessage.parseFrom(message).getPokemonId()).toByteString();
+            case NICKNAME_POKEMON:
+                final NicknamePokemonMessage nickname = NicknamePokemonMessage.parseFrom(message);
+                return account.nickname(nickname.getPokemonId(), nickname.getNickname()).toByteString();
+            case SET_FAVORITE_POKEMON:
+                final SetFavoritePokemonMessage favorite = SetFavoritePokemonMessage.parseFrom(message);
+                return account.favorite(favorite.getPokemonId(), favorite.getIsFavorite()).toByteString();
+            default:
+                // Everything else (settings, badges, hatched eggs, ...) gets the default response
+                return ByteString.EMPTY;
+        }
+    }
+
+    /**
+     * Finds out which account the envelope belongs to, either by the initial auth info or the auth ticket.
+     *
+     * @param envelope The request envelope.
+     * @return The username, or null if the envelope is not authenticated.
+     */
+    private static String getUsername(final RequestEnvelope envelope) {
+        if (envelope.hasAuthTicket()) {
+            return envelope.getAuthTicket().getStart().toStringUtf8();
+        }
+        if (envelope.hasAuthInfo()) {
+            final String token = envelope.getAuthInfo().getToken().getContents();
+            if (token.startsWith(TOKEN_PREFIX)) {
+                return token.substring(TOKEN_PREFIX.length());
+            }
+        }
+        return null;
+    }
+
+    private static void respond(final HttpExchange exchange, final int code, final byte[] body) throws IOException {
+        exchange.sendResponseHeaders(code, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package me.corriekay.pokegoutil.utils.standin;
+
+/**
+ * Settings of the stand-in server: where it listens, how slow and unreliable it is and how big the bags are.
+ */
+public final class StandInSettings {
+
+    public static final int DEFAULT_PORT = 9898;
+    public static final int DEFAULT_BAG_SIZE = 250;
+
+    private int port = DEFAULT_PORT;
+    private int minLatencyMs;
+    private int maxLatencyMs;
+    private double errorRate;
+    private int bagSize = DEFAULT_BAG_SIZE;
+    private long seed = System.nanoTime();
+
+    /**
+     * Parses the settings from command line arguments.
+     * <p>
+     * Supported are {@code --port 9898}, {@code --latency 50} or {@code --latency 50-200} (in milliseconds),
+     * {@code --error-rate 0.01}, {@code --bag-size 20000} and {@code --seed 42}.
+     *
+     * @param args The arguments.
+     * @return The parsed settings.
+     */
+    public static StandInSettings fromArgs(final String[] args) {
+        final StandInSettings settings = new StandInSettings();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            final String value = args[i + 1];
+            switch (args[i]) {
+                case "--port":
+                    settings.setPort(Integer.parseInt(value));
+                    break;
+                case "--latency":
+                    final String[] range = value.split("-");
+                    settings.setLatency(Integer.parseInt(range[0]), Integer.parseInt(range[range.length - 1]));
+                    break;
+                case "--error-rate":
+                    settings.setErrorRate(Double.parseDouble(value));
+                    break;
+                case "--bag-size":
+                    settings.setBagSize(Integer.parseInt(value));
+                    break;
+                case "--seed":
+                    settings.setSeed(Long.parseLong(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+        return settings;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Sets the port the server listens on. Use 0 to pick a free port.
+     *
+     * @param port The port.
+     * @return This settings object.
+     */
+    public StandInSettings setPort(final int port) {
+        this.port = port;
+        return this;
+    }
+
+    public int getMinLatencyMs() {
+        return minLatencyMs;
+    }
+
+    public int getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+
+    /**
+     * Sets the latency that is added to each request envelope. The actual delay is random within the range.
+     *
+     * @param minLatencyMs The minimum latency in milliseconds.
+     * @param maxLatencyMs The maximum latency in milliseconds.
+     * @return This settings object.
+     */
+    public StandInSettings setLatency(final int minLatencyMs, final int maxLatencyMs) {
+        if (minLatencyMs < 0 || maxLatencyMs < minLatencyMs) {
+            throw new IllegalArgumentException("Invalid latency range " + minLatencyMs + "-" + maxLatencyMs);
+        }
+        this.minLatencyMs = minLatencyMs;
+        this.maxLatencyMs = maxLatencyMs;
+        return this;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    /**
+     * Sets the fraction of request envelopes that fail with a server error.
+     *
+     * @param errorRate The error rate, between 0 and 1.
+     * @return This settings object.
+     */
+    public StandInSettings setErrorRate(final double errorRate) {
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("Error rate has to be between 0 and 1, got " + errorRate);
+        }
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    public int getBagSize() {
+        return bagSize;
+    }
+
+    /**
+     * Sets the number of Pokémon every new account starts with.
+     *
+     * @param bagSize The bag size.
+     * @return This settings object.
+     */
+    public StandInSettings setBagSize(final int bagSize) {
+        this.bagSize = bagSize;
+        return this;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed for generating bags, so that runs are reproducible.
+     *
+     * @param seed The seed.
+     * @return This settings object.
+     */
+    public StandInSettings setSeed(final long seed) {
+        this.seed = seed;
+        return this;
+    }
+}
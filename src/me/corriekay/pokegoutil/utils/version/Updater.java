@@ -3,7 +3,6 @@ package me.corriekay.pokegoutil.utils.version;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URL;
 
 import javax.swing.JOptionPane;
 
@@ -12,6 +11,7 @@ import me.corriekay.pokegoutil.utils.ConfigNew;
 import me.corriekay.pokegoutil.utils.StringLiterals;
 import me.corriekay.pokegoutil.utils.helpers.Browser;
 import me.corriekay.pokegoutil.utils.helpers.FileHelper;
+import me.corriekay.pokegoutil.utils.http.HttpClientFactory;
 import me.corriekay.pokegoutil.utils.version.thirdparty.ComparableVersion;
 
 /**
@@ -27,7 +27,8 @@ public final class Updater {
     public final ComparableVersion currentVersion;
     private final ConfigNew config = ConfigNew.getConfig();
 
-    private ComparableVersion latestStable = ComparableVersion.DEFAULT;
+    private volatile ComparableVersion latestStable = ComparableVersion.DEFAULT;
+    private volatile boolean queried;
 
     /**
      * Constructor that initializes the Updater and reads the current local version.
@@ -67,14 +68,23 @@ public final class Updater {
     }
 
     /**
-     * Queries the latest version from GitHub.
+     * Queries the latest version from GitHub, or from the HTTP cache if it was queried recently.
      * Tries to save it locally under latestStable.
      */
     public void queryLatestVersion() {
+        queryLatestVersion(true);
+    }
+
+    /**
+     * Queries the latest version from GitHub.
+     * Tries to save it locally under latestStable.
+     *
+     * @param cached If an answer from the HTTP cache is fine. A check the user asked for should always ask GitHub.
+     */
+    public void queryLatestVersion(final boolean cached) {
         final String callUrl = LATEST_VERSION_URL + VERSION_FILENAME;
         try {
-            final URL url = new URL(callUrl);
-            final String latestVersionString = FileHelper.readFile(url.openStream());
+            final String latestVersionString = HttpClientFactory.getFactory().fetch(callUrl, cached).trim();
             latestStable = new ComparableVersion(latestVersionString);
             System.out.println("Latest version from server: " + latestVersionString);
         } catch (IOException ex) {
@@ -85,6 +95,7 @@ public final class Updater {
             System.out.println("File URL: " + callUrl);
             System.out.println("If that problem persists, post your issue on GitHub and check for newer versions manually.");
         }
+        queried = true;
     }
 
     /**
@@ -101,9 +112,12 @@ public final class Updater {
      * <p>
      * If there is a new version, a popup is shown (Unless the user has skipped it).
      * If nothing, it just continues.
+     * The web is only searched if the latest version has not been queried already.
      */
     public void checkForNewVersion() {
-        queryLatestVersion();
+        if (!queried) {
+            queryLatestVersion();
+        }
         if (hasNewerVersion()) {
             final String skipVersion = config.getString(ConfigKey.SKIP_VERSION);
             if (!latestStable.toString().equals(skipVersion)) {
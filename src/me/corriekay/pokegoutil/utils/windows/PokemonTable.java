@@ -1,11 +1,14 @@
 package me.corriekay.pokegoutil.utils.windows;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Enumeration;
 import java.util.List;
 
 import javax.swing.JTable;
 import javax.swing.ListSelectionModel;
+import javax.swing.RowFilter;
 import javax.swing.RowSorter;
 import javax.swing.RowSorter.SortKey;
 import javax.swing.SortOrder;
@@ -20,9 +23,12 @@ import me.corriekay.pokegoutil.data.enums.PokeColumn;
 import me.corriekay.pokegoutil.utils.ConfigKey;
 import me.corriekay.pokegoutil.utils.ConfigNew;
 import me.corriekay.pokegoutil.utils.helpers.JTableColumnPacker;
+import me.corriekay.pokegoutil.utils.query.PokemonQuery;
+import me.corriekay.pokegoutil.utils.snapshot.InventorySnapshot;
+import me.corriekay.pokegoutil.utils.windows.renderer.CellTextSource;
 
 @SuppressWarnings("serial")
-public class PokemonTable extends JTable {
+public class PokemonTable extends JTable implements CellTextSource {
 
     private final ConfigNew config = ConfigNew.getConfig();
 
@@ -30,6 +36,7 @@ public class PokemonTable extends JTable {
     private SortOrder sortOrder1, sortOrder2;
 
     private PokemonTableModel ptm;
+    private final TableRowSorter<TableModel> trs;
 
     public PokemonTable(final PokemonGo go) {
         setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
@@ -50,7 +57,7 @@ public class PokemonTable extends JTable {
             sortOrder2 = SortOrder.ASCENDING;
         }
 
-        final TableRowSorter<TableModel> trs = new TableRowSorter<>(ptm);
+        trs = new PokemonTableRowSorter(ptm);
 
         // Set the comparator for each column that is defined.
         for (final PokeColumn column : PokeColumn.values()) {
@@ -98,11 +105,89 @@ public class PokemonTable extends JTable {
         }
     }
 
+    @Override
+    public String getCellText(final int rowIndex, final int columnIndex) {
+        return ptm.getCellTextAt(convertRowIndexToModel(rowIndex), convertColumnIndexToModel(columnIndex));
+    }
+
     public void constructNewTableModel(final List<Pokemon> pokes) {
         ptm.updateTableData(pokes);
         pack();
     }
 
+    /**
+     * Only shows the rows that match the query. The query stays in place when the data changes.
+     *
+     * @param query The query, or null to show all rows.
+     */
+    public void setQuery(final PokemonQuery query) {
+        if (query == null) {
+            trs.setRowFilter(null);
+            return;
+        }
+        trs.setRowFilter(new RowFilter<TableModel, Integer>() {
+            @Override
+            public boolean include(final Entry<? extends TableModel, ? extends Integer> entry) {
+                return query.matches(ptm, entry.getIdentifier());
+            }
+        });
+    }
+
+    /**
+     * Replaces the selection with the given rows, as one change. Rows hidden by the search are left out.
+     * <p>
+     * The rows are merged into as few intervals as possible, and listeners only get a single event at the end
+     * instead of one for every row.
+     *
+     * @param modelRows The rows to select, as indices of the model.
+     * @return The number of rows that got selected.
+     */
+    public int select(final BitSet modelRows) {
+        final int[] viewRows = new int[modelRows.cardinality()];
+        int count = 0;
+        for (int row = modelRows.nextSetBit(0); row >= 0 && row < ptm.getRowCount(); row = modelRows.nextSetBit(row + 1)) {
+            final int viewRow = convertRowIndexToView(row);
+            if (viewRow >= 0) {
+                viewRows[count++] = viewRow;
+            }
+        }
+        final int[] sortedRows = Arrays.copyOf(viewRows, count);
+        Arrays.sort(sortedRows);
+        final int[] intervals = SelectionIntervals.coalesce(sortedRows);
+
+        final ListSelectionModel selection = getSelectionModel();
+        selection.setValueIsAdjusting(true);
+        try {
+            selection.clearSelection();
+            for (int i = 0; i < intervals.length; i += 2) {
+                selection.addSelectionInterval(intervals[i], intervals[i + 1]);
+            }
+        } finally {
+            selection.setValueIsAdjusting(false);
+        }
+        return count;
+    }
+
+    /**
+     * Shows the rows of a snapshot instead of the live data.
+     *
+     * @param snapshot The snapshot.
+     */
+    public void showSnapshot(final InventorySnapshot snapshot) {
+        ptm.updateTableData(snapshot);
+        pack();
+    }
+
+    /**
+     * Takes a snapshot of the rows currently in the table.
+     *
+     * @param account The trainer name of the account.
+     * @return The snapshot.
+     */
+    public InventorySnapshot takeSnapshot(final String account) {
+        return ptm.toSnapshot(account);
+    }
+
     private void pack() {
         for (int ii = 0; ii < ptm.getColumnCount(); ii++) {
             JTableColumnPacker.packColumn(this, ii, 4);
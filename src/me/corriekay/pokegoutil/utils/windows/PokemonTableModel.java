@@ -11,18 +11,32 @@ import com.pokegoapi.api.PokemonGo;
 import com.pokegoapi.api.pokemon.Pokemon;
 
 import me.corriekay.pokegoutil.data.enums.PokeColumn;
+import me.corriekay.pokegoutil.utils.ConfigKey;
+import me.corriekay.pokegoutil.utils.ConfigNew;
+import me.corriekay.pokegoutil.utils.pokemon.CandyPlanner;
+import me.corriekay.pokegoutil.utils.pokemon.SpeciesIndex;
+import me.corriekay.pokegoutil.utils.query.RowSource;
+import me.corriekay.pokegoutil.utils.snapshot.InventorySnapshot;
+
+import POGOProtos.Data.PokemonDataOuterClass.PokemonData;
 
 @SuppressWarnings( {"serial", "rawtypes"})
 
-public class PokemonTableModel extends AbstractTableModel {
+public class PokemonTableModel extends AbstractTableModel implements RowSource {
 
     PokemonTable pt;
 
     private final ArrayList<Pokemon> pokeCol = new ArrayList<>();
+    /**
+     * The cells of every column, in the order of the enum. Every model has its own, so a snapshot table and the live
+     * table can be open side by side without overwriting each other's rows.
+     */
+    private final Cells[] cells = Cells.create();
     private final PokemonGo go;
+    private SpeciesIndex speciesIndex;
 
     @Deprecated
-    PokemonTableModel(final PokemonGo go, final List<Pokemon> pokes, final PokemonTable pt) {
+    public PokemonTableModel(final PokemonGo go, final List<Pokemon> pokes, final PokemonTable pt) {
         this.pt = pt;
         this.go = go;
 
@@ -34,18 +48,21 @@ public class PokemonTableModel extends AbstractTableModel {
      *
      * @param pokes The list of pokemon that should be displayed
      */
-    @SuppressWarnings("unchecked")
     public void updateTableData(final List<Pokemon> pokes) {
         ClearTable();
 
         final MutableInt i = new MutableInt();
+        final PokeColumn[] columns = PokeColumn.values();
+        // The families share their candies, so they are planned for the whole bag first
+        PokeColumn.setCandyPlan(CandyPlanner.plan(pokes));
+        syncSpeciesIndex(pokes);
 
         pokes.forEach(p -> {
             pokeCol.add(i.getValue(), p);
 
-            for (final PokeColumn column : PokeColumn.values()) {
+            for (final PokeColumn column : columns) {
                 // Now lets add the value for that column
-                column.data.add(i.getValue(), column.get(p));
+                addValue(column, column.get(p));
             }
 
             i.increment();
@@ -54,10 +71,91 @@ public class PokemonTableModel extends AbstractTableModel {
         fireTableDataChanged();
     }
 
+    /**
+     * Updates the table data with the rows of a snapshot, without calculating any of the values.
+     *
+     * @param snapshot The snapshot that should be displayed
+     */
+    public void updateTableData(final InventorySnapshot snapshot) {
+        ClearTable();
+
+        final PokeColumn[] columns = PokeColumn.values();
+        final List<PokemonData> pokemons = snapshot.getPokemons();
+        final List<Object[]> rows = snapshot.getRows();
+        for (int i = 0; i < pokemons.size(); i++) {
+            pokeCol.add(new Pokemon(go, pokemons.get(i)));
+            final Object[] row = rows.get(i);
+            for (final PokeColumn column : columns) {
+                addValue(column, row[column.ordinal()]);
+            }
+        }
+        syncSpeciesIndex(pokeCol);
+
+        fireTableDataChanged();
+    }
+
+    /**
+     * Brings the species index up to date with the rows. Only new and changed Pokémon are rated, so refreshing the
+     * bag after a few transfers costs next to nothing.
+     *
+     * @param pokes The Pokémon in the table.
+     */
+    private void syncSpeciesIndex(final List<Pokemon> pokes) {
+        final int keep = ConfigNew.getConfig().getInt(ConfigKey.KEEP_BEST_PER_SPECIES);
+        if (speciesIndex == null || speciesIndex.getKeep() != Math.max(1, keep)) {
+            speciesIndex = new SpeciesIndex(keep);
+        }
+        speciesIndex.sync(pokes);
+    }
+
+    @Override
+    public SpeciesIndex getSpeciesIndex() {
+        return speciesIndex;
+    }
+
+    /**
+     * Takes a snapshot of the rows currently in the table.
+     *
+     * @param account The trainer name of the account.
+     * @return The snapshot.
+     */
+    public InventorySnapshot toSnapshot(final String account) {
+        final PokeColumn[] columns = PokeColumn.values();
+        final List<PokemonData> pokemons = new ArrayList<>(pokeCol.size());
+        final List<Object[]> rows = new ArrayList<>(pokeCol.size());
+        for (int i = 0; i < pokeCol.size(); i++) {
+            pokemons.add(InventorySnapshot.toProto(pokeCol.get(i)));
+            final Object[] row = new Object[columns.length];
+            for (final PokeColumn column : columns) {
+                row[column.ordinal()] = cells[column.ordinal()].data.get(i);
+            }
+            rows.add(row);
+        }
+        return new InventorySnapshot(account, System.currentTimeMillis(), pokemons, rows);
+    }
+
+    /**
+     * Adds a value to the end of a column, together with its sort key and its text, so neither sorting nor painting
+     * have to parse or format it.
+     *
+     * @param column The column.
+     * @param value  The value.
+     */
+    private void addValue(final PokeColumn column, final Object value) {
+        final Cells columnCells = cells[column.ordinal()];
+        columnCells.data.add(value);
+        columnCells.texts.add(column.columnType.toCellText(value));
+        if (column.columnType.hasSortKey()) {
+            columnCells.sortKeys.add(column.columnType.toSortKey(value));
+        }
+    }
+
     private void ClearTable() {
         pokeCol.clear();
-        for (final PokeColumn column : PokeColumn.values()) {
-            column.data.clear();
+        for (final Cells columnCells : cells) {
+            columnCells.data.clear();
+            columnCells.sortKeys.clear();
+            columnCells.texts.clear();
         }
     }
 
@@ -70,6 +168,16 @@ public class PokemonTableModel extends AbstractTableModel {
         }
     }
 
+    @Override
+    public Object get(final PokeColumn column, final int row) {
+        return cells[column.ordinal()].data.get(row);
+    }
+
+    @Override
+    public Pokemon getPokemon(final int row) {
+        return pokeCol.get(row);
+    }
+
     @Override
     public String getColumnName(final int columnIndex) {
         return PokeColumn.getForId(columnIndex).name;
@@ -77,7 +185,7 @@ public class PokemonTableModel extends AbstractTableModel {
 
     @Override
     public int getColumnCount() {
-        return PokeColumn.values().length;
+        return PokeColumn.getCount();
     }
 
     @Override
@@ -87,6 +195,53 @@ public class PokemonTableModel extends AbstractTableModel {
 
     @Override
     public Object getValueAt(final int rowIndex, final int columnIndex) {
-        return PokeColumn.getForId(columnIndex).data.get(rowIndex);
+        return getCells(columnIndex).data.get(rowIndex);
+    }
+
+    /**
+     * Returns the key the cell is sorted by.
+     *
+     * @param rowIndex    The row.
+     * @param columnIndex The column.
+     * @return The sort key.
+     */
+    public Object getSortKeyAt(final int rowIndex, final int columnIndex) {
+        final PokeColumn column = PokeColumn.getForId(columnIndex);
+        final Cells columnCells = cells[column.ordinal()];
+        return column.columnType.hasSortKey() ? columnCells.sortKeys.get(rowIndex) : columnCells.data.get(rowIndex);
+    }
+
+    /**
+     * Returns the text shown in the cell.
+     *
+     * @param rowIndex    The row.
+     * @param columnIndex The column.
+     * @return The text, or null if the renderer has to create it.
+     */
+    public String getCellTextAt(final int rowIndex, final int columnIndex) {
+        return getCells(columnIndex).texts.get(rowIndex);
+    }
+
+    private Cells getCells(final int columnIndex) {
+        return cells[PokeColumn.getForId(columnIndex).ordinal()];
+    }
+
+    /**
+     * The cells of one column.
+     */
+    private static final class Cells {
+        final ArrayList<Object> data = new ArrayList<>();
+        /** The sort keys of the data, only filled for column types that have own sort keys. */
+        final ArrayList<Object> sortKeys = new ArrayList<>();
+        /** The texts shown for the data, formatted once when the data is loaded. */
+        final ArrayList<String> texts = new ArrayList<>();
+
+        static Cells[] create() {
+            final Cells[] cells = new Cells[PokeColumn.values().length];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = new Cells();
+            }
+            return cells;
+        }
     }
 }
@@ -0,0 +1,53 @@
+package me.corriekay.pokegoutil.utils.windows;
+
+import javax.swing.table.TableModel;
+import javax.swing.table.TableRowSorter;
+
+/**
+ * Sorts the Pokémon table by the sort keys the model calculated when the data was loaded, instead of the values
+ * that are shown. That way dates and columns with a dash for no value are compared as numbers, without parsing
+ * them on every comparison.
+ */
+class PokemonTableRowSorter extends TableRowSorter<TableModel> {
+
+    /**
+     * Creates the sorter for the given model.
+     *
+     * @param model The model.
+     */
+    PokemonTableRowSorter(final PokemonTableModel model) {
+        super(model);
+        setModelWrapper(new ModelWrapper<TableModel, Integer>() {
+            @Override
+            public TableModel getModel() {
+                return model;
+            }
+
+            @Override
+            public int getColumnCount() {
+                return model.getColumnCount();
+            }
+
+            @Override
+            public int getRowCount() {
+                return model.getRowCount();
+            }
+
+            @Override
+            public Object getValueAt(final int row, final int column) {
+                return model.getSortKeyAt(row, column);
+            }
+
+            @Override
+            public String getStringValueAt(final int row, final int column) {
+                final Object value = model.getValueAt(row, column);
+                return value != null ? value.toString() : "";
+            }
+
+            @Override
+            public Integer getIdentifier(final int row) {
+                return row;
+            }
+        });
+    }
+}
@@ -0,0 +1,41 @@
+package me.corriekay.pokegoutil.utils.windows;
+
+import java.util.Arrays;
+
+/**
+ * Turns rows to select into as few selection intervals as possible.
+ */
+public final class SelectionIntervals {
+
+    /** Prevent initializing this class. */
+    private SelectionIntervals() {
+    }
+
+    /**
+     * Coalesces sorted rows into contiguous intervals.
+     *
+     * @param sortedRows The rows, sorted ascending. Duplicates are allowed.
+     * @return The intervals as pairs of first and last row, like {@code [first0, last0, first1, last1, ...]}.
+     */
+    public static int[] coalesce(final int[] sortedRows) {
+        if (sortedRows.length == 0) {
+            return sortedRows;
+        }
+        final int[] intervals = new int[sortedRows.length * 2];
+        int count = 0;
+        int first = sortedRows[0];
+        int last = first;
+        for (int i = 1; i < sortedRows.length; i++) {
+            final int row = sortedRows[i];
+            if (row > last + 1) {
+                intervals[count++] = first;
+                intervals[count++] = last;
+                first = row;
+            }
+            last = Math.max(last, row);
+        }
+        intervals[count++] = first;
+        intervals[count++] = last;
+        return Arrays.copyOf(intervals, count);
+    }
+}
@@ -1,23 +1,34 @@
 package me.corriekay.pokegoutil.utils.windows.renderer;
 
 import java.awt.Component;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.JTable;
 
 /**
- * A cell renderer that displays percentages in the format "xx.xx%".
+ * A cell renderer that displays the row number.
  */
 public class AutoIncrementCellRenderer extends NumberCellRenderer {
 
+    private final List<String> rowNumbers = new ArrayList<>();
+
     @Override
     public Component getTableCellRendererComponent(final JTable table, final Object value, final boolean isSelected,
                                                    final boolean hasFocus, final int rowIndex, final int columnIndex) {
         setNativeLookAndFeel(table, isSelected);
 
-        // The row number, one-based
-        final int rowNumber = rowIndex + 1;
-        setText(String.valueOf(rowNumber));
+        // The row number, one-based. It depends on the sorting, so it is created on paint, but only once.
+        while (rowNumbers.size() <= rowIndex) {
+            rowNumbers.add(String.valueOf(rowNumbers.size() + 1));
+        }
+        setText(rowNumbers.get(rowIndex));
 
         return this;
     }
+
+    @Override
+    public String toCellText(final Object value) {
+        return null;
+    }
 }
@@ -0,0 +1,17 @@
+package me.corriekay.pokegoutil.utils.windows.renderer;
+
+/**
+ * A table that knows the texts of its cells before they are painted, so the renderers only have to set them instead
+ * of formatting the value on every paint.
+ */
+public interface CellTextSource {
+
+    /**
+     * Returns the text of a cell.
+     *
+     * @param rowIndex    The row index in the view.
+     * @param columnIndex The column index in the view.
+     * @return The text, or null if the renderer has to format the value itself.
+     */
+    String getCellText(int rowIndex, int columnIndex);
+}
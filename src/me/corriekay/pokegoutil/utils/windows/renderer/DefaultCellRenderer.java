@@ -1,6 +1,7 @@
 package me.corriekay.pokegoutil.utils.windows.renderer;
 
 import java.awt.Component;
+import java.awt.Font;
 
 import javax.swing.JLabel;
 import javax.swing.JTable;
@@ -8,27 +9,78 @@ import javax.swing.table.TableCellRenderer;
 
 /**
  * Provide custom formatting for the moveset ranking columns while allowing sorting on original values.
+ * <p>
+ * The texts are formatted once when the data is loaded, see {@link #toCellText(Object)} and {@link CellTextSource},
+ * so painting a cell only sets the text and colors. Like the Swing default renderer, this one skips the revalidate,
+ * repaint and property change events that a label fires on every change, because it is only used to stamp cells.
  */
 
 @SuppressWarnings("serial")
 public class DefaultCellRenderer extends JLabel implements TableCellRenderer {
 
+    private Object toolTipValue;
+
     /**
      * Creates an instance of the DefaultCellRenderer.
      */
     public DefaultCellRenderer() {
-        // We don't need to do anything here. Just the default constructor.
         super();
+        setOpaque(true);
     }
 
     @Override
     public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
                                                    boolean hasFocus, int rowIndex, int columnIndex) {
         setNativeLookAndFeel(table, isSelected);
-        setText(value.toString());
+        setText(getCellText(table, value, rowIndex, columnIndex));
         return this;
     }
 
+    /**
+     * Formats a value into the text that is shown in the cell.
+     *
+     * @param value The value.
+     * @return The text, or null if it can only be known when the cell is painted.
+     */
+    public String toCellText(Object value) {
+        return value != null ? value.toString() : "";
+    }
+
+    /**
+     * Returns the text for a cell, the one the table knows already if it is a {@link CellTextSource}, or the
+     * formatted value otherwise.
+     *
+     * @param table       The table.
+     * @param value       The value.
+     * @param rowIndex    The row index.
+     * @param columnIndex The column index.
+     * @return The text.
+     */
+    protected String getCellText(JTable table, Object value, int rowIndex, int columnIndex) {
+        if (table instanceof CellTextSource) {
+            final String text = ((CellTextSource) table).getCellText(rowIndex, columnIndex);
+            if (text != null) {
+                return text;
+            }
+        }
+        final String text = toCellText(value);
+        return text != null ? text : "";
+    }
+
+    /**
+     * Sets the value the tooltip shows. It is only turned into a string when the tooltip is actually shown.
+     *
+     * @param value The value, or null for no tooltip.
+     */
+    protected void setToolTipValue(Object value) {
+        toolTipValue = value;
+    }
+
+    @Override
+    public String getToolTipText() {
+        return toolTipValue != null ? toolTipValue.toString() : super.getToolTipText();
+    }
+
     /**
      * Sets the native look and feel for the TableCellRenderer.
      * This method should be called first in getTableCellRendererComponent() when extending this CellRenderer,
@@ -38,9 +90,12 @@ public class DefaultCellRenderer extends JLabel implements TableCellRenderer {
      * @param isSelected If the cell is selected.
      */
     public void setNativeLookAndFeel(JTable table, boolean isSelected) {
-        setOpaque(true);
         setDefaultSelectionColors(table, isSelected);
-        setFont(table.getFont());
+        setToolTipValue(null);
+        final Font font = table.getFont();
+        if (font != getFont()) {
+            setFont(font);
+        }
     }
 
     /**
@@ -58,4 +113,38 @@ public class DefaultCellRenderer extends JLabel implements TableCellRenderer {
             this.setForeground(table.getForeground());
         }
     }
+
+    // The renderer is only used to paint cells, so none of these are needed. See DefaultTableCellRenderer.
+
+    @Override
+    public void invalidate() {
+    }
+
+    @Override
+    public void validate() {
+    }
+
+    @Override
+    public void revalidate() {
+    }
+
+    @Override
+    public void repaint(long tm, int x, int y, int width, int height) {
+    }
+
+    @Override
+    public void repaint() {
+    }
+
+    @Override
+    protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) {
+        // Only the text is needed, for accessibility
+        if ("text".equals(propertyName)) {
+            super.firePropertyChange(propertyName, oldValue, newValue);
+        }
+    }
+
+    @Override
+    public void firePropertyChange(String propertyName, boolean oldValue, boolean newValue) {
+    }
 }
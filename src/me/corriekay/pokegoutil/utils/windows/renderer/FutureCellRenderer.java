@@ -1,55 +1,62 @@
 package me.corriekay.pokegoutil.utils.windows.renderer;
 
 import java.awt.Component;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.CompletableFuture;
 
 import javax.swing.JTable;
+import javax.swing.SwingUtilities;
 
-import me.corriekay.pokegoutil.utils.StringLiterals;
 import me.corriekay.pokegoutil.utils.windows.WindowStuffHelper;
 
 /**
- * A cell renderer that displays percentages in the format "xx.xx%".
+ * A cell renderer that displays values that are loaded in the background, like the location of a Pokémon.
  */
 public class FutureCellRenderer extends DefaultCellRenderer {
 
-    private Map<String, String> cellCache = new HashMap<>();
+    // Must be this long so that the column width is set correctly
+    private static final String LOADING_TEXT = "... Loading ...                              ";
+
+    private final Set<CompletableFuture<?>> waiting = Collections.newSetFromMap(new WeakHashMap<>());
 
     @Override
     public Component getTableCellRendererComponent(final JTable table, final Object value, final boolean isSelected,
                                                    final boolean hasFocus, final int rowIndex, final int columnIndex) {
         setNativeLookAndFeel(table, isSelected);
 
-        final String resolvedValue = cellCache.get(rowIndex + StringLiterals.CONCAT_SEPARATOR + columnIndex);
+        final CompletableFuture<?> future = (CompletableFuture<?>) value;
+        final Object resolvedValue = future.getNow(null);
         if (resolvedValue != null) {
-            setText(resolvedValue);
-            setToolTipText(resolvedValue);
+            setText(resolvedValue.toString());
+            setToolTipValue(resolvedValue);
         } else {
-            // We set a default text. Must be this long so that the column width is set correctly
-            setText("... Loading ...                              ");
-
-            @SuppressWarnings("unchecked")
-            final CompletableFuture<String> future = (CompletableFuture<String>) value;
-            future.thenAcceptAsync((String text) -> asyncSetValue(text, table, rowIndex, columnIndex));
+            setText(LOADING_TEXT);
+
+            // Repaint the cell once the value is there, but only ask for it once
+            if (waiting.add(future)) {
+                final int modelRow = table.convertRowIndexToModel(rowIndex);
+                final int modelColumn = table.convertColumnIndexToModel(columnIndex);
+                future.thenAcceptAsync(text -> asyncSetValue(table, modelRow, modelColumn), SwingUtilities::invokeLater);
+            }
         }
         return this;
     }
 
+    @Override
+    public String toCellText(final Object value) {
+        return null;
+    }
+
     /**
-     * Sets the text and tooltip when the value is resolved.
+     * Repaints the cell when the value is resolved.
      *
-     * @param textValue   The text to set.
      * @param table       The table.
-     * @param rowIndex    The row index.
-     * @param columnIndex The column index.
+     * @param rowIndex    The row index in the model.
+     * @param columnIndex The column index in the model.
      */
-    public void asyncSetValue(final String textValue, final JTable table, final int rowIndex, final int columnIndex) {
-        setText(textValue);
-        setToolTipText(textValue);
-        cellCache.put(rowIndex + StringLiterals.CONCAT_SEPARATOR + columnIndex, textValue);
-
+    public void asyncSetValue(final JTable table, final int rowIndex, final int columnIndex) {
         // We need the cell repainted
         WindowStuffHelper.fireCellChanged(table, rowIndex, columnIndex);
     }
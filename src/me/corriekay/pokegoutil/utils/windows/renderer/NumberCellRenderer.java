@@ -1,26 +1,17 @@
 package me.corriekay.pokegoutil.utils.windows.renderer;
 
-import java.awt.Component;
-
 import javax.swing.JLabel;
-import javax.swing.JTable;
 
 /**
- * A cell renderer that displays percentages in the format "xx.xx%".
+ * A cell renderer that displays numbers right aligned.
  */
 public class NumberCellRenderer extends DefaultCellRenderer {
 
-    @Override
-    public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
-                                                   boolean hasFocus, int rowIndex, int columnIndex) {
-        setNativeLookAndFeel(table, isSelected);
-        setText(value.toString());
-        return this;
-    }
-
-    @Override
-    public void setNativeLookAndFeel(JTable table, boolean isSelected) {
-        super.setNativeLookAndFeel(table, isSelected);
+    /**
+     * Creates an instance of the NumberCellRenderer.
+     */
+    public NumberCellRenderer() {
+        super();
         setHorizontalAlignment(JLabel.RIGHT);
     }
 }
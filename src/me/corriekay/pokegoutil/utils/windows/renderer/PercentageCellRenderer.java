@@ -20,17 +20,23 @@ public class PercentageCellRenderer extends NumberCellRenderer {
     public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
                                                    boolean hasFocus, int rowIndex, int columnIndex) {
         setNativeLookAndFeel(table, isSelected);
+        setText(getCellText(table, value, rowIndex, columnIndex));
+        setToolTipValue(value);
+        return this;
+    }
 
+    @Override
+    public String toCellText(Object value) {
         try {
-            double percentage = Double.valueOf(value.toString());
-            setText(decimalFormatter.format(percentage * PERCENTAGE_FACTOR));
-            setToolTipText(String.valueOf(percentage));
+            final double percentage = value instanceof Number ? ((Number) value).doubleValue() : Double.valueOf(value.toString());
+            // The data is loaded in the background while the table paints, and the formatter is not thread safe
+            synchronized (decimalFormatter) {
+                return decimalFormatter.format(percentage * PERCENTAGE_FACTOR);
+            }
         } catch (NumberFormatException e) {
             // We have a wrong number here? Strange :-/
             LoggerHelper.logExceptionMessage(e);
+            return "";
         }
-
-        return this;
     }
-
 }
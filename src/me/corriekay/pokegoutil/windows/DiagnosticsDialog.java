@@ -0,0 +1,125 @@
+package me.corriekay.pokegoutil.windows;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.io.File;
+import java.util.Map;
+
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JFileChooser;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.WindowConstants;
+import javax.swing.table.DefaultTableModel;
+
+import me.corriekay.pokegoutil.utils.metrics.LatencyHistogram;
+import me.corriekay.pokegoutil.utils.metrics.MetricKey;
+import me.corriekay.pokegoutil.utils.metrics.MetricsExporter;
+import me.corriekay.pokegoutil.utils.metrics.MetricsRegistry;
+import me.corriekay.pokegoutil.utils.metrics.MetricsSnapshot;
+
+/**
+ * A dialog that shows a snapshot of the collected metrics and allows to export them.
+ */
+@SuppressWarnings("serial")
+public class DiagnosticsDialog extends JDialog {
+
+    private static final int WIDTH = 800;
+    private static final int HEIGHT = 400;
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final double MEDIAN = 0.5;
+    private static final double P99 = 0.99;
+    private static final String[] API_COLUMNS = {"Operation", "Result", "Calls", "Mean ms", "p50 ms", "p99 ms", "Max ms"};
+    private static final String[] OTHER_COLUMNS = {"Metric", "Value"};
+
+    private final DefaultTableModel apiCalls = new DefaultTableModel(API_COLUMNS, 0);
+    private final DefaultTableModel otherMetrics = new DefaultTableModel(OTHER_COLUMNS, 0);
+    private MetricsSnapshot snapshot;
+
+    /**
+     * Creates the dialog, filled with a fresh snapshot of the metrics.
+     */
+    public DiagnosticsDialog() {
+        super(PokemonGoMainWindow.getInstance(), "Diagnostics", false);
+        setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        setLayout(new BorderLayout());
+
+        final JTable apiTable = new JTable(apiCalls);
+        apiTable.setAutoCreateRowSorter(true);
+        final JTable otherTable = new JTable(otherMetrics);
+        otherTable.setAutoCreateRowSorter(true);
+
+        final JPanel tables = new JPanel(new BorderLayout());
+        tables.add(new JScrollPane(apiTable), BorderLayout.CENTER);
+        final JScrollPane otherScroll = new JScrollPane(otherTable);
+        otherScroll.setPreferredSize(new Dimension(WIDTH, HEIGHT / 3));
+        tables.add(otherScroll, BorderLayout.SOUTH);
+        add(tables, BorderLayout.CENTER);
+
+        final JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        final JButton refresh = new JButton("Refresh");
+        refresh.addActionListener(l -> refresh());
+        buttons.add(refresh);
+        for (final MetricsExporter.Format format : MetricsExporter.Format.values()) {
+            final JButton export = new JButton("Export " + format.name() + "...");
+            export.addActionListener(l -> export(format));
+            buttons.add(export);
+        }
+        add(buttons, BorderLayout.SOUTH);
+
+        setPreferredSize(new Dimension(WIDTH, HEIGHT));
+        pack();
+        setLocationRelativeTo(getOwner());
+        refresh();
+    }
+
+    /**
+     * Takes a new snapshot and shows it.
+     */
+    private void refresh() {
+        snapshot = MetricsRegistry.getRegistry().snapshot();
+
+        apiCalls.setRowCount(0);
+        for (final Map.Entry<MetricKey, LatencyHistogram.Snapshot> entry : snapshot.getHistograms().entrySet()) {
+            final Map<String, String> tags = entry.getKey().getTags();
+            final LatencyHistogram.Snapshot histogram = entry.getValue();
+            apiCalls.addRow(new Object[] {
+                tags.get(MetricsRegistry.TAG_OPERATION),
+                tags.get(MetricsRegistry.TAG_RESULT),
+                histogram.getCount(),
+                toMillis(histogram.getMeanMicros()),
+                toMillis(histogram.getValueAtQuantile(MEDIAN)),
+                toMillis(histogram.getValueAtQuantile(P99)),
+                toMillis(histogram.getMaxMicros())
+            });
+        }
+
+        otherMetrics.setRowCount(0);
+        snapshot.getCounters().forEach((key, value) -> {
+            if (!MetricsRegistry.API_CALLS.equals(key.getName())) {
+                otherMetrics.addRow(new Object[] {key.toString(), value});
+            }
+        });
+        snapshot.getGauges().forEach((key, value) -> otherMetrics.addRow(new Object[] {key.toString(), value}));
+    }
+
+    /**
+     * Lets the user choose a file and exports the current snapshot into it.
+     *
+     * @param format The format to export in.
+     */
+    private void export(final MetricsExporter.Format format) {
+        final JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("metrics." + format.fileExtension));
+        if (chooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
+            MetricsExporter.export(snapshot, format, chooser.getSelectedFile());
+        }
+    }
+
+    private static double toMillis(final double micros) {
+        return Math.round(micros) / MICROS_PER_MILLI;
+    }
+}
@@ -4,15 +4,24 @@ import com.pokegoapi.api.PokemonGo;
 import com.pokegoapi.api.inventory.Stats;
 import com.pokegoapi.api.player.PlayerProfile;
 import com.pokegoapi.api.player.PlayerProfile.Currency;
+import com.pokegoapi.api.pokemon.Pokemon;
 import me.corriekay.pokegoutil.data.managers.AccountController;
 import me.corriekay.pokegoutil.utils.ConfigKey;
 import me.corriekay.pokegoutil.utils.ConfigNew;
 import me.corriekay.pokegoutil.utils.StringLiterals;
+import me.corriekay.pokegoutil.utils.export.PokemonExporter;
 import me.corriekay.pokegoutil.utils.pokemon.PokemonCalculationUtils;
 import me.corriekay.pokegoutil.utils.pokemon.PokemonUtils;
+import me.corriekay.pokegoutil.utils.snapshot.InventorySnapshotStore;
 import me.corriekay.pokegoutil.utils.version.Updater;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 @SuppressWarnings("serial")
 public class MenuBar extends JMenuBar {
@@ -38,6 +47,10 @@ public class MenuBar extends JMenuBar {
         });
         file.add(trainerStats);
 
+        JMenuItem exportPokemon = new JMenuItem("Export Pokémon...");
+        exportPokemon.addActionListener(al -> exportPokemon());
+        file.add(exportPokemon);
+
         JMenuItem logout = new JMenuItem("Logout");
         logout.addActionListener(al -> {
             try {
@@ -96,6 +109,7 @@ public class MenuBar extends JMenuBar {
         JMenuItem checkUpdates = new JMenuItem("Check for Updates");
         checkUpdates.addActionListener(l -> {
             Updater updater = Updater.getUpdater();
+            updater.queryLatestVersion(false);
             updater.checkForNewVersion();
             if (!updater.hasNewerVersion()) {
                 JOptionPane.showMessageDialog(null,
@@ -106,6 +120,10 @@ public class MenuBar extends JMenuBar {
         });
         help.add(checkUpdates);
 
+        JMenuItem diagnostics = new JMenuItem("Diagnostics");
+        diagnostics.addActionListener(l -> new DiagnosticsDialog().setVisible(true));
+        help.add(diagnostics);
+
         JMenuItem about = new JMenuItem("About");
         about.addActionListener(l -> JOptionPane.showMessageDialog(null,
             "Version: " + Updater.getUpdater().currentVersion
@@ -140,6 +158,59 @@ public class MenuBar extends JMenuBar {
         AccountController.logOff();
     }
 
+    /**
+     * Lets the user choose a file and format, and exports the Pokémon of this account into it.
+     * The saved snapshots of other accounts can be added to the same file.
+     */
+    private void exportPokemon() {
+        final JFileChooser chooser = new JFileChooser();
+        chooser.setAcceptAllFileFilterUsed(false);
+        for (final PokemonExporter.Format format : PokemonExporter.Format.values()) {
+            chooser.addChoosableFileFilter(new FileNameExtensionFilter(format.name() + " (*." + format.fileExtension + ")", format.fileExtension));
+        }
+        chooser.setSelectedFile(new File("pokemon." + PokemonExporter.Format.CSV.fileExtension));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        final PokemonExporter.Format format = PokemonExporter.Format.values()[
+            Arrays.asList(chooser.getChoosableFileFilters()).indexOf(chooser.getFileFilter())];
+        final File target = format.withExtension(chooser.getSelectedFile());
+
+        final String account = go.getPlayerProfile().getPlayerData().getUsername();
+        final InventorySnapshotStore store = InventorySnapshotStore.getStore();
+        final List<String> otherAccounts = store.getAccounts();
+        otherAccounts.removeIf(other -> store.getFile(other).equals(store.getFile(account)));
+        final boolean withOthers = !otherAccounts.isEmpty() && JOptionPane.showConfirmDialog(this,
+            "Also export the saved snapshots of " + String.join(", ", otherAccounts) + "?",
+            "Export Pokémon", JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION;
+
+        new SwingWorker<Long, Void>() {
+            @Override
+            protected Long doInBackground() throws Exception {
+                try (PokemonExporter exporter = PokemonExporter.open(target.toPath(), format, PokemonExporter.getDefaultColumns())) {
+                    for (final Pokemon pokemon : go.getInventories().getPokebank().getPokemons()) {
+                        exporter.write(account, pokemon);
+                    }
+                    if (withOthers) {
+                        for (final String other : otherAccounts) {
+                            exporter.writeSnapshot(store, other);
+                        }
+                    }
+                    return exporter.getRowCount();
+                }
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    System.out.println("Exported " + get() + " Pokémon to " + target);
+                } catch (InterruptedException | ExecutionException e) {
+                    System.out.println("Could not export the Pokémon: " + e.getCause());
+                }
+            }
+        }.execute();
+    }
+
     private void displayTrainerStats() throws Exception {
         go.getInventories().updateInventories(true);
         PlayerProfile pp = go.getPlayerProfile();
@@ -11,6 +11,7 @@ import javax.swing.JFrame;
 import javax.swing.JScrollPane;
 import javax.swing.JTabbedPane;
 import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
 import javax.swing.WindowConstants;
 
 import com.pokegoapi.api.PokemonGo;
@@ -19,6 +20,8 @@ import com.pokegoapi.api.player.PlayerProfile;
 import me.corriekay.pokegoutil.data.managers.GlobalSettingsController;
 import me.corriekay.pokegoutil.utils.ConfigKey;
 import me.corriekay.pokegoutil.utils.ConfigNew;
+import me.corriekay.pokegoutil.utils.bootstrap.Bootstrap;
+import me.corriekay.pokegoutil.utils.bootstrap.BootstrapStage;
 import me.corriekay.pokegoutil.utils.helpers.FileHelper;
 import me.corriekay.pokegoutil.utils.helpers.UIHelper;
 import me.corriekay.pokegoutil.utils.logging.ConsolePrintStream;
@@ -112,9 +115,9 @@ public class PokemonGoMainWindow extends JFrame {
         }
         refreshTitle();
 
-        // Check for new version
+        // Check for new version, as soon as the query started at launch is done
         final Updater updater = Updater.getUpdater();
-        updater.checkForNewVersion();
+        Bootstrap.stage(BootstrapStage.VERSION_CHECK).thenRun(() -> SwingUtilities.invokeLater(updater::checkForNewVersion));
     }
 
     /**
@@ -14,7 +14,9 @@ import java.awt.event.KeyListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
 
 import javax.swing.BoxLayout;
@@ -40,21 +42,31 @@ import com.pokegoapi.api.player.PlayerProfile.Currency;
 import com.pokegoapi.api.pokemon.Pokemon;
 
 import me.corriekay.pokegoutil.data.enums.BatchOperation;
+import me.corriekay.pokegoutil.gui.enums.OperationId;
 import me.corriekay.pokegoutil.utils.ConfigKey;
 import me.corriekay.pokegoutil.utils.ConfigNew;
 import me.corriekay.pokegoutil.utils.StringLiterals;
 import me.corriekay.pokegoutil.utils.Utilities;
+import me.corriekay.pokegoutil.utils.batch.BatchedCall;
+import me.corriekay.pokegoutil.utils.batch.RequestBatcher;
 import me.corriekay.pokegoutil.utils.helpers.LDocumentListener;
+import me.corriekay.pokegoutil.utils.metrics.MetricsRegistry;
 import me.corriekay.pokegoutil.utils.pokemon.PokeHandler;
 import me.corriekay.pokegoutil.utils.pokemon.PokeHandler.ReplacePattern;
 import me.corriekay.pokegoutil.utils.pokemon.PokeNick;
 import me.corriekay.pokegoutil.utils.pokemon.PokemonCalculationUtils;
+import me.corriekay.pokegoutil.utils.pokemon.PokemonNameCache;
 import me.corriekay.pokegoutil.utils.pokemon.PokemonUtils;
+import me.corriekay.pokegoutil.utils.pokemon.RenameTemplate;
+import me.corriekay.pokegoutil.utils.query.PokemonQuery;
+import me.corriekay.pokegoutil.utils.query.SavedSelection;
+import me.corriekay.pokegoutil.utils.snapshot.InventorySnapshotStore;
 import me.corriekay.pokegoutil.utils.ui.GhostText;
 import me.corriekay.pokegoutil.utils.windows.PokemonTable;
 import me.corriekay.pokegoutil.utils.windows.PokemonTableModel;
 
-import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+import POGOProtos.Data.PokemonDataOuterClass.PokemonData;
+import POGOProtos.Enums.PokemonFamilyIdOuterClass.PokemonFamilyId;
 import POGOProtos.Networking.Responses.NicknamePokemonResponseOuterClass.NicknamePokemonResponse;
 import POGOProtos.Networking.Responses.ReleasePokemonResponseOuterClass.ReleasePokemonResponse;
 import POGOProtos.Networking.Responses.SetFavoritePokemonResponseOuterClass.SetFavoritePokemonResponse;
@@ -71,13 +83,17 @@ public class PokemonTab extends JPanel {
     private static final JTextField searchBar = new JTextField("");
     private static final JTextField ivTransfer = new JTextField("", 20);
     private static final ConfigNew config = ConfigNew.getConfig();
+    private static final MetricsRegistry metrics = MetricsRegistry.getRegistry();
 
     // Used constants
     private static final int WHEN_TO_SHOW_SELECTION_TITLE = 2;
     private static final String GYM_SKIPPED_MESSAGE_UNFORMATTED = "%s with %d CP is in gym, skipping.";
     private static final int POPUP_WIDTH = 500;
     private static final int POPUP_HEIGHT = 400;
+    private static final int RENAME_PREVIEW_HEIGHT = 300;
     private static final int MIN_FONT_SIZE = 2;
+    private static final String SEARCH_GHOST_TEXT = "Search Pokémon...";
+    private static final String SELECT_GHOST_TEXT = "IV or query";
 
     /**
      * Creates an instance of the PokemonTab.
@@ -168,13 +184,7 @@ public class PokemonTab extends JPanel {
                 @Override
                 public void keyPressed(final KeyEvent event) {
                     if (event.getKeyCode() == KeyEvent.VK_ENTER) {
-                        new SwingWorker<Void, Void>() {
-                            @Override
-                            protected Void doInBackground() {
-                                selectLessThanIv();
-                                return null;
-                            }
-                        }.execute();
+                        selectLessThanIv();
                     }
                 }
 
@@ -191,17 +201,18 @@ public class PokemonTab extends JPanel {
 
         topPanel.add(ivTransfer, gbc);
 
-        new GhostText(ivTransfer, "Pokemon IV");
+        new GhostText(ivTransfer, SELECT_GHOST_TEXT);
+        ivTransfer.setToolTipText("Selects Pokémon below the IV, or the ones matching a query like the search");
         final JButton transferIv = new JButton("Select Pokemon < IV");
-        transferIv.addActionListener(l -> new SwingWorker<Void, Void>() {
-            @Override
-            protected Void doInBackground() {
-                selectLessThanIv();
-                return null;
-            }
-        }.execute());
+        transferIv.addActionListener(l -> selectLessThanIv());
         topPanel.add(transferIv, gbc);
 
+        final JComboBox<SavedSelection> savedSelections = new JComboBox<>(SavedSelection.values());
+        topPanel.add(savedSelections, gbc);
+        final JButton selectSaved = new JButton("Select");
+        selectSaved.addActionListener(l -> selectSaved((SavedSelection) savedSelections.getSelectedItem()));
+        topPanel.add(selectSaved, gbc);
+
         gbc.weightx = 1.0;
         gbc.weighty = 1.0;
         gbc.gridwidth = 3;
@@ -244,8 +255,8 @@ public class PokemonTab extends JPanel {
         }.execute());
         topPanel.add(fontSize);
 
-        LDocumentListener.addChangeListener(searchBar, e -> refreshList());
-        new GhostText(searchBar, "Search Pokémon...");
+        LDocumentListener.addChangeListener(searchBar, e -> applySearch());
+        new GhostText(searchBar, SEARCH_GHOST_TEXT);
 
         add(topPanel, BorderLayout.NORTH);
         final JScrollPane sp = new JScrollPane(pt);
@@ -255,12 +266,15 @@ public class PokemonTab extends JPanel {
 
     private void changeLanguage(final String langCode) {
         config.setString(ConfigKey.LANGUAGE, langCode);
+        PokemonNameCache.setLanguage(langCode);
+        // Species in the search are matched by their name in the language, so the query has to be compiled again
+        SwingUtilities.invokeLater(this::applySearch);
         refreshPkmn();
     }
 
     private void refreshPkmn() {
         try {
-            go.getInventories().updateInventories(true);
+            metrics.recordApiCall(MetricsRegistry.INVENTORY_REFRESH, () -> go.getInventories().updateInventories(true));
         } catch (final Exception e) {
             e.printStackTrace();
         }
@@ -288,34 +302,40 @@ public class PokemonTab extends JPanel {
             return;
         }
 
-        final PokeHandler handler = new PokeHandler(selection);
         final String renamePattern = inputOperation(BatchOperation.RENAME, selection);
+        if (renamePattern == null) {
+            return;
+        }
 
         final MutableInt err = new MutableInt(),
             skipped = new MutableInt(),
             success = new MutableInt(),
             total = new MutableInt(1);
 
-        final BiConsumer<NicknamePokemonResponse.Result, Pokemon> perPokeCallback = (renameResult, pokemon) -> {
-            System.out.println(String.format(
-                "Doing Rename %d of %d",
-                total.getValue(),
-                selection.size()));
-            total.increment();
-
-            final PokeNick pokeNick = PokeHandler.generatePokemonNickname(renamePattern, pokemon);
-
-            // We check if the Pokemon was skipped
-            final boolean isSkipped = pokeNick.toString().equals(pokemon.getNickname())
-                && renameResult.getNumber() == NicknamePokemonResponse.Result.UNSET_VALUE;
-            if (isSkipped) {
+        // Generate every nickname once. Pokémon that would keep their name are left out of the batch
+        final RenameTemplate template = RenameTemplate.compile(renamePattern);
+        final StringBuilder buffer = new StringBuilder();
+        final List<PokeNick> renames = new ArrayList<>();
+        selection.forEach(pokemon -> {
+            final PokeNick pokeNick = new PokeNick(template, pokemon, buffer);
+            if (pokeNick.toString().equals(pokemon.getNickname())) {
                 System.out.println(String.format(
                     "Skipped renaming %s, already named \"%s\"",
                     PokemonUtils.getLocalPokeName(pokemon),
                     pokemon.getNickname()));
                 skipped.increment();
-                return;
+            } else {
+                renames.add(pokeNick);
             }
+        });
+
+        final BiConsumer<NicknamePokemonResponse.Result, PokeNick> perPokeCallback = (renameResult, pokeNick) -> {
+            final Pokemon pokemon = pokeNick.pokemon;
+            System.out.println(String.format(
+                "Result of rename %d of %d:",
+                total.getValue(),
+                renames.size()));
+            total.increment();
 
             if (renameResult.getNumber() == NicknamePokemonResponse.Result.SUCCESS_VALUE) {
                 success.increment();
@@ -329,28 +349,21 @@ public class PokemonTab extends JPanel {
                     "Renaming %s from \"%s\" to \"%s\", Result: Success!",
                     PokemonUtils.getLocalPokeName(pokemon),
                     pokemon.getNickname(),
-                    PokeHandler.generatePokemonNickname(renamePattern, pokemon)));
+                    pokeNick));
             } else {
                 err.increment();
                 System.out.println(String.format(
                     "Renaming %s failed! Code: %s; Nick: \"%s\"",
                     PokemonUtils.getLocalPokeName(pokemon),
                     renameResult.toString(),
-                    PokeHandler.generatePokemonNickname(renamePattern, pokemon)));
-            }
-
-            // If not last element and API was queried, sleep until the next one
-            if (!selection.get(selection.size() - 1).equals(pokemon)) {
-                final int sleepMin = config.getInt(ConfigKey.DELAY_RENAME_MIN);
-                final int sleepMax = config.getInt(ConfigKey.DELAY_RENAME_MAX);
-                Utilities.sleepRandom(sleepMin, sleepMax);
+                    pokeNick));
             }
         };
 
-        handler.bulkRenameWithPattern(renamePattern, perPokeCallback);
+        PokeHandler.bulkRename(go, renames, perPokeCallback);
 
         try {
-            go.getInventories().updateInventories(true);
+            metrics.recordApiCall(MetricsRegistry.INVENTORY_REFRESH, () -> go.getInventories().updateInventories(true));
         } catch (final Exception e) {
             e.printStackTrace();
         }
@@ -373,65 +386,59 @@ public class PokemonTab extends JPanel {
             success = new MutableInt(),
             total = new MutableInt(1);
 
+        final List<BatchedCall<ReleasePokemonResponse>> calls = new ArrayList<>();
         selection.forEach(poke -> {
-            System.out.println(String.format("Doing Transfer %d of %d", total.getValue(), selection.size()));
-            total.increment();
             if (poke.isFavorite()) {
                 System.out.println(String.format(
                     "%s with %d CP is favorite, skipping.",
                     PokemonUtils.getLocalPokeName(poke),
                     poke.getCp()));
                 skipped.increment();
-                return;
-            }
-
-            if (!poke.getDeployedFortId().isEmpty()) {
+            } else if (!poke.getDeployedFortId().isEmpty()) {
                 System.out.println(String.format(
                     GYM_SKIPPED_MESSAGE_UNFORMATTED,
                     PokemonUtils.getLocalPokeName(poke),
                     poke.getCp()));
                 skipped.increment();
-                return;
+            } else {
+                calls.add(BatchedCall.transfer(poke));
             }
+        });
 
-            try {
-                final int candies = poke.getCandy();
-                final ReleasePokemonResponse.Result transferResult = poke.transferPokemon();
-
-                if (transferResult == ReleasePokemonResponse.Result.SUCCESS) {
-                    final int newCandies = poke.getCandy();
-                    System.out.println(String.format(
-                        "Transferring %s, Result: Success!",
-                        PokemonUtils.getLocalPokeName(poke)));
-                    System.out.println(String.format(
-                        "Stat changes: (Candies : %d[+%d])",
-                        newCandies,
-                        newCandies - candies));
-                    success.increment();
-                } else {
-                    System.out.println(String.format(
-                        "Error transferring %s, result: %s",
-                        PokemonUtils.getLocalPokeName(poke),
-                        transferResult.toString()));
-                    err.increment();
-                }
+        new RequestBatcher(go).execute(calls, call -> {
+            final Pokemon poke = call.getPokemon();
+            System.out.println(String.format("Result of transfer %d of %d:", total.getValue(), calls.size()));
+            total.increment();
 
-                // If not last element, sleep until the next one
-                if (!selection.get(selection.size() - 1).equals(poke)) {
-                    final int sleepMin = config.getInt(ConfigKey.DELAY_TRANSFER_MIN);
-                    final int sleepMax = config.getInt(ConfigKey.DELAY_TRANSFER_MAX);
-                    Utilities.sleepRandom(sleepMin, sleepMax);
-                }
-            } catch (final Exception e) {
+            if (!call.hasResponse()) {
                 err.increment();
                 System.out.println(String.format(
                     "Error transferring %s! %s",
                     PokemonUtils.getLocalPokeName(poke),
-                    Utilities.getRealExceptionMessage(e)));
+                    Utilities.getRealExceptionMessage(call.getError())));
+                return;
+            }
+
+            final ReleasePokemonResponse.Result transferResult = call.getResponse().getResult();
+            if (transferResult == ReleasePokemonResponse.Result.SUCCESS) {
+                System.out.println(String.format(
+                    "Transferring %s, Result: Success!",
+                    PokemonUtils.getLocalPokeName(poke)));
+                System.out.println(String.format(
+                    "Stat changes: (Candies : %d[+%d])",
+                    poke.getCandy(),
+                    call.getResponse().getCandyAwarded()));
+                success.increment();
+            } else {
+                System.out.println(String.format(
+                    "Error transferring %s, result: %s",
+                    PokemonUtils.getLocalPokeName(poke),
+                    transferResult.toString()));
+                err.increment();
             }
         });
         try {
-            go.getInventories().updateInventories(true);
+            metrics.recordApiCall(MetricsRegistry.INVENTORY_REFRESH, () -> go.getInventories().updateInventories(true));
         } catch (final Exception e) {
             e.printStackTrace();
         }
@@ -498,7 +505,8 @@ public class PokemonTab extends JPanel {
                     return;
                 }
 
-                final EvolutionResult evolutionResultWrapper = poke.evolve();
+                final EvolutionResult evolutionResultWrapper = metrics.recordApiCall(OperationId.EVOLVE, poke::evolve,
+                    EvolutionResult::getResult);
                 if (evolutionResultWrapper.isSuccessful()) {
                     final Pokemon newPoke = evolutionResultWrapper.getEvolvedPokemon();
                     int newCandies = newPoke.getCandy();
@@ -529,8 +537,8 @@ public class PokemonTab extends JPanel {
                             final int sleepMax = config.getInt(ConfigKey.DELAY_EVOLVE_MAX);
                             Utilities.sleepRandom(sleepMin, sleepMax);
 
-                            final ReleasePokemonResponse.Result result = newPoke
-                                .transferPokemon();
+                            final ReleasePokemonResponse.Result result = metrics.recordApiCall(OperationId.TRANSFER,
+                                newPoke::transferPokemon);
                             afterTransfer = true;
                             if (result == ReleasePokemonResponse.Result.SUCCESS) {
                                 newCandies = newPoke.getCandy();
@@ -557,7 +565,7 @@ public class PokemonTab extends JPanel {
                             newCp, (newCp - cp),
                             newHp, (newHp - hp)));
                     }
-                    go.getInventories().updateInventories(true);
+                    metrics.recordApiCall(MetricsRegistry.INVENTORY_REFRESH, () -> go.getInventories().updateInventories(true));
                     success.increment();
                 } else {
                     err.increment();
@@ -589,7 +597,7 @@ public class PokemonTab extends JPanel {
             }
         });
         try {
-            go.getInventories().updateInventories(true);
+            metrics.recordApiCall(MetricsRegistry.INVENTORY_REFRESH, () -> go.getInventories().updateInventories(true));
         } catch (final Exception e) {
             e.printStackTrace();
         }
@@ -615,99 +623,102 @@ public class PokemonTab extends JPanel {
             success = new MutableInt(),
             total = new MutableInt(1);
 
+        // Candies and stardust are only refreshed after the batch, so what is spent is counted here
+        final MutableInt stardust = new MutableInt(go.getPlayerProfile().getCurrency(Currency.STARDUST));
+        final Map<PokemonFamilyId, Integer> candiesLeft = new EnumMap<>(PokemonFamilyId.class);
+        final List<BatchedCall<UpgradePokemonResponse>> calls = new ArrayList<>();
         selection.forEach(poke -> {
-            try {
-                System.out.println(String.format("Doing Power Up %d of %d",
-                    total.getValue(),
-                    selection.size()));
-                total.increment();
+            if (!poke.getDeployedFortId().isEmpty()) {
+                System.out.println(String.format(
+                    GYM_SKIPPED_MESSAGE_UNFORMATTED,
+                    PokemonUtils.getLocalPokeName(poke),
+                    +poke.getCp()));
+                skipped.increment();
+                return;
+            }
 
-                if (!poke.getDeployedFortId().isEmpty()) {
-                    System.out.println(String.format(
-                        GYM_SKIPPED_MESSAGE_UNFORMATTED,
-                        PokemonUtils.getLocalPokeName(poke),
-                        +poke.getCp()));
-                    skipped.increment();
-                    return;
-                }
+            final int candies = candiesLeft.computeIfAbsent(poke.getPokemonFamily(), family -> poke.getCandy());
+            final int stardustToPowerUp = poke.getStardustCostsForPowerup();
+            final int candiesToPowerUp = poke.getCandyCostsForPowerup();
 
-                final int stardust = go.getPlayerProfile().getCurrency(Currency.STARDUST);
-                final int candies = poke.getCandy();
-                final int cp = poke.getCp();
-                final int hp = poke.getMaxStamina();
-                final int stardustToPowerUp = poke.getStardustCostsForPowerup();
-                final int candiesToPowerUp = poke.getCandyCostsForPowerup();
+            // Check if user has enough candy and stardust, otherwise we don't need to call server
+            if (candies < candiesToPowerUp || stardust.intValue() < stardustToPowerUp) {
+                err.increment();
+                System.out.println(String.format(
+                    "Error. Not enough candy/stardust to power up %s. "
+                        + "Stardust: %d/%d, "
+                        + "Candy: %d/%d",
+                    PokemonUtils.getLocalPokeName(poke),
+                    stardust.intValue(), stardustToPowerUp,
+                    candies, candiesToPowerUp));
+                return;
+            }
 
-                // Check if user has enough candy and stardust, otherwise we don't need to call server
-                if (candies < candiesToPowerUp || stardust < stardustToPowerUp) {
-                    err.increment();
-                    System.out.println(String.format(
-                        "Error. Not enough candy/stardust to power up %s. "
-                            + "Stardust: %d/%d, "
-                            + "Candy: %d/%d",
-                        PokemonUtils.getLocalPokeName(poke),
-                        stardust, stardustToPowerUp,
-                        candies, candiesToPowerUp));
-                    return;
-                }
+            // Check we aren't at max level, otherwise we don't need to call server
+            if (poke.getCp() >= poke.getMaxCpForPlayer()) {
+                skipped.increment();
+                System.out.println(String.format(
+                    "Skipping power-up of %s. It is already MaxCP: %d",
+                    PokemonUtils.getLocalPokeName(poke),
+                    poke.getCp()));
+                return;
+            }
 
-                // Check we aren't at max level, otherwise we don't need to call server
-                if (poke.getCp() >= poke.getMaxCpForPlayer()) {
-                    skipped.increment();
-                    System.out.println(String.format(
-                        "Skipping power-up of %s. It is already MaxCP: %d",
-                        PokemonUtils.getLocalPokeName(poke),
-                        poke.getCp()));
-                    return;
-                }
+            stardust.subtract(stardustToPowerUp);
+            candiesLeft.put(poke.getPokemonFamily(), candies - candiesToPowerUp);
+            calls.add(BatchedCall.powerUp(poke));
+        });
 
-                final UpgradePokemonResponse.Result upgradeResult = poke.powerUp();
-                go.getPlayerProfile().updateProfile();
-                if (upgradeResult == UpgradePokemonResponse.Result.SUCCESS) {
-                    final int newCandies = poke.getCandy();
-                    final int newCp = poke.getCp();
-                    final int newHp = poke.getMaxStamina();
-                    System.out.println(String.format(
-                        "Powering Up %s, Result: Success!",
-                        PokemonUtils.getLocalPokeName(poke)));
+        new RequestBatcher(go).execute(calls, call -> {
+            final Pokemon poke = call.getPokemon();
+            System.out.println(String.format("Result of power up %d of %d:",
+                total.getValue(),
+                calls.size()));
+            total.increment();
 
-                    System.out.println(String.format(
-                        "Stat changes: "
-                            + "(Candies : %d[%d-%d], "
-                            + "CP: %d[+%d], "
-                            + "HP: %d[+%d], "
-                            + "Stardust used %d[remainding: %d])",
-                        newCandies, candies, candiesToPowerUp,
-                        newCp, (newCp - cp),
-                        newHp, (newHp - hp),
-                        stardustToPowerUp,
-                        go.getPlayerProfile().getCurrency(Currency.STARDUST)));
+            if (!call.hasResponse()) {
+                err.increment();
+                System.out.println(String.format(
+                    "Error powering up %s! %s",
+                    PokemonUtils.getLocalPokeName(poke),
+                    Utilities.getRealExceptionMessage(call.getError())));
+                return;
+            }
 
-                    success.increment();
-                } else {
-                    err.increment();
-                    System.out.println(String.format(
-                        "Error powering up %s, result: %s",
-                        PokemonUtils.getLocalPokeName(poke),
-                        upgradeResult.toString()));
-                }
+            final UpgradePokemonResponse.Result upgradeResult = call.getResponse().getResult();
+            if (upgradeResult == UpgradePokemonResponse.Result.SUCCESS) {
+                final PokemonData upgraded = call.getResponse().getUpgradedPokemon();
+                System.out.println(String.format(
+                    "Powering Up %s, Result: Success!",
+                    PokemonUtils.getLocalPokeName(poke)));
 
-                // If not last element, sleep until the next one
-                if (!selection.get(selection.size() - 1).equals(poke)) {
-                    final int sleepMin = config.getInt(ConfigKey.DELAY_POWERUP_MIN);
-                    final int sleepMax = config.getInt(ConfigKey.DELAY_POWERUP_MAX);
-                    Utilities.sleepRandom(sleepMin, sleepMax);
-                }
-            } catch (final Exception e) {
+                System.out.println(String.format(
+                    "Stat changes: "
+                        + "(Candies : -%d, "
+                        + "CP: %d[+%d], "
+                        + "HP: %d[+%d], "
+                        + "Stardust used %d)",
+                    poke.getCandyCostsForPowerup(),
+                    upgraded.getCp(), (upgraded.getCp() - poke.getCp()),
+                    upgraded.getStaminaMax(), (upgraded.getStaminaMax() - poke.getMaxStamina()),
+                    poke.getStardustCostsForPowerup()));
+
+                success.increment();
+            } else {
                 err.increment();
                 System.out.println(String.format(
-                    "Error powering up %s! %s",
+                    "Error powering up %s, result: %s",
                     PokemonUtils.getLocalPokeName(poke),
-                    Utilities.getRealExceptionMessage(e)));
+                    upgradeResult.toString()));
             }
         });
         try {
-            go.getInventories().updateInventories(true);
+            metrics.recordApiCall(MetricsRegistry.PROFILE_REFRESH, () -> go.getPlayerProfile().updateProfile());
+        } catch (final Exception e) {
+            e.printStackTrace();
+        }
+        try {
+            metrics.recordApiCall(MetricsRegistry.INVENTORY_REFRESH, () -> go.getInventories().updateInventories(true));
             PokemonGoMainWindow.getInstance().refreshTitle();
         } catch (final Exception e) {
             e.printStackTrace();
@@ -733,49 +744,46 @@ public class PokemonTab extends JPanel {
             success = new MutableInt(),
             total = new MutableInt(1);
 
-        selection.forEach(poke -> {
-            try {
+        final List<BatchedCall<SetFavoritePokemonResponse>> calls = new ArrayList<>();
+        selection.forEach(poke -> calls.add(BatchedCall.favorite(poke, !poke.isFavorite())));
+
+        new RequestBatcher(go).execute(calls, call -> {
+            final Pokemon poke = call.getPokemon();
+            System.out.println(String.format(
+                "Result of favorite toggle %d of %d:",
+                total.getValue(),
+                calls.size()));
+            total.increment();
+
+            if (!call.hasResponse()) {
+                err.increment();
                 System.out.println(String.format(
-                    "Toggling favorite %d of %d",
-                    total.getValue(),
-                    selection.size()));
-                total.increment();
-                final SetFavoritePokemonResponse.Result favoriteResult = poke
-                    .setFavoritePokemon(!poke.isFavorite());
+                    "Error toggling favorite for %s! %s",
+                    PokemonUtils.getLocalPokeName(poke),
+                    Utilities.getRealExceptionMessage(call.getError())));
+                return;
+            }
+
+            final SetFavoritePokemonResponse.Result favoriteResult = call.getResponse().getResult();
+            if (favoriteResult == SetFavoritePokemonResponse.Result.SUCCESS) {
                 System.out.println(String.format(
-                    "Attempting to set favorite for %s to %b...",
+                    "Favorite for %s set to %b, Result: Success!",
                     PokemonUtils.getLocalPokeName(poke),
                     !poke.isFavorite()));
-                go.getPlayerProfile().updateProfile();
-
-                if (favoriteResult == SetFavoritePokemonResponse.Result.SUCCESS) {
-                    System.out.println(String.format(
-                        "Favorite for %s set to %b, Result: Success!",
-                        PokemonUtils.getLocalPokeName(poke),
-                        !poke.isFavorite()));
-                    success.increment();
-                } else {
-                    err.increment();
-                    System.out.println(String.format(
-                        "Error toggling favorite for %s, result: %s",
-                        PokemonUtils.getLocalPokeName(poke),
-                        favoriteResult.toString()));
-                }
-
-                // If not last element, sleep until the next one
-                if (!selection.get(selection.size() - 1).equals(poke)) {
-                    final int sleepMin = config.getInt(ConfigKey.DELAY_FAVORITE_MIN);
-                    final int sleepMax = config.getInt(ConfigKey.DELAY_FAVORITE_MAX);
-                    Utilities.sleepRandom(sleepMin, sleepMax);
-                }
-            } catch (final Exception e) {
+                success.increment();
+            } else {
                 err.increment();
                 System.out.println(String.format(
-                    "Error toggling favorite for %s! %s",
+                    "Error toggling favorite for %s, result: %s",
                     PokemonUtils.getLocalPokeName(poke),
-                    Utilities.getRealExceptionMessage(e)));
+                    favoriteResult.toString()));
             }
         });
+        try {
+            metrics.recordApiCall(MetricsRegistry.PROFILE_REFRESH, () -> go.getPlayerProfile().updateProfile());
+        } catch (final Exception e) {
+            e.printStackTrace();
+        }
         try {
             PokemonGoMainWindow.getInstance().refreshTitle();
         } catch (final Exception e) {
@@ -787,25 +795,38 @@ public class PokemonTab extends JPanel {
     }
 
     private void selectLessThanIv() {
-        if (!NumberUtils.isNumber(ivTransfer.getText())) {
-            System.out.println("Please select a valid IV value (0-100)");
+        final String input = ivTransfer.getText().trim();
+        final PokemonQuery query;
+        if (NumberUtils.isNumber(input)) {
+            final double ivLessThan = Double.parseDouble(input);
+            if (ivLessThan > 100 || ivLessThan < 0) {
+                System.out.println("Please select a valid IV value (0-100)");
+                return;
+            }
+            query = PokemonQuery.compile("iv<" + input);
+        } else if (input.isEmpty() || SELECT_GHOST_TEXT.equals(input)) {
+            System.out.println("Please select a valid IV value (0-100) or enter a query");
             return;
+        } else {
+            try {
+                query = PokemonQuery.compile(input);
+            } catch (final IllegalArgumentException e) {
+                System.out.println("Invalid query: " + e.getMessage());
+                return;
+            }
         }
+        System.out.println("Selecting Pokemon matching: " + query);
 
-        final double ivLessThan = Double.parseDouble(ivTransfer.getText());
-        if (ivLessThan > 100 || ivLessThan < 0) {
-            System.out.println("Please select a valid IV value (0-100)");
-            return;
-        }
-        pt.clearSelection();
-        System.out.println("Selecting Pokemon with IV less than: " + ivTransfer.getText());
+        final PokemonTableModel model = (PokemonTableModel) pt.getModel();
+        final int selected = pt.select(query.select(model, model.getRowCount()));
+        System.out.println(selected + " Pokémon selected");
+    }
 
-        for (int i = 0; i < pt.getRowCount(); i++) {
-            final double pIv = Double.parseDouble((String) pt.getValueAt(i, 3));
-            if (pIv < ivLessThan) {
-                pt.getSelectionModel().addSelectionInterval(i, i);
-            }
-        }
+    private void selectSaved(final SavedSelection selection) {
+        System.out.println("Selecting " + selection);
+        final PokemonTableModel model = (PokemonTableModel) pt.getModel();
+        final int selected = pt.select(selection.select(model, model.getRowCount()));
+        System.out.println(selected + " Pokémon selected");
     }
 
     /**
@@ -831,7 +852,18 @@ public class PokemonTab extends JPanel {
                 break;
         }
 
-        final String input = (String) JOptionPane.showInputDialog(null, panel, message, JOptionPane.PLAIN_MESSAGE, null, null, savedPattern);
+        final String input;
+        if (operation == BatchOperation.RENAME) {
+            // The rename dialog has its own input field, so it can show a live preview of the new names
+            final RenamePreviewPanel preview = new RenamePreviewPanel(pokes, savedPattern);
+            panel.add(preview);
+            panel.setPreferredSize(new Dimension(POPUP_WIDTH, POPUP_HEIGHT + RENAME_PREVIEW_HEIGHT));
+            final int response = JOptionPane.showConfirmDialog(null, panel, message, JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+            preview.stopPreview();
+            input = response == JOptionPane.OK_OPTION ? preview.getPattern() : null;
+        } else {
+            input = (String) JOptionPane.showInputDialog(null, panel, message, JOptionPane.PLAIN_MESSAGE, null, null, savedPattern);
+        }
         if (input != null) {
             switch (operation) {
                 case RENAME:
@@ -983,53 +1015,49 @@ public class PokemonTab extends JPanel {
     }
 
     public void refreshList() {
-        final List<Pokemon> pokes = new ArrayList<>();
-        final String search = searchBar.getText().replaceAll(StringLiterals.SPACE, "").replaceAll(StringLiterals.UNDERSCORE, "").replaceAll("snek", "ekans")
-            .toLowerCase();
-        final String[] terms = search.split(";");
         try {
-            go.getInventories().getPokebank().getPokemons().forEach(poke -> {
-                final boolean useFamilyName = config.getBool(ConfigKey.INCLUDE_FAMILY);
-                String familyName = "";
-                if (useFamilyName) {
-                    // Try translating family name
-                    try {
-                        final PokemonId familyPokemonId = PokemonId.valueOf(poke.getPokemonFamily().toString().replaceAll(StringLiterals.FAMILY_PREFIX, ""));
-                        familyName = PokemonUtils.getLocalPokeName(familyPokemonId.getNumber());
-                    } catch (final IllegalArgumentException e) {
-                        familyName = poke.getPokemonFamily().toString();
-                    }
-                }
-
-                String searchme = Utilities.concatString(',',
-                    PokemonUtils.getLocalPokeName(poke),
-                    ((useFamilyName) ? familyName : ""),
-                    poke.getNickname(),
-                    poke.getMeta().getType1().toString(),
-                    poke.getMeta().getType2().toString(),
-                    poke.getMove1().toString(),
-                    poke.getMove2().toString(),
-                    poke.getPokeball().toString());
-                searchme = searchme.replaceAll("_FAST", "").replaceAll(StringLiterals.FAMILY_PREFIX, "").replaceAll("NONE", "")
-                    .replaceAll("ITEM_", "").replaceAll(StringLiterals.UNDERSCORE, "").replaceAll(StringLiterals.SPACE, "").toLowerCase();
-
-                for (final String s : terms) {
-                    if (searchme.contains(s)) {
-                        pokes.add(poke);
-                        // Break, so that a Pokémon isn't added twice even if it
-                        // matches more than one criteria
-                        break;
-                    }
-                }
-            });
-            pt.constructNewTableModel(("".equals(search) || "searchpokémon...".equals(search)
-                ? go.getInventories().getPokebank().getPokemons() : pokes));
-
+            // The table always holds the whole bag, the search only filters what is shown
+            pt.constructNewTableModel(go.getInventories().getPokebank().getPokemons());
+            saveSnapshot();
         } catch (final Exception e) {
             e.printStackTrace();
         }
     }
 
+    /**
+     * Compiles the text of the search bar and filters the table with it. While the query is not valid, for example
+     * because it is still being typed, the previous filter stays and the tooltip tells what is wrong.
+     */
+    private void applySearch() {
+        final String search = searchBar.getText().trim();
+        if (search.isEmpty() || SEARCH_GHOST_TEXT.equals(search)) {
+            pt.setQuery(null);
+            searchBar.setToolTipText(null);
+            return;
+        }
+        try {
+            pt.setQuery(PokemonQuery.compile(search));
+            searchBar.setToolTipText(null);
+        } catch (final IllegalArgumentException e) {
+            searchBar.setToolTipText(e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the rows of the whole bag as snapshot of this account in the background, so the next start can show
+     * them before the login is done.
+     */
+    private void saveSnapshot() {
+        if (!config.getBool(ConfigKey.SNAPSHOT_ENABLED)) {
+            return;
+        }
+        final String account = go.getPlayerProfile().getPlayerData().getUsername();
+        if (!account.equals(config.getString(ConfigKey.SNAPSHOT_LAST_ACCOUNT))) {
+            config.setString(ConfigKey.SNAPSHOT_LAST_ACCOUNT, account);
+        }
+        InventorySnapshotStore.getStore().saveAsync(pt.takeSnapshot(account));
+    }
+
     /**
      * Provide custom formatting for the list of patterns.
      */
@@ -0,0 +1,221 @@
+package me.corriekay.pokegoutil.windows;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.DefaultTableModel;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import me.corriekay.pokegoutil.utils.pokemon.PokeNick;
+import me.corriekay.pokegoutil.utils.pokemon.PokemonUtils;
+import me.corriekay.pokegoutil.utils.pokemon.RenameTemplate;
+
+/**
+ * The pattern input of the rename dialog, with a live preview of the resulting nicknames.
+ * <p>
+ * While the user types, the pattern is rendered for every selected Pokémon in a SwingWorker, and the rows are
+ * added to the preview as they are ready. Each row is flagged if the name stays unchanged (it will be skipped),
+ * gets cut to the maximum length, or collides with the new name of another selected Pokémon.
+ */
+@SuppressWarnings("serial")
+public class RenamePreviewPanel extends JPanel {
+
+    private static final int PREVIEW_WIDTH = 500;
+    private static final int PREVIEW_HEIGHT = 250;
+    private static final int TYPING_DELAY_MS = 200;
+    static final String[] COLUMNS = {"Pokémon", "Current name", "New name", "Note"};
+    private static final int COLUMN_NEW_NAME = 2;
+    private static final int COLUMN_NOTE = 3;
+    private static final String UNCHANGED = "Unchanged, skipped";
+    private static final String TRUNCATED = "Cut from \"%s\"";
+    private static final String COLLISION = "Same name as another";
+
+    private final List<Pokemon> pokemons;
+    private final JTextField patternField;
+    private final DefaultTableModel previewModel = new DefaultTableModel(COLUMNS, 0) {
+        @Override
+        public boolean isCellEditable(final int row, final int column) {
+            return false;
+        }
+    };
+    private final JLabel summary = new JLabel(" ");
+    private final Timer typingTimer;
+    private PreviewWorker worker;
+
+    /**
+     * Creates the panel and starts the preview for the initial pattern.
+     *
+     * @param pokemons The Pokémon that are going to be renamed.
+     * @param pattern  The initial pattern.
+     */
+    public RenamePreviewPanel(final List<Pokemon> pokemons, final String pattern) {
+        super(new BorderLayout());
+        this.pokemons = new ArrayList<>(pokemons);
+
+        patternField = new JTextField(pattern);
+        add(patternField, BorderLayout.NORTH);
+
+        final JTable previewTable = new JTable(previewModel);
+        final JScrollPane scroll = new JScrollPane(previewTable);
+        scroll.setPreferredSize(new Dimension(PREVIEW_WIDTH, PREVIEW_HEIGHT));
+        add(scroll, BorderLayout.CENTER);
+        add(summary, BorderLayout.SOUTH);
+
+        typingTimer = new Timer(TYPING_DELAY_MS, e -> startPreview());
+        typingTimer.setRepeats(false);
+        patternField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(final DocumentEvent e) {
+                typingTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(final DocumentEvent e) {
+                typingTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(final DocumentEvent e) {
+                typingTimer.restart();
+            }
+        });
+
+        startPreview();
+    }
+
+    /**
+     * Returns the pattern the user entered.
+     *
+     * @return The pattern.
+     */
+    public String getPattern() {
+        return patternField.getText();
+    }
+
+    /**
+     * Stops a preview that is still running, e.g. when the dialog was closed.
+     */
+    public void stopPreview() {
+        typingTimer.stop();
+        if (worker != null) {
+            worker.cancel(true);
+        }
+    }
+
+    private void startPreview() {
+        stopPreview();
+        previewModel.setRowCount(0);
+        summary.setText("Calculating preview...");
+        worker = new PreviewWorker(RenameTemplate.compile(getPattern()));
+        worker.execute();
+    }
+
+    /**
+     * Renders the nicknames in the background and adds them to the preview in chunks.
+     */
+    private final class PreviewWorker extends SwingWorker<Void, Object[]> {
+        private final RenameTemplate template;
+
+        PreviewWorker(final RenameTemplate template) {
+            this.template = template;
+        }
+
+        @Override
+        protected Void doInBackground() {
+            final StringBuilder buffer = new StringBuilder();
+            for (final Pokemon pokemon : pokemons) {
+                if (isCancelled()) {
+                    break;
+                }
+                publish(toRow(template, pokemon, buffer));
+            }
+            return null;
+        }
+
+        @Override
+        protected void process(final List<Object[]> rows) {
+            if (isCancelled()) {
+                return;
+            }
+            rows.forEach(previewModel::addRow);
+            summary.setText(String.format("Calculating preview... %d of %d", previewModel.getRowCount(), pokemons.size()));
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled()) {
+                return;
+            }
+            summary.setText(markCollisions(previewModel));
+        }
+    }
+
+    /**
+     * Renders the new nickname of a Pokémon into a preview row, with a note if it stays unchanged or gets cut.
+     *
+     * @param template The compiled pattern.
+     * @param pokemon  The Pokémon.
+     * @param buffer   A buffer to render the nickname in, reused for the next row.
+     * @return The row, with a value for each of the preview columns.
+     */
+    static Object[] toRow(final RenameTemplate template, final Pokemon pokemon, final StringBuilder buffer) {
+        final PokeNick nick = new PokeNick(template, pokemon, buffer);
+        final String note;
+        if (nick.toString().equals(pokemon.getNickname())) {
+            note = UNCHANGED;
+        } else if (nick.isTooLong()) {
+            note = String.format(TRUNCATED, nick.fullNickname);
+        } else {
+            note = "";
+        }
+        return new Object[] {PokemonUtils.getLocalPokeName(pokemon), pokemon.getNickname(), nick.toString(), note};
+    }
+
+    /**
+     * Flags the rows whose new name is the same as the one of another row, and sums up the preview.
+     *
+     * @param previewModel The preview with all rows.
+     * @return The summary.
+     */
+    static String markCollisions(final DefaultTableModel previewModel) {
+        final int rows = previewModel.getRowCount();
+        final Map<Object, Integer> nameCounts = new HashMap<>();
+        for (int i = 0; i < rows; i++) {
+            nameCounts.merge(previewModel.getValueAt(i, COLUMN_NEW_NAME), 1, Integer::sum);
+        }
+
+        int unchanged = 0;
+        int truncated = 0;
+        int collisions = 0;
+        for (int i = 0; i < rows; i++) {
+            final String note = (String) previewModel.getValueAt(i, COLUMN_NOTE);
+            if (UNCHANGED.equals(note)) {
+                unchanged++;
+                continue;
+            }
+            if (!note.isEmpty()) {
+                truncated++;
+            }
+            if (nameCounts.get(previewModel.getValueAt(i, COLUMN_NEW_NAME)) > 1) {
+                collisions++;
+                previewModel.setValueAt(note.isEmpty() ? COLLISION : note + ", " + COLLISION.toLowerCase(), i, COLUMN_NOTE);
+            }
+        }
+        return String.format("%d to rename, %d unchanged (skipped), %d cut to %d characters, %d with the same name",
+            rows - unchanged, unchanged, truncated, PokeNick.MAX_NICKNAME_LENGTH, collisions);
+    }
+}
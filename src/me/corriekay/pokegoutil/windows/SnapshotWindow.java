@@ -0,0 +1,71 @@
+package me.corriekay.pokegoutil.windows;
+
+import java.awt.BorderLayout;
+
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JScrollPane;
+import javax.swing.WindowConstants;
+
+import me.corriekay.pokegoutil.utils.ConfigKey;
+import me.corriekay.pokegoutil.utils.ConfigNew;
+import me.corriekay.pokegoutil.utils.helpers.DateHelper;
+import me.corriekay.pokegoutil.utils.helpers.FileHelper;
+import me.corriekay.pokegoutil.utils.snapshot.InventorySnapshot;
+import me.corriekay.pokegoutil.utils.windows.PokemonTable;
+
+/**
+ * A read-only window that shows the Pokémon of the last saved snapshot.
+ * <p>
+ * It is shown while logging in, and replaced by the main window once the login is done. If the user decides not
+ * to log in, it stays open for browsing the bag offline.
+ * <p>
+ * The table has a model of its own, so it can stay open next to the main window. Every column is shown from the
+ * values saved with the snapshot, see {@link InventorySnapshot#toProto} for the Pokémon fields a snapshot doesn't keep.
+ */
+@SuppressWarnings("serial")
+public class SnapshotWindow extends JFrame {
+
+    private static final String TITLE = "%s - %s - Blossom's Pokémon Go Manager";
+
+    private final InventorySnapshot snapshot;
+    private final JLabel status = new JLabel();
+
+    /**
+     * Creates the window and fills the table from the snapshot.
+     *
+     * @param snapshot The snapshot to show.
+     */
+    public SnapshotWindow(final InventorySnapshot snapshot) {
+        super();
+        this.snapshot = snapshot;
+
+        final ConfigNew config = ConfigNew.getConfig();
+        setLayout(new BorderLayout());
+        setIconImage(FileHelper.loadImage("icon/PokeBall-icon.png"));
+        setBounds(config.getInt(ConfigKey.WINDOW_POS_X), config.getInt(ConfigKey.WINDOW_POS_Y),
+            config.getInt(ConfigKey.WINDOW_WIDTH), config.getInt(ConfigKey.WINDOW_HEIGHT));
+        setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+
+        final PokemonTable table = new PokemonTable(null);
+        table.showSnapshot(snapshot);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+        add(status, BorderLayout.SOUTH);
+
+        setStatus("Logging in...");
+    }
+
+    /**
+     * Switches to offline mode, where the window is all there is. Closing it exits the application.
+     */
+    public void setOffline() {
+        setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+        setStatus("Offline, read-only.");
+    }
+
+    private void setStatus(final String state) {
+        final String savedAt = DateHelper.toString(DateHelper.fromTimestamp(snapshot.getSavedAtMs()));
+        setTitle(String.format(TITLE, snapshot.getAccount(), "Snapshot from " + savedAt));
+        status.setText(String.format(" %s Showing %d Pokémon as of %s.", state, snapshot.getPokemons().size(), savedAt));
+    }
+}
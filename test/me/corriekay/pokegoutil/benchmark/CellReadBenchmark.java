@@ -0,0 +1,102 @@
+package me.corriekay.pokegoutil.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import me.corriekay.pokegoutil.data.enums.PokeColumn;
+import me.corriekay.pokegoutil.utils.snapshot.InventorySnapshot;
+import me.corriekay.pokegoutil.utils.windows.PokemonTableModel;
+
+import POGOProtos.Data.PokemonDataOuterClass.PokemonData;
+
+/**
+ * Measures reading every cell of the table model, which the table does for painting, sorting and packing columns.
+ * <p>
+ * Not a unit test, run it by hand via main(). It compares getValueAt with reading the cells through the old column
+ * lookup, which copied the array of all columns and searched it for every cell.
+ */
+public final class CellReadBenchmark {
+
+    private static final int ROW_COUNT = 2000;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 100;
+
+    /** Prevent initializing this class. */
+    private CellReadBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Not used.
+     */
+    @SuppressWarnings("deprecation")
+    public static void main(final String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        final PokemonTableModel model = new PokemonTableModel(null, new ArrayList<>(), null);
+        // Fill the columns from a snapshot of empty rows, the values don't matter for reading them
+        final int columnCount = PokeColumn.getCount();
+        final List<PokemonData> pokemons = new ArrayList<>(ROW_COUNT);
+        final List<Object[]> rows = new ArrayList<>(ROW_COUNT);
+        for (int row = 0; row < ROW_COUNT; row++) {
+            pokemons.add(PokemonData.getDefaultInstance());
+            rows.add(new Object[columnCount]);
+        }
+        model.updateTableData(new InventorySnapshot("benchmark", 0, pokemons, rows));
+        System.out.printf("%d rows, %d columns, %d rounds each%n", ROW_COUNT, columnCount, MEASURED_ROUNDS);
+
+        long sink = 0;
+        sink += measure("Linear column lookup", columnCount, (row, column) -> model.get(oldGetForId(column), row));
+        sink += measure("PokemonTableModel.getValueAt", columnCount, model::getValueAt);
+        // Print the sink, so the reads can't be optimized away
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /**
+     * Something that reads a cell.
+     */
+    private interface CellReader {
+        Object read(int row, int column);
+    }
+
+    private static long measure(final String name, final int columnCount, final CellReader reader) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += readAll(columnCount, reader);
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += readAll(columnCount, reader);
+        }
+        final long nanos = System.nanoTime() - start;
+        final double cells = (double) ROW_COUNT * columnCount * MEASURED_ROUNDS;
+        System.out.printf("%-30s %8.1f ns per cell, %6.1f million cells per second%n", name, nanos / cells, cells / nanos * 1e3);
+        return sink;
+    }
+
+    private static long readAll(final int columnCount, final CellReader reader) {
+        long nulls = 0;
+        for (int row = 0; row < ROW_COUNT; row++) {
+            for (int column = 0; column < columnCount; column++) {
+                if (reader.read(row, column) == null) {
+                    nulls++;
+                }
+            }
+        }
+        return nulls;
+    }
+
+    /**
+     * The column lookup like it used to be.
+     */
+    private static PokeColumn oldGetForId(final int id) {
+        for (final PokeColumn column : PokeColumn.values()) {
+            if (column.id == id) {
+                return column;
+            }
+        }
+        throw new NoSuchElementException("There is no column with id " + id);
+    }
+}
@@ -0,0 +1,232 @@
+package me.corriekay.pokegoutil.benchmark;
+
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.text.DecimalFormat;
+import java.util.Random;
+
+import javax.swing.JLabel;
+import javax.swing.JTable;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableCellRenderer;
+import javax.swing.table.TableColumn;
+
+import me.corriekay.pokegoutil.utils.windows.renderer.CellTextSource;
+import me.corriekay.pokegoutil.utils.windows.renderer.DefaultCellRenderer;
+import me.corriekay.pokegoutil.utils.windows.renderer.NumberCellRenderer;
+import me.corriekay.pokegoutil.utils.windows.renderer.PercentageCellRenderer;
+
+/**
+ * Measures painting a table of 40 columns and 2000 rows, scrolled from top to bottom, like the Pokémon table.
+ * <p>
+ * Not a unit test, run it by hand via main(). It runs headless and paints into an image. It compares renderers like
+ * they used to be, which formatted every value and fired property changes on every paint, with the current ones,
+ * which get the texts that were formatted when the data was loaded.
+ */
+public final class CellRendererBenchmark {
+
+    private static final int ROW_COUNT = 2000;
+    private static final int PERCENTAGE_COLUMNS = 10;
+    private static final int NUMBER_COLUMNS = 20;
+    private static final int TEXT_COLUMNS = 10;
+    private static final int COLUMN_COUNT = PERCENTAGE_COLUMNS + NUMBER_COLUMNS + TEXT_COLUMNS;
+    private static final int COLUMN_WIDTH = 60;
+    private static final int VIEW_HEIGHT = 600;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+    private static final int MAX_NUMBER = 3000;
+    private static final String[] TEXTS = {"Pidgey", "Rattata", "Dratini", "Magikarp", "Eevee", "Mr. Mime"};
+
+    /** Prevent initializing this class. */
+    private CellRendererBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Not used.
+     */
+    public static void main(final String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        final Random random = new Random(1);
+        final Object[][] values = new Object[ROW_COUNT][COLUMN_COUNT];
+        for (final Object[] row : values) {
+            for (int column = 0; column < COLUMN_COUNT; column++) {
+                if (column < PERCENTAGE_COLUMNS) {
+                    row[column] = random.nextDouble();
+                } else if (column < PERCENTAGE_COLUMNS + NUMBER_COLUMNS) {
+                    row[column] = random.nextInt(MAX_NUMBER);
+                } else {
+                    row[column] = TEXTS[random.nextInt(TEXTS.length)];
+                }
+            }
+        }
+        final BenchmarkModel model = new BenchmarkModel(values);
+
+        final JTable oldTable = new JTable(model);
+        setRenderers(oldTable, new OldPercentageRenderer(), new OldNumberRenderer(), new OldRenderer());
+
+        final DefaultCellRenderer[] renderers = {new PercentageCellRenderer(), new NumberCellRenderer(), new DefaultCellRenderer()};
+        final long formatStart = System.nanoTime();
+        final String[][] texts = new String[ROW_COUNT][COLUMN_COUNT];
+        for (int row = 0; row < ROW_COUNT; row++) {
+            for (int column = 0; column < COLUMN_COUNT; column++) {
+                texts[row][column] = renderers[typeOf(column)].toCellText(values[row][column]);
+            }
+        }
+        final long formatNanos = System.nanoTime() - formatStart;
+        final JTable newTable = new CachedTextTable(model, texts);
+        setRenderers(newTable, renderers[0], renderers[1], renderers[2]);
+
+        System.out.printf("%d rows, %d columns, formatting the texts once took %.2f ms%n", ROW_COUNT, COLUMN_COUNT, formatNanos / 1e6);
+        measure("Old renderers", oldTable);
+        measure("Precomputed texts", newTable);
+    }
+
+    private static int typeOf(final int column) {
+        if (column < PERCENTAGE_COLUMNS) {
+            return 0;
+        }
+        return column < PERCENTAGE_COLUMNS + NUMBER_COLUMNS ? 1 : 2;
+    }
+
+    private static void setRenderers(final JTable table, final TableCellRenderer percentage, final TableCellRenderer number,
+                                     final TableCellRenderer text) {
+        final TableCellRenderer[] renderers = {percentage, number, text};
+        for (int column = 0; column < COLUMN_COUNT; column++) {
+            final TableColumn tableColumn = table.getColumnModel().getColumn(column);
+            tableColumn.setCellRenderer(renderers[typeOf(column)]);
+            tableColumn.setWidth(COLUMN_WIDTH);
+            tableColumn.setPreferredWidth(COLUMN_WIDTH);
+        }
+        table.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+        table.setSize(COLUMN_WIDTH * COLUMN_COUNT, table.getRowHeight() * ROW_COUNT);
+    }
+
+    private static void measure(final String name, final JTable table) {
+        final BufferedImage image = new BufferedImage(table.getWidth(), VIEW_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            scroll(table, image);
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            scroll(table, image);
+        }
+        final long nanos = System.nanoTime() - start;
+        final double cells = (double) ROW_COUNT * COLUMN_COUNT * MEASURED_ROUNDS;
+        System.out.printf("%-20s %8.2f ms per scroll through the table, %6.0f ns per cell%n",
+            name, nanos / 1e6 / MEASURED_ROUNDS, nanos / cells);
+    }
+
+    /**
+     * Paints the table one screen at a time, from top to bottom.
+     */
+    private static void scroll(final JTable table, final BufferedImage image) {
+        for (int y = 0; y < table.getHeight(); y += VIEW_HEIGHT) {
+            final Graphics2D graphics = image.createGraphics();
+            graphics.translate(0, -y);
+            graphics.setClip(0, y, table.getWidth(), VIEW_HEIGHT);
+            table.paint(graphics);
+            graphics.dispose();
+        }
+    }
+
+    /**
+     * The values of the table.
+     */
+    @SuppressWarnings("serial")
+    private static final class BenchmarkModel extends AbstractTableModel {
+        private final Object[][] values;
+
+        BenchmarkModel(final Object[][] values) {
+            this.values = values;
+        }
+
+        @Override
+        public int getRowCount() {
+            return values.length;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMN_COUNT;
+        }
+
+        @Override
+        public Object getValueAt(final int rowIndex, final int columnIndex) {
+            return values[rowIndex][columnIndex];
+        }
+    }
+
+    /**
+     * A table that knows its texts, like the Pokémon table.
+     */
+    @SuppressWarnings("serial")
+    private static final class CachedTextTable extends JTable implements CellTextSource {
+        private final String[][] texts;
+
+        CachedTextTable(final BenchmarkModel model, final String[][] texts) {
+            super(model);
+            this.texts = texts;
+        }
+
+        @Override
+        public String getCellText(final int rowIndex, final int columnIndex) {
+            return texts[convertRowIndexToModel(rowIndex)][convertColumnIndexToModel(columnIndex)];
+        }
+    }
+
+    /**
+     * The default renderer like it used to be.
+     */
+    @SuppressWarnings("serial")
+    private static class OldRenderer extends JLabel implements TableCellRenderer {
+        @Override
+        public Component getTableCellRendererComponent(final JTable table, final Object value, final boolean isSelected,
+                                                       final boolean hasFocus, final int rowIndex, final int columnIndex) {
+            setNativeLookAndFeel(table, isSelected);
+            setText(value.toString());
+            return this;
+        }
+
+        void setNativeLookAndFeel(final JTable table, final boolean isSelected) {
+            setOpaque(true);
+            setBackground(isSelected ? table.getSelectionBackground() : table.getBackground());
+            setForeground(isSelected ? table.getSelectionForeground() : table.getForeground());
+            setFont(table.getFont());
+        }
+    }
+
+    /**
+     * The number renderer like it used to be.
+     */
+    @SuppressWarnings("serial")
+    private static class OldNumberRenderer extends OldRenderer {
+        @Override
+        void setNativeLookAndFeel(final JTable table, final boolean isSelected) {
+            super.setNativeLookAndFeel(table, isSelected);
+            setHorizontalAlignment(JLabel.RIGHT);
+        }
+    }
+
+    /**
+     * The percentage renderer like it used to be.
+     */
+    @SuppressWarnings("serial")
+    private static final class OldPercentageRenderer extends OldNumberRenderer {
+        private static final int PERCENTAGE_FACTOR = 100;
+        private final DecimalFormat decimalFormatter = new DecimalFormat("#.00");
+
+        @Override
+        public Component getTableCellRendererComponent(final JTable table, final Object value, final boolean isSelected,
+                                                       final boolean hasFocus, final int rowIndex, final int columnIndex) {
+            setNativeLookAndFeel(table, isSelected);
+            final double percentage = Double.valueOf(value.toString());
+            setText(decimalFormatter.format(percentage * PERCENTAGE_FACTOR));
+            setToolTipText(String.valueOf(percentage));
+            return this;
+        }
+    }
+}
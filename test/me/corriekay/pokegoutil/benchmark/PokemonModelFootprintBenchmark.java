@@ -0,0 +1,123 @@
+package me.corriekay.pokegoutil.benchmark;
+
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.pokegoapi.api.PokemonGo;
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import me.corriekay.pokegoutil.data.models.PokemonModel;
+
+import POGOProtos.Data.PokemonDataOuterClass.PokemonData;
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+
+/**
+ * Measures the heap footprint of PokemonModel for a big bag.
+ * <p>
+ * Not a unit test, run it by hand via main(). It prints the retained heap per model right after creating them,
+ * which is what loading a bag costs now, and after the table has created the cell properties for every row,
+ * which is what every model used to cost up front.
+ */
+public final class PokemonModelFootprintBenchmark {
+
+    private static final int MODEL_COUNT = 5000;
+    private static final int MAX_IV = 15;
+    private static final int MAX_CP = 3000;
+    private static final int GC_ROUNDS = 5;
+    private static final long GC_PAUSE_MS = 100;
+
+    /** Prevent initializing this class. */
+    private PokemonModelFootprintBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Not used.
+     * @throws InterruptedException If interrupted while waiting for the garbage collector.
+     */
+    public static void main(final String[] args) throws InterruptedException {
+        final PokemonGo go = mock(PokemonGo.class, RETURNS_DEEP_STUBS);
+        final List<Pokemon> pokemons = createPokemons(go);
+
+        final long before = usedHeap();
+        final List<PokemonModel> models = new ArrayList<>(MODEL_COUNT);
+        final long start = System.nanoTime();
+        for (final Pokemon pokemon : pokemons) {
+            models.add(new PokemonModel(pokemon));
+        }
+        final long loadNanos = System.nanoTime() - start;
+        final long lazy = usedHeap() - before;
+
+        for (final PokemonModel model : models) {
+            touchTableProperties(model);
+        }
+        final long populated = usedHeap() - before;
+
+        System.out.printf("Created %d models in %.1f ms%n", MODEL_COUNT, loadNanos / 1e6);
+        System.out.printf("Lazy:      %,10d bytes total, %,6d bytes per model%n", lazy, lazy / MODEL_COUNT);
+        System.out.printf("Populated: %,10d bytes total, %,6d bytes per model%n", populated, populated / MODEL_COUNT);
+        // Keep the models reachable until everything is measured
+        System.out.println("(" + models.size() + " models)");
+    }
+
+    private static List<Pokemon> createPokemons(final PokemonGo go) {
+        final Random random = new Random(MODEL_COUNT);
+        final PokemonId[] ids = PokemonId.values();
+        final List<Pokemon> pokemons = new ArrayList<>(MODEL_COUNT);
+        for (int i = 0; i < MODEL_COUNT; i++) {
+            // Skip MISSINGNO (0) and UNRECOGNIZED (last)
+            final PokemonId id = ids[1 + random.nextInt(ids.length - 2)];
+            pokemons.add(new Pokemon(go, PokemonData.newBuilder()
+                .setId(i)
+                .setPokemonId(id)
+                .setCp(random.nextInt(MAX_CP))
+                .setIndividualAttack(random.nextInt(MAX_IV + 1))
+                .setIndividualDefense(random.nextInt(MAX_IV + 1))
+                .setIndividualStamina(random.nextInt(MAX_IV + 1))
+                .setNickname("mon" + i)
+                .build()));
+        }
+        return pokemons;
+    }
+
+    /**
+     * Creates the properties a fully scrolled table would ask for. The max CP columns are left out,
+     * they need a logged in account for the trainer level.
+     *
+     * @param model The model.
+     */
+    private static void touchTableProperties(final PokemonModel model) {
+        model.numIdProperty();
+        model.nicknameProperty();
+        model.speciesProperty();
+        model.levelProperty();
+        model.ivProperty();
+        model.atkProperty();
+        model.defProperty();
+        model.stamProperty();
+        model.type1Property();
+        model.type2Property();
+        model.cpProperty();
+        model.hpProperty();
+        model.candiesProperty();
+        model.candies2EvlvProperty();
+        model.dustToLevelProperty();
+        model.caughtDateProperty();
+        model.isFavoriteProperty();
+        model.evolvableProperty();
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+            Thread.sleep(GC_PAUSE_MS);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
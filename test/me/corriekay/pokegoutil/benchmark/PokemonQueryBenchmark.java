@@ -0,0 +1,106 @@
+package me.corriekay.pokegoutil.benchmark;
+
+import java.util.Random;
+
+import me.corriekay.pokegoutil.data.enums.PokeColumn;
+import me.corriekay.pokegoutil.utils.Utilities;
+import me.corriekay.pokegoutil.utils.pokemon.PokemonNameCache;
+import me.corriekay.pokegoutil.utils.query.ArrayRowSource;
+import me.corriekay.pokegoutil.utils.query.PokemonQuery;
+
+/**
+ * Measures how fast compiled queries filter a large bag, compared with the old way of searching, which built and
+ * normalized a search string for every Pokémon and every keystroke.
+ * <p>
+ * Not a unit test, run it by hand via main(). The bag is made up, with the columns the queries look at.
+ */
+public final class PokemonQueryBenchmark {
+
+    private static final int BAG_SIZE = 100000;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+    private static final int MAX_CP = 3000;
+    private static final int MAX_DEX = 151;
+    private static final int FAVORITE_ODDS = 20;
+    private static final String[] SPECIES = {"Pidgey", "Rattata", "Dratini", "Magikarp", "Eevee", "Mr. Mime"};
+    private static final String[] QUERIES = {
+        "iv>=90",
+        "iv>=90 & species:dratini & cp<1000 | fav",
+        "species:dratini & iv>=90",
+        "!(cp<100 | cp>1000) & toevolve>0",
+    };
+
+    /** Prevent initializing this class. */
+    private PokemonQueryBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Not used.
+     */
+    public static void main(final String[] args) {
+        final Random random = new Random(1);
+        final ArrayRowSource rows = new ArrayRowSource();
+        for (int i = 0; i < BAG_SIZE; i++) {
+            rows.add(random.nextInt(MAX_DEX) + 1, SPECIES[random.nextInt(SPECIES.length)], random.nextDouble(),
+                random.nextInt(MAX_CP), random.nextInt(FAVORITE_ODDS) == 0, random.nextBoolean() ? "-" : "25");
+        }
+        System.out.printf("%d rows, %d rounds each%n", rows.size(), MEASURED_ROUNDS);
+
+        long sink = 0;
+        sink += measure("Old search \"dratini\"", () -> runOldSearch(rows, "dratini"));
+        for (final String text : QUERIES) {
+            final PokemonQuery query = PokemonQuery.compile(text, null, false);
+            sink += measure(query.toString(), () -> runQuery(rows, query));
+        }
+        // Print the sink, so the evaluations can't be optimized away
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /**
+     * Something that filters the whole bag and returns the number of matches.
+     */
+    private interface Filter {
+        int run();
+    }
+
+    private static long measure(final String name, final Filter filter) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += filter.run();
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += filter.run();
+        }
+        final long nanos = System.nanoTime() - start;
+        System.out.printf("%-60s %8.1f ns per row%n", name, (double) nanos / ((long) BAG_SIZE * MEASURED_ROUNDS));
+        return sink;
+    }
+
+    private static int runQuery(final ArrayRowSource rows, final PokemonQuery query) {
+        int matches = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            if (query.matches(rows, i)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private static int runOldSearch(final ArrayRowSource rows, final String term) {
+        int matches = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            final String searchme = Utilities.concatString(',',
+                (String) rows.get(PokeColumn.SPECIES, i),
+                (String) rows.get(PokeColumn.NICKNAME, i),
+                (String) rows.get(PokeColumn.TYPE_1, i),
+                (String) rows.get(PokeColumn.TYPE_2, i));
+            if (PokemonNameCache.toSearchForm(searchme.replaceAll("NONE", "").replaceAll("ITEM_", "")).contains(term)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,102 @@
+package me.corriekay.pokegoutil.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import me.corriekay.pokegoutil.utils.pokemon.PokemonCpUtils;
+import me.corriekay.pokegoutil.utils.pokemon.PowerUpSimulator;
+
+/**
+ * Measures projecting the power-up costs and CP of a big selection to every level, compared with asking the
+ * per call methods for every Pokémon and level, and the greedy stardust allocation.
+ * <p>
+ * Not a unit test, run it by hand via main(). The Pokémon are made up stat combinations.
+ */
+@SuppressWarnings("deprecation")
+public final class PowerUpBenchmark {
+
+    private static final int[] BAG_SIZES = {1000, 5000, 20000};
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int MEASURED_ROUNDS = 20;
+    private static final int MIN_STAT = 40;
+    private static final int STAT_RANGE = 250;
+    private static final int FAMILIES = 100;
+    private static final int CANDIES = 500;
+    private static final long STARDUST = 2000000;
+
+    /** Prevent initializing this class. */
+    private PowerUpBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Not used.
+     */
+    public static void main(final String[] args) {
+        long sink = 0;
+        for (final int size : BAG_SIZES) {
+            final Random random = new Random(size);
+            final int[] attack = new int[size];
+            final int[] defense = new int[size];
+            final int[] stamina = new int[size];
+            final int[] level = new int[size];
+            final int[] family = new int[size];
+            for (int i = 0; i < size; i++) {
+                attack[i] = MIN_STAT + random.nextInt(STAT_RANGE);
+                defense[i] = MIN_STAT + random.nextInt(STAT_RANGE);
+                stamina[i] = MIN_STAT + random.nextInt(STAT_RANGE);
+                level[i] = random.nextInt(PowerUpSimulator.MAX_INDEX + 1);
+                family[i] = random.nextInt(FAMILIES);
+            }
+            final int[] candies = new int[FAMILIES];
+            Arrays.fill(candies, CANDIES);
+
+            System.out.printf("%d Pokémon, %d rounds each%n", size, MEASURED_ROUNDS);
+            sink += measure("Per call, every level", () -> perCall(attack, defense, stamina, level));
+            sink += measure("Projection, every level", () -> PowerUpSimulator.project(attack, defense, stamina, level).getCp(PowerUpSimulator.MAX_LEVEL));
+            sink += measure("Greedy allocation", () -> PowerUpSimulator.allocate(attack, defense, stamina, level, family, candies, STARDUST,
+                PowerUpSimulator.MAX_INDEX).getCpGain());
+        }
+        // Print the sink, so the results can't be optimized away
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /**
+     * Something that simulates the whole selection and returns a number that depends on the result.
+     */
+    private interface Run {
+        long run();
+    }
+
+    private static long measure(final String name, final Run run) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += run.run();
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += run.run();
+        }
+        final long nanos = System.nanoTime() - start;
+        System.out.printf("  %-26s %9.3f ms%n", name, nanos / 1e6 / MEASURED_ROUNDS);
+        return sink;
+    }
+
+    /**
+     * The way it had to be done before: the CP and costs of every level, one call at a time.
+     */
+    private static long perCall(final int[] attack, final int[] defense, final int[] stamina, final int[] level) {
+        long sink = 0;
+        for (int i = 0; i < level.length; i++) {
+            long stardust = 0;
+            for (int target = level[i]; target < PowerUpSimulator.MAX_INDEX; target++) {
+                final float cpMultiplier = PokemonCpUtils.getCpMultiplierForLevel(PowerUpSimulator.toLevel(target));
+                stardust += PokemonCpUtils.getStartdustCostsForPowerup(cpMultiplier, target);
+                sink += PokemonCpUtils.getCpForPokemonLevel(attack[i], defense[i], stamina[i], PowerUpSimulator.toLevel(target + 1));
+            }
+            sink += stardust;
+        }
+        return sink;
+    }
+}
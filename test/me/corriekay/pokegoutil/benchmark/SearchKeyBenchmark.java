@@ -0,0 +1,131 @@
+package me.corriekay.pokegoutil.benchmark;
+
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.pokegoapi.api.PokemonGo;
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import me.corriekay.pokegoutil.utils.StringLiterals;
+import me.corriekay.pokegoutil.utils.Utilities;
+import me.corriekay.pokegoutil.utils.pokemon.PokemonNameCache;
+import me.corriekay.pokegoutil.utils.query.SearchKeyBuilder;
+
+import POGOProtos.Data.PokemonDataOuterClass.PokemonData;
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+import POGOProtos.Enums.PokemonMoveOuterClass.PokemonMove;
+import POGOProtos.Inventory.Item.ItemIdOuterClass.ItemId;
+
+/**
+ * Measures building the free text search keys of a whole bag, the way every keystroke did before, built fresh
+ * into the reused buffer, and taken from the cache.
+ * <p>
+ * Not a unit test, run it by hand via main(). The bag is made up of first generation Pokémon.
+ */
+public final class SearchKeyBenchmark {
+
+    private static final int BAG_SIZE = 5000;
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 200;
+    private static final int MAX_DEX = 151;
+    private static final PokemonMove[] MOVES = {PokemonMove.WATER_GUN_FAST, PokemonMove.HYDRO_PUMP, PokemonMove.TACKLE_FAST,
+        PokemonMove.DRAGON_BREATH_FAST, PokemonMove.HYPER_BEAM, PokemonMove.BUG_BITE_FAST};
+    private static final ItemId[] BALLS = {ItemId.ITEM_POKE_BALL, ItemId.ITEM_GREAT_BALL, ItemId.ITEM_ULTRA_BALL};
+
+    /** Prevent initializing this class. */
+    private SearchKeyBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Not used.
+     */
+    public static void main(final String[] args) {
+        PokemonNameCache.setLanguage("en");
+        final PokemonNameCache.Names names = PokemonNameCache.get();
+        final List<Pokemon> bag = createBag(mock(PokemonGo.class, RETURNS_DEEP_STUBS));
+        final SearchKeyBuilder builder = new SearchKeyBuilder();
+        System.out.printf("%d Pokémon, %d rounds each%n", bag.size(), MEASURED_ROUNDS);
+
+        long sink = 0;
+        sink += measure("Old concat and regex", () -> {
+            long length = 0;
+            for (final Pokemon pokemon : bag) {
+                length += oldSearchText(pokemon, names).length();
+            }
+            return length;
+        });
+        sink += measure("Built into the reused buffer", () -> {
+            long length = 0;
+            for (final Pokemon pokemon : bag) {
+                length += builder.build(pokemon, names, true).length();
+            }
+            return length;
+        });
+        sink += measure("Cached", () -> {
+            long length = 0;
+            for (final Pokemon pokemon : bag) {
+                length += builder.getKey(pokemon, names, true).length();
+            }
+            return length;
+        });
+        // Print the sink, so the builds can't be optimized away
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /**
+     * Something that builds the keys of the whole bag and returns their total length.
+     */
+    private interface Run {
+        long run();
+    }
+
+    private static long measure(final String name, final Run run) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += run.run();
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += run.run();
+        }
+        final long nanos = System.nanoTime() - start;
+        System.out.printf("%-30s %8.3f ms per bag%n", name, nanos / 1e6 / MEASURED_ROUNDS);
+        return sink;
+    }
+
+    private static List<Pokemon> createBag(final PokemonGo go) {
+        final Random random = new Random(BAG_SIZE);
+        final List<Pokemon> bag = new ArrayList<>(BAG_SIZE);
+        for (int i = 0; i < BAG_SIZE; i++) {
+            bag.add(new Pokemon(go, PokemonData.newBuilder()
+                .setId(i)
+                .setPokemonId(PokemonId.forNumber(random.nextInt(MAX_DEX) + 1))
+                .setMove1(MOVES[random.nextInt(MOVES.length)])
+                .setMove2(MOVES[random.nextInt(MOVES.length)])
+                .setPokeball(BALLS[random.nextInt(BALLS.length)])
+                .setNickname(random.nextBoolean() ? "" : "My_Mon " + i)
+                .build()));
+        }
+        return bag;
+    }
+
+    private static String oldSearchText(final Pokemon poke, final PokemonNameCache.Names names) {
+        final String searchme = Utilities.concatString(',',
+            names.getSearchName(poke.getPokemonId().getNumber()),
+            names.getFamilySearchName(poke.getPokemonFamily()),
+            poke.getNickname(),
+            poke.getMeta().getType1().toString(),
+            poke.getMeta().getType2().toString(),
+            poke.getMove1().toString(),
+            poke.getMove2().toString(),
+            poke.getPokeball().toString());
+        return searchme.replaceAll("_FAST", "").replaceAll(StringLiterals.FAMILY_PREFIX, "").replaceAll("NONE", "")
+            .replaceAll("ITEM_", "").replaceAll(StringLiterals.UNDERSCORE, "").replaceAll(StringLiterals.SPACE, "").toLowerCase();
+    }
+}
@@ -0,0 +1,110 @@
+package me.corriekay.pokegoutil.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import me.corriekay.pokegoutil.data.enums.ColumnType;
+import me.corriekay.pokegoutil.utils.StringLiterals;
+import me.corriekay.pokegoutil.utils.helpers.DateHelper;
+
+/**
+ * Measures sorting the table by two columns, the caught date and "To Evolve", like the default sort does.
+ * <p>
+ * Not a unit test, run it by hand via main(). It compares the old comparators, which parsed the shown strings on
+ * every comparison, with comparing the sort keys that are now calculated once when the data is loaded.
+ */
+public final class SortKeyBenchmark {
+
+    private static final int ROW_COUNT = 20000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 20;
+    private static final int MAX_DAYS = 200;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MAX_TO_EVOLVE = 400;
+    private static final int NO_VALUE_ODDS = 4;
+
+    /** How the dates were compared before there were sort keys. */
+    private static final Comparator<String> OLD_DATE = (date1, date2) -> DateHelper.fromString(date1)
+        .compareTo(DateHelper.fromString(date2));
+    /** How the nullable ints were compared before there were sort keys. */
+    private static final Comparator<String> OLD_NULLABLE_INT = (left, right) -> {
+        if (StringLiterals.NO_VALUE_SIGN.equals(left)) {
+            left = String.valueOf(0);
+        }
+        if (StringLiterals.NO_VALUE_SIGN.equals(right)) {
+            right = String.valueOf(0);
+        }
+        return Integer.compare(Integer.parseInt(left), Integer.parseInt(right));
+    };
+
+    /** Prevent initializing this class. */
+    private SortKeyBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Not used.
+     */
+    @SuppressWarnings("unchecked")
+    public static void main(final String[] args) {
+        final Random random = new Random(1);
+        final LocalDateTime now = LocalDateTime.now();
+        final String[] dates = new String[ROW_COUNT];
+        final String[] toEvolve = new String[ROW_COUNT];
+        for (int i = 0; i < ROW_COUNT; i++) {
+            // Few distinct dates, so the second column has to be compared often
+            dates[i] = DateHelper.toString(now.minusMinutes((long) random.nextInt(MAX_DAYS) * MINUTES_PER_DAY));
+            toEvolve[i] = random.nextInt(NO_VALUE_ODDS) == 0 ? StringLiterals.NO_VALUE_SIGN : String.valueOf(random.nextInt(MAX_TO_EVOLVE));
+        }
+
+        final long keyStart = System.nanoTime();
+        final Object[] dateKeys = new Object[ROW_COUNT];
+        final Object[] toEvolveKeys = new Object[ROW_COUNT];
+        for (int i = 0; i < ROW_COUNT; i++) {
+            dateKeys[i] = ColumnType.DATE.toSortKey(dates[i]);
+            toEvolveKeys[i] = ColumnType.NULLABLE_INT.toSortKey(toEvolve[i]);
+        }
+        final long keyNanos = System.nanoTime() - keyStart;
+        System.out.printf("%d rows, calculating the sort keys once took %.2f ms%n", ROW_COUNT, keyNanos / 1e6);
+
+        final Comparator<Object> dateComparator = ColumnType.DATE.comparator;
+        final Comparator<Object> toEvolveComparator = ColumnType.NULLABLE_INT.comparator;
+        long sink = 0;
+        sink += measure("Parsing comparators", (left, right) -> {
+            final int result = OLD_DATE.compare(dates[left], dates[right]);
+            return result != 0 ? result : OLD_NULLABLE_INT.compare(toEvolve[left], toEvolve[right]);
+        });
+        sink += measure("Sort key comparators", (left, right) -> {
+            final int result = dateComparator.compare(dateKeys[left], dateKeys[right]);
+            return result != 0 ? result : toEvolveComparator.compare(toEvolveKeys[left], toEvolveKeys[right]);
+        });
+        // Print the sink, so the sorting can't be optimized away
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    private static long measure(final String name, final Comparator<Integer> rowComparator) {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += sort(rowComparator);
+        }
+        final long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += sort(rowComparator);
+        }
+        final long nanos = System.nanoTime() - start;
+        System.out.printf("%-30s %8.2f ms per sort%n", name, nanos / 1e6 / MEASURED_ROUNDS);
+        return sink;
+    }
+
+    private static long sort(final Comparator<Integer> rowComparator) {
+        final Integer[] rows = new Integer[ROW_COUNT];
+        for (int i = 0; i < ROW_COUNT; i++) {
+            rows[i] = ROW_COUNT - 1 - i;
+        }
+        Arrays.sort(rows, rowComparator);
+        return rows[0] + rows[ROW_COUNT - 1];
+    }
+}
@@ -0,0 +1,95 @@
+package me.corriekay.pokegoutil.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.pokegoapi.api.pokemon.PokemonMeta;
+import com.pokegoapi.api.pokemon.PokemonMetaRegistry;
+
+import me.corriekay.pokegoutil.utils.pokemon.PokemonCalculationUtils;
+
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+import POGOProtos.Enums.PokemonMoveOuterClass.PokemonMove;
+
+/**
+ * Compares the table based weave kernel with the registry based reference formula.
+ * <p>
+ * Not a unit test, run it by hand via main(). Both are run over every moveset of every species, with warmup rounds
+ * first so the JIT has compiled them.
+ */
+public final class WeaveDpsBenchmark {
+
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+
+    /** Prevent initializing this class. */
+    private WeaveDpsBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Not used.
+     */
+    public static void main(final String[] args) {
+        final List<Object[]> movesets = new ArrayList<>();
+        for (final Map.Entry<PokemonId, PokemonMeta> entry : PokemonMetaRegistry.getMeta().entrySet()) {
+            for (final PokemonMove move1 : entry.getValue().getQuickMoves()) {
+                for (final PokemonMove move2 : entry.getValue().getCinematicMoves()) {
+                    movesets.add(new Object[] {entry.getKey(), move1, move2});
+                }
+            }
+        }
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            runReference(movesets);
+            runTable(movesets);
+        }
+
+        long start = System.nanoTime();
+        double sink = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += runReference(movesets);
+        }
+        final long referenceNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += runTable(movesets);
+        }
+        final long tableNanos = System.nanoTime() - start;
+
+        final long evaluations = (long) movesets.size() * MEASURED_ROUNDS * 2;
+        System.out.printf("%d movesets, %d evaluations per implementation%n", movesets.size(), evaluations);
+        System.out.printf("Reference: %8.1f ns per evaluation%n", (double) referenceNanos / evaluations);
+        System.out.printf("Table:     %8.1f ns per evaluation%n", (double) tableNanos / evaluations);
+        System.out.printf("Speedup:   %8.1fx%n", (double) referenceNanos / tableNanos);
+        // Print the sink, so the calculations can't be optimized away
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    private static double runReference(final List<Object[]> movesets) {
+        double sum = 0;
+        for (final Object[] moveset : movesets) {
+            final PokemonId pokemonId = (PokemonId) moveset[0];
+            final PokemonMove move1 = (PokemonMove) moveset[1];
+            final PokemonMove move2 = (PokemonMove) moveset[2];
+            sum += PokemonCalculationUtils.weaveDpsFromMeta(pokemonId, move1, move2, 0);
+            sum += PokemonCalculationUtils.weaveDpsFromMeta(pokemonId, move1, move2, PokemonCalculationUtils.MOVE_2_ADDITIONAL_DELAY);
+        }
+        return sum;
+    }
+
+    private static double runTable(final List<Object[]> movesets) {
+        double sum = 0;
+        for (final Object[] moveset : movesets) {
+            final PokemonId pokemonId = (PokemonId) moveset[0];
+            final PokemonMove move1 = (PokemonMove) moveset[1];
+            final PokemonMove move2 = (PokemonMove) moveset[2];
+            sum += PokemonCalculationUtils.weaveDps(pokemonId, move1, move2, 0);
+            sum += PokemonCalculationUtils.weaveDps(pokemonId, move1, move2, PokemonCalculationUtils.MOVE_2_ADDITIONAL_DELAY);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,100 @@
+package me.corriekay.pokegoutil.data.enums;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.corriekay.pokegoutil.utils.StringLiterals;
+import me.corriekay.pokegoutil.utils.helpers.DateHelper;
+
+/**
+ * Test for the sort keys of ColumnType, sorting known values of every column type.
+ */
+public class ColumnTypeTest {
+
+    private static final long FIRST_DAY = 1468800000000L;
+    private static final long SECOND_DAY = FIRST_DAY + 86400000L;
+
+    /**
+     * Sorts the values by their sort keys with the comparator of the type, like the table does.
+     *
+     * @param type   The column type.
+     * @param values The values.
+     * @return The values in sorted order.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Object> sort(final ColumnType type, final Object... values) {
+        final Object[] keys = new Object[values.length];
+        final List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            keys[i] = type.toSortKey(values[i]);
+            order.add(i);
+        }
+        order.sort((a, b) -> type.comparator.compare(keys[a], keys[b]));
+
+        final List<Object> sorted = new ArrayList<>();
+        order.forEach(i -> sorted.add(values[i]));
+        return sorted;
+    }
+
+    /**
+     * Plain numbers and strings are their own sort keys.
+     */
+    @Test
+    public void sortsPlainTypesByValue() {
+        Assert.assertThat(ColumnType.INT.hasSortKey(), is(false));
+        Assert.assertThat(sort(ColumnType.INT, 10, 2, 5), is(Arrays.<Object>asList(2, 5, 10)));
+        Assert.assertThat(sort(ColumnType.LONG, 10L, 2L, 5L), is(Arrays.<Object>asList(2L, 5L, 10L)));
+        Assert.assertThat(sort(ColumnType.DOUBLE, 0.5, 0.25, 1.0), is(Arrays.<Object>asList(0.25, 0.5, 1.0)));
+        Assert.assertThat(sort(ColumnType.PERCENTAGE, 0.9, 0.1), is(Arrays.<Object>asList(0.1, 0.9)));
+        Assert.assertThat(sort(ColumnType.STRING, "b", "a"), is(Arrays.<Object>asList("a", "b")));
+    }
+
+    /**
+     * Nullable ints sort by their number, not their text, and a missing value sorts before 0.
+     */
+    @Test
+    public void sortsNullableIntsWithoutValueFirst() {
+        Assert.assertThat(ColumnType.NULLABLE_INT.toSortKey(StringLiterals.NO_VALUE_SIGN), is((Object) ColumnType.NO_VALUE_SORT_KEY));
+        Assert.assertThat(ColumnType.NULLABLE_INT.toSortKey(null), is((Object) ColumnType.NO_VALUE_SORT_KEY));
+        Assert.assertThat(sort(ColumnType.NULLABLE_INT, "12", 0, StringLiterals.NO_VALUE_SIGN, "3"),
+            is(Arrays.<Object>asList(StringLiterals.NO_VALUE_SIGN, 0, "3", "12")));
+    }
+
+    /**
+     * Dates sort by their timestamp.
+     */
+    @Test
+    public void sortsDatesByTimestamp() {
+        final String first = DateHelper.toString(DateHelper.fromTimestamp(FIRST_DAY));
+        final String second = DateHelper.toString(DateHelper.fromTimestamp(SECOND_DAY));
+
+        Assert.assertThat(ColumnType.DATE.toSortKey(first), is((Object) FIRST_DAY));
+        Assert.assertThat(sort(ColumnType.DATE, second, first), is(Arrays.<Object>asList(first, second)));
+    }
+
+    /**
+     * Futures sort by their value, the ones still being looked up come first. Once a value is there, the sort key
+     * keeps it.
+     */
+    @Test
+    public void sortsFuturesByValue() {
+        final CompletableFuture<String> pending = new CompletableFuture<>();
+        final Object b = CompletableFuture.completedFuture("b");
+        final Object a = CompletableFuture.completedFuture("a");
+
+        Assert.assertThat(sort(ColumnType.FUTURE_STRING, b, pending, a), is(Arrays.<Object>asList(pending, a, b)));
+
+        final ColumnType.FutureSortKey key = (ColumnType.FutureSortKey) ColumnType.FUTURE_STRING.toSortKey(pending);
+        Assert.assertThat(key.get(), is(""));
+        pending.complete("c");
+        Assert.assertThat(key.get(), is("c"));
+        Assert.assertThat(((ColumnType.FutureSortKey) ColumnType.FUTURE_STRING.toSortKey("plain")).get(), is("plain"));
+    }
+}
@@ -0,0 +1,135 @@
+package me.corriekay.pokegoutil.data.grinder;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import POGOProtos.Enums.PokemonFamilyIdOuterClass.PokemonFamilyId;
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+
+/**
+ * Test for GrindPlan, with fixed candy pools.
+ */
+public class GrindPlanTest {
+
+    private static final int PIDGEY_COST = 12;
+    private static final int CATERPIE_COST = 12;
+    private static final int METAPOD_COST = 50;
+    private static final double KEEP_IV_ABOVE = 0.9;
+    private static final int PERFECT_IV = 15;
+    private static final Set<PokemonFamilyId> PIDGEYS = EnumSet.of(PokemonFamilyId.FAMILY_PIDGEY);
+    private static final Set<PokemonFamilyId> NONE = EnumSet.noneOf(PokemonFamilyId.class);
+
+    private long nextId = 1;
+
+    private Pokemon pokemon(final PokemonId pokemonId, final PokemonFamilyId family, final int cost, final int candies, final int iv) {
+        final Pokemon pokemon = mock(Pokemon.class);
+        doReturn(nextId++).when(pokemon).getId();
+        doReturn(pokemonId).when(pokemon).getPokemonId();
+        doReturn(family).when(pokemon).getPokemonFamily();
+        doReturn(cost).when(pokemon).getCandiesToEvolve();
+        doReturn(candies).when(pokemon).getCandy();
+        doReturn(iv).when(pokemon).getIndividualAttack();
+        doReturn(iv).when(pokemon).getIndividualDefense();
+        doReturn(iv).when(pokemon).getIndividualStamina();
+        doReturn(iv * 10).when(pokemon).getCp();
+        return pokemon;
+    }
+
+    private List<Pokemon> pidgeys(final int candies, final int count) {
+        final Pokemon[] pidgeys = new Pokemon[count];
+        for (int i = 0; i < count; i++) {
+            pidgeys[i] = pokemon(PokemonId.PIDGEY, PokemonFamilyId.FAMILY_PIDGEY, PIDGEY_COST, candies, i + 1);
+        }
+        return Arrays.asList(pidgeys);
+    }
+
+    /**
+     * With 33 candies, five Pidgeys can be evolved three times if one is transferred first. The best ones are evolved,
+     * the worst is transferred, and the one left over is an extra.
+     */
+    @Test
+    public void transfersJustEnoughForMostEvolves() {
+        final List<Pokemon> bag = pidgeys(33, 5);
+
+        final GrindPlan plan = GrindPlan.create(bag, new GrindOptions(PIDGEYS, PIDGEYS, GrindOptions.NO_IV_LIMIT, false), false);
+
+        Assert.assertThat(plan.getToTransfer(), is(Collections.singletonList(bag.get(0))));
+        Assert.assertThat(plan.getToEvolve().size(), is(3));
+        Assert.assertThat(plan.getToEvolve().containsAll(bag.subList(2, 5)), is(true));
+        Assert.assertThat(plan.getExtras(), is(Collections.singletonList(bag.get(1))));
+        Assert.assertThat(plan.getXp(true), is(3000));
+    }
+
+    /**
+     * If the candies are enough, nothing is transferred before evolving, and extras are only transferred if asked for.
+     */
+    @Test
+    public void transfersNothingWithEnoughCandies() {
+        final List<Pokemon> bag = pidgeys(24, 5);
+
+        final GrindPlan plan = GrindPlan.create(bag, new GrindOptions(PIDGEYS, NONE, GrindOptions.NO_IV_LIMIT, false), false);
+
+        Assert.assertThat(plan.getToTransfer().isEmpty(), is(true));
+        Assert.assertThat(plan.getToEvolve().size(), is(2));
+        Assert.assertThat(plan.getExtras().isEmpty(), is(true));
+    }
+
+    /**
+     * Pokémon above the IV limit are never transferred, they are evolved instead.
+     */
+    @Test
+    public void neverTransfersKeptPokemon() {
+        final Pokemon good = pokemon(PokemonId.PIDGEY, PokemonFamilyId.FAMILY_PIDGEY, PIDGEY_COST, PIDGEY_COST - 1, PERFECT_IV);
+        final Pokemon bad = pokemon(PokemonId.PIDGEY, PokemonFamilyId.FAMILY_PIDGEY, PIDGEY_COST, PIDGEY_COST - 1, 0);
+
+        final GrindPlan plan = GrindPlan.create(Arrays.asList(good, bad),
+            new GrindOptions(PIDGEYS, PIDGEYS, KEEP_IV_ABOVE, false), false);
+
+        Assert.assertThat(plan.getToTransfer(), is(Collections.singletonList(bad)));
+        Assert.assertThat(plan.getToEvolve(), is(Collections.singletonList(good)));
+        Assert.assertThat(plan.getExtras().isEmpty(), is(true));
+    }
+
+    /**
+     * Pokémon of families that are not chosen are left alone.
+     */
+    @Test
+    public void ignoresOtherFamilies() {
+        final Pokemon rattata = pokemon(PokemonId.RATTATA, PokemonFamilyId.FAMILY_RATTATA, 25, 100, 1);
+
+        final GrindPlan plan = GrindPlan.create(Collections.singletonList(rattata),
+            new GrindOptions(PIDGEYS, PIDGEYS, GrindOptions.NO_IV_LIMIT, false), false);
+
+        Assert.assertThat(plan.getToTransfer().isEmpty(), is(true));
+        Assert.assertThat(plan.getToEvolve().isEmpty(), is(true));
+        Assert.assertThat(plan.getExtras().isEmpty(), is(true));
+    }
+
+    /**
+     * The cheapest evolves are done first, so the candies they give back are there for the expensive ones.
+     */
+    @Test
+    public void evolvesCheapestFirst() {
+        final int candies = CATERPIE_COST + METAPOD_COST;
+        final Pokemon metapod = pokemon(PokemonId.METAPOD, PokemonFamilyId.FAMILY_CATERPIE, METAPOD_COST, candies, 1);
+        final Pokemon caterpie = pokemon(PokemonId.CATERPIE, PokemonFamilyId.FAMILY_CATERPIE, CATERPIE_COST, candies, 1);
+
+        final GrindPlan plan = GrindPlan.create(Arrays.asList(metapod, caterpie),
+            new GrindOptions(EnumSet.of(PokemonFamilyId.FAMILY_CATERPIE), NONE, GrindOptions.NO_IV_LIMIT, false), false);
+
+        Assert.assertThat(plan.getToTransfer().isEmpty(), is(true));
+        Assert.assertThat(plan.getToEvolve(), is(Arrays.asList(caterpie, metapod)));
+    }
+}
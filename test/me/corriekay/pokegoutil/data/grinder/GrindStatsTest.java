@@ -0,0 +1,60 @@
+package me.corriekay.pokegoutil.data.grinder;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for GrindStats.
+ */
+public class GrindStatsTest {
+
+    private static final int PLANNED = 100;
+    private static final long EXPECTED_INTERVAL = TimeUnit.SECONDS.toMillis(20);
+    private static final long INTERVAL = TimeUnit.SECONDS.toMillis(30);
+    private static final int EVOLVES = 5;
+    private static final double EPSILON = 0.0001;
+
+    /**
+     * Before the first evolves the expected speed is used.
+     */
+    @Test
+    public void usesExpectedIntervalFirst() {
+        final GrindStats stats = new GrindStats(PLANNED, EXPECTED_INTERVAL);
+        Assert.assertEquals(3.0, stats.getEvolvesPerMinute(), EPSILON);
+        Assert.assertThat(stats.getProjectedXp(0), is(50000));
+    }
+
+    /**
+     * Evolves done while the egg lasts count double, and the projection uses the measured speed.
+     */
+    @Test
+    public void projectsXpWithEgg() {
+        final GrindStats stats = new GrindStats(PLANNED, EXPECTED_INTERVAL);
+        stats.eggActivated(0);
+        for (int i = 0; i < EVOLVES; i++) {
+            stats.evolved(i * INTERVAL);
+        }
+        final long now = (EVOLVES - 1) * INTERVAL;
+
+        Assert.assertThat(stats.getXp(), is(5000));
+        Assert.assertEquals(2.0, stats.getEvolvesPerMinute(), EPSILON);
+        // 28 minutes of egg left are 56 more double evolves, the other 39 are plain
+        Assert.assertThat(stats.getProjectedXp(now), is(5000 + 56 * 1000 + 39 * 500));
+    }
+
+    /**
+     * Evolves after the egg ran out give plain XP.
+     */
+    @Test
+    public void countsPlainXpAfterEgg() {
+        final GrindStats stats = new GrindStats(PLANNED, EXPECTED_INTERVAL);
+        stats.eggActivated(0);
+        stats.evolved(GrindStats.LUCKY_EGG_DURATION);
+        Assert.assertThat(stats.getXp(), is(500));
+        Assert.assertThat(stats.getEggTimeLeft(GrindStats.LUCKY_EGG_DURATION), is(0L));
+    }
+}
@@ -0,0 +1,152 @@
+package me.corriekay.pokegoutil.data.grinder;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.pokegoapi.api.inventory.ItemBag;
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import me.corriekay.pokegoutil.data.models.BpmOperationResult;
+import me.corriekay.pokegoutil.data.models.PokemonModel;
+import me.corriekay.pokegoutil.data.models.operations.Operation;
+import me.corriekay.pokegoutil.gui.enums.OperationId;
+
+import POGOProtos.Enums.PokemonFamilyIdOuterClass.PokemonFamilyId;
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+import POGOProtos.Inventory.Item.ItemIdOuterClass.ItemId;
+import POGOProtos.Networking.Responses.UseItemXpBoostResponseOuterClass.UseItemXpBoostResponse;
+
+/**
+ * Test for LuckyEggGrinder, running a plan with mocked operations.
+ */
+public class LuckyEggGrinderTest {
+
+    private static final int PIDGEY_COST = 12;
+    private static final int CANDIES = 33;
+    private static final int BAG_SIZE = 5;
+    private static final long EVOLVE_TIME = TimeUnit.MINUTES.toMillis(20);
+    private static final String EGG = "EGG";
+    private static final Set<PokemonFamilyId> PIDGEYS = EnumSet.of(PokemonFamilyId.FAMILY_PIDGEY);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<String> steps = new ArrayList<>();
+    private ItemBag itemBag;
+    private GrindPlan plan;
+
+    /**
+     * Before every test. The plan of five Pidgeys with 33 candies transfers the first one, evolves the last three and
+     * has the second one as an extra.
+     *
+     * @throws Exception if the mocks fail
+     */
+    @Before
+    public void beforeTest() throws Exception {
+        itemBag = mock(ItemBag.class, RETURNS_DEEP_STUBS);
+        doReturn(1).when(itemBag.getItem(ItemId.ITEM_LUCKY_EGG)).getCount();
+        doAnswer(invocation -> {
+            steps.add(EGG);
+            return UseItemXpBoostResponse.newBuilder().setResult(UseItemXpBoostResponse.Result.SUCCESS).build();
+        }).when(itemBag).useLuckyEgg();
+
+        final List<Pokemon> bag = new ArrayList<>();
+        for (int i = 1; i <= BAG_SIZE; i++) {
+            final Pokemon pokemon = mock(Pokemon.class);
+            doReturn((long) i).when(pokemon).getId();
+            doReturn(PokemonId.PIDGEY).when(pokemon).getPokemonId();
+            doReturn(PokemonFamilyId.FAMILY_PIDGEY).when(pokemon).getPokemonFamily();
+            doReturn(PIDGEY_COST).when(pokemon).getCandiesToEvolve();
+            doReturn(CANDIES).when(pokemon).getCandy();
+            doReturn(i).when(pokemon).getIndividualAttack();
+            bag.add(pokemon);
+        }
+        plan = GrindPlan.create(bag, new GrindOptions(PIDGEYS, PIDGEYS, GrindOptions.NO_IV_LIMIT, false), false);
+    }
+
+    /**
+     * Creates an operation that records when it is executed. Evolves take their time on the clock.
+     *
+     * @param operationId The operation.
+     * @param pokemon     The Pokémon.
+     * @return The operation.
+     */
+    private Operation operation(final OperationId operationId, final Pokemon pokemon) {
+        final Operation operation = mock(Operation.class);
+        operation.pokemon = mock(PokemonModel.class);
+        doReturn(operationId).when(operation).getOperationId();
+        doReturn(0).when(operation).getDelay();
+        try {
+            doAnswer(invocation -> {
+                steps.add(operationId + " " + pokemon.getId());
+                if (operationId == OperationId.EVOLVE) {
+                    clock.addAndGet(EVOLVE_TIME);
+                }
+                return new BpmOperationResult();
+            }).when(operation).execute();
+        } catch (final Exception e) {
+            throw new AssertionError(e);
+        }
+        return operation;
+    }
+
+    private LuckyEggGrinder grinder(final boolean useLuckyEgg) {
+        return new LuckyEggGrinder(itemBag, plan, useLuckyEgg, (g, message) -> { }, this::operation, clock::get);
+    }
+
+    /**
+     * The transfers for candies come first, then the egg, then the evolves, and the extras last. The egg has run
+     * out by the time of the third evolve, so that one is left over.
+     */
+    @Test
+    public void runsStagesInOrderWhileEggLasts() {
+        final LuckyEggGrinder grinder = grinder(true);
+
+        grinder.run();
+
+        Assert.assertThat(steps, is(Arrays.asList("TRANSFER 1", EGG, "EVOLVE 3", "EVOLVE 4", "TRANSFER 2")));
+        Assert.assertThat(grinder.getLeftOver(), is(1));
+        Assert.assertThat(grinder.getStage(), is(LuckyEggGrinder.Stage.DONE));
+        Assert.assertThat(grinder.getStats().getEvolves(), is(2));
+    }
+
+    /**
+     * Without a lucky egg there is no time limit, all evolves are done.
+     */
+    @Test
+    public void evolvesAllWithoutEgg() {
+        final LuckyEggGrinder grinder = grinder(false);
+
+        grinder.run();
+
+        Assert.assertThat(steps, is(Arrays.asList("TRANSFER 1", "EVOLVE 3", "EVOLVE 4", "EVOLVE 5", "TRANSFER 2")));
+        Assert.assertThat(grinder.getLeftOver(), is(0));
+        Assert.assertThat(grinder.getDone(), is(grinder.getTotal()));
+    }
+
+    /**
+     * A cancelled grind stops before the next operation.
+     */
+    @Test
+    public void stopsWhenCancelled() {
+        final LuckyEggGrinder grinder = new LuckyEggGrinder(itemBag, plan, true, (g, message) -> g.cancel(), this::operation, clock::get);
+
+        grinder.run();
+
+        Assert.assertThat(steps, is(Collections.singletonList("TRANSFER 1")));
+    }
+}
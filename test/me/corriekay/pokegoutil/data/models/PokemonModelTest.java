@@ -0,0 +1,90 @@
+package me.corriekay.pokegoutil.data.models;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import javafx.beans.property.StringProperty;
+
+/**
+ * Test for PokemonModel, checking that values are loaded lazily and rebuilt when the Pokémon is replaced.
+ */
+public class PokemonModelTest {
+
+    private static final int COST = 12;
+
+    private static Pokemon pokemon(final int candies, final int cp) {
+        final Pokemon pokemon = mock(Pokemon.class);
+        doReturn(candies).when(pokemon).getCandy();
+        doReturn(COST).when(pokemon).getCandiesToEvolve();
+        doReturn(cp).when(pokemon).getCp();
+        return pokemon;
+    }
+
+    /**
+     * Creating a model doesn't read anything from the Pokémon.
+     */
+    @Test
+    public void loadsNothingUpFront() {
+        final Pokemon pokemon = pokemon(COST, 10);
+
+        new PokemonModel(pokemon);
+
+        verifyZeroInteractions(pokemon);
+    }
+
+    /**
+     * A derived value is computed on its first access and cached after that.
+     */
+    @Test
+    public void cachesDerivedValues() {
+        final Pokemon pokemon = pokemon(COST * 2 + 1, 10);
+        final PokemonModel model = new PokemonModel(pokemon);
+
+        Assert.assertThat(model.getEvolvable(), is("2"));
+        Assert.assertThat(model.getEvolvable(), is("2"));
+
+        verify(pokemon, times(1)).getCandy();
+    }
+
+    /**
+     * Replacing the Pokémon drops the cached values, they are computed again from the new one.
+     */
+    @Test
+    public void rebuildsValuesAfterSetPokemon() {
+        final Pokemon before = pokemon(COST, 10);
+        final Pokemon after = pokemon(COST * 3, 20);
+        final PokemonModel model = new PokemonModel(before);
+        Assert.assertThat(model.getEvolvable(), is("1"));
+        Assert.assertThat(model.getCp(), is(10));
+
+        model.setPokemon(after);
+
+        Assert.assertThat(model.getEvolvable(), is("3"));
+        Assert.assertThat(model.getCp(), is(20));
+        verify(before, times(1)).getCandy();
+    }
+
+    /**
+     * Properties that were created already get the values of the new Pokémon.
+     */
+    @Test
+    public void refreshesCreatedProperties() {
+        final PokemonModel model = new PokemonModel(pokemon(COST, 10));
+        final StringProperty evolvable = model.evolvableProperty();
+        Assert.assertThat(evolvable.get(), is("1"));
+
+        model.setPokemon(pokemon(0, 10));
+
+        Assert.assertThat(evolvable.get(), is("0"));
+        Assert.assertThat(model.getEvolvable(), is("0"));
+    }
+}
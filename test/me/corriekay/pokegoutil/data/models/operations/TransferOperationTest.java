@@ -1,27 +1,42 @@
 package me.corriekay.pokegoutil.data.models.operations;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 
+import java.net.SocketTimeoutException;
+import java.util.Collections;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.pokegoapi.api.PokemonGo;
+import com.pokegoapi.api.pokemon.Pokemon;
 import com.pokegoapi.exceptions.InvalidCurrencyException;
 import com.pokegoapi.exceptions.LoginFailedException;
 import com.pokegoapi.exceptions.RemoteServerException;
+import com.pokegoapi.main.ServerRequest;
 
 import me.corriekay.pokegoutil.data.enums.OperationError;
 import me.corriekay.pokegoutil.data.models.BpmOperationResult;
 import me.corriekay.pokegoutil.data.models.PokemonModel;
+import me.corriekay.pokegoutil.utils.batch.BatchedCall;
+import me.corriekay.pokegoutil.utils.batch.RequestBatcher;
+
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+import POGOProtos.Networking.Responses.ReleasePokemonResponseOuterClass.ReleasePokemonResponse;
 
 /**
  * Test for TransferOperation.
  */
 public class TransferOperationTest {
     private static final String RESULT_SHOULD_FAIL = "Result should fail";
+    private static final int CANDIES = 10;
     private PokemonModel pokemon;
     private TransferOperation operation;
 
@@ -84,4 +99,73 @@ public class TransferOperationTest {
 
         Assert.assertThat("Transfer should be successful", true, is(result.isSuccess()));
     }
+
+    /**
+     * Sends the transfer of the operation as a batched call, answered with the given response.
+     *
+     * @param response The response of the server, or null to fail with a timeout.
+     * @return The result of the operation.
+     * @throws Exception if the mocks fail
+     */
+    private BpmOperationResult executeBatched(final ReleasePokemonResponse response) throws Exception {
+        final Pokemon poke = mock(Pokemon.class);
+        doReturn(PokemonId.PIDGEY).when(poke).getPokemonId();
+        doReturn(CANDIES).when(poke).getCandy();
+        doReturn(poke).when(pokemon).getPokemon();
+        final PokemonGo go = mock(PokemonGo.class, RETURNS_DEEP_STUBS);
+        doAnswer(invocation -> {
+            if (response == null) {
+                throw new RemoteServerException(new SocketTimeoutException("Read timed out"));
+            }
+            ((ServerRequest) invocation.getArguments()[0]).handleData(response.toByteString());
+            return null;
+        }).when(go.getRequestHandler()).sendServerRequests((ServerRequest[]) anyVararg());
+
+        final BatchedCall<?> call = operation.createBatchedCall();
+        new RequestBatcher(go, 1).execute(Collections.singletonList(call), null);
+        return operation.getBatchedResult();
+    }
+
+    /**
+     * A batched transfer the server accepted succeeds.
+     *
+     * @throws Exception if the mocks fail
+     */
+    @Test
+    public void batchedTransferSucceeds() throws Exception {
+        final BpmOperationResult result = executeBatched(ReleasePokemonResponse.newBuilder()
+            .setResult(ReleasePokemonResponse.Result.SUCCESS)
+            .setCandyAwarded(1)
+            .build());
+
+        Assert.assertThat("Transfer should be successful", result.isSuccess(), is(true));
+    }
+
+    /**
+     * A batched transfer the server refused fails with its result.
+     *
+     * @throws Exception if the mocks fail
+     */
+    @Test
+    public void batchedTransferRefused() throws Exception {
+        final BpmOperationResult result = executeBatched(ReleasePokemonResponse.newBuilder()
+            .setResult(ReleasePokemonResponse.Result.POKEMON_DEPLOYED)
+            .build());
+
+        Assert.assertThat(RESULT_SHOULD_FAIL, result.isSuccess(), is(false));
+        Assert.assertThat(result.getOperationError(), is(OperationError.TRANSFER_FAIL));
+    }
+
+    /**
+     * A batched transfer without response fails.
+     *
+     * @throws Exception if the mocks fail
+     */
+    @Test
+    public void batchedTransferWithoutResponse() throws Exception {
+        final BpmOperationResult result = executeBatched(null);
+
+        Assert.assertThat(RESULT_SHOULD_FAIL, result.isSuccess(), is(false));
+        Assert.assertThat(result.getOperationError(), is(OperationError.TRANSFER_FAIL));
+    }
 }
@@ -0,0 +1,93 @@
+package me.corriekay.pokegoutil.headless;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.util.Arrays;
+
+import org.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import me.corriekay.pokegoutil.data.enums.LoginType;
+import me.corriekay.pokegoutil.gui.enums.OperationId;
+
+import POGOProtos.Data.PokemonDataOuterClass.PokemonData;
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+
+/**
+ * Test for HeadlessJob.
+ */
+public class HeadlessJobTest {
+
+    private static final String JOB = "{"
+        + "\"accounts\": [{\"name\": \"main\", \"username\": \"User\", \"password\": \"Pass\"}, {\"refreshToken\": \"Token\"}],"
+        + "\"threads\": 2,"
+        + "\"filter\": {\"species\": [\"pidgey\"], \"maxCp\": 500, \"maxIv\": 80},"
+        + "\"operations\": [\"RENAME\", \"transfer\"],"
+        + "\"renamePattern\": \"%ivrating%_%name%\""
+        + "}";
+    private static final int LOW_CP = 100;
+    private static final int HIGH_CP = 800;
+    private static final int LOW_IV = 5;
+    private static final int MAX_IV = 15;
+
+    private static Pokemon pokemon(final PokemonId pokemonId, final int cp, final int iv, final boolean favorite) {
+        return new Pokemon(null, PokemonData.newBuilder()
+            .setPokemonId(pokemonId)
+            .setCp(cp)
+            .setIndividualAttack(iv)
+            .setIndividualDefense(iv)
+            .setIndividualStamina(iv)
+            .setFavorite(favorite ? 1 : 0)
+            .build());
+    }
+
+    /**
+     * Accounts, operations and settings are read, with names and case being forgiving.
+     */
+    @Test
+    public void readsJob() {
+        final HeadlessJob job = new HeadlessJob(new JSONObject(JOB));
+
+        Assert.assertThat(job.getAccounts().size(), is(2));
+        Assert.assertThat(job.getAccounts().get(0).name, is("main"));
+        Assert.assertThat(job.getAccounts().get(0).loginData.getLoginType(), is(LoginType.PTC));
+        Assert.assertThat(job.getAccounts().get(1).name, is("account2"));
+        Assert.assertThat(job.getAccounts().get(1).loginData.getLoginType(), is(LoginType.GOOGLE_AUTH));
+        Assert.assertThat(job.getOperations(), is(Arrays.asList(OperationId.RENAME, OperationId.TRANSFER)));
+        Assert.assertThat(job.getThreads(), is(2));
+        Assert.assertThat(job.isDryRun(), is(false));
+    }
+
+    /**
+     * Only Pokémon within all limits of the filter are picked, and favorites are left alone.
+     */
+    @Test
+    public void filtersPokemon() {
+        final HeadlessJob job = new HeadlessJob(new JSONObject(JOB));
+
+        Assert.assertThat(job.matches(pokemon(PokemonId.PIDGEY, LOW_CP, LOW_IV, false)), is(true));
+        Assert.assertThat(job.matches(pokemon(PokemonId.PIDGEY, LOW_CP, LOW_IV, true)), is(false));
+        Assert.assertThat(job.matches(pokemon(PokemonId.RATTATA, LOW_CP, LOW_IV, false)), is(false));
+        Assert.assertThat(job.matches(pokemon(PokemonId.PIDGEY, HIGH_CP, LOW_IV, false)), is(false));
+        Assert.assertThat(job.matches(pokemon(PokemonId.PIDGEY, LOW_CP, MAX_IV, false)), is(false));
+    }
+
+    /**
+     * Renaming without a pattern is refused before anything runs.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void renameNeedsPattern() {
+        new HeadlessJob(new JSONObject(JOB.replace("\"renamePattern\"", "\"otherKey\"")));
+    }
+
+    /**
+     * Operations that can't run without the GUI session are refused before anything runs.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void refusesUnsupportedOperation() {
+        new HeadlessJob(new JSONObject(JOB.replace("\"transfer\"", "\"POWERUP\"")));
+    }
+}
@@ -0,0 +1,166 @@
+package me.corriekay.pokegoutil.headless;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.pokegoapi.api.PokemonGo;
+import com.pokegoapi.api.pokemon.Pokemon;
+import com.pokegoapi.exceptions.LoginFailedException;
+import com.pokegoapi.exceptions.RemoteServerException;
+
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+import POGOProtos.Networking.Responses.ReleasePokemonResponseOuterClass.ReleasePokemonResponse.Result;
+
+/**
+ * Test for HeadlessRunner, running jobs against a mocked session.
+ */
+public class HeadlessRunnerTest {
+
+    private static final String TRANSFER_JOB = "{"
+        + "\"accounts\": [{\"name\": \"main\", \"username\": \"User\", \"password\": \"Pass\"}],"
+        + "\"filter\": {\"species\": [\"PIDGEY\"], \"maxCp\": 500},"
+        + "\"operations\": [\"TRANSFER\"]"
+        + "}";
+    private static final int LOW_CP = 100;
+    private static final int CANDIES = 10;
+
+    private ByteArrayOutputStream output;
+    private PokemonGo go;
+    private Pokemon pidgey;
+    private Pokemon rattata;
+
+    /**
+     * Before every test.
+     *
+     * @throws LoginFailedException  login failed
+     * @throws RemoteServerException server error
+     */
+    @Before
+    public void beforeTest() throws LoginFailedException, RemoteServerException {
+        output = new ByteArrayOutputStream();
+        pidgey = pokemon(PokemonId.PIDGEY);
+        rattata = pokemon(PokemonId.RATTATA);
+        go = mock(PokemonGo.class, RETURNS_DEEP_STUBS);
+        doReturn(Arrays.asList(pidgey, rattata)).when(go.getInventories().getPokebank()).getPokemons();
+    }
+
+    private static Pokemon pokemon(final PokemonId pokemonId) throws LoginFailedException, RemoteServerException {
+        final Pokemon pokemon = mock(Pokemon.class);
+        doReturn(pokemonId).when(pokemon).getPokemonId();
+        doReturn(LOW_CP).when(pokemon).getCp();
+        doReturn("").when(pokemon).getNickname();
+        doReturn("").when(pokemon).getDeployedFortId();
+        doReturn(CANDIES).when(pokemon).getCandy();
+        doReturn(Result.SUCCESS).when(pokemon).transferPokemon();
+        return pokemon;
+    }
+
+    private HeadlessRunner runner(final String job, final HeadlessRunner.SessionFactory sessionFactory)
+        throws UnsupportedEncodingException {
+        final ProgressReporter reporter = new ProgressReporter(new PrintStream(output, true, StandardCharsets.UTF_8.name()));
+        return new HeadlessRunner(new HeadlessJob(new JSONObject(job)), reporter, sessionFactory);
+    }
+
+    private List<JSONObject> events() throws UnsupportedEncodingException {
+        final List<JSONObject> events = new ArrayList<>();
+        for (final String line : output.toString(StandardCharsets.UTF_8.name()).split("\n")) {
+            if (!line.trim().isEmpty()) {
+                events.add(new JSONObject(line));
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Only the picked Pokémon is transferred, and every step is reported.
+     *
+     * @throws Exception if the mocks fail
+     */
+    @Test
+    public void transfersPickedPokemon() throws Exception {
+        final boolean success = runner(TRANSFER_JOB, loginData -> go).run();
+
+        Assert.assertThat(success, is(true));
+        verify(pidgey).transferPokemon();
+        verify(rattata, never()).transferPokemon();
+
+        final List<JSONObject> events = events();
+        Assert.assertThat(events.size(), is(4));
+        Assert.assertThat(events.get(0).getString("event"), is(ProgressReporter.EVENT_LOGIN));
+        Assert.assertThat(events.get(1).getString("event"), is(ProgressReporter.EVENT_SELECTED));
+        Assert.assertThat(events.get(1).getInt("count"), is(1));
+        Assert.assertThat(events.get(2).getString("event"), is(ProgressReporter.EVENT_OPERATION));
+        Assert.assertThat(events.get(2).getString("operation"), is("TRANSFER"));
+        Assert.assertThat(events.get(2).getBoolean("success"), is(true));
+        Assert.assertThat(events.get(3).getString("event"), is(ProgressReporter.EVENT_DONE));
+        Assert.assertThat(events.get(3).getInt("failed"), is(0));
+    }
+
+    /**
+     * A dry run validates, but sends nothing.
+     *
+     * @throws Exception if the mocks fail
+     */
+    @Test
+    public void dryRunSendsNothing() throws Exception {
+        final boolean success = runner(TRANSFER_JOB.replace("\"operations\"", "\"dryRun\": true, \"operations\""),
+            loginData -> go).run();
+
+        Assert.assertThat(success, is(true));
+        verify(pidgey, never()).transferPokemon();
+        Assert.assertThat(events().get(2).getBoolean("success"), is(true));
+    }
+
+    /**
+     * A failed transfer is reported and fails the run.
+     *
+     * @throws Exception if the mocks fail
+     */
+    @Test
+    public void failedTransferFailsRun() throws Exception {
+        doReturn(Result.FAILED).when(pidgey).transferPokemon();
+
+        final boolean success = runner(TRANSFER_JOB, loginData -> go).run();
+
+        Assert.assertThat(success, is(false));
+        final List<JSONObject> events = events();
+        Assert.assertThat(events.get(2).getBoolean("success"), is(false));
+        Assert.assertThat(events.get(3).getInt("failed"), is(1));
+    }
+
+    /**
+     * A failed login is reported as an error of the account, and nothing is sent.
+     *
+     * @throws Exception if the mocks fail
+     */
+    @Test
+    public void failedLoginIsReported() throws Exception {
+        final boolean success = runner(TRANSFER_JOB, loginData -> {
+            throw new LoginFailedException("Wrong password");
+        }).run();
+
+        Assert.assertThat(success, is(false));
+        verify(pidgey, never()).transferPokemon();
+        final List<JSONObject> events = events();
+        Assert.assertThat(events.size(), is(1));
+        Assert.assertThat(events.get(0).getString("event"), is(ProgressReporter.EVENT_ERROR));
+        Assert.assertThat(events.get(0).getString("account"), is("main"));
+    }
+}
@@ -0,0 +1,260 @@
+package me.corriekay.pokegoutil.utils.batch;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.pokegoapi.api.PokemonGo;
+import com.pokegoapi.api.pokemon.Pokemon;
+import com.pokegoapi.exceptions.LoginFailedException;
+import com.pokegoapi.exceptions.RemoteServerException;
+import com.pokegoapi.main.RequestHandler;
+import com.pokegoapi.main.ServerRequest;
+
+import me.corriekay.pokegoutil.gui.enums.OperationId;
+import me.corriekay.pokegoutil.utils.metrics.MetricsRegistry;
+
+import POGOProtos.Networking.Requests.Messages.NicknamePokemonMessageOuterClass.NicknamePokemonMessage;
+import POGOProtos.Networking.Responses.NicknamePokemonResponseOuterClass.NicknamePokemonResponse;
+import POGOProtos.Networking.Responses.UpgradePokemonResponseOuterClass.UpgradePokemonResponse;
+
+/**
+ * Test for RequestBatcher, against a mocked request handler.
+ */
+public class RequestBatcherTest {
+
+    private static final int BATCH_SIZE = 3;
+    private static final String HTTP_BAD_REQUEST = "Got a unexpected http code : 400";
+    private static final String HTTP_UNAVAILABLE = "Got a unexpected http code : 503";
+
+    private RequestHandler handler;
+    private PokemonGo go;
+    private List<Integer> envelopeSizes;
+
+    /**
+     * Before every test.
+     */
+    @Before
+    public void beforeTest() {
+        go = mock(PokemonGo.class, RETURNS_DEEP_STUBS);
+        handler = mock(RequestHandler.class);
+        doReturn(handler).when(go).getRequestHandler();
+        envelopeSizes = new ArrayList<>();
+    }
+
+    private RequestBatcher batcher() {
+        return new RequestBatcher(go, BATCH_SIZE, operation -> { });
+    }
+
+    private static Pokemon pokemon(final long id) {
+        final Pokemon pokemon = mock(Pokemon.class);
+        doReturn(id).when(pokemon).getId();
+        return pokemon;
+    }
+
+    private static List<BatchedCall<NicknamePokemonResponse>> renames(final int count) {
+        final List<BatchedCall<NicknamePokemonResponse>> calls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            calls.add(BatchedCall.rename(pokemon(i), "mon" + i));
+        }
+        return calls;
+    }
+
+    /**
+     * Answers every rename with a result that depends on the Pokémon it is for: even ids succeed, odd ids get an
+     * invalid nickname. This way a mixed up response shows in the results.
+     *
+     * @param answered How many requests of an envelope are answered at most.
+     * @return The answer.
+     */
+    private Answer<Void> answerRenames(final int answered) {
+        return invocation -> {
+            final Object[] requests = invocation.getArguments();
+            envelopeSizes.add(requests.length);
+            for (int i = 0; i < Math.min(answered, requests.length); i++) {
+                final ServerRequest request = (ServerRequest) requests[i];
+                final long id = NicknamePokemonMessage.parseFrom(request.getRequest().getRequestMessage()).getPokemonId();
+                request.handleData(NicknamePokemonResponse.newBuilder()
+                    .setResult(expectedResult(id))
+                    .build().toByteString());
+            }
+            return null;
+        };
+    }
+
+    private static NicknamePokemonResponse.Result expectedResult(final long id) {
+        return id % 2 == 0 ? NicknamePokemonResponse.Result.SUCCESS : NicknamePokemonResponse.Result.ERROR_INVALID_NICKNAME;
+    }
+
+    private static long counter(final String name) {
+        return MetricsRegistry.getRegistry().counter(name, MetricsRegistry.TAG_OPERATION, OperationId.RENAME.name()).get();
+    }
+
+    /**
+     * Calls are packed into envelopes of the batch size, and every call gets the response to its own request, passed
+     * to the callback in the order of the calls.
+     *
+     * @throws Exception if the mocks fail
+     */
+    @Test
+    public void correlatesResponsesInOrder() throws Exception {
+        doAnswer(answerRenames(Integer.MAX_VALUE)).when(handler).sendServerRequests((ServerRequest[]) anyVararg());
+        final List<BatchedCall<NicknamePokemonResponse>> calls = renames(BATCH_SIZE + 2);
+        final List<BatchedCall<NicknamePokemonResponse>> reported = new ArrayList<>();
+
+        batcher().execute(calls, reported::add);
+
+        Assert.assertThat(envelopeSizes.toString(), is("[3, 2]"));
+        Assert.assertThat(reported, is(calls));
+        for (final BatchedCall<NicknamePokemonResponse> call : calls) {
+            Assert.assertThat(call.hasResponse(), is(true));
+            Assert.assertThat(call.getResponse().getResult(), is(expectedResult(call.getPokemon().getId())));
+        }
+    }
+
+    /**
+     * Every call that shared an envelope with the first one saves a round trip.
+     *
+     * @throws Exception if the mocks fail
+     */
+    @Test
+    public void countsRoundTripsSaved() throws Exception {
+        doAnswer(answerRenames(Integer.MAX_VALUE)).when(handler).sendServerRequests((ServerRequest[]) anyVararg());
+        final long before = counter(MetricsRegistry.ROUND_TRIPS_SAVED);
+
+        batcher().execute(renames(BATCH_SIZE + 2), null);
+
+        // 3 calls in the first envelope save 2 round trips, 2 calls in the second save 1
+        Assert.assertThat(counter(MetricsRegistry.ROUND_TRIPS_SAVED) - before, is(3L));
+    }
+
+    /**
+     * If the server refuses the envelope, its calls are sent one by one, and so is everything that follows.
+     *
+     * @throws Exception if the mocks fail
+     */
+    @Test
+    public void refusedBatchFallsBackToSingleCalls() throws Exception {
+        final Answer<Void> answer = answerRenames(Integer.MAX_VALUE);
+        doAnswer(invocation -> {
+            if (invocation.getArguments().length > 1) {
+                envelopeSizes.add(invocation.getArguments().length);
+                throw new RemoteServerException(HTTP_BAD_REQUEST);
+            }
+            return answer.answer(invocation);
+        }).when(handler).sendServerRequests((ServerRequest[]) anyVararg());
+        final List<BatchedCall<NicknamePokemonResponse>> calls = renames(BATCH_SIZE + 1);
+        final RequestBatcher batcher = batcher();
+        final long before = counter(MetricsRegistry.ROUND_TRIPS_SAVED);
+
+        batcher.execute(calls, null);
+
+        Assert.assertThat(envelopeSizes.toString(), is("[3, 1, 1, 1, 1]"));
+        Assert.assertThat(batcher.getBatchSize(), is(1));
+        Assert.assertThat(counter(MetricsRegistry.ROUND_TRIPS_SAVED) - before, is(0L));
+        for (final BatchedCall<NicknamePokemonResponse> call : calls) {
+            Assert.assertThat(call.getResponse().getResult(), is(expectedResult(call.getPokemon().getId())));
+        }
+    }
+
+    /**
+     * A server error is sent again one by one, but batching stays on for the next envelopes.
+     *
+     * @throws Exception if the mocks fail
+     */
+    @Test
+    public void serverErrorKeepsBatching() throws Exception {
+        final Answer<Void> answer = answerRenames(Integer.MAX_VALUE);
+        final boolean[] failed = {false};
+        doAnswer(invocation -> {
+            if (!failed[0]) {
+                failed[0] = true;
+                envelopeSizes.add(invocation.getArguments().length);
+                throw new RemoteServerException(HTTP_UNAVAILABLE);
+            }
+            return answer.answer(invocation);
+        }).when(handler).sendServerRequests((ServerRequest[]) anyVararg());
+        final List<BatchedCall<NicknamePokemonResponse>> calls = renames(BATCH_SIZE * 2);
+        final RequestBatcher batcher = batcher();
+
+        batcher.execute(calls, null);
+
+        Assert.assertThat(envelopeSizes.toString(), is("[3, 1, 1, 1, 3]"));
+        Assert.assertThat(batcher.getBatchSize(), is(BATCH_SIZE));
+        calls.forEach(call -> Assert.assertThat(call.hasResponse(), is(true)));
+    }
+
+    /**
+     * Requests the server did not answer are sent again on their own, the answered ones are not.
+     *
+     * @throws Exception if the mocks fail
+     */
+    @Test
+    public void unansweredRequestsAreSentAgain() throws Exception {
+        doAnswer(answerRenames(1)).when(handler).sendServerRequests((ServerRequest[]) anyVararg());
+        final List<BatchedCall<NicknamePokemonResponse>> calls = renames(BATCH_SIZE);
+        final RequestBatcher batcher = batcher();
+
+        batcher.execute(calls, null);
+
+        Assert.assertThat(envelopeSizes.toString(), is("[3, 1, 1]"));
+        Assert.assertThat(batcher.getBatchSize(), is(1));
+        for (final BatchedCall<NicknamePokemonResponse> call : calls) {
+            Assert.assertThat(call.getResponse().getResult(), is(expectedResult(call.getPokemon().getId())));
+        }
+    }
+
+    /**
+     * After a timeout the server may have applied the envelope already, so power-ups are reported as failed instead of
+     * being sent again, and batching stays on.
+     *
+     * @throws Exception if the mocks fail
+     */
+    @Test
+    public void ambiguousFailureIsNotSentAgain() throws Exception {
+        doAnswer(invocation -> {
+            throw new RemoteServerException(new SocketTimeoutException("Read timed out"));
+        }).when(handler).sendServerRequests((ServerRequest[]) anyVararg());
+        final List<BatchedCall<UpgradePokemonResponse>> calls = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            calls.add(BatchedCall.powerUp(pokemon(i)));
+        }
+        final RequestBatcher batcher = batcher();
+
+        batcher.execute(calls, null);
+
+        verify(handler, times(1)).sendServerRequests((ServerRequest[]) anyVararg());
+        Assert.assertThat(batcher.getBatchSize(), is(BATCH_SIZE));
+        for (final BatchedCall<UpgradePokemonResponse> call : calls) {
+            Assert.assertThat(call.hasResponse(), is(false));
+            Assert.assertThat(call.getError() instanceof RemoteServerException, is(true));
+        }
+    }
+
+    /**
+     * Only HTTP errors count as the server refusing an envelope.
+     */
+    @Test
+    public void readsHttpErrorCode() {
+        Assert.assertThat(RequestBatcher.getHttpErrorCode(new RemoteServerException(HTTP_BAD_REQUEST)), is(400));
+        Assert.assertThat(RequestBatcher.getHttpErrorCode(new RemoteServerException(new SocketTimeoutException())), is(0));
+        Assert.assertThat(RequestBatcher.getHttpErrorCode(new RemoteServerException(
+            new InvalidProtocolBufferException("Contents of buffer are null"))), is(0));
+        Assert.assertThat(RequestBatcher.getHttpErrorCode(new LoginFailedException("Invalid auth")), is(0));
+    }
+}
@@ -0,0 +1,55 @@
+package me.corriekay.pokegoutil.utils.bootstrap;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for Bootstrap and the dependencies of the BootstrapStages.
+ */
+public class BootstrapTest {
+
+    private static final long TIMEOUT_SECONDS = 30;
+
+    /**
+     * Every stage only depends on stages declared before it, so there are no cycles, and all of them wait for the
+     * config.
+     */
+    @Test
+    public void stagesDependOnEarlierStages() {
+        final Set<BootstrapStage> declared = EnumSet.noneOf(BootstrapStage.class);
+        for (final BootstrapStage stage : BootstrapStage.values()) {
+            Assert.assertThat(stage + " depends on a later stage", declared.containsAll(stage.getDependencies()), is(true));
+            if (stage != BootstrapStage.CONFIG) {
+                Assert.assertThat(stage.getDependencies().contains(BootstrapStage.CONFIG), is(true));
+            }
+            declared.add(stage);
+        }
+        Assert.assertThat(BootstrapStage.CONFIG.getDependencies().isEmpty(), is(true));
+    }
+
+    /**
+     * Asking for a stage starts the stages it depends on, and it only runs after they are done.
+     *
+     * @throws Exception if the stage does not finish in time
+     */
+    @Test
+    public void runsDependenciesFirst() throws Exception {
+        final CompletableFuture<Void> locations = Bootstrap.stage(BootstrapStage.LOCATIONS);
+        locations.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        Assert.assertThat(Bootstrap.stage(BootstrapStage.CONFIG).isDone(), is(true));
+        Assert.assertThat(Bootstrap.stage(BootstrapStage.LOCATIONS), sameInstance(locations));
+        final String report = Bootstrap.getReport();
+        final int config = report.indexOf(BootstrapStage.CONFIG.getFriendlyName());
+        final int location = report.indexOf(BootstrapStage.LOCATIONS.getFriendlyName());
+        Assert.assertThat(config >= 0 && location > config, is(true));
+    }
+}
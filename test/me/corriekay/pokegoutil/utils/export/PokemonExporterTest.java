@@ -0,0 +1,101 @@
+package me.corriekay.pokegoutil.utils.export;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import me.corriekay.pokegoutil.data.enums.PokeColumn;
+
+/**
+ * Test for PokemonExporter.
+ */
+public class PokemonExporterTest {
+
+    private static final List<PokeColumn> COLUMNS = Arrays.asList(PokeColumn.NICKNAME, PokeColumn.CP, PokeColumn.IV_RATING, PokeColumn.CAUGHT_CITY);
+    private static final int CP = 1337;
+    private static final double IV_RATING = 0.5;
+
+    private static Object[] row(final String nickname) {
+        final Object[] row = new Object[PokeColumn.values().length];
+        row[PokeColumn.NICKNAME.ordinal()] = nickname;
+        row[PokeColumn.CP.ordinal()] = CP;
+        row[PokeColumn.IV_RATING.ordinal()] = IV_RATING;
+        row[PokeColumn.CAUGHT_CITY.ordinal()] = new CompletableFuture<String>();
+        return row;
+    }
+
+    /**
+     * CSV gets a header, and values with separators or quotes are quoted.
+     *
+     * @throws IOException Never, it writes into memory.
+     */
+    @Test
+    public void writesCsv() throws IOException {
+        final StringWriter out = new StringWriter();
+        try (PokemonExporter exporter = new PokemonExporter(out, PokemonExporter.Format.CSV, COLUMNS)) {
+            exporter.write("Ash", row("Sparky"));
+            exporter.write("Misty", row("Say \"hi\", Bob"));
+            Assert.assertThat(exporter.getRowCount(), is(2L));
+        }
+
+        Assert.assertThat(out.toString(), is("Account,Nickname,CP,IV %,Caught City\n"
+            + "Ash,Sparky,1337,0.5,\n"
+            + "Misty,\"Say \"\"hi\"\", Bob\",1337,0.5,\n"));
+    }
+
+    /**
+     * JSON Lines gets one object per line, with numbers as numbers and unknown values as null.
+     *
+     * @throws IOException Never, it writes into memory.
+     */
+    @Test
+    public void writesJsonLines() throws IOException {
+        final StringWriter out = new StringWriter();
+        try (PokemonExporter exporter = new PokemonExporter(out, PokemonExporter.Format.JSON_LINES, COLUMNS)) {
+            exporter.write("Ash", row("Say \"hi\""));
+        }
+
+        Assert.assertThat(out.toString(),
+            is("{\"Account\":\"Ash\",\"Nickname\":\"Say \\\"hi\\\"\",\"CP\":1337,\"IV %\":0.5,\"Caught City\":null}\n"));
+    }
+
+    /**
+     * Locations of Pokémon are taken from the saved ones, unknown ones are exported empty instead of being looked up.
+     *
+     * @throws IOException Never, it writes into memory.
+     */
+    @Test
+    public void exportsUnknownLocationsEmpty() throws IOException {
+        final Pokemon pokemon = mock(Pokemon.class);
+        doReturn("Sparky").when(pokemon).getNickname();
+        final StringWriter out = new StringWriter();
+        try (PokemonExporter exporter = new PokemonExporter(out, PokemonExporter.Format.CSV,
+            Arrays.asList(PokeColumn.NICKNAME, PokeColumn.CAUGHT_LOCATION, PokeColumn.CAUGHT_CITY))) {
+            exporter.write("Ash", pokemon);
+        }
+
+        Assert.assertThat(out.toString(), is("Account,Nickname,Caught Location,Caught City\nAsh,Sparky,,\n"));
+    }
+
+    /**
+     * The extension of the format is added to file names without one.
+     */
+    @Test
+    public void addsMissingExtension() {
+        Assert.assertThat(PokemonExporter.Format.JSON_LINES.withExtension(new File("pokemon")), is(new File("pokemon.jsonl")));
+        Assert.assertThat(PokemonExporter.Format.CSV.withExtension(new File("pokemon.txt")), is(new File("pokemon.txt")));
+    }
+}
@@ -0,0 +1,205 @@
+package me.corriekay.pokegoutil.utils.http;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import me.corriekay.pokegoutil.utils.metrics.MetricKey;
+import me.corriekay.pokegoutil.utils.metrics.MetricsRegistry;
+
+/**
+ * Test for the HttpClientFactory, against a local stub server.
+ */
+public class HttpClientFactoryTest {
+
+    private static final String BODY = "0.1.5";
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int PARALLEL_CALLS = HttpClientFactory.MAX_REQUESTS_PER_HOST * 2;
+    private static final long SLOW_RESPONSE_MS = 200;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private ExecutorService serverThreads;
+    private HttpServer server;
+    private String baseUrl;
+    private HttpClientFactory factory;
+
+    /**
+     * Starts the stub server and creates a factory that caches everything below /cached/.
+     *
+     * @throws IOException If the server can't be started.
+     */
+    @Before
+    public void beforeTest() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/plain", exchange -> respond(exchange, HTTP_OK));
+        server.createContext("/cached", exchange -> respond(exchange, HTTP_OK));
+        server.createContext("/cached/missing", exchange -> respond(exchange, HTTP_NOT_FOUND));
+        server.createContext("/slow", this::respondSlowly);
+        serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+        factory = new HttpClientFactory(folder.newFolder(), Collections.singletonMap("localhost/cached/", 60L));
+    }
+
+    /**
+     * Stops the stub server.
+     */
+    @After
+    public void afterTest() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    private void respond(final HttpExchange exchange, final int code) throws IOException {
+        hits.incrementAndGet();
+        final byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(code, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void respondSlowly(final HttpExchange exchange) throws IOException {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(SLOW_RESPONSE_MS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        running.decrementAndGet();
+        respond(exchange, HTTP_OK);
+    }
+
+    /**
+     * Requests one after the other share one pooled connection, and are not cached without a rule.
+     *
+     * @throws IOException If a request fails.
+     */
+    @Test
+    public void connectionsAreReused() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            Assert.assertThat("Body should be read", factory.fetch(baseUrl + "/plain/version.txt"), is(BODY));
+        }
+
+        Assert.assertThat("Every request should reach the server", hits.get(), is(3));
+        Assert.assertThat("One connection should be kept", factory.getConnectionPool().connectionCount(), is(1));
+        Assert.assertThat("Nothing should be served from cache", factory.getCache().hitCount(), is(0));
+    }
+
+    /**
+     * Responses with a cache rule are only loaded once.
+     *
+     * @throws IOException If a request fails.
+     */
+    @Test
+    public void cachedResponsesAreServedFromDisk() throws IOException {
+        factory.fetch(baseUrl + "/cached/version.txt");
+        final String cached = factory.fetch(baseUrl + "/cached/version.txt");
+
+        Assert.assertThat("Cached body should be the same", cached, is(BODY));
+        Assert.assertThat("Only the first request should reach the server", hits.get(), is(1));
+        Assert.assertThat("Second request should be a cache hit", factory.getCache().hitCount(), is(1));
+        Assert.assertThat("First request should go to the network", factory.getCache().networkCount(), is(1));
+    }
+
+    /**
+     * Uncached requests always reach the server, even where a cache rule applies.
+     *
+     * @throws IOException If a request fails.
+     */
+    @Test
+    public void uncachedRequestsSkipTheCache() throws IOException {
+        factory.fetch(baseUrl + "/cached/version.txt", false);
+        factory.fetch(baseUrl + "/cached/version.txt", false);
+
+        Assert.assertThat("Both requests should reach the server", hits.get(), is(2));
+        Assert.assertThat("Nothing should be served from cache", factory.getCache().hitCount(), is(0));
+    }
+
+    /**
+     * Error responses are reported and not cached.
+     *
+     * @throws IOException If the first request fails in an unexpected way.
+     */
+    @Test
+    public void errorsAreThrownAndNotCached() throws IOException {
+        for (int i = 0; i < 2; i++) {
+            try {
+                factory.fetch(baseUrl + "/cached/missing/version.txt");
+                Assert.fail("Error status should throw");
+            } catch (final IOException e) {
+                Assert.assertThat("Message should name the status", e.getMessage().startsWith("HTTP 404"), is(true));
+            }
+        }
+        Assert.assertThat("Both requests should reach the server", hits.get(), is(2));
+    }
+
+    /**
+     * The pool state shows up as gauges.
+     *
+     * @throws IOException If a request fails.
+     */
+    @Test
+    public void poolMetricsAreReported() throws IOException {
+        final MetricsRegistry metrics = new MetricsRegistry();
+        factory.registerMetrics(metrics);
+        factory.fetch(baseUrl + "/plain/version.txt");
+
+        final Double connections = metrics.snapshot().getGauges()
+            .get(new MetricKey(HttpClientFactory.POOL_CONNECTIONS, HttpClientFactory.TAG_STATE, "total"));
+        Assert.assertThat("Pool gauge should count the connection", connections, is(1.0));
+    }
+
+    /**
+     * Synchronous calls to one host never run more than MAX_REQUESTS_PER_HOST at once, the others wait.
+     *
+     * @throws Exception If a request fails.
+     */
+    @Test
+    public void concurrentCallsPerHostAreLimited() throws Exception {
+        final ExecutorService callers = Executors.newFixedThreadPool(PARALLEL_CALLS);
+        try {
+            final List<Future<String>> calls = new ArrayList<>();
+            for (int i = 0; i < PARALLEL_CALLS; i++) {
+                calls.add(callers.submit(() -> factory.fetch(baseUrl + "/slow/version.txt", false)));
+            }
+            for (final Future<String> call : calls) {
+                Assert.assertThat("Body should be read", call.get(SLOW_RESPONSE_MS * PARALLEL_CALLS, TimeUnit.MILLISECONDS), is(BODY));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        Assert.assertThat("Every request should reach the server", hits.get(), is(PARALLEL_CALLS));
+        Assert.assertThat("No more than the limit should run at once",
+            maxRunning.get() <= HttpClientFactory.MAX_REQUESTS_PER_HOST, is(true));
+    }
+}
@@ -0,0 +1,96 @@
+package me.corriekay.pokegoutil.utils.metrics;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for LatencyHistogram.
+ */
+public class LatencyHistogramTest {
+
+    private static final int LINEAR_BUCKETS = 16;
+    private static final long SAMPLE_COUNT = 100;
+
+    /**
+     * Values below 16 get a bucket each, above that every power of two is split into 16 buckets.
+     */
+    @Test
+    public void bucketEdges() {
+        for (int value = 0; value < LINEAR_BUCKETS; value++) {
+            Assert.assertThat(LatencyHistogram.bucketIndex(value), is(value));
+            Assert.assertThat(LatencyHistogram.bucketUpperBound(value), is((long) value));
+        }
+        Assert.assertThat(LatencyHistogram.bucketIndex(31), is(31));
+        Assert.assertThat(LatencyHistogram.bucketIndex(32), is(32));
+        Assert.assertThat(LatencyHistogram.bucketIndex(33), is(32));
+        Assert.assertThat(LatencyHistogram.bucketIndex(34), is(33));
+        Assert.assertThat(LatencyHistogram.bucketUpperBound(32), is(33L));
+        Assert.assertThat(LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(Long.MAX_VALUE)), is(Long.MAX_VALUE));
+    }
+
+    /**
+     * The buckets are seamless, the value after the upper bound of a bucket is in the next one.
+     */
+    @Test
+    public void bucketsFollowEachOther() {
+        final int last = LatencyHistogram.bucketIndex(Long.MAX_VALUE);
+        for (int index = 0; index < last; index++) {
+            final long upperBound = LatencyHistogram.bucketUpperBound(index);
+            Assert.assertThat(LatencyHistogram.bucketIndex(upperBound), is(index));
+            Assert.assertThat(LatencyHistogram.bucketIndex(upperBound + 1), is(index + 1));
+        }
+    }
+
+    /**
+     * Percentiles of 1 to 100 microseconds are the upper bounds of their buckets, but never above the maximum.
+     */
+    @Test
+    public void percentilesOfKnownSamples() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= SAMPLE_COUNT; micros++) {
+            histogram.recordMicros(micros);
+        }
+
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertThat(snapshot.getCount(), is(SAMPLE_COUNT));
+        Assert.assertThat(snapshot.getSumMicros(), is(5050L));
+        Assert.assertThat(snapshot.getMaxMicros(), is(SAMPLE_COUNT));
+        Assert.assertThat(snapshot.getMeanMicros(), is(50.5));
+        Assert.assertThat(snapshot.getValueAtQuantile(0.1), is(10L));
+        Assert.assertThat(snapshot.getValueAtQuantile(0.5), is(51L));
+        Assert.assertThat(snapshot.getValueAtQuantile(0.99), is(99L));
+        Assert.assertThat(snapshot.getValueAtQuantile(1), is(SAMPLE_COUNT));
+    }
+
+    /**
+     * Durations are converted to microseconds, and negative ones count as zero.
+     */
+    @Test
+    public void recordsDurations() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(2, TimeUnit.MILLISECONDS);
+        histogram.recordMicros(-1);
+
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        Assert.assertThat(snapshot.getCount(), is(2L));
+        Assert.assertThat(snapshot.getSumMicros(), is(2000L));
+        Assert.assertThat(snapshot.getValueAtQuantile(0.5), is(0L));
+        Assert.assertThat(snapshot.getValueAtQuantile(1), is(2000L));
+    }
+
+    /**
+     * An empty histogram has all values zero.
+     */
+    @Test
+    public void emptyHistogram() {
+        final LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+        Assert.assertThat(snapshot.getCount(), is(0L));
+        Assert.assertThat(snapshot.getMeanMicros(), is(0.0));
+        Assert.assertThat(snapshot.getValueAtQuantile(0.99), is(0L));
+    }
+}
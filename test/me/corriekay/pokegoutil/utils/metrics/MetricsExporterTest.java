@@ -0,0 +1,81 @@
+package me.corriekay.pokegoutil.utils.metrics;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.util.TreeMap;
+
+import org.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test for MetricsExporter, with a snapshot of known values.
+ */
+public class MetricsExporterTest {
+
+    private static final long TWO_MILLIS = 2000;
+    private static final double HEAP = 1.5;
+
+    private MetricsSnapshot snapshot;
+
+    /**
+     * Before every test. Two counters of the same name, a gauge, and a histogram with a single call of 2 ms.
+     */
+    @Before
+    public void beforeTest() {
+        final TreeMap<MetricKey, Long> counters = new TreeMap<>();
+        counters.put(new MetricKey(MetricsRegistry.API_CALLS, "result", "SUCCESS", "operation", "EVOLVE"), 3L);
+        counters.put(new MetricKey(MetricsRegistry.API_CALLS, "operation", "TRANSFER", "result", "say \"hi\""), 1L);
+        final TreeMap<MetricKey, Double> gauges = new TreeMap<>();
+        gauges.put(new MetricKey("bpm_heap"), HEAP);
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordMicros(TWO_MILLIS);
+        final TreeMap<MetricKey, LatencyHistogram.Snapshot> histograms = new TreeMap<>();
+        histograms.put(new MetricKey(MetricsRegistry.API_CALL_DURATION, "operation", "EVOLVE"), histogram.snapshot());
+
+        snapshot = new MetricsSnapshot(0, counters, gauges, histograms);
+    }
+
+    /**
+     * Every metric gets one type line, tags are sorted and escaped, and histograms become summaries in seconds.
+     */
+    @Test
+    public void exportsPrometheusText() {
+        final String expected = "# TYPE bpm_api_calls_total counter\n"
+            + "bpm_api_calls_total{operation=\"EVOLVE\",result=\"SUCCESS\"} 3\n"
+            + "bpm_api_calls_total{operation=\"TRANSFER\",result=\"say \\\"hi\\\"\"} 1\n"
+            + "# TYPE bpm_heap gauge\n"
+            + "bpm_heap 1.5\n"
+            + "# TYPE bpm_api_call_duration_seconds summary\n"
+            + "bpm_api_call_duration_seconds{operation=\"EVOLVE\",quantile=\"0.5\"} 0.002\n"
+            + "bpm_api_call_duration_seconds{operation=\"EVOLVE\",quantile=\"0.9\"} 0.002\n"
+            + "bpm_api_call_duration_seconds{operation=\"EVOLVE\",quantile=\"0.99\"} 0.002\n"
+            + "bpm_api_call_duration_seconds{operation=\"EVOLVE\",quantile=\"0.999\"} 0.002\n"
+            + "bpm_api_call_duration_seconds_sum{operation=\"EVOLVE\"} 0.002\n"
+            + "bpm_api_call_duration_seconds_count{operation=\"EVOLVE\"} 1\n";
+
+        Assert.assertThat(MetricsExporter.toPrometheus(snapshot), is(expected));
+    }
+
+    /**
+     * The JSON has the metrics with name and tags, and histograms with their percentiles in milliseconds.
+     */
+    @Test
+    public void exportsJson() {
+        final JSONObject json = MetricsExporter.toJson(snapshot);
+
+        final JSONObject counter = json.getJSONArray("counters").getJSONObject(0);
+        Assert.assertThat(counter.getString("name"), is(MetricsRegistry.API_CALLS));
+        Assert.assertThat(counter.getJSONObject("tags").getString("operation"), is("EVOLVE"));
+        Assert.assertThat(counter.getLong("value"), is(3L));
+        Assert.assertThat(json.getJSONArray("gauges").getJSONObject(0).getDouble("value"), is(HEAP));
+
+        final JSONObject histogram = json.getJSONArray("histograms").getJSONObject(0);
+        Assert.assertThat(histogram.getLong("count"), is(1L));
+        Assert.assertThat(histogram.getDouble("meanMs"), is(2.0));
+        Assert.assertThat(histogram.getDouble("p50Ms"), is(2.0));
+        Assert.assertThat(histogram.getDouble("p999Ms"), is(2.0));
+        Assert.assertThat(histogram.getDouble("maxMs"), is(2.0));
+    }
+}
@@ -0,0 +1,68 @@
+package me.corriekay.pokegoutil.utils.pokemon;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for CandyPlanner.
+ */
+public class CandyPlannerTest {
+
+    private static final int PIDGEY_COST = 12;
+    private static final int REFUND = CandyPlanner.getRefund(false);
+    private static final int REFUND_WITH_TRANSFER = CandyPlanner.getRefund(true);
+    private static final int MAX_CANDIES = 1000;
+
+    /**
+     * The closed form gives the same as evolving one by one with the candies that come back.
+     */
+    @Test
+    public void evolvableFromCandiesMatchesEvolvingOneByOne() {
+        for (final int refund : new int[] {REFUND, REFUND_WITH_TRANSFER}) {
+            for (int candies = 0; candies < MAX_CANDIES; candies++) {
+                Assert.assertThat("candies " + candies + ", refund " + refund,
+                    CandyPlanner.evolvableFromCandies(candies, PIDGEY_COST, refund), is(evolveOneByOne(candies, PIDGEY_COST, refund)));
+            }
+        }
+    }
+
+    /**
+     * Five Pidgeys share the candies: 24 candies are enough for two evolves, with 33 one transfer makes it three.
+     */
+    @Test
+    public void sharesCandiesOfTheFamily() {
+        final int count = 5;
+        final int candies = 24;
+        final int evolves = CandyPlanner.maxEvolves(candies, PIDGEY_COST, REFUND, count, 0);
+        Assert.assertThat(evolves, is(2));
+        Assert.assertThat(CandyPlanner.transfersNeeded(candies, PIDGEY_COST, REFUND, evolves), is(0));
+
+        final int moreCandies = 33;
+        final int moreEvolves = CandyPlanner.maxEvolves(moreCandies, PIDGEY_COST, REFUND, count, 0);
+        Assert.assertThat(moreEvolves, is(3));
+        Assert.assertThat(CandyPlanner.transfersNeeded(moreCandies, PIDGEY_COST, REFUND, moreEvolves), is(1));
+    }
+
+    /**
+     * Favorites are never transferred for candies.
+     */
+    @Test
+    public void neverCountsFavoritesAsTransfers() {
+        final int count = 3;
+        final int favorites = 3;
+        Assert.assertThat(CandyPlanner.maxEvolves(PIDGEY_COST - 1, PIDGEY_COST, REFUND, count, favorites), is(0));
+        Assert.assertThat(CandyPlanner.maxEvolves(PIDGEY_COST - 1, PIDGEY_COST, REFUND, count, 0), is(1));
+    }
+
+    private static int evolveOneByOne(final int candies, final int cost, final int refund) {
+        int left = candies;
+        int evolves = 0;
+        while (left >= cost) {
+            left = left - cost + refund;
+            evolves++;
+        }
+        return evolves;
+    }
+}
@@ -0,0 +1,86 @@
+package me.corriekay.pokegoutil.utils.pokemon;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.pokegoapi.api.pokemon.PokemonMeta;
+import com.pokegoapi.api.pokemon.PokemonMetaRegistry;
+
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+import POGOProtos.Enums.PokemonMoveOuterClass.PokemonMove;
+
+/**
+ * Test for PokemonCalculationUtils.
+ */
+public class PokemonCalculationUtilsTest {
+
+    private static final PokemonId POKEMON = PokemonId.DRAGONITE;
+    private static final PokemonMove MOVE_1 = PokemonMove.DRAGON_BREATH_FAST;
+    private static final PokemonMove MOVE_2 = PokemonMove.DRAGON_CLAW;
+    private static final int ATTACK_IV = 12;
+    private static final int DEFENSE_IV = 7;
+    private static final int STAMINA_IV = 15;
+    private static final double DELTA = 1e-9;
+
+    /**
+     * The IV adjusted derived stats equal the single stat calculations with the IVs.
+     */
+    @Test
+    public void derivedStatsWithIvMatchSingleCalculations() {
+        final PokemonDerivedStats stats = PokemonCalculationUtils.derivedStats(POKEMON, MOVE_1, MOVE_2, ATTACK_IV, DEFENSE_IV, STAMINA_IV);
+
+        Assert.assertThat("Duel Ability IV", stats.duelAbilityIv,
+            is(PokemonCalculationUtils.duelAbility(POKEMON, MOVE_1, MOVE_2, ATTACK_IV, DEFENSE_IV, STAMINA_IV)));
+        Assert.assertEquals("Gym Offense IV",
+            PokemonCalculationUtils.gymOffense(POKEMON, MOVE_1, MOVE_2, ATTACK_IV), stats.gymOffenseIv, DELTA);
+        Assert.assertThat("Gym Defense IV", stats.gymDefenseIv,
+            is(PokemonCalculationUtils.gymDefense(POKEMON, MOVE_1, MOVE_2, ATTACK_IV, DEFENSE_IV, STAMINA_IV)));
+    }
+
+    /**
+     * The base derived stats equal the single stat calculations without IVs, and differ from the IV adjusted ones.
+     */
+    @Test
+    public void derivedStatsBaseMatchZeroIvCalculations() {
+        final PokemonDerivedStats stats = PokemonCalculationUtils.derivedStats(POKEMON, MOVE_1, MOVE_2, ATTACK_IV, DEFENSE_IV, STAMINA_IV);
+
+        Assert.assertThat("Duel Ability", stats.duelAbility,
+            is(PokemonCalculationUtils.duelAbility(POKEMON, MOVE_1, MOVE_2, 0, 0, 0)));
+        Assert.assertEquals("Gym Offense",
+            PokemonCalculationUtils.gymOffense(POKEMON, MOVE_1, MOVE_2, 0), stats.gymOffense, DELTA);
+        Assert.assertThat("Gym Defense", stats.gymDefense,
+            is(PokemonCalculationUtils.gymDefense(POKEMON, MOVE_1, MOVE_2, 0, 0, 0)));
+
+        Assert.assertThat("Duel Ability differs from IV value", stats.duelAbility, not(stats.duelAbilityIv));
+        Assert.assertThat("Gym Defense differs from IV value", stats.gymDefense, not(stats.gymDefenseIv));
+    }
+
+    /**
+     * The table based weave kernel gives exactly the same results as the registry based formula,
+     * for every moveset of every species, both for offense and defense.
+     */
+    @Test
+    public void weaveDpsMatchesReferenceForAllMovesets() {
+        int checked = 0;
+        for (final Map.Entry<PokemonId, PokemonMeta> entry : PokemonMetaRegistry.getMeta().entrySet()) {
+            final PokemonId pokemonId = entry.getKey();
+            for (final PokemonMove move1 : entry.getValue().getQuickMoves()) {
+                for (final PokemonMove move2 : entry.getValue().getCinematicMoves()) {
+                    for (final int delay : new int[] {0, PokemonCalculationUtils.MOVE_2_ADDITIONAL_DELAY}) {
+                        final String moveset = pokemonId + " " + move1 + "/" + move2 + " delay " + delay;
+                        Assert.assertThat(moveset,
+                            PokemonCalculationUtils.weaveDps(pokemonId, move1, move2, delay),
+                            is(PokemonCalculationUtils.weaveDpsFromMeta(pokemonId, move1, move2, delay)));
+                        checked++;
+                    }
+                }
+            }
+        }
+        Assert.assertThat("Movesets were checked", checked > 0, is(true));
+    }
+}
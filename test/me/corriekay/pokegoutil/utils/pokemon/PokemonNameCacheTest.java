@@ -0,0 +1,79 @@
+package me.corriekay.pokegoutil.utils.pokemon;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+
+import java.util.Locale;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import POGOProtos.Enums.PokemonFamilyIdOuterClass.PokemonFamilyId;
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+
+/**
+ * Test for PokemonNameCache.
+ */
+public class PokemonNameCacheTest {
+
+    private static final int BULBASAUR = PokemonId.BULBASAUR.getNumber();
+
+    /**
+     * After every test, the other tests expect English names.
+     */
+    @After
+    public void afterTest() {
+        PokemonNameCache.setLanguage("en");
+    }
+
+    /**
+     * The search form has no spaces or underscores and is in lower case.
+     */
+    @Test
+    public void normalizesSearchForm() {
+        Assert.assertThat(PokemonNameCache.toSearchForm("Mr. Mime"), is("mr.mime"));
+        Assert.assertThat(PokemonNameCache.toSearchForm("DRAGON_BREATH fast"), is("dragonbreathfast"));
+        Assert.assertThat(PokemonNameCache.toSearchForm(""), is(""));
+    }
+
+    /**
+     * Language codes with and without country are parsed.
+     */
+    @Test
+    public void parsesLanguageCodes() {
+        Assert.assertThat(PokemonNameCache.toLocale("en"), is(new Locale("en")));
+        Assert.assertThat(PokemonNameCache.toLocale("zh_CN"), is(new Locale("zh", "CN")));
+    }
+
+    /**
+     * Switching the language swaps in new tables, the old ones keep their language.
+     */
+    @Test
+    public void switchesLanguage() {
+        PokemonNameCache.setLanguage("en");
+        final PokemonNameCache.Names english = PokemonNameCache.get();
+        Assert.assertThat(english.getName(BULBASAUR), is("Bulbasaur"));
+        Assert.assertThat(english.getSearchName(BULBASAUR), is("bulbasaur"));
+        Assert.assertThat(english.getFamilySearchName(PokemonFamilyId.FAMILY_CHARMANDER), is("charmander"));
+
+        PokemonNameCache.setLanguage("de");
+        final PokemonNameCache.Names german = PokemonNameCache.get();
+        Assert.assertThat(german, not(sameInstance(english)));
+        Assert.assertThat(german.getLanguage(), is("de"));
+        Assert.assertThat(german.getName(BULBASAUR), is("Bisasam"));
+        Assert.assertThat(german.getFamilySearchName(PokemonFamilyId.FAMILY_CHARMANDER), is("glumanda"));
+        Assert.assertThat(english.getName(BULBASAUR), is("Bulbasaur"));
+    }
+
+    /**
+     * The tables are built once per language, not on every call.
+     */
+    @Test
+    public void keepsTablesUntilLanguageChanges() {
+        PokemonNameCache.setLanguage("en");
+
+        Assert.assertThat(PokemonNameCache.get(), sameInstance(PokemonNameCache.get()));
+    }
+}
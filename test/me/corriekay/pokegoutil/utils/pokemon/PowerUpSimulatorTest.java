@@ -0,0 +1,74 @@
+package me.corriekay.pokegoutil.utils.pokemon;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for PowerUpSimulator.
+ */
+public class PowerUpSimulatorTest {
+
+    private static final int ATTACK = 278;
+    private static final int DEFENSE = 216;
+    private static final int STAMINA = 197;
+    private static final int LEVEL_30 = PowerUpSimulator.toIndex(30f);
+    private static final int PLENTY = 1000000;
+
+    /**
+     * Powering up from level 1 to 40 costs 270,000 stardust and 304 candies.
+     */
+    @Test
+    public void sumsCostsToMaxLevel() {
+        Assert.assertThat(PowerUpSimulator.getStardustBetween(1f, 40f), is(270000L));
+        Assert.assertThat(PowerUpSimulator.getCandyBetween(1f, 40f), is(304));
+        Assert.assertThat(PowerUpSimulator.getStardustCost(39.5f), is(10000));
+        Assert.assertThat(PowerUpSimulator.getCandyCost(39.5f), is(15));
+        Assert.assertThat(PowerUpSimulator.getStardustCost(40f), is(0));
+    }
+
+    /**
+     * The projection of a selection adds up the costs and CP of every Pokémon, the ones above a target stay as they
+     * are.
+     */
+    @Test
+    public void projectsSelection() {
+        final int[] attack = {ATTACK, ATTACK};
+        final int[] level = {0, LEVEL_30};
+        final PowerUpSimulator.Projection projection = PowerUpSimulator.project(attack, new int[] {DEFENSE, DEFENSE},
+            new int[] {STAMINA, STAMINA}, level);
+
+        Assert.assertThat(projection.getStardust(30f), is(PowerUpSimulator.getStardustBetween(1f, 30f)));
+        Assert.assertThat(projection.getStardust(40f),
+            is(PowerUpSimulator.getStardustBetween(1f, 40f) + PowerUpSimulator.getStardustBetween(30f, 40f)));
+        Assert.assertThat(projection.getCp(1f), is((long) PowerUpSimulator.getCp(ATTACK, DEFENSE, STAMINA, 0)
+            + PowerUpSimulator.getCp(ATTACK, DEFENSE, STAMINA, LEVEL_30)));
+    }
+
+    /**
+     * The stardust goes to the power-up with the most CP per stardust first, and the candies of a family limit it.
+     */
+    @Test
+    public void allocatesGreedily() {
+        final int[] attack = {ATTACK, ATTACK};
+        final int[] defense = {DEFENSE, DEFENSE};
+        final int[] stamina = {STAMINA, STAMINA};
+        final int[] level = {0, LEVEL_30};
+        final int[] family = {0, 0};
+
+        final PowerUpSimulator.Allocation cheap = PowerUpSimulator.allocate(attack, defense, stamina, level, family,
+            new int[] {PLENTY}, PowerUpSimulator.getStardustCost(1f), PowerUpSimulator.MAX_INDEX);
+        Assert.assertThat(cheap.getPowerUps(0), is(1));
+        Assert.assertThat(cheap.getPowerUps(1), is(0));
+
+        final PowerUpSimulator.Allocation all = PowerUpSimulator.allocate(attack, defense, stamina, level, family,
+            new int[] {PLENTY}, PLENTY, PowerUpSimulator.MAX_INDEX);
+        Assert.assertThat(all.getTargetLevel(0), is(40f));
+        Assert.assertThat(all.getTargetLevel(1), is(40f));
+
+        final PowerUpSimulator.Allocation noCandy = PowerUpSimulator.allocate(attack, defense, stamina, level, family,
+            new int[] {0}, PLENTY, PowerUpSimulator.MAX_INDEX);
+        Assert.assertThat(noCandy.getPowerUps(), is(0));
+    }
+}
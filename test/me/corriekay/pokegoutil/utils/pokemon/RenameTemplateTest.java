@@ -0,0 +1,77 @@
+package me.corriekay.pokegoutil.utils.pokemon;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+/**
+ * Test for RenameTemplate and PokeNick.
+ */
+public class RenameTemplateTest {
+
+    private static final int ATTACK = 15;
+    private static final int DEFENSE = 9;
+    private static final int STAMINA = 10;
+    private Pokemon pokemon;
+
+    /**
+     * Before every test.
+     */
+    @Before
+    public void beforeTest() {
+        pokemon = mock(Pokemon.class);
+        doReturn(ATTACK).when(pokemon).getIndividualAttack();
+        doReturn(DEFENSE).when(pokemon).getIndividualDefense();
+        doReturn(STAMINA).when(pokemon).getIndividualStamina();
+    }
+
+    /**
+     * Literal text around and between placeholders is kept.
+     */
+    @Test
+    public void rendersLiteralsAndPlaceholders() {
+        final RenameTemplate template = RenameTemplate.compile("A%iv_att%/%IV_DEF%-%iv_stam%z");
+
+        Assert.assertThat(template.render(pokemon), is("A15/9-10z"));
+    }
+
+    /**
+     * Unknown placeholders stay in the nickname as written.
+     */
+    @Test
+    public void keepsUnknownPlaceholders() {
+        final RenameTemplate template = RenameTemplate.compile("%nope%_%iv_hex%");
+
+        Assert.assertThat(template.render(pokemon), is("%nope%_F9A"));
+    }
+
+    /**
+     * A reused buffer is cleared before rendering the next nickname.
+     */
+    @Test
+    public void reusesBuffer() {
+        final RenameTemplate template = RenameTemplate.compile("%iv_att%");
+        final StringBuilder buffer = new StringBuilder("leftover");
+
+        Assert.assertThat(template.render(pokemon, buffer).toString(), is("15"));
+        Assert.assertThat(template.render(pokemon, buffer).toString(), is("15"));
+    }
+
+    /**
+     * PokeNick cuts the rendered nickname to the maximum length.
+     */
+    @Test
+    public void pokeNickIsCutToMaximumLength() {
+        final PokeNick nick = new PokeNick(RenameTemplate.compile("%iv_hex%_abcdefghijk"), pokemon, new StringBuilder());
+
+        Assert.assertThat(nick.fullNickname, is("F9A_abcdefghijk"));
+        Assert.assertThat(nick.toString(), is("F9A_abcdefgh"));
+        Assert.assertThat(nick.isTooLong(), is(true));
+    }
+}
@@ -0,0 +1,104 @@
+package me.corriekay.pokegoutil.utils.pokemon;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.pokegoapi.api.PokemonGo;
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import POGOProtos.Data.PokemonDataOuterClass.PokemonData;
+import POGOProtos.Enums.PokemonFamilyIdOuterClass.PokemonFamilyId;
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+import POGOProtos.Enums.PokemonMoveOuterClass.PokemonMove;
+
+/**
+ * Test for SpeciesIndex.
+ */
+public class SpeciesIndexTest {
+
+    private static final int KEEP = 2;
+    private PokemonGo go;
+    private List<Pokemon> bag;
+
+    /**
+     * Before every test.
+     */
+    @Before
+    public void beforeTest() {
+        go = mock(PokemonGo.class, RETURNS_DEEP_STUBS);
+        bag = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            bag.add(create(i, PokemonId.PIDGEY, i * 10));
+        }
+    }
+
+    private Pokemon create(final long id, final PokemonId pokemonId, final int cp) {
+        return new Pokemon(go, PokemonData.newBuilder()
+            .setId(id)
+            .setPokemonId(pokemonId)
+            .setCp(cp)
+            .setMove1(PokemonMove.TACKLE_FAST)
+            .setMove2(PokemonMove.HYPER_BEAM)
+            .build());
+    }
+
+    private static List<Integer> cps(final List<Pokemon> pokemons) {
+        final List<Integer> cps = new ArrayList<>();
+        pokemons.forEach(p -> cps.add(p.getCp()));
+        return cps;
+    }
+
+    /**
+     * Only the best few of a species are kept, best first.
+     */
+    @Test
+    public void keepsBestPerSpecies() {
+        final SpeciesIndex index = SpeciesIndex.of(KEEP, bag);
+
+        Assert.assertThat(cps(index.getBest(PokemonId.PIDGEY, SpeciesIndex.Metric.CP)), is(Arrays.asList(40, 30)));
+        Assert.assertThat(index.isBest(bag.get(3), SpeciesIndex.Metric.CP), is(true));
+        Assert.assertThat(index.isBest(bag.get(1), SpeciesIndex.Metric.CP), is(false));
+        Assert.assertThat(index.getCount(PokemonId.PIDGEY), is(4));
+    }
+
+    /**
+     * When one of the best is gone the next one moves up, and a better new one replaces the worst of the best.
+     */
+    @Test
+    public void syncsWithTheBag() {
+        final SpeciesIndex index = SpeciesIndex.of(KEEP, bag);
+
+        bag.remove(3);
+        index.sync(bag);
+        Assert.assertThat(cps(index.getBest(PokemonId.PIDGEY, SpeciesIndex.Metric.CP)), is(Arrays.asList(30, 20)));
+
+        bag.add(create(5, PokemonId.PIDGEY, 50));
+        index.sync(bag);
+        Assert.assertThat(cps(index.getBest(PokemonId.PIDGEY, SpeciesIndex.Metric.CP)), is(Arrays.asList(50, 30)));
+        Assert.assertThat(index.getCount(PokemonId.PIDGEY), is(4));
+    }
+
+    /**
+     * Species are grouped by family, a species that is gone leaves its family.
+     */
+    @Test
+    public void groupsByFamily() {
+        bag.add(create(6, PokemonId.PIDGEOTTO, 100));
+        final SpeciesIndex index = SpeciesIndex.of(KEEP, bag);
+        Assert.assertThat(index.getFamilyCount(PokemonFamilyId.FAMILY_PIDGEY), is(5));
+        Assert.assertThat(index.getSpecies(PokemonFamilyId.FAMILY_PIDGEY).contains(PokemonId.PIDGEOTTO), is(true));
+
+        bag.remove(bag.size() - 1);
+        index.sync(bag);
+        Assert.assertThat(index.getSpecies(PokemonFamilyId.FAMILY_PIDGEY).contains(PokemonId.PIDGEOTTO), is(false));
+    }
+}
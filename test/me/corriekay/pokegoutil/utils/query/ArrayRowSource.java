@@ -0,0 +1,56 @@
+package me.corriekay.pokegoutil.utils.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import me.corriekay.pokegoutil.data.enums.PokeColumn;
+
+/**
+ * Rows for queries, held in arrays indexed by the PokeColumn ordinals. Has no Pokémon, so free text never matches.
+ */
+public final class ArrayRowSource implements RowSource {
+
+    private final List<Object[]> rows = new ArrayList<>();
+
+    /**
+     * Adds a row with the columns the tests and benchmarks query.
+     *
+     * @param dex       The Pokédex number.
+     * @param species   The species name.
+     * @param ivRating  The IV rating, from 0 to 1.
+     * @param cp        The CP.
+     * @param favorite  If it is a favorite.
+     * @param toEvolve  The candies to evolve, or "-".
+     * @return The index of the row.
+     */
+    public int add(final int dex, final String species, final double ivRating, final int cp, final boolean favorite, final String toEvolve) {
+        final Object[] row = new Object[PokeColumn.values().length];
+        row[PokeColumn.POKEDEX_ID.ordinal()] = dex;
+        row[PokeColumn.SPECIES.ordinal()] = species;
+        row[PokeColumn.NICKNAME.ordinal()] = species;
+        row[PokeColumn.IV_RATING.ordinal()] = ivRating;
+        row[PokeColumn.CP.ordinal()] = cp;
+        row[PokeColumn.FAVORITE.ordinal()] = favorite ? "Yes" : "";
+        row[PokeColumn.CANDIES_TO_EVOLVE.ordinal()] = toEvolve;
+        row[PokeColumn.TYPE_1.ordinal()] = "Dragon";
+        row[PokeColumn.TYPE_2.ordinal()] = "";
+        rows.add(row);
+        return rows.size() - 1;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    @Override
+    public Object get(final PokeColumn column, final int row) {
+        return rows.get(row)[column.ordinal()];
+    }
+
+    @Override
+    public Pokemon getPokemon(final int row) {
+        return null;
+    }
+}
@@ -0,0 +1,88 @@
+package me.corriekay.pokegoutil.utils.query;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for PokemonQuery.
+ */
+public class PokemonQueryTest {
+
+    private static final int DRATINI = 147;
+    private static final int PIDGEY = 16;
+    private static final double HIGH_IV = 0.95;
+    private static final double LOW_IV = 0.5;
+    private static final int LOW_CP = 500;
+    private static final int HIGH_CP = 1500;
+
+    private static PokemonQuery compile(final String query) {
+        return PokemonQuery.compile(query, null, false);
+    }
+
+    /**
+     * The example from the search help: and binds stronger than or.
+     */
+    @Test
+    public void combinesConditions() {
+        final ArrayRowSource rows = new ArrayRowSource();
+        final int goodDratini = rows.add(DRATINI, "Dratini", HIGH_IV, LOW_CP, false, "25");
+        final int strongDratini = rows.add(DRATINI, "Dratini", HIGH_IV, HIGH_CP, false, "25");
+        final int favoriteDratini = rows.add(DRATINI, "Dratini", LOW_IV, HIGH_CP, true, "25");
+        final int goodPidgey = rows.add(PIDGEY, "Pidgey", HIGH_IV, LOW_CP, false, "12");
+
+        final PokemonQuery query = compile("iv>=90 & species:dratini & cp<1000 | fav");
+        Assert.assertThat(query.matches(rows, goodDratini), is(true));
+        Assert.assertThat(query.matches(rows, strongDratini), is(false));
+        Assert.assertThat(query.matches(rows, favoriteDratini), is(true));
+        Assert.assertThat(query.matches(rows, goodPidgey), is(false));
+    }
+
+    /**
+     * Number checks are evaluated before text checks, whatever order they were written in.
+     */
+    @Test
+    public void checksCheapConditionsFirst() {
+        Assert.assertThat(compile("species : Dratini & IV >= 90").toString(), is("(iv>=90 & species:dratini)"));
+    }
+
+    /**
+     * Negation, parentheses and columns that show a dash for no value.
+     */
+    @Test
+    public void negatesAndGroups() {
+        final ArrayRowSource rows = new ArrayRowSource();
+        final int evolvable = rows.add(PIDGEY, "Pidgey", LOW_IV, LOW_CP, false, "12");
+        final int notEvolvable = rows.add(DRATINI, "Dragonite", LOW_IV, HIGH_CP, false, "-");
+
+        final PokemonQuery query = compile("!(cp<100 | cp>1000) & toevolve>0");
+        Assert.assertThat(query.matches(rows, evolvable), is(true));
+        Assert.assertThat(query.matches(rows, notEvolvable), is(false));
+        Assert.assertThat(compile("type=dragon & species!=dragonite").matches(rows, notEvolvable), is(false));
+    }
+
+    /**
+     * Unknown fields are refused.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void refusesUnknownField() {
+        compile("ivv>90");
+    }
+
+    /**
+     * Unbalanced parentheses are refused.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void refusesMissingParenthesis() {
+        compile("(cp>10 | fav");
+    }
+
+    /**
+     * Texts can't be compared by size.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void refusesTextComparison() {
+        compile("species>dratini");
+    }
+}
@@ -0,0 +1,39 @@
+package me.corriekay.pokegoutil.utils.query;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.util.BitSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for SavedSelection.
+ */
+public class SavedSelectionTest {
+
+    private static final int PIDGEY = 16;
+    private static final int RATTATA = 19;
+    private static final int CP = 100;
+
+    /**
+     * Of every species all but the best are selected, also when the best comes last, and ties and favorites are kept.
+     */
+    @Test
+    public void selectsDuplicatesBelowBestIv() {
+        final ArrayRowSource rows = new ArrayRowSource();
+        final int weakPidgey = rows.add(PIDGEY, "Pidgey", 0.2, CP, false, "12");
+        final int favoritePidgey = rows.add(PIDGEY, "Pidgey", 0.3, CP, true, "12");
+        final int bestPidgey = rows.add(PIDGEY, "Pidgey", 0.9, CP, false, "12");
+        final int tiedPidgey = rows.add(PIDGEY, "Pidgey", 0.9, CP, false, "12");
+        final int onlyRattata = rows.add(RATTATA, "Rattata", 0.1, CP, false, "25");
+
+        final BitSet selected = SavedSelection.DUPLICATES_BELOW_BEST_IV.select(rows, rows.size());
+
+        Assert.assertThat(selected.get(weakPidgey), is(true));
+        Assert.assertThat(selected.get(favoritePidgey), is(false));
+        Assert.assertThat(selected.get(bestPidgey), is(false));
+        Assert.assertThat(selected.get(tiedPidgey), is(false));
+        Assert.assertThat(selected.get(onlyRattata), is(false));
+    }
+}
@@ -0,0 +1,75 @@
+package me.corriekay.pokegoutil.utils.query;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+import com.pokegoapi.api.pokemon.PokemonMeta;
+import com.pokegoapi.api.pokemon.PokemonType;
+
+import me.corriekay.pokegoutil.utils.pokemon.PokemonNameCache;
+
+import POGOProtos.Enums.PokemonFamilyIdOuterClass.PokemonFamilyId;
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+import POGOProtos.Enums.PokemonMoveOuterClass.PokemonMove;
+import POGOProtos.Inventory.Item.ItemIdOuterClass.ItemId;
+
+/**
+ * Test for SearchKeyBuilder.
+ */
+public class SearchKeyBuilderTest {
+
+    private PokemonNameCache.Names names;
+    private Pokemon pokemon;
+
+    /**
+     * Before every test.
+     */
+    @Before
+    public void beforeTest() {
+        PokemonNameCache.setLanguage("en");
+        names = PokemonNameCache.get();
+
+        final PokemonMeta meta = mock(PokemonMeta.class);
+        doReturn(PokemonType.DRAGON).when(meta).getType1();
+        doReturn(PokemonType.NONE).when(meta).getType2();
+        pokemon = mock(Pokemon.class);
+        doReturn(meta).when(pokemon).getMeta();
+        doReturn(PokemonId.DRATINI).when(pokemon).getPokemonId();
+        doReturn(PokemonFamilyId.FAMILY_DRATINI).when(pokemon).getPokemonFamily();
+        doReturn("Tiny_Dragon").when(pokemon).getNickname();
+        doReturn(PokemonMove.DRAGON_BREATH_FAST).when(pokemon).getMove1();
+        doReturn(PokemonMove.DRAGON_CLAW).when(pokemon).getMove2();
+        doReturn(ItemId.ITEM_ULTRA_BALL).when(pokemon).getPokeball();
+    }
+
+    /**
+     * The key has every searchable part, normalized like the search input.
+     */
+    @Test
+    public void buildsNormalizedKey() {
+        Assert.assertThat(new SearchKeyBuilder().build(pokemon, names, true),
+            is("dratini,dratini,tinydragon,dragon,,dragonbreath,dragonclaw,ultraball"));
+        Assert.assertThat(new SearchKeyBuilder().build(pokemon, names, false),
+            is("dratini,,tinydragon,dragon,,dragonbreath,dragonclaw,ultraball"));
+    }
+
+    /**
+     * A cached key is used until the nickname changes.
+     */
+    @Test
+    public void rebuildsKeyWhenNicknameChanges() {
+        final SearchKeyBuilder builder = new SearchKeyBuilder();
+        final String key = builder.getKey(pokemon, names, true);
+        Assert.assertThat(builder.getKey(pokemon, names, true), sameInstance(key));
+
+        doReturn("Noodle").when(pokemon).getNickname();
+        Assert.assertThat(builder.getKey(pokemon, names, true), is("dratini,dratini,noodle,dragon,,dragonbreath,dragonclaw,ultraball"));
+    }
+}
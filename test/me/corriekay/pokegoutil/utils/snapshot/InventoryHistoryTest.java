@@ -0,0 +1,167 @@
+package me.corriekay.pokegoutil.utils.snapshot;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import me.corriekay.pokegoutil.data.enums.PokeColumn;
+
+import POGOProtos.Data.PokemonDataOuterClass.PokemonData;
+
+/**
+ * Test for InventoryHistory.
+ */
+public class InventoryHistoryTest {
+
+    private static final int PIDGEY = 16;
+    private static final int RATTATA = 19;
+    private static final double IV_RATING = 0.5;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    /**
+     * Before every test.
+     *
+     * @throws IOException If the folder can't be created.
+     */
+    @Before
+    public void beforeTest() throws IOException {
+        file = new File(folder.newFolder("snapshots"), "Ash.history");
+    }
+
+    /**
+     * Builds a snapshot of the given Pokémon, given as id, Pokédex number and CP each.
+     */
+    private static InventorySnapshot snapshot(final long time, final int... pokemon) {
+        final List<PokemonData> pokemons = new ArrayList<>();
+        final List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < pokemon.length; i += 3) {
+            pokemons.add(PokemonData.newBuilder().setId(pokemon[i]).build());
+            final Object[] row = new Object[PokeColumn.values().length];
+            row[PokeColumn.PID.ordinal()] = (long) pokemon[i];
+            row[PokeColumn.POKEDEX_ID.ordinal()] = pokemon[i + 1];
+            row[PokeColumn.CP.ordinal()] = pokemon[i + 2];
+            row[PokeColumn.IV_RATING.ordinal()] = IV_RATING;
+            rows.add(row);
+        }
+        return new InventorySnapshot("Ash", time, pokemons, rows);
+    }
+
+    /**
+     * Any recorded point in time can be reconstructed, also after reading the file again.
+     *
+     * @throws IOException If the history can't be written.
+     */
+    @Test
+    public void reconstructsPointsInTime() throws IOException {
+        final InventoryHistory history = new InventoryHistory(file);
+        history.record(snapshot(100, 1, PIDGEY, 10, 2, RATTATA, 20));
+        history.record(snapshot(200, 1, PIDGEY, 15, 2, RATTATA, 20));
+        history.record(snapshot(300, 1, PIDGEY, 15, 3, PIDGEY, 30));
+
+        final InventoryHistory reread = new InventoryHistory(file);
+        Assert.assertThat(reread.reconstruct(50).isEmpty(), is(true));
+        final Map<Long, Object[]> at250 = reread.reconstruct(250);
+        Assert.assertThat(at250.size(), is(2));
+        Assert.assertThat(at250.get(1L)[PokeColumn.CP.ordinal()], is((Object) 15));
+        Assert.assertThat(at250.get(2L)[PokeColumn.CP.ordinal()], is((Object) 20));
+        final Map<Long, Object[]> latest = reread.reconstruct(Long.MAX_VALUE);
+        Assert.assertThat(latest.containsKey(2L), is(false));
+        Assert.assertThat(latest.get(3L)[PokeColumn.CP.ordinal()], is((Object) 30));
+    }
+
+    /**
+     * A refresh without changes is not recorded, and keyframes are written in between the differences.
+     *
+     * @throws IOException If the history can't be written.
+     */
+    @Test
+    public void skipsUnchangedAndWritesKeyframes() throws IOException {
+        final InventoryHistory history = new InventoryHistory(file);
+        Assert.assertThat(history.record(snapshot(100, 1, PIDGEY, 10)), is(true));
+        Assert.assertThat(history.record(snapshot(200, 1, PIDGEY, 10)), is(false));
+
+        final int records = InventoryHistory.KEYFRAME_INTERVAL * 2 + 1;
+        for (int i = 1; i <= records; i++) {
+            history.record(snapshot(200 + i, 1, PIDGEY, 10 + i));
+        }
+        Assert.assertThat(history.getTimestamps().size(), is(records + 1));
+        Assert.assertThat(new InventoryHistory(file).reconstruct(Long.MAX_VALUE).get(1L)[PokeColumn.CP.ordinal()], is((Object) (10 + records)));
+    }
+
+    /**
+     * Species trends follow count and average CP through the differences.
+     *
+     * @throws IOException If the history can't be written.
+     */
+    @Test
+    public void calculatesSpeciesTrends() throws IOException {
+        final InventoryHistory history = new InventoryHistory(file);
+        history.record(snapshot(100, 1, PIDGEY, 10, 2, RATTATA, 20));
+        history.record(snapshot(200, 1, PIDGEY, 10, 2, RATTATA, 20, 3, PIDGEY, 30));
+        history.record(snapshot(300, 1, PIDGEY, 10, 3, PIDGEY, 30));
+
+        final Map<Integer, List<InventoryHistory.TrendPoint>> trends = history.speciesTrends();
+        final List<InventoryHistory.TrendPoint> pidgeys = trends.get(PIDGEY);
+        Assert.assertThat(pidgeys.size(), is(2));
+        Assert.assertThat(pidgeys.get(1).timestamp, is(200L));
+        Assert.assertThat(pidgeys.get(1).count, is(2));
+        Assert.assertThat(pidgeys.get(1).averageCp, is(20.0));
+        final List<InventoryHistory.TrendPoint> rattatas = trends.get(RATTATA);
+        Assert.assertThat(rattatas.get(rattatas.size() - 1).count, is(0));
+    }
+
+    /**
+     * A record that was cut off while writing is dropped, the ones before it are kept.
+     *
+     * @throws IOException If the history can't be written.
+     */
+    @Test
+    public void dropsIncompleteRecord() throws IOException {
+        final InventoryHistory history = new InventoryHistory(file);
+        history.record(snapshot(100, 1, PIDGEY, 10));
+        final long goodLength = file.length();
+        history.record(snapshot(200, 1, PIDGEY, 20));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(file.length() - 1);
+        }
+
+        final InventoryHistory reread = new InventoryHistory(file);
+        Assert.assertThat(reread.getTimestamps().size(), is(1));
+        Assert.assertThat(file.length(), is(goodLength));
+    }
+
+    /**
+     * A record that failed halfway is cut off before the next one is written by the same history.
+     *
+     * @throws IOException If the history can't be written.
+     */
+    @Test
+    public void cutsOffFailedAppend() throws IOException {
+        final InventoryHistory history = new InventoryHistory(file);
+        history.record(snapshot(100, 1, PIDGEY, 10));
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(file.length());
+            raf.writeByte(1);
+        }
+        history.record(snapshot(200, 1, PIDGEY, 20));
+
+        final InventoryHistory reread = new InventoryHistory(file);
+        Assert.assertThat(reread.getTimestamps().size(), is(2));
+        Assert.assertThat(reread.reconstruct(Long.MAX_VALUE).get(1L)[PokeColumn.CP.ordinal()], is((Object) 20));
+    }
+}
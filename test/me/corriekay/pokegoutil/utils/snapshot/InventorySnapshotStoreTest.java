@@ -0,0 +1,104 @@
+package me.corriekay.pokegoutil.utils.snapshot;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import me.corriekay.pokegoutil.data.enums.PokeColumn;
+
+import POGOProtos.Data.PokemonDataOuterClass.PokemonData;
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+
+/**
+ * Test for InventorySnapshotStore.
+ */
+public class InventorySnapshotStoreTest {
+
+    private static final String ACCOUNT = "Ash";
+    private static final long SAVED_AT = 1475000000000L;
+    private static final long POKEMON_ID = 1234567890123L;
+    private static final int CP = 1337;
+    private static final double IV_RATING = 0.9;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private InventorySnapshotStore store;
+
+    /**
+     * Before every test.
+     *
+     * @throws IOException If the folder can't be created.
+     */
+    @Before
+    public void beforeTest() throws IOException {
+        store = new InventorySnapshotStore(folder.newFolder("snapshots"));
+    }
+
+    /**
+     * Pokémon data and row values of every kind are read back as they were written.
+     *
+     * @throws IOException If the snapshot can't be written.
+     */
+    @Test
+    public void readsBackWhatWasWritten() throws IOException {
+        final PokemonData data = PokemonData.newBuilder()
+            .setId(POKEMON_ID)
+            .setPokemonId(PokemonId.DRAGONITE)
+            .setCp(CP)
+            .setNickname("Dragon")
+            .build();
+        final Object[] row = new Object[PokeColumn.values().length];
+        row[PokeColumn.CP.ordinal()] = CP;
+        row[PokeColumn.PID.ordinal()] = POKEMON_ID;
+        row[PokeColumn.IV_RATING.ordinal()] = IV_RATING;
+        row[PokeColumn.NICKNAME.ordinal()] = "Dragon";
+        row[PokeColumn.CAUGHT_CITY.ordinal()] = CompletableFuture.completedFuture("Pallet Town");
+
+        store.save(new InventorySnapshot(ACCOUNT, SAVED_AT, Arrays.asList(data), Arrays.asList(new Object[][] {row})));
+        final InventorySnapshot loaded = store.load(ACCOUNT);
+
+        Assert.assertThat(loaded.getAccount(), is(ACCOUNT));
+        Assert.assertThat(loaded.getSavedAtMs(), is(SAVED_AT));
+        Assert.assertThat(loaded.getPokemons(), is(Arrays.asList(data)));
+        final Object[] loadedRow = loaded.getRows().get(0);
+        Assert.assertThat(loadedRow[PokeColumn.CP.ordinal()], is((Object) CP));
+        Assert.assertThat(loadedRow[PokeColumn.PID.ordinal()], is((Object) POKEMON_ID));
+        Assert.assertThat(loadedRow[PokeColumn.IV_RATING.ordinal()], is((Object) IV_RATING));
+        Assert.assertThat(loadedRow[PokeColumn.NICKNAME.ordinal()], is((Object) "Dragon"));
+        Assert.assertThat(((CompletableFuture<?>) loadedRow[PokeColumn.CAUGHT_CITY.ordinal()]).join(), is((Object) "Pallet Town"));
+        Assert.assertThat(loadedRow[PokeColumn.AUTO_INCREMENT.ordinal()], is(nullValue()));
+    }
+
+    /**
+     * An account without a snapshot has none to load.
+     */
+    @Test
+    public void missingSnapshotIsNull() {
+        Assert.assertThat(store.load(ACCOUNT), is(nullValue()));
+    }
+
+    /**
+     * An empty bag is a valid snapshot, too.
+     *
+     * @throws IOException If the snapshot can't be written.
+     */
+    @Test
+    public void emptyBag() throws IOException {
+        store.save(new InventorySnapshot(ACCOUNT, SAVED_AT, new ArrayList<>(), new ArrayList<>()));
+
+        final List<PokemonData> pokemons = store.load(ACCOUNT).getPokemons();
+        Assert.assertThat(pokemons.isEmpty(), is(true));
+    }
+}
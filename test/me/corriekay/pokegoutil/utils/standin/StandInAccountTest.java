@@ -0,0 +1,212 @@
+package me.corriekay.pokegoutil.utils.standin;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.pokegoapi.api.pokemon.PokemonMeta;
+import com.pokegoapi.api.pokemon.PokemonMetaRegistry;
+
+import POGOProtos.Data.Player.CurrencyOuterClass.Currency;
+import POGOProtos.Data.PokemonDataOuterClass.PokemonData;
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+import POGOProtos.Inventory.InventoryDeltaOuterClass.InventoryDelta;
+import POGOProtos.Inventory.InventoryItemOuterClass.InventoryItem;
+import POGOProtos.Networking.Responses.EvolvePokemonResponseOuterClass.EvolvePokemonResponse;
+import POGOProtos.Networking.Responses.NicknamePokemonResponseOuterClass.NicknamePokemonResponse;
+import POGOProtos.Networking.Responses.ReleasePokemonResponseOuterClass.ReleasePokemonResponse;
+import POGOProtos.Networking.Responses.UpgradePokemonResponseOuterClass.UpgradePokemonResponse;
+
+/**
+ * Test for StandInAccount.
+ */
+public class StandInAccountTest {
+
+    private static final int BAG_SIZE = 200;
+    private static final long SEED = 42;
+    private static final int ENOUGH_CANDIES_TO_POWER_UP = 15;
+    private static final long TICK_MS = 2;
+
+    private StandInAccount account;
+
+    /**
+     * Before every test.
+     */
+    @Before
+    public void beforeTest() {
+        account = new StandInAccount("trainer", BAG_SIZE, SEED);
+    }
+
+    private static List<PokemonData> pokemons(final InventoryDelta delta) {
+        final List<PokemonData> pokemons = new ArrayList<>();
+        for (final InventoryItem item : delta.getInventoryItemsList()) {
+            if (item.getInventoryItemData().hasPokemonData()) {
+                pokemons.add(item.getInventoryItemData().getPokemonData());
+            }
+        }
+        return pokemons;
+    }
+
+    private static List<Long> deleted(final InventoryDelta delta) {
+        final List<Long> deleted = new ArrayList<>();
+        for (final InventoryItem item : delta.getInventoryItemsList()) {
+            if (item.getDeletedItemKey() != 0) {
+                deleted.add(item.getDeletedItemKey());
+            }
+        }
+        return deleted;
+    }
+
+    private int candies(final PokemonId pokemonId) {
+        final int family = PokemonMetaRegistry.getMeta(pokemonId).getFamily().getNumber();
+        for (final InventoryItem item : account.getInventory(0).getInventoryItemsList()) {
+            if (item.getInventoryItemData().hasCandy() && item.getInventoryItemData().getCandy().getFamilyIdValue() == family) {
+                return item.getInventoryItemData().getCandy().getCandy();
+            }
+        }
+        return 0;
+    }
+
+    private int stardust() {
+        for (final Currency currency : account.getPlayerData().getCurrenciesList()) {
+            if ("STARDUST".equals(currency.getName())) {
+                return currency.getAmount();
+            }
+        }
+        return 0;
+    }
+
+    private PokemonData find(final Predicate<PokemonData> predicate) {
+        for (final PokemonData pokemon : pokemons(account.getInventory(0))) {
+            if (predicate.test(pokemon)) {
+                return pokemon;
+            }
+        }
+        throw new AssertionError("No matching Pokémon in the bag");
+    }
+
+    private static List<PokemonId> evolutionsOf(final PokemonId pokemonId) {
+        final List<PokemonId> evolutions = new ArrayList<>();
+        for (final PokemonId id : PokemonId.values()) {
+            final PokemonMeta meta = id == PokemonId.UNRECOGNIZED ? null : PokemonMetaRegistry.getMeta(id);
+            if (meta != null && meta.getParentId() == pokemonId) {
+                evolutions.add(id);
+            }
+        }
+        return evolutions;
+    }
+
+    private static long tick(final long timestamp) throws InterruptedException {
+        // Changes have to happen after the timestamp to show up in the next delta
+        Thread.sleep(TICK_MS);
+        return timestamp;
+    }
+
+    /**
+     * The full inventory has the whole bag, a delta only what changed since.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Test
+    public void inventoryDeltaHasOnlyChanges() throws InterruptedException {
+        final InventoryDelta full = account.getInventory(0);
+        Assert.assertThat(pokemons(full).size(), is(BAG_SIZE));
+        Assert.assertThat(deleted(full).isEmpty(), is(true));
+
+        final long last = tick(full.getNewTimestampMs());
+        Assert.assertThat(pokemons(account.getInventory(last)).isEmpty(), is(true));
+
+        final PokemonData pokemon = pokemons(full).get(0);
+        final NicknamePokemonResponse renamed = account.nickname(pokemon.getId(), "Renamed");
+        Assert.assertThat(renamed.getResult(), is(NicknamePokemonResponse.Result.SUCCESS));
+
+        final List<PokemonData> changed = pokemons(account.getInventory(last));
+        Assert.assertThat(changed.size(), is(1));
+        Assert.assertThat(changed.get(0).getId(), is(pokemon.getId()));
+        Assert.assertThat(changed.get(0).getNickname(), is("Renamed"));
+    }
+
+    /**
+     * A released Pokémon is gone, gives a candy and shows up as deleted in the next delta.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Test
+    public void releaseDeletesPokemon() throws InterruptedException {
+        final InventoryDelta full = account.getInventory(0);
+        final long last = tick(full.getNewTimestampMs());
+        final PokemonData pokemon = pokemons(full).get(0);
+        final int candiesBefore = candies(pokemon.getPokemonId());
+
+        final ReleasePokemonResponse response = account.release(pokemon.getId());
+
+        Assert.assertThat(response.getResult(), is(ReleasePokemonResponse.Result.SUCCESS));
+        Assert.assertThat(candies(pokemon.getPokemonId()), is(candiesBefore + response.getCandyAwarded()));
+        final InventoryDelta delta = account.getInventory(last);
+        Assert.assertThat(deleted(delta).contains(pokemon.getId()), is(true));
+        Assert.assertThat(pokemons(account.getInventory(0)).size(), is(BAG_SIZE - 1));
+        Assert.assertThat(account.release(pokemon.getId()).getResult(), is(ReleasePokemonResponse.Result.FAILED));
+    }
+
+    /**
+     * An evolved Pokémon is replaced by one of its evolutions, and the old one shows up as deleted.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Test
+    public void evolveReplacesPokemon() throws InterruptedException {
+        final PokemonData pokemon = find(p -> !evolutionsOf(p.getPokemonId()).isEmpty()
+            && PokemonMetaRegistry.getMeta(p.getPokemonId()).getCandyToEvolve() <= candies(p.getPokemonId()));
+        final long last = tick(account.getInventory(0).getNewTimestampMs());
+
+        final EvolvePokemonResponse response = account.evolve(pokemon.getId());
+
+        Assert.assertThat(response.getResult(), is(EvolvePokemonResponse.Result.SUCCESS));
+        final PokemonData evolved = response.getEvolvedPokemonData();
+        Assert.assertThat(evolutionsOf(pokemon.getPokemonId()).contains(evolved.getPokemonId()), is(true));
+        Assert.assertThat(evolved.getIndividualAttack(), is(pokemon.getIndividualAttack()));
+
+        final InventoryDelta delta = account.getInventory(last);
+        Assert.assertThat(deleted(delta).contains(pokemon.getId()), is(true));
+        Assert.assertThat(pokemons(delta).size(), is(1));
+        Assert.assertThat(pokemons(delta).get(0).getId(), is(evolved.getId()));
+    }
+
+    /**
+     * A Pokémon without evolution can't evolve.
+     */
+    @Test
+    public void finalEvolutionCannotEvolve() {
+        final PokemonData pokemon = find(p -> evolutionsOf(p.getPokemonId()).isEmpty());
+
+        Assert.assertThat(account.evolve(pokemon.getId()).getResult(),
+            is(EvolvePokemonResponse.Result.FAILED_POKEMON_CANNOT_EVOLVE));
+    }
+
+    /**
+     * A power-up raises the level and spends stardust and candies.
+     */
+    @Test
+    public void powerUpSpendsResources() {
+        final PokemonData pokemon = find(p -> candies(p.getPokemonId()) >= ENOUGH_CANDIES_TO_POWER_UP);
+        final int candiesBefore = candies(pokemon.getPokemonId());
+        final int stardustBefore = stardust();
+
+        final UpgradePokemonResponse response = account.upgrade(pokemon.getId());
+
+        Assert.assertThat(response.getResult(), is(UpgradePokemonResponse.Result.SUCCESS));
+        final PokemonData upgraded = response.getUpgradedPokemon();
+        Assert.assertThat(upgraded.getId(), is(pokemon.getId()));
+        Assert.assertThat(upgraded.getNumUpgrades(), is(pokemon.getNumUpgrades() + 1));
+        Assert.assertThat(upgraded.getCpMultiplier() + upgraded.getAdditionalCpMultiplier()
+            > pokemon.getCpMultiplier() + pokemon.getAdditionalCpMultiplier(), is(true));
+        Assert.assertThat(stardust() < stardustBefore, is(true));
+        Assert.assertThat(candies(pokemon.getPokemonId()) < candiesBefore, is(true));
+    }
+}
@@ -0,0 +1,194 @@
+package me.corriekay.pokegoutil.utils.standin;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import POGOProtos.Networking.Envelopes.RequestEnvelopeOuterClass.RequestEnvelope;
+import POGOProtos.Networking.Envelopes.ResponseEnvelopeOuterClass.ResponseEnvelope;
+import POGOProtos.Networking.Requests.Messages.ReleasePokemonMessageOuterClass.ReleasePokemonMessage;
+import POGOProtos.Networking.Requests.RequestOuterClass.Request;
+import POGOProtos.Networking.Requests.RequestTypeOuterClass.RequestType;
+import POGOProtos.Networking.Responses.GetInventoryResponseOuterClass.GetInventoryResponse;
+import POGOProtos.Networking.Responses.GetPlayerResponseOuterClass.GetPlayerResponse;
+import POGOProtos.Networking.Responses.ReleasePokemonResponseOuterClass.ReleasePokemonResponse;
+
+/**
+ * Test for StandInServer, talking to it over HTTP like the API does.
+ */
+public class StandInServerTest {
+
+    private static final String USERNAME = "ash";
+    private static final int BAG_SIZE = 20;
+    private static final long SEED = 7;
+    private static final int STATUS_OK = 1;
+    private static final int STATUS_AUTH_EXPIRED = 102;
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_BAD_REQUEST = 400;
+    private static final int HTTP_UNAVAILABLE = 503;
+
+    private StandInServer server;
+
+    /**
+     * Starts the server on a free port.
+     *
+     * @throws IOException If the server can't be started.
+     */
+    @Before
+    public void beforeTest() throws IOException {
+        server = new StandInServer(new StandInSettings().setPort(0).setBagSize(BAG_SIZE).setSeed(SEED));
+        server.start();
+    }
+
+    /**
+     * Stops the server.
+     */
+    @After
+    public void afterTest() {
+        server.stop();
+    }
+
+    private static Request request(final RequestType type) {
+        return Request.newBuilder().setRequestType(type).build();
+    }
+
+    private RequestEnvelope.Builder login() {
+        return RequestEnvelope.newBuilder()
+            .setRequestId(1)
+            .setAuthInfo(new StandInCredentialProvider(USERNAME).getAuthInfo());
+    }
+
+    private HttpURLConnection post(final RequestEnvelope envelope) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(server.getUrl() + "/plfe/rpc").openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream out = connection.getOutputStream()) {
+            envelope.writeTo(out);
+        }
+        return connection;
+    }
+
+    private ResponseEnvelope send(final RequestEnvelope envelope) throws IOException {
+        final HttpURLConnection connection = post(envelope);
+        Assert.assertThat(connection.getResponseCode(), is(HTTP_OK));
+        try (InputStream in = connection.getInputStream()) {
+            return ResponseEnvelope.parseFrom(in);
+        }
+    }
+
+    /**
+     * Logging in with the stand-in credentials gives an auth ticket for the account and its player data, and all
+     * requests of the envelope are answered in order.
+     *
+     * @throws IOException If the request fails.
+     */
+    @Test
+    public void loginAnswersEveryRequest() throws IOException {
+        final ResponseEnvelope response = send(login()
+            .addRequests(request(RequestType.GET_PLAYER))
+            .addRequests(request(RequestType.GET_INVENTORY))
+            .build());
+
+        Assert.assertThat(response.getStatusCode(), is(STATUS_OK));
+        Assert.assertThat(response.getAuthTicket().getStart().toStringUtf8(), is(USERNAME));
+        Assert.assertThat(response.getReturnsCount(), is(2));
+        final GetPlayerResponse player = GetPlayerResponse.parseFrom(response.getReturns(0));
+        Assert.assertThat(player.getPlayerData().getUsername(), is(USERNAME));
+        final GetInventoryResponse inventory = GetInventoryResponse.parseFrom(response.getReturns(1));
+        Assert.assertThat(inventory.getSuccess(), is(true));
+        Assert.assertThat(server.getEnvelopeCount(), is(1L));
+        Assert.assertThat(server.getRequestCount(), is(2L));
+    }
+
+    /**
+     * Requests sent with the auth ticket work on the same account, several per envelope.
+     *
+     * @throws IOException If the request fails.
+     */
+    @Test
+    public void ticketSelectsAccount() throws IOException {
+        final ResponseEnvelope login = send(login().addRequests(request(RequestType.GET_INVENTORY)).build());
+        final long pokemonId = GetInventoryResponse.parseFrom(login.getReturns(0))
+            .getInventoryDelta().getInventoryItemsList().stream()
+            .filter(item -> item.getInventoryItemData().hasPokemonData())
+            .findFirst().get().getInventoryItemData().getPokemonData().getId();
+
+        final Request release = Request.newBuilder()
+            .setRequestType(RequestType.RELEASE_POKEMON)
+            .setRequestMessage(ReleasePokemonMessage.newBuilder().setPokemonId(pokemonId).build().toByteString())
+            .build();
+        final ResponseEnvelope response = send(RequestEnvelope.newBuilder()
+            .setRequestId(2)
+            .setAuthTicket(login.getAuthTicket())
+            .addRequests(release)
+            .addRequests(release)
+            .build());
+
+        Assert.assertThat(response.getStatusCode(), is(STATUS_OK));
+        Assert.assertThat(ReleasePokemonResponse.parseFrom(response.getReturns(0)).getResult(),
+            is(ReleasePokemonResponse.Result.SUCCESS));
+        Assert.assertThat(ReleasePokemonResponse.parseFrom(response.getReturns(1)).getResult(),
+            is(ReleasePokemonResponse.Result.FAILED));
+    }
+
+    /**
+     * Envelopes without valid authentication are answered with the auth expired status.
+     *
+     * @throws IOException If the request fails.
+     */
+    @Test
+    public void unauthenticatedEnvelopeIsRefused() throws IOException {
+        final ResponseEnvelope response = send(RequestEnvelope.newBuilder()
+            .setRequestId(1)
+            .addRequests(request(RequestType.GET_PLAYER))
+            .build());
+
+        Assert.assertThat(response.getStatusCode(), is(STATUS_AUTH_EXPIRED));
+        Assert.assertThat(response.getReturnsCount(), is(0));
+    }
+
+    /**
+     * Injected errors are answered with a server error, before anything is applied.
+     *
+     * @throws IOException If the request fails.
+     */
+    @Test
+    public void injectedErrorsFailTheEnvelope() throws IOException {
+        server.stop();
+        server = new StandInServer(new StandInSettings().setPort(0).setBagSize(BAG_SIZE).setErrorRate(1));
+        server.start();
+
+        final HttpURLConnection connection = post(login().addRequests(request(RequestType.GET_PLAYER)).build());
+
+        Assert.assertThat(connection.getResponseCode(), is(HTTP_UNAVAILABLE));
+        Assert.assertThat(server.getInjectedErrorCount(), is(1L));
+        Assert.assertThat(server.getRequestCount(), is(0L));
+    }
+
+    /**
+     * An envelope that can't be read is answered with a bad request, and the server keeps working.
+     *
+     * @throws IOException If the request fails.
+     */
+    @Test
+    public void malformedEnvelopeIsRejected() throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(server.getUrl() + "/plfe/rpc").openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(new byte[] {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF});
+        }
+
+        Assert.assertThat(connection.getResponseCode(), is(HTTP_BAD_REQUEST));
+        Assert.assertThat(send(login().addRequests(request(RequestType.GET_PLAYER)).build()).getStatusCode(), is(STATUS_OK));
+    }
+}
@@ -0,0 +1,36 @@
+package me.corriekay.pokegoutil.utils.windows;
+
+import static org.hamcrest.CoreMatchers.is;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test for SelectionIntervals.
+ */
+public class SelectionIntervalsTest {
+
+    /**
+     * Neighbouring rows end up in the same interval, gaps start a new one.
+     */
+    @Test
+    public void mergesNeighbours() {
+        Assert.assertThat(SelectionIntervals.coalesce(new int[] {0, 1, 2, 5, 7, 8}), is(new int[] {0, 2, 5, 5, 7, 8}));
+    }
+
+    /**
+     * Duplicate rows don't split an interval.
+     */
+    @Test
+    public void ignoresDuplicates() {
+        Assert.assertThat(SelectionIntervals.coalesce(new int[] {3, 3, 4, 4}), is(new int[] {3, 4}));
+    }
+
+    /**
+     * No rows, no intervals.
+     */
+    @Test
+    public void emptySelection() {
+        Assert.assertThat(SelectionIntervals.coalesce(new int[0]).length, is(0));
+    }
+}
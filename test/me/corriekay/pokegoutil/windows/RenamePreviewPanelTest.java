@@ -0,0 +1,80 @@
+package me.corriekay.pokegoutil.windows;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import javax.swing.table.DefaultTableModel;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.pokegoapi.api.pokemon.Pokemon;
+
+import me.corriekay.pokegoutil.utils.pokemon.PokemonNameCache;
+import me.corriekay.pokegoutil.utils.pokemon.RenameTemplate;
+
+import POGOProtos.Enums.PokemonIdOuterClass.PokemonId;
+
+/**
+ * Test for the preview rows of RenamePreviewPanel, from the pattern to the new names and their notes.
+ */
+public class RenamePreviewPanelTest {
+
+    private static final int PERFECT = 15;
+    private static final int LOW = 9;
+
+    private final StringBuilder buffer = new StringBuilder();
+    private DefaultTableModel preview;
+
+    /**
+     * Before every test.
+     */
+    @Before
+    public void beforeTest() {
+        PokemonNameCache.setLanguage("en");
+        preview = new DefaultTableModel(RenamePreviewPanel.COLUMNS, 0);
+    }
+
+    private static Pokemon pokemon(final int attack, final String nickname) {
+        final Pokemon pokemon = mock(Pokemon.class);
+        doReturn(PokemonId.PIDGEY).when(pokemon).getPokemonId();
+        doReturn(attack).when(pokemon).getIndividualAttack();
+        doReturn(nickname).when(pokemon).getNickname();
+        return pokemon;
+    }
+
+    /**
+     * A row has the species, the current and the new name, and a note if the name stays or gets cut.
+     */
+    @Test
+    public void rendersRows() {
+        final RenameTemplate template = RenameTemplate.compile("%iv_att%");
+
+        Assert.assertThat(RenamePreviewPanel.toRow(template, pokemon(LOW, "Birdy"), buffer),
+            is(new Object[] {"Pidgey", "Birdy", "9", ""}));
+        Assert.assertThat(RenamePreviewPanel.toRow(template, pokemon(PERFECT, "15"), buffer),
+            is(new Object[] {"Pidgey", "15", "15", "Unchanged, skipped"}));
+        Assert.assertThat(RenamePreviewPanel.toRow(RenameTemplate.compile("%iv_att%_abcdefghijk"), pokemon(LOW, ""), buffer),
+            is(new Object[] {"Pidgey", "", "9_abcdefghij", "Cut from \"9_abcdefghijk\""}));
+    }
+
+    /**
+     * Rows with the same new name are flagged, unchanged ones are only counted as skipped.
+     */
+    @Test
+    public void marksCollisions() {
+        final RenameTemplate template = RenameTemplate.compile("%iv_att%");
+        preview.addRow(RenamePreviewPanel.toRow(template, pokemon(LOW, "Birdy"), buffer));
+        preview.addRow(RenamePreviewPanel.toRow(template, pokemon(LOW, ""), buffer));
+        preview.addRow(RenamePreviewPanel.toRow(template, pokemon(PERFECT, "15"), buffer));
+
+        final String summary = RenamePreviewPanel.markCollisions(preview);
+
+        Assert.assertThat(preview.getValueAt(0, 3), is((Object) "Same name as another"));
+        Assert.assertThat(preview.getValueAt(1, 3), is((Object) "Same name as another"));
+        Assert.assertThat(preview.getValueAt(2, 3), is((Object) "Unchanged, skipped"));
+        Assert.assertThat(summary, is("2 to rename, 1 unchanged (skipped), 0 cut to 12 characters, 2 with the same name"));
+    }
+}